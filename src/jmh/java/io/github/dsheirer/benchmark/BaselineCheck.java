@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares JMH benchmark results against a results baseline and fails when any benchmark score regresses by more
+ * than the tolerance.  Both files are JMH JSON result files (-rf json).
+ *
+ * Throughput scores regress when they decrease and time based scores regress when they increase.  The check also
+ * fails when the baseline file is missing or empty, or has no score for a benchmark in the results, so that an
+ * unrecorded baseline can't pass silently.
+ *
+ * In record mode (--record) the comparison is reported without failing and the results replace the baseline.
+ *
+ * Usage: BaselineCheck [--record] <baseline.json> <results.json> [tolerance percent, default 10]
+ */
+public class BaselineCheck
+{
+    public static final double DEFAULT_TOLERANCE_PERCENT = 10.0;
+    public static final String RECORD_OPTION = "--record";
+
+    public static void main(String[] args) throws IOException
+    {
+        boolean record = args.length > 0 && RECORD_OPTION.equals(args[0]);
+
+        if(record)
+        {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+
+        if(args.length < 2)
+        {
+            System.out.println("Usage: BaselineCheck [" + RECORD_OPTION +
+                "] <baseline.json> <results.json> [tolerance percent]");
+            System.exit(2);
+        }
+
+        double tolerance = (args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE_PERCENT) / 100.0;
+
+        File baselineFile = new File(args[0]);
+        File resultsFile = new File(args[1]);
+
+        if(!resultsFile.isFile())
+        {
+            System.out.println("No benchmark results [" + resultsFile + "] - run the benchmarks first");
+            System.exit(2);
+        }
+
+        Map<String,JsonNode> results = load(resultsFile);
+
+        if(results.isEmpty())
+        {
+            System.out.println("Benchmark results [" + resultsFile + "] contain no benchmarks");
+            System.exit(2);
+        }
+
+        Map<String,JsonNode> baseline = baselineFile.isFile() ? load(baselineFile) : new LinkedHashMap<>();
+
+        if(baseline.isEmpty() && !record)
+        {
+            System.out.println("Baseline [" + baselineFile + "] is missing or empty - record a baseline with " +
+                RECORD_OPTION);
+            System.exit(1);
+        }
+
+        int regressions = 0;
+        int missing = 0;
+
+        for(Map.Entry<String,JsonNode> entry : results.entrySet())
+        {
+            String key = entry.getKey();
+            JsonNode result = entry.getValue();
+            double score = result.path("primaryMetric").path("score").asDouble();
+            String unit = result.path("primaryMetric").path("scoreUnit").asText();
+
+            JsonNode baselineResult = baseline.get(key);
+
+            if(baselineResult == null)
+            {
+                missing++;
+                System.out.println(String.format("NO BASELINE  %s %.1f %s", key, score, unit));
+                continue;
+            }
+
+            double baselineScore = baselineResult.path("primaryMetric").path("score").asDouble();
+
+            //Change relative to the baseline, where positive is an improvement for both throughput and time modes
+            double change = (score - baselineScore) / baselineScore;
+
+            if(!"thrpt".equals(result.path("mode").asText()))
+            {
+                change = -change;
+            }
+
+            boolean regressed = change < -tolerance;
+
+            if(regressed)
+            {
+                regressions++;
+            }
+
+            System.out.println(String.format("%s %s %.1f %s (baseline %.1f, %+.1f%%)",
+                (regressed ? "REGRESSION  " : "OK          "), key, score, unit, baselineScore, change * 100.0));
+        }
+
+        if(record)
+        {
+            Files.copy(resultsFile.toPath(), baselineFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Recorded " + results.size() + " benchmark(s) as the baseline [" + baselineFile + "]");
+            return;
+        }
+
+        if(missing > 0)
+        {
+            System.out.println(missing + " benchmark(s) have no baseline score - record a new baseline with " +
+                RECORD_OPTION);
+        }
+
+        if(regressions > 0)
+        {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + (tolerance * 100.0) +
+                "% from the baseline");
+        }
+
+        if(missing > 0 || regressions > 0)
+        {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Loads the JMH JSON results file, keyed by benchmark name and parameter values
+     */
+    private static Map<String,JsonNode> load(File file) throws IOException
+    {
+        Map<String,JsonNode> results = new LinkedHashMap<>();
+
+        for(JsonNode result : new ObjectMapper().readTree(file))
+        {
+            StringBuilder key = new StringBuilder();
+            key.append(result.path("benchmark").asText());
+
+            JsonNode params = result.path("params");
+            Iterator<Map.Entry<String,JsonNode>> it = params.fields();
+
+            while(it.hasNext())
+            {
+                Map.Entry<String,JsonNode> param = it.next();
+                key.append(" ").append(param.getKey()).append("=").append(param.getValue().asText());
+            }
+
+            results.put(key.toString(), result);
+        }
+
+        return results;
+    }
+}
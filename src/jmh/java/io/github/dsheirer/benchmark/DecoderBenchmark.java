@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.benchmark;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.edac.BCH_63_16_11;
+import io.github.dsheirer.edac.CRC;
+import io.github.dsheirer.edac.CRCP25;
+import io.github.dsheirer.edac.Golay18;
+import io.github.dsheirer.edac.Golay23;
+import io.github.dsheirer.edac.Golay24;
+import io.github.dsheirer.edac.Hamming10;
+import io.github.dsheirer.edac.Hamming15;
+import io.github.dsheirer.edac.ReedSolomon_63_47_17;
+import io.github.dsheirer.module.decode.p25.P25MessageFramer;
+import io.github.dsheirer.module.decode.p25.Trellis_1_2_Rate;
+import io.github.dsheirer.module.decode.p25.Trellis_3_4_Rate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single threaded throughput of the P25 message framer and the error detection and correction decoders.
+ *
+ * The framer score is reported in dibits per second.  Decoder scores are reported in codewords (or trellis blocks)
+ * per second.  Decoders that correct in place are run against fresh copies of codewords that contain correctable
+ * bit errors, so the decoder scores include the cost of copying each codeword.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecoderBenchmark
+{
+    /* Number of codewords decoded per benchmark invocation */
+    public static final int CODEWORD_COUNT = 64;
+
+    /* Eight P25 frames of dibits per benchmark invocation */
+    public static final int DIBIT_COUNT = 8 * SyntheticSignals.P25_FRAME_DIBITS;
+
+    /* Trellis coded block length in bits, preceded by the frame sync and NID */
+    public static final int TRELLIS_BLOCK_START = 64;
+    public static final int TRELLIS_BLOCK_END = 260;
+
+    private Dibit[] mDibits;
+    private P25MessageFramer mMessageFramer;
+
+    private BinaryMessage mTrellisMessage;
+    private Trellis_1_2_Rate mHalfRateTrellis = new Trellis_1_2_Rate();
+    private Trellis_3_4_Rate mThreeQuarterRateTrellis = new Trellis_3_4_Rate();
+
+    private BCH_63_16_11 mBCHDecoder = new BCH_63_16_11();
+    private BinaryMessage[] mBCHCodewords;
+
+    private ReedSolomon_63_47_17 mReedSolomonDecoder = new ReedSolomon_63_47_17(8);
+    private int[] mReedSolomonInput = new int[63];
+    private int[] mReedSolomonOutput = new int[63];
+
+    private BinaryMessage[] mGolay24Codewords;
+    private BinaryMessage[] mGolay23Codewords;
+    private BinaryMessage[] mGolay18Codewords;
+    private BinaryMessage[] mHamming15Codewords;
+    private BinaryMessage[] mHamming10Codewords;
+
+    private BinaryMessage mCCITT80Message;
+    private BinaryMessage mCRC9Message;
+
+    private Blackhole mBlackhole;
+
+    @Setup
+    public void setup()
+    {
+        mDibits = SyntheticSignals.getP25Dibits(DIBIT_COUNT);
+        mMessageFramer = new P25MessageFramer(null);
+        mMessageFramer.setListener(message -> mBlackhole.consume(message));
+
+        //All zero codewords are valid codewords for each of the linear codes, so bit errors are injected into zero
+        //valued codewords to force the decoders through the error correction paths
+        Random random = new Random(SyntheticSignals.SEED);
+
+        //Trellis block with two bit errors.  Random (uncorrectable) blocks force the trellis decoders into an
+        //exhaustive search that isn't representative of a received signal.
+        mTrellisMessage = new BinaryMessage(TRELLIS_BLOCK_END);
+
+        for(int x = 0; x < 2; x++)
+        {
+            mTrellisMessage.flip(TRELLIS_BLOCK_START + random.nextInt(TRELLIS_BLOCK_END - TRELLIS_BLOCK_START));
+        }
+
+        mBCHCodewords = getCodewords(63, 4, random);
+        mGolay24Codewords = getCodewords(24, 2, random);
+        mGolay23Codewords = getCodewords(23, 2, random);
+        mGolay18Codewords = getCodewords(18, 2, random);
+        mHamming15Codewords = getCodewords(15, 1, random);
+        mHamming10Codewords = getCodewords(10, 1, random);
+
+        for(int x = 0; x < 4; x++)
+        {
+            mReedSolomonInput[random.nextInt(63)] = 1 + random.nextInt(63);
+        }
+
+        mCCITT80Message = SyntheticSignals.getRandomMessage(160);
+        mCRC9Message = SyntheticSignals.getRandomMessage(144);
+    }
+
+    /**
+     * Creates zero valued codewords that each contain the specified number of bit errors
+     */
+    private static BinaryMessage[] getCodewords(int length, int errors, Random random)
+    {
+        BinaryMessage[] codewords = new BinaryMessage[CODEWORD_COUNT];
+
+        for(int x = 0; x < CODEWORD_COUNT; x++)
+        {
+            codewords[x] = new BinaryMessage(length);
+
+            while(codewords[x].cardinality() < errors)
+            {
+                codewords[x].set(random.nextInt(length));
+            }
+        }
+
+        return codewords;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DIBIT_COUNT)
+    public void p25MessageFramer(Blackhole blackhole)
+    {
+        mBlackhole = blackhole;
+
+        for(Dibit dibit : mDibits)
+        {
+            mMessageFramer.receive(dibit);
+        }
+    }
+
+    @Benchmark
+    public boolean trellisHalfRate()
+    {
+        return mHalfRateTrellis.decode(mTrellisMessage.copy(), TRELLIS_BLOCK_START, TRELLIS_BLOCK_END);
+    }
+
+    @Benchmark
+    public boolean trellisThreeQuarterRate()
+    {
+        return mThreeQuarterRateTrellis.decode(mTrellisMessage.copy(), TRELLIS_BLOCK_START, TRELLIS_BLOCK_END);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void bch_63_16_11(Blackhole blackhole)
+    {
+        for(BinaryMessage codeword : mBCHCodewords)
+        {
+            blackhole.consume(mBCHDecoder.correctNID(codeword.copy()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void reedSolomon_63_47_17(Blackhole blackhole)
+    {
+        for(int x = 0; x < CODEWORD_COUNT; x++)
+        {
+            blackhole.consume(mReedSolomonDecoder.decode(mReedSolomonInput, mReedSolomonOutput));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void golay24(Blackhole blackhole)
+    {
+        for(BinaryMessage codeword : mGolay24Codewords)
+        {
+            blackhole.consume(Golay24.checkAndCorrect(codeword.copy(), 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void golay23(Blackhole blackhole)
+    {
+        for(BinaryMessage codeword : mGolay23Codewords)
+        {
+            blackhole.consume(Golay23.checkAndCorrect(codeword.copy(), 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void golay18(Blackhole blackhole)
+    {
+        for(BinaryMessage codeword : mGolay18Codewords)
+        {
+            BinaryMessage copy = codeword.copy();
+            Golay18.checkAndCorrect(copy, 0);
+            blackhole.consume(copy);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void hamming15(Blackhole blackhole)
+    {
+        for(BinaryMessage codeword : mHamming15Codewords)
+        {
+            blackhole.consume(Hamming15.checkAndCorrect(codeword.copy(), 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void hamming10(Blackhole blackhole)
+    {
+        for(BinaryMessage codeword : mHamming10Codewords)
+        {
+            blackhole.consume(Hamming10.checkAndCorrect(codeword.copy(), 0));
+        }
+    }
+
+    @Benchmark
+    public BinaryMessage crcCCITT80()
+    {
+        return CRCP25.correctCCITT80(mCCITT80Message.copy(), TRELLIS_BLOCK_START, 144);
+    }
+
+    @Benchmark
+    public CRC crc9()
+    {
+        return CRCP25.checkCRC9(mCRC9Message, 0);
+    }
+}
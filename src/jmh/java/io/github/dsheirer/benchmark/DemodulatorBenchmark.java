@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.benchmark;
+
+import io.github.dsheirer.dsp.fm.FMDemodulator_CB;
+import io.github.dsheirer.dsp.psk.LSMDemodulator;
+import io.github.dsheirer.module.decode.config.DecodeConfiguration;
+import io.github.dsheirer.module.decode.p25.C4FMSymbolFilter;
+import io.github.dsheirer.sample.complex.ComplexBuffer;
+import io.github.dsheirer.sample.real.RealBuffer;
+import io.github.dsheirer.util.FastArcTangent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single threaded throughput of the demodulators at the 48 kHz channel sample rate.  Scores are reported in samples
+ * per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DemodulatorBenchmark
+{
+    /* Number of symbols per benchmark invocation at 10 samples per symbol */
+    public static final int SYMBOL_COUNT = 480;
+    public static final int SAMPLE_COUNT = SYMBOL_COUNT * SyntheticSignals.SAMPLES_PER_SYMBOL;
+
+    private float[] mFMSamples;
+    private float[] mLSMSamples;
+    private float[] mC4FMSamples;
+
+    private FMDemodulator_CB mFMDemodulator;
+    private LSMDemodulator mLSMDemodulator;
+    private C4FMSymbolFilter mC4FMSymbolFilter;
+
+    private Blackhole mBlackhole;
+
+    @Setup
+    public void setup()
+    {
+        mFMSamples = SyntheticSignals.getFMSamples(SAMPLE_COUNT, 1000.0, 2500.0);
+        mLSMSamples = SyntheticSignals.getLSMSamples(SYMBOL_COUNT);
+        mC4FMSamples = SyntheticSignals.getC4FMSamples(SYMBOL_COUNT);
+
+        mFMDemodulator = new FMDemodulator_CB(1.0f);
+        mFMDemodulator.setListener(buffer -> mBlackhole.consume(buffer));
+
+        mLSMDemodulator = new LSMDemodulator();
+        mLSMDemodulator.setSymbolListener(symbol -> mBlackhole.consume(symbol));
+
+        mC4FMSymbolFilter = new C4FMSymbolFilter(DecodeConfiguration.DEFAULT_AFC_MAX_CORRECTION);
+        mC4FMSymbolFilter.setListener(symbol -> mBlackhole.consume(symbol));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public void fmDemodulator(Blackhole blackhole)
+    {
+        mBlackhole = blackhole;
+        mFMDemodulator.receive(new ComplexBuffer(mFMSamples));
+    }
+
+    /**
+     * Original per-sample FM demodulation (double precision Math.atan) for comparison with the block demodulator
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public void fmDemodulatorPerSample(Blackhole blackhole)
+    {
+        float[] samples = mFMSamples;
+
+        for(int x = 0; x < samples.length; x += 2)
+        {
+            blackhole.consume(mFMDemodulator.demodulate(samples[x], samples[x + 1]));
+        }
+    }
+
+    /**
+     * Block FM demodulation at each of the arc tangent accuracy levels
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public void fmDemodulatorBlock(FMBlockState state, Blackhole blackhole)
+    {
+        state.mDemodulator.demodulate(mFMSamples, state.mDemodulated);
+        blackhole.consume(state.mDemodulated);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public void lsmDemodulator(Blackhole blackhole)
+    {
+        mBlackhole = blackhole;
+
+        float[] samples = mLSMSamples;
+
+        for(int x = 0; x < samples.length; x += 2)
+        {
+            mLSMDemodulator.receive(samples[x], samples[x + 1]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public void c4fmSymbolFilter(Blackhole blackhole)
+    {
+        mBlackhole = blackhole;
+        mC4FMSymbolFilter.receive(new RealBuffer(mC4FMSamples));
+    }
+
+    @State(Scope.Thread)
+    public static class FMBlockState
+    {
+        @Param({"LOW", "MEDIUM", "HIGH", "EXACT"})
+        public FastArcTangent mArcTangent;
+
+        private FMDemodulator_CB mDemodulator;
+        private float[] mDemodulated;
+
+        @Setup
+        public void setup()
+        {
+            mDemodulator = new FMDemodulator_CB(1.0f);
+            mDemodulator.setArcTangent(mArcTangent);
+            mDemodulated = new float[SAMPLE_COUNT];
+        }
+    }
+}
@@ -0,0 +1,348 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.benchmark;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.edac.BCH_63_16_11;
+import io.github.dsheirer.edac.CRC;
+import io.github.dsheirer.edac.CRCEngine;
+import io.github.dsheirer.edac.CRCP25;
+import io.github.dsheirer.edac.Golay23;
+import io.github.dsheirer.edac.Golay24;
+import io.github.dsheirer.edac.Hamming10;
+import io.github.dsheirer.module.decode.p25.message.ldu.LDU1Message;
+import io.github.dsheirer.module.decode.p25.reference.DataUnitID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the syndrome lookup table decoders against the bit-serial decoders (LegacyEdac) that they replaced, for
+ * single codewords in a BinaryMessage, primitive codewords and the batch (whole message) entry points, and the CRC
+ * engine against the per-bit checksum table CRC checks.
+ *
+ * Scores are reported in codewords per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EdacBenchmark
+{
+    /* Number of codewords decoded per benchmark invocation */
+    public static final int CODEWORD_COUNT = 64;
+
+    /* TDULC link control is 12 Golay(24,12,8) codewords following the 64-bit frame sync and NID */
+    public static final int TDULC_START = 64;
+    public static final int TDULC_CODEWORDS = 12;
+
+    /* LDU link control is 24 Hamming(10,6,3) codewords */
+    public static final int LDU_CODEWORDS = 24;
+
+    private BinaryMessage[] mGolay23Codewords;
+    private int[] mGolay23Values = new int[CODEWORD_COUNT];
+    private int[] mGolay23Work = new int[CODEWORD_COUNT];
+
+    private BinaryMessage mTDULC;
+    private int[] mTDULCValues = new int[TDULC_CODEWORDS];
+    private int[] mTDULCWork = new int[TDULC_CODEWORDS];
+
+    private BinaryMessage mLDU;
+    private int[] mLDUValues = new int[LDU_CODEWORDS];
+    private int[] mLDUWork = new int[LDU_CODEWORDS];
+
+    /* P25 TSBK and PDU header CCITT-16 protected 80-bit messages and PDU3 CRC-32 protected data blocks */
+    public static final int CCITT_80_START = 64;
+    public static final int PDU3_CRC_START = 416;
+
+    private BinaryMessage[] mCCITT80Messages;
+    private BinaryMessage[] mPDU3Messages;
+
+    private BCH_63_16_11 mBCHDecoder = new BCH_63_16_11();
+    private BinaryMessage[] mBCHCodewords;
+    private long[] mBCHValues = new long[CODEWORD_COUNT];
+
+    @Setup
+    public void setup()
+    {
+        //Zero valued codewords are valid codewords for each of the codes, so bit errors are injected into zero
+        //valued codewords to force the decoders through the error correction paths
+        Random random = new Random(SyntheticSignals.SEED);
+
+        mGolay23Codewords = new BinaryMessage[CODEWORD_COUNT];
+
+        for(int x = 0; x < CODEWORD_COUNT; x++)
+        {
+            mGolay23Codewords[x] = new BinaryMessage(23);
+            injectErrors(mGolay23Codewords[x], 0, 23, 2, random);
+            mGolay23Values[x] = mGolay23Codewords[x].getInt(0, 22);
+        }
+
+        mTDULC = new BinaryMessage(TDULC_START + (TDULC_CODEWORDS * 24));
+
+        for(int x = 0; x < TDULC_CODEWORDS; x++)
+        {
+            int start = TDULC_START + (x * 24);
+            injectErrors(mTDULC, start, 23, 2, random);
+            mTDULCValues[x] = mTDULC.getInt(start, start + 23);
+        }
+
+        mLDU = new BinaryMessage(DataUnitID.LDU1.getMessageLength());
+
+        for(int x = 0; x < LDU_CODEWORDS; x++)
+        {
+            int start = LDU1Message.GOLAY_WORD_STARTS[x];
+
+            //Single bit errors in half of the codewords
+            if(x % 2 == 0)
+            {
+                injectErrors(mLDU, start, 10, 1, random);
+            }
+
+            mLDUValues[x] = mLDU.getInt(start, start + 9);
+        }
+
+        mBCHCodewords = new BinaryMessage[CODEWORD_COUNT];
+
+        for(int x = 0; x < CODEWORD_COUNT; x++)
+        {
+            mBCHCodewords[x] = new BinaryMessage(64);
+            injectErrors(mBCHCodewords[x], 0, 63, 4, random);
+            mBCHValues[x] = mBCHCodewords[x].getLong(0, 62);
+        }
+
+        //Random messages with a valid checksum and a single bit error in half of the messages.  Random checksums fail
+        //the CRC check, so the remaining messages exercise the failed (uncorrectable) path.
+        CRCEngine ccitt = new CRCEngine(16, 0x1021, 0, 0);
+        CRCEngine crc32 = new CRCEngine(32, 0x04C11DB7L, 0, 0);
+
+        mCCITT80Messages = new BinaryMessage[CODEWORD_COUNT];
+
+        for(int x = 0; x < CODEWORD_COUNT; x++)
+        {
+            mCCITT80Messages[x] = new BinaryMessage(CCITT_80_START + 96);
+            injectErrors(mCCITT80Messages[x], CCITT_80_START, 96, 48, random);
+
+            if(x % 2 == 0)
+            {
+                long checksum = ccitt.getChecksum(mCCITT80Messages[x], CCITT_80_START, CCITT_80_START + 80);
+                mCCITT80Messages[x].load(CCITT_80_START + 80, 16, checksum);
+                mCCITT80Messages[x].flip(CCITT_80_START + random.nextInt(80));
+            }
+        }
+
+        mPDU3Messages = new BinaryMessage[CODEWORD_COUNT];
+
+        for(int x = 0; x < CODEWORD_COUNT; x++)
+        {
+            mPDU3Messages[x] = new BinaryMessage(PDU3_CRC_START + 32);
+            injectErrors(mPDU3Messages[x], 160, PDU3_CRC_START + 32 - 160, 144, random);
+
+            if(x % 2 == 0)
+            {
+                long checksum = crc32.getChecksum(mPDU3Messages[x], 160, PDU3_CRC_START);
+                mPDU3Messages[x].load(PDU3_CRC_START, 32, checksum);
+                mPDU3Messages[x].flip(160 + random.nextInt(PDU3_CRC_START - 160));
+            }
+        }
+    }
+
+    /**
+     * Sets the specified number of bit errors within the codeword that starts at the index
+     */
+    private static void injectErrors(BinaryMessage message, int start, int length, int errors, Random random)
+    {
+        int count = 0;
+
+        while(count < errors)
+        {
+            int index = start + random.nextInt(length);
+
+            if(!message.get(index))
+            {
+                message.set(index);
+                count++;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void golay23Legacy(Blackhole blackhole)
+    {
+        for(BinaryMessage codeword : mGolay23Codewords)
+        {
+            blackhole.consume(LegacyEdac.golay23(codeword.copy(), 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void golay23(Blackhole blackhole)
+    {
+        for(BinaryMessage codeword : mGolay23Codewords)
+        {
+            blackhole.consume(Golay23.checkAndCorrect(codeword.copy(), 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public int golay23Primitive()
+    {
+        System.arraycopy(mGolay23Values, 0, mGolay23Work, 0, CODEWORD_COUNT);
+
+        return Golay23.correct(mGolay23Work, 0, CODEWORD_COUNT);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TDULC_CODEWORDS)
+    public void golay24TDULCLegacy(Blackhole blackhole)
+    {
+        BinaryMessage message = mTDULC.copy();
+
+        for(int x = 0; x < TDULC_CODEWORDS; x++)
+        {
+            blackhole.consume(LegacyEdac.golay23(message, TDULC_START + (x * 24)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TDULC_CODEWORDS)
+    public CRC golay24TDULC()
+    {
+        return Golay24.checkAndCorrect(mTDULC.copy(), TDULC_START, TDULC_CODEWORDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TDULC_CODEWORDS)
+    public int golay24TDULCPrimitive()
+    {
+        System.arraycopy(mTDULCValues, 0, mTDULCWork, 0, TDULC_CODEWORDS);
+
+        return Golay24.correct(mTDULCWork, 0, TDULC_CODEWORDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LDU_CODEWORDS)
+    public int hamming10LDULegacy()
+    {
+        BinaryMessage message = mLDU.copy();
+
+        int errors = 0;
+
+        for(int start : LDU1Message.GOLAY_WORD_STARTS)
+        {
+            errors = Math.max(errors, LegacyEdac.hamming10(message, start));
+        }
+
+        return errors;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LDU_CODEWORDS)
+    public int hamming10LDU()
+    {
+        return Hamming10.checkAndCorrect(mLDU.copy(), LDU1Message.GOLAY_WORD_STARTS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LDU_CODEWORDS)
+    public int hamming10LDUPrimitive()
+    {
+        System.arraycopy(mLDUValues, 0, mLDUWork, 0, LDU_CODEWORDS);
+
+        return Hamming10.correct(mLDUWork, 0, LDU_CODEWORDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void bch_63_16_11(Blackhole blackhole)
+    {
+        for(BinaryMessage codeword : mBCHCodewords)
+        {
+            blackhole.consume(mBCHDecoder.correctNID(codeword.copy()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void bch_63_16_11Primitive(Blackhole blackhole)
+    {
+        for(long codeword : mBCHValues)
+        {
+            blackhole.consume(mBCHDecoder.correctNID(codeword));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void crcCCITT80Legacy(Blackhole blackhole)
+    {
+        for(BinaryMessage message : mCCITT80Messages)
+        {
+            blackhole.consume(LegacyEdac.crc(message.copy(), LegacyEdac.CCITT_80_CHECKSUMS, CCITT_80_START,
+                CCITT_80_START + 80, 16));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void crcCCITT80(Blackhole blackhole)
+    {
+        for(BinaryMessage message : mCCITT80Messages)
+        {
+            blackhole.consume(CRCP25.correctCCITT80(message.copy(), CCITT_80_START, CCITT_80_START + 80));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void crcPDU3Legacy(Blackhole blackhole)
+    {
+        for(BinaryMessage message : mPDU3Messages)
+        {
+            blackhole.consume(LegacyEdac.crc(message.copy(), CRCP25.PDU3_CHECKSUMS, 160, PDU3_CRC_START, 32));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEWORD_COUNT)
+    public void crcPDU3(Blackhole blackhole)
+    {
+        for(BinaryMessage message : mPDU3Messages)
+        {
+            blackhole.consume(CRCP25.correctPDU3(message.copy()));
+        }
+    }
+}
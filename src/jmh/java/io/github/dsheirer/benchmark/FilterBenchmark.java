@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.benchmark;
+
+import io.github.dsheirer.dsp.filter.FilterFactory;
+import io.github.dsheirer.dsp.filter.Filters;
+import io.github.dsheirer.dsp.filter.Window.WindowType;
+import io.github.dsheirer.dsp.filter.cic.ComplexPrimeCICDecimate;
+import io.github.dsheirer.dsp.filter.fir.complex.ComplexFIRFilter_CB_CB;
+import io.github.dsheirer.dsp.filter.fir.real.RealFIRFilter_RB_RB;
+import io.github.dsheirer.dsp.filter.halfband.complex.HalfBandFilter_CB_CB;
+import io.github.dsheirer.dsp.filter.halfband.real.HalfBandFilter_RB_RB;
+import io.github.dsheirer.dsp.mixer.Oscillator;
+import io.github.dsheirer.sample.complex.ComplexBuffer;
+import io.github.dsheirer.sample.real.RealBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single threaded throughput of the channel filtering and decimation stages.  Scores are reported in samples per
+ * second (complex samples for the complex stages).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark
+{
+    /* Complex samples per tuner buffer */
+    public static final int TUNER_BUFFER_SIZE = 16384;
+
+    /* Samples per channel buffer */
+    public static final int CHANNEL_BUFFER_SIZE = 4096;
+
+    private float[] mChannelComplexSamples;
+    private float[] mChannelRealSamples;
+    private float[] mWorkingComplexSamples = new float[CHANNEL_BUFFER_SIZE * 2];
+    private float[] mWorkingRealSamples = new float[CHANNEL_BUFFER_SIZE];
+
+    private RealFIRFilter_RB_RB mRealFIRFilter;
+    private ComplexFIRFilter_CB_CB mComplexFIRFilter;
+    private HalfBandFilter_RB_RB mRealHalfBandFilter;
+    private HalfBandFilter_CB_CB mComplexHalfBandFilter;
+
+    private Blackhole mBlackhole;
+
+    @Setup
+    public void setup()
+    {
+        mChannelComplexSamples = SyntheticSignals.getTunerSamples(CHANNEL_BUFFER_SIZE,
+            SyntheticSignals.CHANNEL_SAMPLE_RATE, 1200);
+        mChannelRealSamples = SyntheticSignals.getRealSamples(CHANNEL_BUFFER_SIZE);
+
+        //Same configuration as the demodulated audio filter
+        mRealFIRFilter = new RealFIRFilter_RB_RB(FilterFactory.getLowPass(SyntheticSignals.CHANNEL_SAMPLE_RATE, 3000,
+            4000, 60, WindowType.HAMMING, true), 1.0f);
+
+        //Same configuration as the FM demodulator baseband filter
+        mComplexFIRFilter = new ComplexFIRFilter_CB_CB(FilterFactory.getLowPass(SyntheticSignals.CHANNEL_SAMPLE_RATE,
+            5000, 7000, 60, WindowType.HAMMING, true), 1.0f);
+        mComplexFIRFilter.setListener(buffer -> mBlackhole.consume(buffer));
+
+        mRealHalfBandFilter = new HalfBandFilter_RB_RB(Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(),
+            1.0f, true);
+
+        mComplexHalfBandFilter = new HalfBandFilter_CB_CB(Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(),
+            1.0f, true);
+        mComplexHalfBandFilter.setListener(buffer -> mBlackhole.consume(buffer));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TUNER_BUFFER_SIZE)
+    public void cicDecimate(TunerState state, Blackhole blackhole)
+    {
+        state.mBlackhole = blackhole;
+        state.mCICDecimate.receive(new ComplexBuffer(state.mTunerSamples));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TUNER_BUFFER_SIZE)
+    public float oscillator(TunerState state)
+    {
+        Oscillator oscillator = state.mOscillator;
+
+        float accumulator = 0.0f;
+
+        for(int x = 0; x < TUNER_BUFFER_SIZE; x++)
+        {
+            oscillator.rotate();
+            accumulator += oscillator.inphase() + oscillator.quadrature();
+        }
+
+        return accumulator;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHANNEL_BUFFER_SIZE)
+    public RealBuffer realFIRFilter()
+    {
+        //The filter overwrites the buffer samples, so each run filters a fresh copy of the input
+        System.arraycopy(mChannelRealSamples, 0, mWorkingRealSamples, 0, CHANNEL_BUFFER_SIZE);
+
+        return mRealFIRFilter.filter(new RealBuffer(mWorkingRealSamples));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHANNEL_BUFFER_SIZE)
+    public void complexFIRFilter(Blackhole blackhole)
+    {
+        mBlackhole = blackhole;
+
+        //The filter overwrites the buffer samples, so each run filters a fresh copy of the input
+        System.arraycopy(mChannelComplexSamples, 0, mWorkingComplexSamples, 0, CHANNEL_BUFFER_SIZE * 2);
+
+        mComplexFIRFilter.receive(new ComplexBuffer(mWorkingComplexSamples));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHANNEL_BUFFER_SIZE)
+    public RealBuffer realHalfBandFilter()
+    {
+        return mRealHalfBandFilter.filter(new RealBuffer(mChannelRealSamples));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHANNEL_BUFFER_SIZE)
+    public void complexHalfBandFilter(Blackhole blackhole)
+    {
+        mBlackhole = blackhole;
+        mComplexHalfBandFilter.receive(new ComplexBuffer(mChannelComplexSamples));
+    }
+
+    /**
+     * Tuner rate stages, measured at the sample rates of the common tuners
+     */
+    @State(Scope.Thread)
+    public static class TunerState
+    {
+        @Param({"2400000", "10000000"})
+        public int mTunerSampleRate;
+
+        private float[] mTunerSamples;
+        private ComplexPrimeCICDecimate mCICDecimate;
+        private Oscillator mOscillator;
+        private Blackhole mBlackhole;
+
+        @Setup
+        public void setup()
+        {
+            mTunerSamples = SyntheticSignals.getTunerSamples(TUNER_BUFFER_SIZE, mTunerSampleRate, 12500);
+
+            //Same configuration as the tuner channel source decimation filter
+            mCICDecimate = FilterFactory.getDecimationFilter(mTunerSampleRate, SyntheticSignals.CHANNEL_SAMPLE_RATE,
+                1, 12000, 60, WindowType.HAMMING);
+            mCICDecimate.setListener(buffer -> mBlackhole.consume(buffer));
+
+            mOscillator = new Oscillator(12500, mTunerSampleRate);
+        }
+    }
+}
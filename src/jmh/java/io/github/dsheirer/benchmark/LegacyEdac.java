@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.benchmark;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.edac.CRC;
+import io.github.dsheirer.edac.CRCP25;
+import io.github.dsheirer.edac.Golay23;
+
+/**
+ * Reference copies of the bit-serial Golay(23,12,7) error trapping decoder and the Hamming(10,6,3) decoder that were
+ * replaced by the syndrome lookup table decoders in the edac package, and of the per-bit checksum table CRC checks
+ * that were replaced by the CRC engine, retained so that the replacements can be benchmarked against them.
+ */
+class LegacyEdac
+{
+    /* CCITT-16 checksum table widened for the long valued table CRC check */
+    static final long[] CCITT_80_CHECKSUMS = new long[CRCP25.CCITT_80_CHECKSUMS.length];
+
+    static
+    {
+        for(int x = 0; x < CCITT_80_CHECKSUMS.length; x++)
+        {
+            CCITT_80_CHECKSUMS[x] = CRCP25.CCITT_80_CHECKSUMS[x];
+        }
+    }
+
+    private static final int[] HAMMING_10_CHECKSUMS = new int[] {0xE, 0xD, 0xB, 0x7, 0x3, 0xC};
+
+    /* Bit offset to flip for each syndrome, or -1 for uncorrectable, equivalent to the original switch statement */
+    private static final int[] HAMMING_10_ERROR_OFFSETS = new int[] {-1, 9, 8, 4, 7, -1, -1, 3, 6, -1, -1, 2, 5, 1,
+        0, -1};
+
+    /**
+     * Golay(23,12,7) error trapping decoder that rotates the codeword and recalculates the syndrome from the
+     * message bits for each trial.
+     *
+     * @return number of corrected errors, or 4 when the codeword can't be corrected
+     */
+    static int golay23(BinaryMessage frame, int startIndex)
+    {
+        int syndrome = getGolaySyndrome(frame, startIndex);
+
+        if(syndrome == 0)
+        {
+            return 0;
+        }
+
+        BinaryMessage copy = frame.getSubMessage(startIndex, startIndex + 23);
+
+        int index = -1;
+        int syndromeWeight = Golay23.MAX_CORRECTABLE_ERRORS;
+
+        while(index < 23)
+        {
+            if(index != -1)
+            {
+                if(index > 0)
+                {
+                    copy.flip(index - 1);
+                }
+
+                copy.flip(index);
+
+                syndromeWeight = Golay23.MAX_CORRECTABLE_ERRORS - 1;
+            }
+
+            syndrome = getGolaySyndrome(copy, 0);
+
+            if(syndrome > 0)
+            {
+                for(int i = 0; i < 23; i++)
+                {
+                    if(Integer.bitCount(syndrome) <= syndromeWeight)
+                    {
+                        copy.xor(12, 11, syndrome);
+                        copy.rotateRight(i, 0, 22);
+
+                        int corrected = copy.getInt(0, 22);
+                        int original = frame.getInt(startIndex, startIndex + 22);
+
+                        int errorCount = Integer.bitCount(original ^ corrected);
+
+                        if(errorCount <= 3)
+                        {
+                            frame.load(startIndex, 23, corrected);
+                        }
+
+                        return errorCount;
+                    }
+                    else
+                    {
+                        copy.rotateLeft(0, 22);
+                        syndrome = getGolaySyndrome(copy, 0);
+                    }
+                }
+
+                index++;
+            }
+        }
+
+        return 4;
+    }
+
+    private static int getGolaySyndrome(BinaryMessage frame, int startIndex)
+    {
+        int calculated = 0;
+
+        for(int i = frame.nextSetBit(startIndex); i >= startIndex && i < startIndex + 12; i = frame.nextSetBit(i + 1))
+        {
+            calculated ^= Golay23.CHECKSUMS[i - startIndex];
+        }
+
+        return frame.getInt(startIndex + 12, startIndex + 22) ^ calculated;
+    }
+
+    /**
+     * Hamming(10,6,3) decoder that recalculates the checksum from the message bits and corrects single bit errors.
+     *
+     * @return 0 = no errors, 1 = corrected single bit error, 2 = uncorrectable errors
+     */
+    static int hamming10(BinaryMessage frame, int startIndex)
+    {
+        int calculated = 0;
+
+        for(int i = frame.nextSetBit(startIndex); i >= startIndex && i < startIndex + 6; i = frame.nextSetBit(i + 1))
+        {
+            calculated ^= HAMMING_10_CHECKSUMS[i - startIndex];
+        }
+
+        int syndrome = frame.getInt(startIndex + 6, startIndex + 9) ^ calculated;
+
+        if(syndrome == 0)
+        {
+            return 0;
+        }
+
+        int offset = HAMMING_10_ERROR_OFFSETS[syndrome];
+
+        if(offset >= 0)
+        {
+            frame.flip(startIndex + offset);
+            return 1;
+        }
+
+        return 2;
+    }
+
+    /**
+     * CRC check and single bit error correction that XORs the checksum table value of each set message bit and
+     * searches the checksum table for the residual.
+     *
+     * @return CRC check result
+     */
+    static CRC crc(BinaryMessage message, long[] checksums, int messageStart, int crcStart, int crcLength)
+    {
+        long calculated = 0;
+
+        for(int i = message.nextSetBit(messageStart); i >= messageStart && i < crcStart; i = message.nextSetBit(i + 1))
+        {
+            calculated ^= checksums[i - messageStart];
+        }
+
+        long fill = (1L << crcLength) - 1;
+        long residual = calculated ^ message.getLong(crcStart, crcStart + crcLength - 1);
+
+        if(residual == 0 || residual == fill)
+        {
+            return CRC.PASSED;
+        }
+
+        int errorLocation = CRCP25.getBitError(residual, checksums);
+
+        if(errorLocation >= 0)
+        {
+            message.flip(errorLocation + messageStart);
+            return CRC.CORRECTED;
+        }
+
+        return CRC.FAILED_CRC;
+    }
+}
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.benchmark;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.dsp.symbol.Dibit;
+
+import java.util.Random;
+
+/**
+ * Deterministic synthetic sample and symbol streams for the benchmarks.  Each generator uses a fixed seed so that
+ * every benchmark run processes identical input and results are comparable across runs and builds.
+ */
+public class SyntheticSignals
+{
+    public static final long SEED = 0x5D2714L;
+
+    public static final int CHANNEL_SAMPLE_RATE = 48000;
+    public static final int SAMPLES_PER_SYMBOL = 10;
+
+    /* P25 Phase 1 frame sync pattern */
+    public static final long P25_SYNC = 0x5575F5FF77FFL;
+    public static final int P25_SYNC_DIBITS = 24;
+
+    /* Approximate P25 Phase 1 LDU length in dibits */
+    public static final int P25_FRAME_DIBITS = 864;
+
+    /* C4FM deviation of 600 Hz per symbol level, in radians per sample at the channel sample rate */
+    private static final float C4FM_DEVIATION_PER_LEVEL = (float)(2.0 * Math.PI * 600.0 / CHANNEL_SAMPLE_RATE);
+
+    /**
+     * Complex gaussian noise with a carrier offset from baseband, similar to the wideband output of a tuner.
+     *
+     * @param sampleCount number of complex samples
+     * @param sampleRate of the samples
+     * @param carrierFrequency offset of the carrier from baseband in hertz
+     * @return interleaved I/Q samples
+     */
+    public static float[] getTunerSamples(int sampleCount, int sampleRate, long carrierFrequency)
+    {
+        Random random = new Random(SEED);
+
+        float[] samples = new float[sampleCount * 2];
+
+        double phaseIncrement = 2.0 * Math.PI * carrierFrequency / sampleRate;
+        double phase = 0.0;
+
+        for(int x = 0; x < samples.length; x += 2)
+        {
+            samples[x] = (float)(0.5 * Math.cos(phase) + 0.1 * random.nextGaussian());
+            samples[x + 1] = (float)(0.5 * Math.sin(phase) + 0.1 * random.nextGaussian());
+
+            phase += phaseIncrement;
+        }
+
+        return samples;
+    }
+
+    /**
+     * Real gaussian noise samples
+     *
+     * @param sampleCount number of samples
+     * @return samples
+     */
+    public static float[] getRealSamples(int sampleCount)
+    {
+        Random random = new Random(SEED);
+
+        float[] samples = new float[sampleCount];
+
+        for(int x = 0; x < samples.length; x++)
+        {
+            samples[x] = (float)(0.3 * random.nextGaussian());
+        }
+
+        return samples;
+    }
+
+    /**
+     * Frequency modulated complex baseband samples at the channel sample rate, modulated by a tone.
+     *
+     * @param sampleCount number of complex samples
+     * @param toneFrequency of the modulating tone in hertz
+     * @param deviation peak frequency deviation in hertz
+     * @return interleaved I/Q samples
+     */
+    public static float[] getFMSamples(int sampleCount, double toneFrequency, double deviation)
+    {
+        Random random = new Random(SEED);
+
+        float[] samples = new float[sampleCount * 2];
+
+        double phase = 0.0;
+
+        for(int x = 0; x < sampleCount; x++)
+        {
+            double frequency = deviation * Math.sin(2.0 * Math.PI * toneFrequency * x / CHANNEL_SAMPLE_RATE);
+
+            phase += 2.0 * Math.PI * frequency / CHANNEL_SAMPLE_RATE;
+
+            samples[2 * x] = (float)(Math.cos(phase) + 0.05 * random.nextGaussian());
+            samples[2 * x + 1] = (float)(Math.sin(phase) + 0.05 * random.nextGaussian());
+        }
+
+        return samples;
+    }
+
+    /**
+     * Demodulated C4FM samples at the channel sample rate (10 samples per symbol) for random dibits, as produced by
+     * an FM demodulator for a P25 Phase 1 control channel.
+     *
+     * @param symbolCount number of symbols
+     * @return real samples
+     */
+    public static float[] getC4FMSamples(int symbolCount)
+    {
+        Dibit[] dibits = getP25Dibits(symbolCount);
+
+        float[] samples = new float[symbolCount * SAMPLES_PER_SYMBOL];
+
+        float previous = 0.0f;
+
+        for(int x = 0; x < symbolCount; x++)
+        {
+            float level = getC4FMLevel(dibits[x]) * C4FM_DEVIATION_PER_LEVEL;
+
+            for(int y = 0; y < SAMPLES_PER_SYMBOL; y++)
+            {
+                //Linear transition over the first half of each symbol period
+                float transition = Math.min(1.0f, (float)y / (SAMPLES_PER_SYMBOL / 2));
+
+                samples[x * SAMPLES_PER_SYMBOL + y] = previous + ((level - previous) * transition);
+            }
+
+            previous = level;
+        }
+
+        return samples;
+    }
+
+    /**
+     * Differentially encoded QPSK (CQPSK/LSM) complex baseband samples at the channel sample rate (10 samples per
+     * symbol) for random dibits.
+     *
+     * @param symbolCount number of symbols
+     * @return interleaved I/Q samples
+     */
+    public static float[] getLSMSamples(int symbolCount)
+    {
+        Dibit[] dibits = getP25Dibits(symbolCount);
+
+        float[] samples = new float[symbolCount * SAMPLES_PER_SYMBOL * 2];
+
+        double phase = 0.0;
+        int pointer = 0;
+
+        for(int x = 0; x < symbolCount; x++)
+        {
+            double target = phase + (Math.PI / 4.0) * getC4FMLevel(dibits[x]);
+
+            for(int y = 0; y < SAMPLES_PER_SYMBOL; y++)
+            {
+                double current = phase + ((target - phase) * y / SAMPLES_PER_SYMBOL);
+
+                samples[pointer++] = (float)Math.cos(current);
+                samples[pointer++] = (float)Math.sin(current);
+            }
+
+            phase = target;
+        }
+
+        return samples;
+    }
+
+    /**
+     * Random dibit stream with a P25 Phase 1 frame sync pattern inserted at the start of each frame
+     *
+     * @param dibitCount number of dibits
+     * @return dibits
+     */
+    public static Dibit[] getP25Dibits(int dibitCount)
+    {
+        Random random = new Random(SEED);
+
+        Dibit[] dibits = new Dibit[dibitCount];
+
+        for(int x = 0; x < dibitCount; x++)
+        {
+            int frameIndex = x % P25_FRAME_DIBITS;
+
+            if(frameIndex < P25_SYNC_DIBITS)
+            {
+                int shift = 2 * (P25_SYNC_DIBITS - frameIndex - 1);
+
+                dibits[x] = getDibit((int)((P25_SYNC >> shift) & 0x3));
+            }
+            else
+            {
+                dibits[x] = getDibit(random.nextInt(4));
+            }
+        }
+
+        return dibits;
+    }
+
+    /**
+     * Binary message filled with random bits
+     *
+     * @param size of the message in bits
+     * @return message
+     */
+    public static BinaryMessage getRandomMessage(int size)
+    {
+        Random random = new Random(SEED);
+
+        BinaryMessage message = new BinaryMessage(size);
+
+        for(int x = 0; x < size; x++)
+        {
+            if(random.nextBoolean())
+            {
+                message.set(x);
+            }
+        }
+
+        return message;
+    }
+
+    /**
+     * Dibit for the two bit value where the most significant bit is bit 1
+     */
+    private static Dibit getDibit(int value)
+    {
+        switch(value)
+        {
+            case 0:
+                return Dibit.D00_PLUS_1;
+            case 1:
+                return Dibit.D01_PLUS_3;
+            case 2:
+                return Dibit.D10_MINUS_1;
+            case 3:
+            default:
+                return Dibit.D11_MINUS_3;
+        }
+    }
+
+    /**
+     * Normalized C4FM deviation level for the dibit (+3, +1, -1, -3)
+     */
+    private static float getC4FMLevel(Dibit dibit)
+    {
+        switch(dibit)
+        {
+            case D01_PLUS_3:
+                return 3.0f;
+            case D00_PLUS_1:
+                return 1.0f;
+            case D10_MINUS_1:
+                return -1.0f;
+            case D11_MINUS_3:
+            default:
+                return -3.0f;
+        }
+    }
+}
@@ -20,7 +20,7 @@ package io.github.dsheirer.alias;
 
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import io.github.dsheirer.alias.id.AliasID;
-import io.github.dsheirer.alias.id.WildcardID;
+import io.github.dsheirer.alias.id.WildcardIndex;
 import io.github.dsheirer.alias.id.esn.Esn;
 import io.github.dsheirer.alias.id.fleetsync.FleetsyncID;
 import io.github.dsheirer.alias.id.lojack.LoJackFunctionAndID;
@@ -36,11 +36,8 @@ import io.github.dsheirer.sample.Listener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class AliasList implements Listener<AliasEvent>
 {
@@ -48,24 +45,24 @@ public class AliasList implements Listener<AliasEvent>
     public static final String WILDCARD = "*";
     public static final String REGEX_WILDCARD = ".";
 
-    private Map<String,Alias> mESN = new HashMap<>();
-    private Map<String,Alias> mFleetsync = new HashMap<>();
-    private Map<LoJackFunctionAndID,Alias> mLoJack = new HashMap<>();
-    private Map<String,Alias> mMDC1200 = new HashMap<>();
-    private Map<String,Alias> mMobileID = new HashMap<>();
-    private Map<String,Alias> mMPT1327 = new HashMap<>();
-    private Map<String,Alias> mSiteID = new HashMap<>();
-    private Map<Integer,Alias> mStatus = new HashMap<>();
-    private Map<String,Alias> mTalkgroup = new HashMap<>();
-    private Map<Integer,Alias> mUniqueID = new HashMap<>();
-
-    private List<WildcardID> mESNWildcards = new ArrayList<>();
-    private List<WildcardID> mMobileIDWildcards = new ArrayList<>();
-    private List<WildcardID> mFleetsyncWildcards = new ArrayList<>();
-    private List<WildcardID> mMDC1200Wildcards = new ArrayList<>();
-    private List<WildcardID> mMPT1327Wildcards = new ArrayList<>();
-    private List<WildcardID> mSiteWildcards = new ArrayList<>();
-    private List<WildcardID> mTalkgroupWildcards = new ArrayList<>();
+    private Map<String,Alias> mESN = new ConcurrentHashMap<>();
+    private Map<String,Alias> mFleetsync = new ConcurrentHashMap<>();
+    private Map<LoJackFunctionAndID,Alias> mLoJack = new ConcurrentHashMap<>();
+    private Map<String,Alias> mMDC1200 = new ConcurrentHashMap<>();
+    private Map<String,Alias> mMobileID = new ConcurrentHashMap<>();
+    private Map<String,Alias> mMPT1327 = new ConcurrentHashMap<>();
+    private Map<String,Alias> mSiteID = new ConcurrentHashMap<>();
+    private Map<Integer,Alias> mStatus = new ConcurrentHashMap<>();
+    private Map<String,Alias> mTalkgroup = new ConcurrentHashMap<>();
+    private Map<Integer,Alias> mUniqueID = new ConcurrentHashMap<>();
+
+    private WildcardIndex mESNWildcards = new WildcardIndex();
+    private WildcardIndex mMobileIDWildcards = new WildcardIndex();
+    private WildcardIndex mFleetsyncWildcards = new WildcardIndex();
+    private WildcardIndex mMDC1200Wildcards = new WildcardIndex();
+    private WildcardIndex mMPT1327Wildcards = new WildcardIndex();
+    private WildcardIndex mSiteWildcards = new WildcardIndex();
+    private WildcardIndex mTalkgroupWildcards = new WildcardIndex();
 
     private String mName;
 
@@ -112,8 +109,7 @@ public class AliasList implements Listener<AliasEvent>
                         {
                             if(esn.contains(WILDCARD))
                             {
-                                mESNWildcards.add(new WildcardID(esn));
-                                Collections.sort(mESNWildcards);
+                                mESNWildcards.add(esn);
                             }
 
                             mESN.put(esn, alias);
@@ -126,8 +122,7 @@ public class AliasList implements Listener<AliasEvent>
                         {
                             if(fleetsync.contains(WILDCARD))
                             {
-                                mFleetsyncWildcards.add(new WildcardID(fleetsync));
-                                Collections.sort(mFleetsyncWildcards);
+                                mFleetsyncWildcards.add(fleetsync);
                             }
 
                             mFleetsync.put(fleetsync, alias);
@@ -143,8 +138,7 @@ public class AliasList implements Listener<AliasEvent>
                         {
                             if(mdc.contains(WILDCARD))
                             {
-                                mMDC1200Wildcards.add(new WildcardID(mdc));
-                                Collections.sort(mMDC1200Wildcards);
+                                mMDC1200Wildcards.add(mdc);
                             }
 
                             mMDC1200.put(mdc, alias);
@@ -157,8 +151,7 @@ public class AliasList implements Listener<AliasEvent>
                         {
                             if(mpt.contains(WILDCARD))
                             {
-                                mMPT1327Wildcards.add(new WildcardID(mpt));
-                                Collections.sort(mMPT1327Wildcards);
+                                mMPT1327Wildcards.add(mpt);
                             }
 
                             mMPT1327.put(mpt, alias);
@@ -171,8 +164,7 @@ public class AliasList implements Listener<AliasEvent>
                         {
                             if(min.contains(WILDCARD))
                             {
-                                mMobileIDWildcards.add(new WildcardID(min));
-                                Collections.sort(mMobileIDWildcards);
+                                mMobileIDWildcards.add(min);
                             }
 
                             mMobileID.put(min, alias);
@@ -188,8 +180,7 @@ public class AliasList implements Listener<AliasEvent>
                         {
                             if(siteID.contains(WILDCARD))
                             {
-                                mSiteWildcards.add(new WildcardID(siteID));
-                                Collections.sort(mSiteWildcards);
+                                mSiteWildcards.add(siteID);
                             }
 
                             mSiteID.put(siteID, alias);
@@ -205,8 +196,7 @@ public class AliasList implements Listener<AliasEvent>
                         {
                             if(tgid.contains(WILDCARD))
                             {
-                                mTalkgroupWildcards.add(new WildcardID(tgid));
-                                Collections.sort(mTalkgroupWildcards);
+                                mTalkgroupWildcards.add(tgid);
                             }
 
                             mTalkgroup.put(tgid, alias);
@@ -243,20 +233,6 @@ public class AliasList implements Listener<AliasEvent>
         }
     }
 
-    private void removeWildcard(String value, List<WildcardID> wildcards)
-    {
-        if(value != null)
-        {
-            for(WildcardID wildcardID : wildcards)
-            {
-                if(wildcardID.value().equals(value))
-                {
-                    wildcards.remove(wildcardID);
-                }
-            }
-        }
-    }
-
     /**
      * Removes the alias and alias identifier from internal mappings.
      */
@@ -273,11 +249,11 @@ public class AliasList implements Listener<AliasEvent>
                     {
                         if(esn.contains(WILDCARD))
                         {
-                            removeWildcard(esn, mESNWildcards);
+                            mESNWildcards.remove(esn);
                         }
-                    }
 
-                    mESN.remove(esn);
+                        mESN.remove(esn);
+                    }
                     break;
                 case FLEETSYNC:
                     String fleetsync = ((FleetsyncID) id).getIdent();
@@ -286,7 +262,7 @@ public class AliasList implements Listener<AliasEvent>
                     {
                         if(fleetsync.contains(WILDCARD))
                         {
-                            removeWildcard(fleetsync, mFleetsyncWildcards);
+                            mFleetsyncWildcards.remove(fleetsync);
                         }
 
                         mFleetsync.remove(fleetsync);
@@ -302,7 +278,7 @@ public class AliasList implements Listener<AliasEvent>
                     {
                         if(mdc.contains(WILDCARD))
                         {
-                            removeWildcard(mdc, mMDC1200Wildcards);
+                            mMDC1200Wildcards.remove(mdc);
                         }
 
                         mMDC1200.remove(mdc);
@@ -315,7 +291,7 @@ public class AliasList implements Listener<AliasEvent>
                     {
                         if(mpt.contains(WILDCARD))
                         {
-                            removeWildcard(mpt, mMPT1327Wildcards);
+                            mMPT1327Wildcards.remove(mpt);
                         }
 
                         mMPT1327.remove(mpt);
@@ -328,7 +304,7 @@ public class AliasList implements Listener<AliasEvent>
                     {
                         if(min.contains(WILDCARD))
                         {
-                            removeWildcard(min, mMobileIDWildcards);
+                            mMobileIDWildcards.remove(min);
                         }
 
                         mMobileID.remove(min);
@@ -338,7 +314,17 @@ public class AliasList implements Listener<AliasEvent>
                     mUniqueID.remove(((UniqueID) id).getUid());
                     break;
                 case SITE:
-                    mSiteID.remove(((SiteID) id).getSite());
+                    String siteID = ((SiteID) id).getSite();
+
+                    if(siteID != null)
+                    {
+                        if(siteID.contains(WILDCARD))
+                        {
+                            mSiteWildcards.remove(siteID);
+                        }
+
+                        mSiteID.remove(siteID);
+                    }
                     break;
                 case STATUS:
                     mStatus.remove(((StatusID) id).getStatus());
@@ -350,7 +336,7 @@ public class AliasList implements Listener<AliasEvent>
                     {
                         if(tgid.contains(WILDCARD))
                         {
-                            removeWildcard(tgid, mTalkgroupWildcards);
+                            mTalkgroupWildcards.remove(tgid);
                         }
 
                         mTalkgroup.remove(tgid);
@@ -368,30 +354,6 @@ public class AliasList implements Listener<AliasEvent>
         }
     }
 
-    /**
-     * Returns the first matching regex wildcard from the list of wildcards that matches the
-     * identifier.
-     *
-     * @param id to match
-     * @param wildcards to match against
-     * @return matching wildcard ID or null
-     */
-    private String getWildcardMatch(String id, List<WildcardID> wildcards)
-    {
-        if(id != null)
-        {
-            for(WildcardID wildcard : wildcards)
-            {
-                if(wildcard.matches(id))
-                {
-                    return wildcard.value();
-                }
-            }
-        }
-
-        return null;
-    }
-
     /**
      * Lookup alias by site ID
      */
@@ -405,7 +367,7 @@ public class AliasList implements Listener<AliasEvent>
 
             if(alias == null)
             {
-                String wildcard = getWildcardMatch(siteID, mSiteWildcards);
+                String wildcard = mSiteWildcards.getMatch(siteID);
 
                 if(wildcard != null)
                 {
@@ -446,7 +408,7 @@ public class AliasList implements Listener<AliasEvent>
 
             if(alias == null)
             {
-                String wildcard = getWildcardMatch(esn, mESNWildcards);
+                String wildcard = mESNWildcards.getMatch(esn);
 
                 if(wildcard != null)
                 {
@@ -471,7 +433,7 @@ public class AliasList implements Listener<AliasEvent>
 
             if(alias == null)
             {
-                String wildcard = getWildcardMatch(ident, mFleetsyncWildcards);
+                String wildcard = mFleetsyncWildcards.getMatch(ident);
 
                 if(wildcard != null)
                 {
@@ -515,7 +477,7 @@ public class AliasList implements Listener<AliasEvent>
 
             if(alias == null)
             {
-                String wildcard = getWildcardMatch(ident, mMDC1200Wildcards);
+                String wildcard = mMDC1200Wildcards.getMatch(ident);
 
                 if(wildcard != null)
                 {
@@ -540,7 +502,7 @@ public class AliasList implements Listener<AliasEvent>
 
             if(alias == null)
             {
-                String wildcard = getWildcardMatch(ident, mMPT1327Wildcards);
+                String wildcard = mMPT1327Wildcards.getMatch(ident);
 
                 if(wildcard != null)
                 {
@@ -565,7 +527,7 @@ public class AliasList implements Listener<AliasEvent>
 
             if(alias == null)
             {
-                String wildcard = getWildcardMatch(ident, mMobileIDWildcards);
+                String wildcard = mMobileIDWildcards.getMatch(ident);
 
                 if(wildcard != null)
                 {
@@ -594,7 +556,7 @@ public class AliasList implements Listener<AliasEvent>
 
             if(alias == null && includeWildcards)
             {
-                String wildcard = getWildcardMatch(tgid, mTalkgroupWildcards);
+                String wildcard = mTalkgroupWildcards.getMatch(tgid);
 
                 if(wildcard != null)
                 {
@@ -25,6 +25,7 @@ import java.util.regex.Pattern;
 public class WildcardID implements Comparable<WildcardID>
 {
     public static final String WILDCARD = "*";
+    public static final char WILDCARD_CHARACTER = '*';
     public static final String REGEX_WILDCARD = ".";
 
     private String mValue;
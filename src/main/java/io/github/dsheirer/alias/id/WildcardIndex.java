@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.alias.id;
+
+/**
+ * Compiled index of wildcard identifier patterns for matching string identifiers without evaluating each wildcard
+ * regular expression in turn.
+ *
+ * Patterns are stored in a character trie where each asterisk (*) wildcard character is stored as a node that
+ * matches any single character.  A lookup follows both the exact character node and the wildcard node at each
+ * character position, so lookup cost depends on the identifier length and not on the number of wildcard patterns.
+ *
+ * Matching preserves the first-match semantics of a weight-sorted list of WildcardID patterns: when several patterns
+ * match an identifier, the pattern with the lowest WildcardID weight (most specific) is returned and patterns with
+ * equal weights are resolved in the order that they were added.
+ *
+ * The trie is immutable and each add or remove replaces only the nodes along the path of the changed pattern and
+ * then publishes the new root, so lookups are lock-free and can be invoked concurrently with updates.  Updates are
+ * serialized.
+ */
+public class WildcardIndex
+{
+    private volatile Node mRoot = Node.EMPTY;
+    private long mSequence;
+
+    /**
+     * Constructs an empty wildcard index
+     */
+    public WildcardIndex()
+    {
+    }
+
+    /**
+     * Adds the wildcard pattern to this index.  Adding a pattern that is already indexed has no effect.
+     *
+     * @param value containing one or more asterisk (*) single character wildcards, see WildcardID
+     * @throws IllegalArgumentException if the value is not a valid WildcardID value
+     */
+    public synchronized void add(String value)
+    {
+        //Validates the pattern and calculates the pattern weight
+        WildcardID wildcardID = new WildcardID(value);
+
+        mRoot = add(mRoot, value, 0, new Entry(value, wildcardID.weight(), mSequence++));
+    }
+
+    /**
+     * Removes the wildcard pattern from this index
+     */
+    public synchronized void remove(String value)
+    {
+        if(value != null)
+        {
+            Node root = remove(mRoot, value, 0);
+
+            mRoot = root != null ? root : Node.EMPTY;
+        }
+    }
+
+    /**
+     * Removes all patterns from this index
+     */
+    public synchronized void clear()
+    {
+        mRoot = Node.EMPTY;
+    }
+
+    /**
+     * Indicates if this index does not contain any patterns
+     */
+    public boolean isEmpty()
+    {
+        return mRoot.isEmpty();
+    }
+
+    /**
+     * Finds the most specific wildcard pattern that matches the identifier.
+     *
+     * @param id to match
+     * @return matching wildcard pattern value or null
+     */
+    public String getMatch(String id)
+    {
+        if(id != null)
+        {
+            Node root = mRoot;
+
+            if(!root.isEmpty())
+            {
+                Entry entry = find(root, id, 0, null);
+
+                if(entry != null)
+                {
+                    return entry.mValue;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Recursively finds the best matching entry within the node's subtree for the identifier characters starting at
+     * the index.
+     */
+    private static Entry find(Node node, String id, int index, Entry best)
+    {
+        if(index == id.length())
+        {
+            return Entry.best(best, node.mEntry);
+        }
+
+        char character = id.charAt(index);
+
+        if(character != WildcardID.WILDCARD_CHARACTER)
+        {
+            Node exact = node.getChild(character);
+
+            if(exact != null)
+            {
+                best = find(exact, id, index + 1, best);
+            }
+        }
+
+        Node wildcard = node.getChild(WildcardID.WILDCARD_CHARACTER);
+
+        if(wildcard != null)
+        {
+            best = find(wildcard, id, index + 1, best);
+        }
+
+        return best;
+    }
+
+    /**
+     * Creates a copy of the node with the entry added at the end of the value's path
+     */
+    private static Node add(Node node, String value, int index, Entry entry)
+    {
+        if(index == value.length())
+        {
+            if(node.mEntry != null)
+            {
+                return node;
+            }
+
+            return new Node(node.mKeys, node.mChildren, entry);
+        }
+
+        char character = value.charAt(index);
+
+        Node child = node.getChild(character);
+
+        Node updated = add(child != null ? child : Node.EMPTY, value, index + 1, entry);
+
+        return child == updated ? node : node.setChild(character, updated);
+    }
+
+    /**
+     * Creates a copy of the node with the entry removed from the end of the value's path and with any nodes that no
+     * longer lead to an entry pruned from the trie.
+     *
+     * @return updated node or null if the updated node is empty
+     */
+    private static Node remove(Node node, String value, int index)
+    {
+        if(index == value.length())
+        {
+            if(node.mEntry == null)
+            {
+                return node;
+            }
+
+            Node updated = new Node(node.mKeys, node.mChildren, null);
+
+            return updated.isEmpty() ? null : updated;
+        }
+
+        char character = value.charAt(index);
+
+        Node child = node.getChild(character);
+
+        if(child == null)
+        {
+            return node;
+        }
+
+        Node updated = remove(child, value, index + 1);
+
+        if(updated == child)
+        {
+            return node;
+        }
+
+        Node result = updated == null ? node.removeChild(character) : node.setChild(character, updated);
+
+        return result.isEmpty() ? null : result;
+    }
+
+    /**
+     * Indexed wildcard pattern
+     */
+    private static class Entry
+    {
+        private final String mValue;
+        private final int mWeight;
+        private final long mSequence;
+
+        Entry(String value, int weight, long sequence)
+        {
+            mValue = value;
+            mWeight = weight;
+            mSequence = sequence;
+        }
+
+        /**
+         * Entry that precedes in weight-sorted order, where equal weights are ordered by insertion sequence
+         */
+        static Entry best(Entry current, Entry candidate)
+        {
+            if(current == null)
+            {
+                return candidate;
+            }
+
+            if(candidate == null)
+            {
+                return current;
+            }
+
+            if(candidate.mWeight < current.mWeight ||
+               (candidate.mWeight == current.mWeight && candidate.mSequence < current.mSequence))
+            {
+                return candidate;
+            }
+
+            return current;
+        }
+    }
+
+    /**
+     * Immutable trie node.  Child keys are stored in a small array since identifiers use a limited character set
+     * (decimal or hexadecimal digits plus the wildcard character).
+     */
+    private static class Node
+    {
+        private static final Node EMPTY = new Node(new char[0], new Node[0], null);
+
+        private final char[] mKeys;
+        private final Node[] mChildren;
+        private final Entry mEntry;
+
+        Node(char[] keys, Node[] children, Entry entry)
+        {
+            mKeys = keys;
+            mChildren = children;
+            mEntry = entry;
+        }
+
+        boolean isEmpty()
+        {
+            return mEntry == null && mKeys.length == 0;
+        }
+
+        Node getChild(char key)
+        {
+            for(int x = 0; x < mKeys.length; x++)
+            {
+                if(mKeys[x] == key)
+                {
+                    return mChildren[x];
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Copy of this node with the child added or replaced
+         */
+        Node setChild(char key, Node child)
+        {
+            for(int x = 0; x < mKeys.length; x++)
+            {
+                if(mKeys[x] == key)
+                {
+                    Node[] children = mChildren.clone();
+                    children[x] = child;
+                    return new Node(mKeys, children, mEntry);
+                }
+            }
+
+            char[] keys = new char[mKeys.length + 1];
+            Node[] children = new Node[mChildren.length + 1];
+
+            System.arraycopy(mKeys, 0, keys, 0, mKeys.length);
+            System.arraycopy(mChildren, 0, children, 0, mChildren.length);
+
+            keys[mKeys.length] = key;
+            children[mChildren.length] = child;
+
+            return new Node(keys, children, mEntry);
+        }
+
+        /**
+         * Copy of this node with the child removed
+         */
+        Node removeChild(char key)
+        {
+            for(int x = 0; x < mKeys.length; x++)
+            {
+                if(mKeys[x] == key)
+                {
+                    char[] keys = new char[mKeys.length - 1];
+                    Node[] children = new Node[mChildren.length - 1];
+
+                    System.arraycopy(mKeys, 0, keys, 0, x);
+                    System.arraycopy(mKeys, x + 1, keys, x, keys.length - x);
+                    System.arraycopy(mChildren, 0, children, 0, x);
+                    System.arraycopy(mChildren, x + 1, children, x, children.length - x);
+
+                    return new Node(keys, children, mEntry);
+                }
+            }
+
+            return this;
+        }
+    }
+}
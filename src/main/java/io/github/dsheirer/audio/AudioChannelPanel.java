@@ -198,11 +198,16 @@ public class AudioChannelPanel extends JPanel
      */
     public class AudioMetadataProcessor implements Listener<Metadata>
     {
+        private Metadata mCurrentMetadata;
+
         @Override
         public void receive(final Metadata metadata)
         {
-            if(metadata.isUpdated() || !mConfigured)
+            //Metadata snapshots are only replaced when the channel metadata changes
+            if(metadata != mCurrentMetadata || !mConfigured)
             {
+                mCurrentMetadata = metadata;
+
                 EventQueue.invokeLater(new Runnable()
                 {
                     @Override
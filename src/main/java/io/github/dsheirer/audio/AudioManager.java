@@ -21,6 +21,10 @@ package io.github.dsheirer.audio;
 import io.github.dsheirer.audio.output.AudioOutput;
 import io.github.dsheirer.audio.output.MonoAudioOutput;
 import io.github.dsheirer.audio.output.StereoAudioOutput;
+import io.github.dsheirer.metrics.Counter;
+import io.github.dsheirer.metrics.MetricSet;
+import io.github.dsheirer.metrics.MetricsRegistry;
+import io.github.dsheirer.metrics.Timer;
 import io.github.dsheirer.properties.SystemProperties;
 import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
@@ -72,6 +76,9 @@ public class AudioManager implements Listener<AudioPacket>, IAudioController
     private MixerManager mMixerManager;
     private MixerChannelConfiguration mMixerChannelConfiguration;
 
+    private MetricSet mMetrics;
+    private Counter mPacketCounter;
+    private Timer mProcessingTimer;
 
     /**
      * Processes all audio produced by the decoding channels and routes audio
@@ -82,6 +89,14 @@ public class AudioManager implements Listener<AudioPacket>, IAudioController
     {
         mMixerManager = mixerManager;
 
+        mMetrics = new MetricSet(MetricsRegistry.getInstance());
+        mPacketCounter = mMetrics.counter("sdrtrunk_audio_manager_packets_total",
+            "Audio packets received for audio playback");
+        mProcessingTimer = mMetrics.timer("sdrtrunk_audio_manager_processing_seconds",
+            "Audio playback routing time per processing run");
+        mMetrics.gauge("sdrtrunk_audio_manager_queue_depth", "Audio packets waiting for audio playback routing",
+            mAudioPacketQueue::size);
+
         loadSettings();
     }
 
@@ -164,6 +179,8 @@ public class AudioManager implements Listener<AudioPacket>, IAudioController
         }
 
         mAudioOutputConnections.clear();
+
+        mMetrics.unregister();
     }
 
     /**
@@ -173,6 +190,7 @@ public class AudioManager implements Listener<AudioPacket>, IAudioController
     public synchronized void receive(AudioPacket packet)
     {
         mAudioPacketQueue.add(packet);
+        mPacketCounter.increment();
     }
 
     /**
@@ -413,6 +431,8 @@ public class AudioManager implements Listener<AudioPacket>, IAudioController
         @Override
         public void run()
         {
+            long start = System.nanoTime();
+
             try
             {
                 disconnectInactiveChannelAssignments();
@@ -442,6 +462,8 @@ public class AudioManager implements Listener<AudioPacket>, IAudioController
             {
                 mLog.error("Encountered error while processing audio packets", e);
             }
+
+            mProcessingTimer.record(System.nanoTime() - start);
         }
     }
 
@@ -97,7 +97,7 @@ public class AudioModule extends Module implements IAudioPacketProvider, IFilter
             {
                 if(mAudioPacketListener != null)
                 {
-                    AudioPacket packet = new AudioPacket(realBuffer.getSamples(), mMetadata.copyOf());
+                    AudioPacket packet = new AudioPacket(realBuffer.getSamples(), mMetadata.getSnapshot());
                     mAudioPacketListener.receive(packet);
                 }
             }
@@ -128,7 +128,7 @@ public class AudioModule extends Module implements IAudioPacketProvider, IFilter
         /* Issue an end audio packet in case a recorder is still rolling */
         if(mAudioPacketListener != null)
         {
-            mAudioPacketListener.receive(new AudioPacket(AudioPacket.Type.END, mMetadata.copyOf()));
+            mAudioPacketListener.receive(new AudioPacket(AudioPacket.Type.END, mMetadata.getSnapshot()));
         }
     }
 
@@ -179,7 +179,7 @@ public class AudioModule extends Module implements IAudioPacketProvider, IFilter
         {
             if(state == SquelchState.SQUELCH && mAudioPacketListener != null)
             {
-                mAudioPacketListener.receive(new AudioPacket(AudioPacket.Type.END, mMetadata.copyOf()));
+                mAudioPacketListener.receive(new AudioPacket(AudioPacket.Type.END, mMetadata.getSnapshot()));
             }
 
             mSquelchState = state;
@@ -20,6 +20,8 @@ package io.github.dsheirer.audio.broadcast;
 
 import io.github.dsheirer.audio.convert.ISilenceGenerator;
 import io.github.dsheirer.channel.metadata.Metadata;
+import io.github.dsheirer.metrics.MetricSet;
+import io.github.dsheirer.metrics.MetricsRegistry;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.util.ThreadPool;
 import org.slf4j.Logger;
@@ -56,6 +58,7 @@ public abstract class AudioBroadcaster implements Listener<AudioRecording>
     private long mDelay;
     private long mMaximumRecordingAge;
     private AtomicBoolean mStreaming = new AtomicBoolean();
+    private MetricSet mMetrics;
 
     /**
      * AudioBroadcaster for streaming audio recordings to a remote streaming audio server.  Audio recordings are
@@ -123,6 +126,15 @@ public abstract class AudioBroadcaster implements Listener<AudioRecording>
     {
         if(mStreaming.compareAndSet(false, true))
         {
+            mMetrics = new MetricSet(MetricsRegistry.getInstance(), "stream", String.valueOf(getStreamName()));
+            mMetrics.gauge("sdrtrunk_broadcast_queue_depth", "Audio recordings waiting to be streamed",
+                this::getQueueSize);
+            mMetrics.functionCounter("sdrtrunk_broadcast_streamed_recordings_total",
+                "Audio recordings streamed to the remote server", this::getStreamedAudioCount);
+            mMetrics.functionCounter("sdrtrunk_broadcast_aged_off_recordings_total",
+                "Audio recordings removed from the queue for exceeding the maximum recording age",
+                this::getAgedOffAudioCount);
+
             if(mRecordingQueueProcessorFuture == null)
             {
                 mRecordingQueueProcessorFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(mRecordingQueueProcessor,
@@ -144,6 +156,12 @@ public abstract class AudioBroadcaster implements Listener<AudioRecording>
                 mRecordingQueueProcessorFuture = null;
             }
 
+            if(mMetrics != null)
+            {
+                mMetrics.unregister();
+                mMetrics = null;
+            }
+
             disconnect();
         }
     }
@@ -420,29 +438,36 @@ public abstract class AudioBroadcaster implements Listener<AudioRecording>
 
                 try
                 {
-                    if(Files.exists(nextRecording.getPath()))
-                    {
-                        byte[] audio = Files.readAllBytes(nextRecording.getPath());
+                    byte[] audio = null;
 
-                        if(audio != null && audio.length > 0)
-                        {
-                            mInputStream = new ByteArrayInputStream(audio);
+                    //In-memory recordings are shared (read-only) across all broadcasters streaming the recording
+                    if(nextRecording.isInMemory())
+                    {
+                        audio = nextRecording.getAudio();
+                    }
+                    else if(Files.exists(nextRecording.getPath()))
+                    {
+                        audio = Files.readAllBytes(nextRecording.getPath());
+                    }
 
-                            mFinalSilencePadding = PROCESSOR_RUN_INTERVAL_MS -
-                                (nextRecording.getRecordingLength() % PROCESSOR_RUN_INTERVAL_MS);
+                    if(audio != null && audio.length > 0)
+                    {
+                        mInputStream = new ByteArrayInputStream(audio);
 
-                            while(mFinalSilencePadding >= PROCESSOR_RUN_INTERVAL_MS)
-                            {
-                                mFinalSilencePadding -= PROCESSOR_RUN_INTERVAL_MS;
-                            }
+                        mFinalSilencePadding = PROCESSOR_RUN_INTERVAL_MS -
+                            (nextRecording.getRecordingLength() % PROCESSOR_RUN_INTERVAL_MS);
 
-                            if(connected())
-                            {
-                                broadcastMetadata(nextRecording.getMetadata());
-                            }
+                        while(mFinalSilencePadding >= PROCESSOR_RUN_INTERVAL_MS)
+                        {
+                            mFinalSilencePadding -= PROCESSOR_RUN_INTERVAL_MS;
+                        }
 
-                            metadataUpdateRequired = false;
+                        if(connected())
+                        {
+                            broadcastMetadata(nextRecording.getMetadata());
                         }
+
+                        metadataUpdateRequired = false;
                     }
                 }
                 catch(IOException ioe)
@@ -30,6 +30,7 @@ public class AudioRecording implements Comparable<AudioRecording>
     private final static Logger mLog = LoggerFactory.getLogger(StreamManager.class);
 
     private Path mPath;
+    private byte[] mAudio;
     private long mStartTime;
     private long mRecordingLength;
     private AtomicInteger mPendingReplayCount = new AtomicInteger();
@@ -52,13 +53,46 @@ public class AudioRecording implements Comparable<AudioRecording>
     }
 
     /**
-     * Path to the completed audio recording
+     * In-memory audio recording that is ready to be streamed.  The audio byte array is shared by each of the audio
+     * broadcasters that stream the recording and must not be modified.
+     *
+     * @param audio converted audio recording bytes
+     * @param metadata associated with the recording
+     * @param start time of recording in milliseconds since epoch
+     * @param recordingLength in milliseconds
+     */
+    public AudioRecording(byte[] audio, Metadata metadata, long start, long recordingLength)
+    {
+        mAudio = audio;
+        mMetadata = metadata;
+        mStartTime = start;
+        mRecordingLength = recordingLength;
+    }
+
+    /**
+     * Path to the completed audio recording or null for an in-memory recording
      */
     public Path getPath()
     {
         return mPath;
     }
 
+    /**
+     * Indicates if the recording audio is held in memory instead of in a file
+     */
+    public boolean isInMemory()
+    {
+        return mAudio != null;
+    }
+
+    /**
+     * Converted audio for an in-memory recording or null if the recording is stored in a file
+     */
+    public byte[] getAudio()
+    {
+        return mAudio;
+    }
+
     /**
      * Optional audio metadata for the recording.
      */
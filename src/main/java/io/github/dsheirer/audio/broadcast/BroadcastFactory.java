@@ -185,11 +185,20 @@ public class BroadcastFactory
      * Creates an audio recorder for the specified broadcastAudio format using the specified path output file name
      */
     public static AudioRecorder getAudioRecorder(Path path, BroadcastFormat broadcastFormat)
+    {
+        return getAudioRecorder(path, broadcastFormat, false);
+    }
+
+    /**
+     * Creates an audio recorder for the specified broadcastAudio format that records to the specified path output
+     * file name, or to memory when in-memory is specified.
+     */
+    public static AudioRecorder getAudioRecorder(Path path, BroadcastFormat broadcastFormat, boolean inMemory)
     {
         switch(broadcastFormat)
         {
             case MP3:
-                return new MP3Recorder(path);
+                return new MP3Recorder(path, inMemory);
             default:
                 mLog.debug("Unrecognized broadcastAudio format [" + broadcastFormat + "] cannot create audio recorder");
                 return null;
@@ -81,10 +81,11 @@ public class BroadcastModel extends AbstractTableModel implements Listener<Audio
     {
         mIconManager = iconManager;
         mStreamManager = new StreamManager(new CompletedRecordingListener(), BroadcastFormat.MP3,
-            SystemProperties.getInstance().getApplicationFolder(TEMPORARY_STREAM_DIRECTORY));
+            SystemProperties.getInstance().getApplicationFolder(TEMPORARY_STREAM_DIRECTORY), true);
         mStreamManager.start();
 
-        //Monitor to remove temporary recording files that have been streamed by all audio broadcasters
+        //Monitor to release in-memory recordings and remove temporary recording files that have been streamed by all
+        //audio broadcasters
         ThreadPool.SCHEDULED.scheduleAtFixedRate(new RecordingDeletionMonitor(),
             15l, 15l, TimeUnit.SECONDS);
 
@@ -616,12 +617,18 @@ public class BroadcastModel extends AbstractTableModel implements Listener<Audio
     }
 
     /**
-     * Cleanup method to remove a temporary recording file from disk.
+     * Cleanup method to release an in-memory recording or to remove a temporary recording file from disk.
      *
      * @param recording to remove
      */
     private void removeRecording(AudioRecording recording)
     {
+        if(recording.isInMemory())
+        {
+            mStreamManager.release(recording);
+            return;
+        }
+
         try
         {
             Files.delete(recording.getPath());
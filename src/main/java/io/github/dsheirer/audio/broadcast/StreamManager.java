@@ -26,6 +26,7 @@ import io.github.dsheirer.util.TimeStamp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -36,12 +37,16 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class StreamManager implements Listener<AudioPacket>
 {
     private final static Logger mLog = LoggerFactory.getLogger(StreamManager.class);
     private static final long MAXIMUM_RECORDER_LIFESPAN_MILLIS = 30000; //30 seconds
 
+    //Completed in-memory recordings are spilled to disk once the recordings awaiting broadcast exceed this size
+    public static final long MAXIMUM_IN_MEMORY_BYTES = 8 * 1024 * 1024; //~70 minutes of 16 kbps audio
+
     private static AtomicInteger sNextRecordingNumber = new AtomicInteger();
 
     private Listener<AudioRecording> mAudioRecordingListener;
@@ -51,6 +56,8 @@ public class StreamManager implements Listener<AudioPacket>
     private Runnable mRecorderMonitor;
     private ScheduledFuture<?> mRecorderMonitorFuture;
     private AtomicBoolean mRunning = new AtomicBoolean();
+    private AtomicLong mInMemoryBytes = new AtomicLong();
+    private boolean mInMemory;
 
     /**
      * Stream manager processes all incoming audio packets and reassembles individual audio streams, converts audio
@@ -64,12 +71,32 @@ public class StreamManager implements Listener<AudioPacket>
      * @param tempDirectory where to store temporary audio recordings
      */
     public StreamManager(Listener<AudioRecording> listener, BroadcastFormat broadcastFormat, Path tempDirectory)
+    {
+        this(listener, broadcastFormat, tempDirectory, false);
+    }
+
+    /**
+     * Stream manager that optionally converts each audio stream to memory instead of to a temporary file.
+     *
+     * In-memory mode converts each audio stream once and nominates the in-memory recording to the output listener
+     * so that each audio broadcaster streams the same shared recording without any disk access.  When the completed
+     * in-memory recordings that are awaiting broadcast exceed the maximum in-memory size (e.g. remote servers are
+     * not keeping up), completed recordings are spilled to temporary files until the backlog is reduced.  Use the
+     * release() method to release each in-memory recording once it is no longer needed.
+     *
+     * @param listener to receive completed audio recordings
+     * @param tempDirectory where to store temporary audio recordings
+     * @param inMemory true to convert audio streams to memory and only use temporary files under back-pressure
+     */
+    public StreamManager(Listener<AudioRecording> listener, BroadcastFormat broadcastFormat, Path tempDirectory,
+                         boolean inMemory)
     {
         assert (tempDirectory != null && Files.isDirectory(tempDirectory));
 
         mAudioRecordingListener = listener;
         mBroadcastFormat = broadcastFormat;
         mTempDirectory = tempDirectory;
+        mInMemory = inMemory;
     }
 
     /**
@@ -139,7 +166,7 @@ public class StreamManager implements Listener<AudioPacket>
                     else
                     {
                         AudioRecorder recorder = BroadcastFactory.getAudioRecorder(getTemporaryRecordingPath(),
-                            mBroadcastFormat);
+                            mBroadcastFormat, mInMemory);
                         recorder.start(ThreadPool.SCHEDULED);
                         recorder.receive(audioPacket);
                         mStreamRecorders.put(channelMetadataID, recorder);
@@ -176,11 +203,9 @@ public class StreamManager implements Listener<AudioPacket>
                 @Override
                 public void receive(AudioRecorder audioRecorder)
                 {
-                    AudioRecording audioRecording =
-                        new AudioRecording(audioRecorder.getPath(), audioRecorder.getMetadata(),
-                            audioRecorder.getTimeRecordingStart(), audioRecorder.getRecordingLength());
+                    AudioRecording audioRecording = getAudioRecording(audioRecorder);
 
-                    if(mAudioRecordingListener != null)
+                    if(audioRecording != null && mAudioRecordingListener != null)
                     {
                         mAudioRecordingListener.receive(audioRecording);
                     }
@@ -190,6 +215,71 @@ public class StreamManager implements Listener<AudioPacket>
         }
     }
 
+    /**
+     * Creates an audio recording from the closed recorder.  In-memory recordings are retained in memory unless the
+     * in-memory recordings awaiting broadcast have exceeded the maximum size, in which case the recording is spilled
+     * to the recorder's temporary recording file.
+     *
+     * @param audioRecorder that has been closed
+     * @return audio recording or null if the recording could not be spilled to disk
+     */
+    private AudioRecording getAudioRecording(AudioRecorder audioRecorder)
+    {
+        if(audioRecorder.isInMemory())
+        {
+            byte[] audio = audioRecorder.getRecordedAudio();
+
+            if(audio == null)
+            {
+                return null;
+            }
+
+            if(mInMemoryBytes.get() + audio.length <= MAXIMUM_IN_MEMORY_BYTES)
+            {
+                mInMemoryBytes.addAndGet(audio.length);
+
+                return new AudioRecording(audio, audioRecorder.getMetadata(), audioRecorder.getTimeRecordingStart(),
+                    audioRecorder.getRecordingLength());
+            }
+
+            try
+            {
+                Files.write(audioRecorder.getPath(), audio);
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error spilling in-memory audio recording to temporary file [" +
+                    audioRecorder.getPath().toString() + "] - discarding recording", ioe);
+                return null;
+            }
+        }
+
+        return new AudioRecording(audioRecorder.getPath(), audioRecorder.getMetadata(),
+            audioRecorder.getTimeRecordingStart(), audioRecorder.getRecordingLength());
+    }
+
+    /**
+     * Releases the memory accounted to an in-memory audio recording once the recording has been streamed by all
+     * audio broadcasters.  Recordings that are stored in a temporary file are ignored.
+     *
+     * @param audioRecording to release
+     */
+    public void release(AudioRecording audioRecording)
+    {
+        if(audioRecording.isInMemory())
+        {
+            mInMemoryBytes.addAndGet(-audioRecording.getAudio().length);
+        }
+    }
+
+    /**
+     * Number of bytes held by in-memory audio recordings that have not yet been released
+     */
+    public long getInMemoryBytes()
+    {
+        return mInMemoryBytes.get();
+    }
+
     /**
      * Creates a temporary streaming recording file path
      */
@@ -397,6 +397,11 @@ public class BinaryMessage extends BitSet
     				+ "or less to fit into a primitive integer value" );
     	}
 
+    	if( isContiguous( bits ) )
+    	{
+    		return getInt( bits[ 0 ], bits[ bits.length - 1 ] );
+    	}
+
     	int value = 0;
 
     	for( int index: bits )
@@ -412,6 +417,32 @@ public class BinaryMessage extends BitSet
     	return value;
     }
 
+    /**
+     * Indicates if the bit positions form an ascending run of two or more
+     * adjacent bits, so that the field can be extracted by scanning the packed
+     * words for set bits instead of testing each bit position.  Message field
+     * definitions are mostly contiguous runs.
+     */
+    private static boolean isContiguous( int[] bits )
+    {
+    	int length = bits.length;
+
+    	if( length < 2 || bits[ length - 1 ] - bits[ 0 ] != length - 1 )
+    	{
+    		return false;
+    	}
+
+    	for( int x = 1; x < length; x++ )
+    	{
+    		if( bits[ x ] != bits[ x - 1 ] + 1 )
+    		{
+    			return false;
+    		}
+    	}
+
+    	return true;
+    }
+
     public void setInt(int value, int[] indices)
     {
         for(int x = 0; x < indices.length; x++)
@@ -525,6 +556,11 @@ public class BinaryMessage extends BitSet
     				+ "or less to fit into a primitive long value" );
     	}
 
+    	if( isContiguous( bits ) )
+    	{
+    		return getLong( bits[ 0 ], bits[ bits.length - 1 ] );
+    	}
+
     	long value = 0;
 
     	for( int index: bits )
@@ -618,7 +654,15 @@ public class BinaryMessage extends BitSet
     	
     	int value = 0;
 
-    	if( start < end )
+    	if( start < end && end - start < 32 )
+    	{
+    		/* Visit only the set bits */
+    		for( int x = nextSetBit( start ); x >= 0 && x <= end; x = nextSetBit( x + 1 ) )
+    		{
+    			value |= 1 << ( end - x );
+    		}
+    	}
+    	else if( start < end )
     	{
         	for( int x = start; x <= end; x++ )
         	{
@@ -669,7 +713,15 @@ public class BinaryMessage extends BitSet
     	
     	long value = 0;
 
-    	if( start < end )
+    	if( start < end && end - start < 64 )
+    	{
+    		/* Visit only the set bits */
+    		for( int x = nextSetBit( start ); x >= 0 && x <= end; x = nextSetBit( x + 1 ) )
+    		{
+    			value |= 1l << ( end - x );
+    		}
+    	}
+    	else if( start < end )
     	{
         	for( int x = start; x <= end; x++ )
         	{
@@ -881,11 +933,17 @@ public class BinaryMessage extends BitSet
 	 */
 	public void xor( int offset, int width, int value )
 	{
-		BinaryMessage mask = new BinaryMessage( this.size() );
-		
-		mask.load( offset, width, value );
-		
-		this.xor( mask );
+		int bits = width < 32 ? value & ( ( 1 << width ) - 1 ) : value;
+
+		/* Flip only the bits that are set in the value */
+		while( bits != 0 )
+		{
+			int bit = Integer.numberOfTrailingZeros( bits );
+
+			flip( offset + width - 1 - bit );
+
+			bits &= bits - 1;
+		}
 	}
 
 	public static void main(String[] args)
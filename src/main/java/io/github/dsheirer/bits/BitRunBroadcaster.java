@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.bits;
+
+import io.github.dsheirer.sample.Listener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Broadcasts bit runs to multiple bit run listeners.
+ *
+ * Also accepts single boxed bits so that it can be placed downstream of a boolean (e.g. instrumentation tap) stream.
+ */
+public class BitRunBroadcaster implements IBitRunListener, Listener<Boolean>
+{
+    private List<IBitRunListener> mListeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void receive(long bits, int count)
+    {
+        for(IBitRunListener listener : mListeners)
+        {
+            listener.receive(bits, count);
+        }
+    }
+
+    @Override
+    public void receive(Boolean bit)
+    {
+        receive(bit ? 1L : 0L, 1);
+    }
+
+    public void addListener(IBitRunListener listener)
+    {
+        if(listener == null)
+        {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+
+        mListeners.add(listener);
+    }
+
+    public void removeListener(IBitRunListener listener)
+    {
+        mListeners.remove(listener);
+    }
+
+    /**
+     * Clear listeners to prepare for garbage collection
+     */
+    public void dispose()
+    {
+        mListeners.clear();
+    }
+}
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.bits;
+
+/**
+ * Primitive listener for runs of decoded bits.  Bit producers accumulate decoded bits into a long and deliver them
+ * as a single run, instead of dispatching an autoboxed Boolean for each bit.
+ */
+public interface IBitRunListener
+{
+    /**
+     * Receives a run of bits
+     *
+     * @param bits packed into the least significant count bits of the value, with the oldest bit in the most
+     * significant position (ie bits are shifted in from the right)
+     * @param count number of bits in the run, 1 to 64
+     */
+    void receive(long bits, int count);
+}
@@ -33,7 +33,7 @@ import java.util.Iterator;
  * Will extract multiple messages simultaneously, for each sync pattern that is
  * encountered within the bitset bit stream.
  */
-public class MessageFramer implements Listener<Boolean>, 
+public class MessageFramer implements Listener<Boolean>, IBitRunListener,
 									  SyncDetectProvider
 {
 	private boolean[] mSyncPattern;
@@ -114,6 +114,76 @@ public class MessageFramer implements Listener<Boolean>,
     	}
     }
     
+    /**
+     * Processes a run of bits.  Each bit is checked against the sync pattern
+     * and the bits between sync matches are appended to the message 
+     * assemblers in bulk.
+     */
+    @Override
+    public void receive( long bits, int count )
+    {
+    	/* Number of leading bits in the run already sent to the assemblers */
+    	int delivered = 0;
+    	
+    	for( int x = 0; x < count; x++ )
+    	{
+    		mMatcher.receive( ( ( bits >>> ( count - 1 - x ) ) & 1L ) == 1L );
+    		
+    		if( mMatcher.matches() )
+    		{
+    			/* Send the bits up to and including the sync match to the 
+    			 * existing assemblers before adding the new assembler */
+    			deliver( bits, count, delivered, x + 1 );
+    			delivered = x + 1;
+    			
+                addMessageAssembler( new MessageAssembler( mMessageLength, mSyncPattern ) );
+                
+                if( mSyncDetectListener != null )
+                {
+                	mSyncDetectListener.syncDetected();
+                }
+    		}
+    	}
+    	
+    	deliver( bits, count, delivered, count );
+    }
+    
+    /**
+     * Sends the bits from the start index (inclusive) to the end index 
+     * (exclusive) of the bit run to each of the message assemblers
+     */
+    private void deliver( long bits, int count, int start, int end )
+    {
+    	int length = end - start;
+    	
+    	if( length <= 0 )
+    	{
+    		return;
+    	}
+    	
+    	long value = bits >>> ( count - end );
+    	
+        Iterator<MessageAssembler> it = mMessageAssemblers.iterator();
+        
+        MessageAssembler assembler;
+        
+        while( it.hasNext() )
+        {
+            assembler = it.next();
+
+            /* Dispose and remove any completed assemblers */
+            if( assembler.complete() )
+            {
+            	assembler.dispose();
+            	it.remove();
+            }
+            else
+            {
+                assembler.receive( value, length );
+            }
+        }
+    }
+    
     /**
      * Causes all messages currently under assembly to be forcibly
      * sent (ie flushed) to all registered message listeners, and
@@ -172,12 +242,12 @@ public class MessageFramer implements Listener<Boolean>,
      */
     private class MessageAssembler implements Listener<Boolean>
     {
-        BinaryMessage mMessage;
+        PackedBitBuffer mBuffer;
         boolean mComplete = false;
         
         MessageAssembler( int messageLength )
         {
-            mMessage = new BinaryMessage( messageLength );
+            mBuffer = new PackedBitBuffer( messageLength );
         }
         
         MessageAssembler( int messageLength, boolean[] initialFill )
@@ -193,7 +263,7 @@ public class MessageFramer implements Listener<Boolean>,
         
         public void dispose()
         {
-        	mMessage = null;
+        	mBuffer = null;
         }
 
         @Override
@@ -202,18 +272,28 @@ public class MessageFramer implements Listener<Boolean>,
          */
         public void receive( Boolean bit )
         {
-            try
-            {
-                mMessage.add( bit );
-            }
-            catch( BitSetFullException e )
-            {
-                e.printStackTrace();
-            }
+            mBuffer.add( bit );
             
             /* Once our message is complete (ie full), send it to all registered
              * message listeners, and set complete flag so for auto-removal */
-            if( mMessage.isFull() )
+            if( mBuffer.isFull() )
+            {
+                mComplete = true;
+                flush();
+            }
+        }
+
+        /**
+         * Receives the least significant length bits of the value, most 
+         * significant bit first.  Bits beyond the message length are ignored.
+         */
+        public void receive( long value, int length )
+        {
+        	int available = Math.min( length, mBuffer.size() - mBuffer.pointer() );
+        	
+        	mBuffer.add( value >>> ( length - available ), available );
+        	
+            if( mBuffer.isFull() )
             {
                 mComplete = true;
                 flush();
@@ -226,7 +306,7 @@ public class MessageFramer implements Listener<Boolean>,
          */
         public void flush()
         {
-            mBroadcaster.receive( mMessage );
+            mBroadcaster.receive( mBuffer.toBinaryMessage() );
             mComplete = true;
         }
 
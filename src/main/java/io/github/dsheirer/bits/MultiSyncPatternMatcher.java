@@ -32,7 +32,7 @@ import java.util.List;
  * corrupt the matching value.
  *
  */
-public class MultiSyncPatternMatcher
+public class MultiSyncPatternMatcher implements IBitRunListener
 {
 	private List<ISyncProcessor> mSyncProcessors = new ArrayList<ISyncProcessor>();
 	
@@ -101,6 +101,24 @@ public class MultiSyncPatternMatcher
 		}
 	}
 
+	/**
+	 * Processes a run of bits, checking the sync processors for a match after
+	 * each bit.
+	 */
+	@Override
+	public void receive( long bits, int count )
+	{
+		for( int x = count - 1; x >= 0; x-- )
+		{
+			mBits = ( ( mBits << 1 ) | ( ( bits >>> x ) & 1L ) ) & mMask;
+			
+			for( ISyncProcessor processor: mSyncProcessors )
+			{
+				processor.checkSync( mBits );
+			}
+		}
+	}
+
 	/**
 	 * Adds a sync processor to receive the bit stream.
 	 */
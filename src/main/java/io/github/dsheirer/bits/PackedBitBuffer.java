@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.bits;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Fixed size bit buffer backed by packed long words that supports appending bits and multi-bit values without
+ * exceptions and word-aligned bulk extraction and insertion of multi-bit field values.
+ *
+ * Bits are packed using the same layout as java.util.BitSet (bit index N is bit N % 64 of word N / 64) so that
+ * buffers can be converted to and from BinaryMessage with a word copy, allowing existing message parsers to continue
+ * to use BinaryMessage.
+ *
+ * Multi-bit field values are big endian where the lowest bit index is the most significant bit of the value, matching
+ * the BinaryMessage getInt(start, end) and load(offset, width, value) methods.
+ */
+public class PackedBitBuffer
+{
+    private long[] mWords;
+    private int mSize;
+    private int mPointer;
+
+    /**
+     * Constructs an empty buffer.
+     *
+     * @param size of the buffer in bits
+     */
+    public PackedBitBuffer(int size)
+    {
+        mWords = new long[(size + 63) >>> 6];
+        mSize = size;
+    }
+
+    /**
+     * Constructs a buffer loaded with the bits from the binary message.  The buffer pointer is set to the message
+     * pointer.
+     *
+     * @param message to copy
+     */
+    public PackedBitBuffer(BinaryMessage message)
+    {
+        this(message.size());
+
+        long[] words = message.toLongArray();
+
+        System.arraycopy(words, 0, mWords, 0, Math.min(words.length, mWords.length));
+
+        //Clear any message bits beyond the message size
+        int remainder = mSize & 63;
+
+        if(remainder != 0)
+        {
+            mWords[mWords.length - 1] &= (1L << remainder) - 1;
+        }
+
+        mPointer = Math.min(message.pointer(), mSize);
+    }
+
+    /**
+     * Size of the buffer in bits
+     */
+    public int size()
+    {
+        return mSize;
+    }
+
+    /**
+     * Index of the next bit to be appended
+     */
+    public int pointer()
+    {
+        return mPointer;
+    }
+
+    /**
+     * Sets the index of the next bit to be appended
+     */
+    public void setPointer(int pointer)
+    {
+        Validate.isTrue(0 <= pointer && pointer <= mSize, "Pointer must be in the range 0 - size");
+
+        mPointer = pointer;
+    }
+
+    /**
+     * Indicates if the buffer is full
+     */
+    public boolean isFull()
+    {
+        return mPointer >= mSize;
+    }
+
+    /**
+     * Appends the bit at the pointer and increments the pointer.
+     *
+     * @return true if the bit was appended or false if the buffer is full
+     */
+    public boolean add(boolean bit)
+    {
+        if(mPointer >= mSize)
+        {
+            return false;
+        }
+
+        set(mPointer++, bit);
+
+        return true;
+    }
+
+    /**
+     * Appends the width least significant bits of the value, most significant bit first, at the pointer and
+     * increments the pointer by the width.
+     *
+     * @return true if the value was appended or false if the buffer does not have space for all of the bits
+     */
+    public boolean add(long value, int width)
+    {
+        if(mPointer + width > mSize)
+        {
+            return false;
+        }
+
+        load(mPointer, width, value);
+        mPointer += width;
+
+        return true;
+    }
+
+    /**
+     * Value of the bit at the index
+     */
+    public boolean get(int index)
+    {
+        return (mWords[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit at the index
+     */
+    public void set(int index)
+    {
+        mWords[index >>> 6] |= (1L << index);
+    }
+
+    /**
+     * Sets the bit at the index to the value
+     */
+    public void set(int index, boolean value)
+    {
+        if(value)
+        {
+            set(index);
+        }
+        else
+        {
+            clear(index);
+        }
+    }
+
+    /**
+     * Clears the bit at the index
+     */
+    public void clear(int index)
+    {
+        mWords[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Clears all bits in the buffer and resets the pointer to zero
+     */
+    public void clear()
+    {
+        Arrays.fill(mWords, 0);
+
+        mPointer = 0;
+    }
+
+    /**
+     * Extracts a big endian field value from the bits between start and end, inclusive, with a maximum field width
+     * of 32 bits.  Compatible with BinaryMessage getInt(start, end) for start less than or equal to end.
+     */
+    public int getInt(int start, int end)
+    {
+        return (int)getLong(start, end - start + 1);
+    }
+
+    /**
+     * Extracts a big endian field value from the bits starting at the offset, where the bit at the offset is the
+     * most significant bit of the value.
+     *
+     * @param offset of the most significant bit
+     * @param width of the field in bits, 0 - 64
+     * @return field value
+     */
+    public long getLong(int offset, int width)
+    {
+        if(width == 0)
+        {
+            return 0;
+        }
+
+        int word = offset >>> 6;
+        int shift = offset & 63;
+
+        long raw = mWords[word] >>> shift;
+
+        if(shift + width > 64)
+        {
+            raw |= mWords[word + 1] << (64 - shift);
+        }
+
+        //Bits are packed lowest index first, so reverse them to place the lowest index bit in the MSB position
+        return Long.reverse(raw) >>> (64 - width);
+    }
+
+    /**
+     * Inserts the width least significant bits of the big endian value starting at the offset, where the most
+     * significant bit of the value is placed at the offset.
+     *
+     * @param offset for the most significant bit
+     * @param width of the field in bits, 0 - 64
+     * @param value to insert
+     */
+    public void load(int offset, int width, long value)
+    {
+        if(width == 0)
+        {
+            return;
+        }
+
+        int word = offset >>> 6;
+        int shift = offset & 63;
+
+        long bits = Long.reverse(value) >>> (64 - width);
+        long mask = (width == 64) ? -1L : (1L << width) - 1;
+
+        mWords[word] = (mWords[word] & ~(mask << shift)) | (bits << shift);
+
+        if(shift + width > 64)
+        {
+            long upperMask = mask >>> (64 - shift);
+
+            mWords[word + 1] = (mWords[word + 1] & ~upperMask) | (bits >>> (64 - shift));
+        }
+    }
+
+    /**
+     * Bits of this buffer packed into words using the java.util.BitSet layout
+     */
+    public long[] toLongArray()
+    {
+        return mWords.clone();
+    }
+
+    /**
+     * Adapter to create a binary message containing the bits of this buffer, for use with message parsers that use
+     * binary messages.  The message pointer is set to this buffer's pointer.
+     */
+    public BinaryMessage toBinaryMessage()
+    {
+        //Bits beyond the buffer size are never set, so the words can be used without masking
+        BinaryMessage message = new BinaryMessage(BitSet.valueOf(mWords), mSize);
+        message.setPointer(mPointer);
+
+        return message;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+
+        for(int x = 0; x < mSize; x++)
+        {
+            sb.append(get(x) ? "1" : "0");
+        }
+
+        return sb.toString();
+    }
+}
@@ -20,27 +20,33 @@ package io.github.dsheirer.channel.metadata;
 
 import io.github.dsheirer.alias.Alias;
 
+/**
+ * Immutable identifier and corresponding optional alias.  Mutable metadata replaces the aliased identifier instance
+ * when the identifier changes so that metadata snapshots can share aliased identifier instances.
+ */
 public class AliasedIdentifier
 {
-    private String mIdentifier;
-    private Alias mAlias;
+    private final String mIdentifier;
+    private final Alias mAlias;
 
     /**
-     * Identifier and corresponding optional alias
+     * Empty identifier without an alias
      */
     public AliasedIdentifier()
     {
+        this(null, null);
     }
 
     /**
-     * Resets alias and value to null
+     * Identifier and corresponding optional alias
      *
-     * Package Private - should only be changed within MutableMetadata
+     * @param identifier value or null
+     * @param alias for the identifier or null
      */
-    void reset()
+    public AliasedIdentifier(String identifier, Alias alias)
     {
-        mIdentifier = null;
-        mAlias = null;
+        mIdentifier = identifier;
+        mAlias = alias;
     }
 
     /**
@@ -51,16 +57,6 @@ public class AliasedIdentifier
         return mIdentifier;
     }
 
-    /**
-     * Sets the identifier to the argument value
-     *
-     * Package Private - should only be changed within MutableMetadata
-     */
-    void setIdentifier(String identifier)
-    {
-        mIdentifier = identifier;
-    }
-
     /**
      * Indicates if there is a non-null, non-empty identifier
      */
@@ -77,16 +73,6 @@ public class AliasedIdentifier
         return mAlias;
     }
 
-    /**
-     * Sets the alias to the argument
-     *
-     * Package Private - should only be changed within MutableMetadata
-     */
-    void setAlias(Alias alias)
-    {
-        mAlias = alias;
-    }
-
     /**
      * Indicates if there is an alias corresponding to the identifier
      */
@@ -94,18 +80,4 @@ public class AliasedIdentifier
     {
         return mAlias != null;
     }
-
-    public AliasedIdentifier copyOf()
-    {
-        AliasedIdentifier copy = new AliasedIdentifier();
-
-        copy.setAlias(mAlias);
-
-        if(mIdentifier != null)
-        {
-            copy.setIdentifier(new String(mIdentifier));
-        }
-
-        return copy;
-    }
 }
@@ -26,6 +26,7 @@ import io.github.dsheirer.module.decode.DecoderType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -38,7 +39,7 @@ public class Metadata
 
     private int mMetadataID;
 
-    protected boolean mUpdated;
+    protected long mVersion;
     protected DecoderType mPrimaryDecoderType;
     protected boolean mSelected;
     protected State mState = State.IDLE;
@@ -58,18 +59,19 @@ public class Metadata
     protected AliasedIdentifier mSecondaryAddressTo = new AliasedIdentifier();
 
     //Lazily constructed member variables.
-    private Integer mAudioPriority;
+    private volatile Integer mAudioPriority;
     protected Boolean mRecordable = false;
-    protected Boolean mDoNotRecord;
-    private Set<BroadcastChannel> mBroadcastChannels;
-
-    private long mTimestamp = System.currentTimeMillis();
-
+    protected volatile Boolean mDoNotRecord;
+    private volatile Set<BroadcastChannel> mBroadcastChannels;
 
     /**
      * Channel metadata.  Contains all attributes that reflect the state and current attribute values for a channel
      * that is currently decoding.  This metadata is intended to support any decoding channel gui components to
      * graphically convey the current state of a decoding channel and to provide audio metadata
+     *
+     * Metadata instances that are not mutable metadata are immutable snapshots of a mutable metadata and can be
+     * shared across threads and audio packets.  The aliased identifiers are immutable and are shared between the
+     * mutable metadata and its snapshots.
      */
     public Metadata()
     {
@@ -84,14 +86,6 @@ public class Metadata
         mMetadataID = metadataID;
     }
 
-    /**
-     * Timestamp when this metadata was created
-     * @return milliseconds since epoch
-     */
-    public long getTimestamp()
-    {
-        return mTimestamp;
-    }
     /**
      * Unique string identifier for this metadata that is comprised of the channel ID and the primary TO address.
      *
@@ -104,15 +98,15 @@ public class Metadata
     }
 
     /**
-     * Indicates if any of the fields of this metadata have been updated since the last time a copy was made from this
-     * metadata.  This method is primarily used by downstream audio playback and audio recording to signal when changes
-     * are made to the metadata that requires the downstream component to reinspect the metadata.
+     * Version of this metadata.  The version is incremented each time an attribute of the mutable metadata changes
+     * and each snapshot carries the version of the mutable metadata at the time that the snapshot was created.
      *
-     * This flag is reset to false immediately after a copy is made of this metadata via the copyOf() method.
+     * Downstream audio playback and audio recording components can compare the metadata ID and version of successive
+     * audio packets to detect changes to the metadata that require the component to reinspect the metadata.
      */
-    public boolean isUpdated()
+    public long getVersion()
     {
-        return mUpdated;
+        return mVersion;
     }
 
     /**
@@ -174,7 +168,7 @@ public class Metadata
     }
 
     /**
-     * List of de-duplicated broadcast channels aggregated from the primary and secondary TO/FROM aliases.
+     * Unmodifiable set of de-duplicated broadcast channels aggregated from the primary and secondary TO/FROM aliases.
      */
     public Set<BroadcastChannel> getBroadcastChannels()
     {
@@ -547,12 +541,10 @@ public class Metadata
         //If we found a 'Do Not Monitor' and no other audio priority, then set to do not monitor
         if(doNotMonitorFound && !audioPriorityFound)
         {
-            mAudioPriority = Priority.DO_NOT_MONITOR;
-        }
-        else
-        {
-            mAudioPriority = priority;
+            priority = Priority.DO_NOT_MONITOR;
         }
+
+        mAudioPriority = priority;
     }
 
     /**
@@ -560,31 +552,10 @@ public class Metadata
      */
     private void determineRecordable()
     {
-        mDoNotRecord = false;
-
-        if(mPrimaryAddressTo.hasAlias() && !mPrimaryAddressTo.getAlias().isRecordable())
-        {
-            mDoNotRecord = true;
-            return;
-        }
-
-        if(mPrimaryAddressFrom.hasAlias() && !mPrimaryAddressFrom.getAlias().isRecordable())
-        {
-            mDoNotRecord = true;
-            return;
-        }
-
-        if(mSecondaryAddressTo.hasAlias() && !mSecondaryAddressTo.getAlias().isRecordable())
-        {
-            mDoNotRecord = true;
-            return;
-        }
-
-        if(mSecondaryAddressFrom.hasAlias() && !mSecondaryAddressFrom.getAlias().isRecordable())
-        {
-            mDoNotRecord = true;
-            return;
-        }
+        mDoNotRecord = (mPrimaryAddressTo.hasAlias() && !mPrimaryAddressTo.getAlias().isRecordable()) ||
+            (mPrimaryAddressFrom.hasAlias() && !mPrimaryAddressFrom.getAlias().isRecordable()) ||
+            (mSecondaryAddressTo.hasAlias() && !mSecondaryAddressTo.getAlias().isRecordable()) ||
+            (mSecondaryAddressFrom.hasAlias() && !mSecondaryAddressFrom.getAlias().isRecordable());
     }
 
     /**
@@ -592,31 +563,43 @@ public class Metadata
      */
     private void determineBroadcastChannels()
     {
-        mBroadcastChannels = new TreeSet<>();
+        Set<BroadcastChannel> broadcastChannels = new TreeSet<>();
 
         if(mPrimaryAddressTo.hasAlias() && mPrimaryAddressTo.getAlias().isStreamable())
         {
-            mBroadcastChannels.addAll(mPrimaryAddressTo.getAlias().getBroadcastChannels());
+            broadcastChannels.addAll(mPrimaryAddressTo.getAlias().getBroadcastChannels());
         }
 
         if(mPrimaryAddressFrom.hasAlias() && mPrimaryAddressFrom.getAlias().isStreamable())
         {
-            mBroadcastChannels.addAll(mPrimaryAddressFrom.getAlias().getBroadcastChannels());
+            broadcastChannels.addAll(mPrimaryAddressFrom.getAlias().getBroadcastChannels());
         }
 
         if(mSecondaryAddressTo.hasAlias() && mSecondaryAddressTo.getAlias().isStreamable())
         {
-            mBroadcastChannels.addAll(mSecondaryAddressTo.getAlias().getBroadcastChannels());
+            broadcastChannels.addAll(mSecondaryAddressTo.getAlias().getBroadcastChannels());
         }
 
         if(mSecondaryAddressFrom.hasAlias() && mSecondaryAddressFrom.getAlias().isStreamable())
         {
-            mBroadcastChannels.addAll(mSecondaryAddressFrom.getAlias().getBroadcastChannels());
+            broadcastChannels.addAll(mSecondaryAddressFrom.getAlias().getBroadcastChannels());
         }
+
+        mBroadcastChannels = Collections.unmodifiableSet(broadcastChannels);
     }
 
     /**
-     * Creates a deep/full snapshot copy of this metadata set.
+     * Immutable snapshot of this metadata for inclusion in audio packets.  Snapshot metadata instances return
+     * themselves.
+     */
+    public Metadata getSnapshot()
+    {
+        return this;
+    }
+
+    /**
+     * Creates a snapshot copy of this metadata set.  Attribute values and aliased identifiers are immutable and are
+     * shared with the copy.
      *
      * The streamable, recordable, audio priority and broadcast channels are not copied.  These are lazily determined
      * when initially requested.
@@ -625,30 +608,26 @@ public class Metadata
     {
         Metadata copy = new Metadata(mMetadataID);
 
+        copy.mVersion = mVersion;
         copy.mDoNotRecord = mDoNotRecord;
         copy.mRecordable = mRecordable;
         copy.mState = mState;
         copy.mPrimaryDecoderType = mPrimaryDecoderType;
         copy.mChannelFrequency = mChannelFrequency;
 
-        copy.mChannelConfigurationSystem = hasChannelConfigurationSystem() ? new String(mChannelConfigurationSystem) : null;
-        copy.mChannelConfigurationSite = hasChannelConfigurationSite() ? new String(mChannelConfigurationSite) : null;
-        copy.mChannelConfigurationName = hasChannelConfigurationName() ? new String(mChannelConfigurationName) : null;
-        copy.mChannelFrequencyLabel = hasChannelFrequencyLabel() ? new String(mChannelFrequencyLabel) : null;
-        copy.mMessage = hasMessage() ? new String(mMessage) : null;
-        copy.mMessageType = hasMessageType() ? new String(mMessageType) : null;
-
-        copy.mNetworkID1 = mNetworkID1.copyOf();
-        copy.mNetworkID2 = mNetworkID2.copyOf();
-        copy.mPrimaryAddressFrom = mPrimaryAddressFrom.copyOf();
-        copy.mPrimaryAddressTo = mPrimaryAddressTo.copyOf();
-        copy.mSecondaryAddressFrom = mSecondaryAddressFrom.copyOf();
-        copy.mSecondaryAddressTo = mSecondaryAddressTo.copyOf();
-
-        copy.mUpdated = mUpdated;
-
-        //Reset the updated flag
-        mUpdated = false;
+        copy.mChannelConfigurationSystem = mChannelConfigurationSystem;
+        copy.mChannelConfigurationSite = mChannelConfigurationSite;
+        copy.mChannelConfigurationName = mChannelConfigurationName;
+        copy.mChannelFrequencyLabel = mChannelFrequencyLabel;
+        copy.mMessage = mMessage;
+        copy.mMessageType = mMessageType;
+
+        copy.mNetworkID1 = mNetworkID1;
+        copy.mNetworkID2 = mNetworkID2;
+        copy.mPrimaryAddressFrom = mPrimaryAddressFrom;
+        copy.mPrimaryAddressTo = mPrimaryAddressTo;
+        copy.mSecondaryAddressFrom = mSecondaryAddressFrom;
+        copy.mSecondaryAddressTo = mSecondaryAddressTo;
 
         return copy;
     }
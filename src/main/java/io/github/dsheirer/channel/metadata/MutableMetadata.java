@@ -29,7 +29,10 @@ public class MutableMetadata extends Metadata implements Listener<AttributeChang
 {
     private final static Logger mLog = LoggerFactory.getLogger(MutableMetadata.class);
 
+    private static final AliasedIdentifier EMPTY_IDENTIFIER = new AliasedIdentifier();
+
     private Broadcaster<MutableMetadataChangeEvent> mMetadataChangeEventBroadcaster = new Broadcaster<>();
+    private Metadata mSnapshot;
 
     /**
      * Mutable channel metadata.  Contains all attributes that reflect the state and current attribute values for a
@@ -51,7 +54,7 @@ public class MutableMetadata extends Metadata implements Listener<AttributeChang
     public void setSelected(boolean selected)
     {
         mSelected = selected;
-        mUpdated = true;
+        updated();
     }
 
     /**
@@ -60,6 +63,7 @@ public class MutableMetadata extends Metadata implements Listener<AttributeChang
     public void setRecordable(boolean recordable)
     {
         mRecordable = recordable;
+        updated();
     }
 
     /**
@@ -68,7 +72,7 @@ public class MutableMetadata extends Metadata implements Listener<AttributeChang
     public void setPrimaryDecoderType(DecoderType decoderType)
     {
         mPrimaryDecoderType = decoderType;
-        mUpdated = true;
+        updated();
     }
 
     /**
@@ -112,23 +116,19 @@ public class MutableMetadata extends Metadata implements Listener<AttributeChang
                 broadcast(Attribute.MESSAGE_TYPE);
                 break;
             case NETWORK_ID_1:
-                mNetworkID1.setIdentifier(request.getStringValue());
-                mNetworkID1.setAlias(request.getAlias());
+                mNetworkID1 = new AliasedIdentifier(request.getStringValue(), request.getAlias());
                 broadcast(Attribute.NETWORK_ID_1);
                 break;
             case NETWORK_ID_2:
-                mNetworkID2.setIdentifier(request.getStringValue());
-                mNetworkID2.setAlias(request.getAlias());
+                mNetworkID2 = new AliasedIdentifier(request.getStringValue(), request.getAlias());
                 broadcast(Attribute.NETWORK_ID_2);
                 break;
             case PRIMARY_ADDRESS_FROM:
-                mPrimaryAddressFrom.setIdentifier(request.getStringValue());
-                mPrimaryAddressFrom.setAlias(request.getAlias());
+                mPrimaryAddressFrom = new AliasedIdentifier(request.getStringValue(), request.getAlias());
                 broadcast(Attribute.PRIMARY_ADDRESS_FROM);
                 break;
             case PRIMARY_ADDRESS_TO:
-                mPrimaryAddressTo.setIdentifier(request.getStringValue());
-                mPrimaryAddressTo.setAlias(request.getAlias());
+                mPrimaryAddressTo = new AliasedIdentifier(request.getStringValue(), request.getAlias());
                 broadcast(Attribute.PRIMARY_ADDRESS_TO);
                 break;
             case PRIMARY_DECODER_TYPE:
@@ -136,13 +136,11 @@ public class MutableMetadata extends Metadata implements Listener<AttributeChang
                 broadcast(Attribute.PRIMARY_DECODER_TYPE);
                 break;
             case SECONDARY_ADDRESS_FROM:
-                mSecondaryAddressFrom.setIdentifier(request.getStringValue());
-                mSecondaryAddressFrom.setAlias(request.getAlias());
+                mSecondaryAddressFrom = new AliasedIdentifier(request.getStringValue(), request.getAlias());
                 broadcast(Attribute.SECONDARY_ADDRESS_FROM);
                 break;
             case SECONDARY_ADDRESS_TO:
-                mSecondaryAddressTo.setIdentifier(request.getStringValue());
-                mSecondaryAddressTo.setAlias(request.getAlias());
+                mSecondaryAddressTo = new AliasedIdentifier(request.getStringValue(), request.getAlias());
                 broadcast(Attribute.SECONDARY_ADDRESS_TO);
                 break;
             case CHANNEL_STATE:
@@ -154,7 +152,7 @@ public class MutableMetadata extends Metadata implements Listener<AttributeChang
                     request.getAttribute().name());
         }
 
-        mUpdated = true;
+        updated();
     }
 
     /**
@@ -179,29 +177,29 @@ public class MutableMetadata extends Metadata implements Listener<AttributeChang
 
         if(mPrimaryAddressFrom.hasIdentifier())
         {
-            mPrimaryAddressFrom.reset();
+            mPrimaryAddressFrom = EMPTY_IDENTIFIER;
             broadcast(Attribute.PRIMARY_ADDRESS_FROM);
         }
 
         if(mPrimaryAddressTo.hasIdentifier())
         {
-            mPrimaryAddressTo.reset();
+            mPrimaryAddressTo = EMPTY_IDENTIFIER;
             broadcast(Attribute.PRIMARY_ADDRESS_TO);
         }
 
         if(mSecondaryAddressFrom.hasIdentifier())
         {
-            mSecondaryAddressFrom.reset();
+            mSecondaryAddressFrom = EMPTY_IDENTIFIER;
             broadcast(Attribute.SECONDARY_ADDRESS_FROM);
         }
 
         if(mSecondaryAddressTo.hasIdentifier())
         {
-            mSecondaryAddressTo.reset();
+            mSecondaryAddressTo = EMPTY_IDENTIFIER;
             broadcast(Attribute.SECONDARY_ADDRESS_TO);
         }
 
-        mUpdated = true;
+        updated();
     }
 
     /**
@@ -249,19 +247,43 @@ public class MutableMetadata extends Metadata implements Listener<AttributeChang
 
         if(mNetworkID1.hasIdentifier())
         {
-            mNetworkID1.reset();
+            mNetworkID1 = EMPTY_IDENTIFIER;
             broadcast(Attribute.NETWORK_ID_1);
         }
 
         if(mNetworkID2.hasIdentifier())
         {
-            mNetworkID2.reset();
+            mNetworkID2 = EMPTY_IDENTIFIER;
             broadcast(Attribute.NETWORK_ID_2);
         }
 
-        mUpdated = true;
+        updated();
     }
 
+    /**
+     * Increments the version of this metadata and discards the current snapshot so that a new snapshot is created
+     * on the next snapshot request.
+     */
+    private synchronized void updated()
+    {
+        mVersion++;
+        mSnapshot = null;
+    }
+
+    /**
+     * Immutable snapshot of this metadata for inclusion in audio packets.  The snapshot is created on the first
+     * request after an attribute changes and is shared by all subsequent requests until the next attribute change.
+     */
+    @Override
+    public synchronized Metadata getSnapshot()
+    {
+        if(mSnapshot == null)
+        {
+            mSnapshot = copyOf();
+        }
+
+        return mSnapshot;
+    }
 
     /**
      * Broadcasts to registered listeners that an attribute has changed for this metadata
@@ -52,6 +52,9 @@ public class TrafficChannelManager extends Module implements ICallEventProvider,
     public static final String NO_TUNER_AVAILABLE = "NO TUNER AVAILABLE";
     public static final String UNKNOWN_FREQUENCY = "UNKNOWN FREQUENCY";
 
+    //Number of idle traffic channels with constructed processing chains to keep ready for the next channel grant
+    public static final int PREPARED_CHANNEL_COUNT = 2;
+
     private int mTrafficChannelPoolMaximumSize = DecodeConfiguration.TRAFFIC_CHANNEL_LIMIT_DEFAULT;
     private List<Channel> mTrafficChannelPool = new ArrayList<Channel>();
     private Map<String,Channel> mTrafficChannelsInUse = new ConcurrentHashMap<String,Channel>();
@@ -66,6 +69,8 @@ public class TrafficChannelManager extends Module implements ICallEventProvider,
     private String mSystem;
     private String mSite;
     private String mAliasListName;
+    private ScheduledExecutorService mExecutor;
+    private volatile boolean mDisposed;
 
     /**
      * Monitors call events and allocates traffic decoder channels in response
@@ -105,14 +110,26 @@ public class TrafficChannelManager extends Module implements ICallEventProvider,
     @Override
     public void dispose()
     {
-        for(Channel trafficChannel : mTrafficChannelPool)
+        List<Channel> trafficChannels = new ArrayList<>();
+
+        synchronized(mTrafficChannelsInUse)
         {
-            mChannelModel.broadcast(new ChannelEvent(trafficChannel, Event.REQUEST_DISABLE));
+            mDisposed = true;
+
+            trafficChannels.addAll(mTrafficChannelPool);
+
+            mTrafficChannelPool.clear();
+
+            mTrafficChannelsInUse.clear();
         }
 
-        mTrafficChannelPool.clear();
+        for(Channel trafficChannel : trafficChannels)
+        {
+            mChannelModel.broadcast(new ChannelEvent(trafficChannel, Event.REQUEST_DISABLE));
 
-        mTrafficChannelsInUse.clear();
+            //Removing the channel also disposes the idle processing chain that is retained for the channel
+            mChannelModel.removeChannel(trafficChannel);
+        }
 
         mCallEventListener = null;
         mDecodeConfiguration = null;
@@ -146,19 +163,7 @@ public class TrafficChannelManager extends Module implements ICallEventProvider,
 
             if(channel == null && mTrafficChannelPool.size() < mTrafficChannelPoolMaximumSize)
             {
-                channel = new Channel("Traffic", ChannelType.TRAFFIC);
-
-                channel.setDecodeConfiguration(mDecodeConfiguration);
-
-                channel.setEventLogConfiguration(mEventLogConfiguration);
-
-                channel.setRecordConfiguration(mRecordConfiguration);
-
-                channel.setAliasListName(mAliasListName);
-
-                mChannelModel.addChannel(channel);
-
-                mTrafficChannelPool.add(channel);
+                channel = createChannel();
             }
 
 			/* If we have a configured channel, update metadata */
@@ -176,6 +181,94 @@ public class TrafficChannelManager extends Module implements ICallEventProvider,
         return channel;
     }
 
+    /**
+     * Creates a new traffic channel and adds it to the traffic channel pool.
+     *
+     * Note: you must enforce thread safety on the mTrafficChannelsInUse
+     * external to this method.
+     */
+    private Channel createChannel()
+    {
+        Channel channel = new Channel("Traffic", ChannelType.TRAFFIC);
+
+        channel.setDecodeConfiguration(mDecodeConfiguration);
+
+        channel.setEventLogConfiguration(mEventLogConfiguration);
+
+        channel.setRecordConfiguration(mRecordConfiguration);
+
+        channel.setAliasListName(mAliasListName);
+
+        mChannelModel.addChannel(channel);
+
+        mTrafficChannelPool.add(channel);
+
+        return channel;
+    }
+
+    /**
+     * Adds traffic channels to the pool, up to the maximum pool size, until there are PREPARED_CHANNEL_COUNT idle
+     * channels and requests construction of the processing chain for each new channel, so that a channel grant
+     * only has to bind a tuner source to an existing processing chain instead of constructing the decoder modules.
+     */
+    private void prepareChannels()
+    {
+        List<Channel> preparedChannels = new ArrayList<>();
+
+        synchronized(mTrafficChannelsInUse)
+        {
+            if(mDisposed)
+            {
+                return;
+            }
+
+            int idle = 0;
+
+            for(Channel channel : mTrafficChannelPool)
+            {
+                if(!channel.getEnabled())
+                {
+                    idle++;
+                }
+            }
+
+            while(idle < PREPARED_CHANNEL_COUNT && mTrafficChannelPool.size() < mTrafficChannelPoolMaximumSize)
+            {
+                preparedChannels.add(createChannel());
+                idle++;
+            }
+        }
+
+        //Processing chain construction happens outside of the lock so that channel grants are not blocked
+        for(Channel channel : preparedChannels)
+        {
+            mChannelModel.broadcast(new ChannelEvent(channel, Event.REQUEST_PREPARE));
+        }
+
+        //Cleanup channels that were prepared after this manager was disposed
+        if(mDisposed)
+        {
+            for(Channel channel : preparedChannels)
+            {
+                mChannelModel.removeChannel(channel);
+            }
+        }
+    }
+
+    /**
+     * Schedules preparation of idle traffic channels on the executor so that processing chain construction does
+     * not delay processing of the control channel.
+     */
+    private void schedulePrepareChannels()
+    {
+        ScheduledExecutorService executor = mExecutor;
+
+        if(executor != null)
+        {
+            executor.execute(this::prepareChannels);
+        }
+    }
+
     /**
      * Processes the event and creates a traffic channel is resources are
      * available
@@ -210,6 +303,8 @@ public class TrafficChannelManager extends Module implements ICallEventProvider,
                     if(channel.getEnabled())
                     {
                         mTrafficChannelsInUse.put(callEvent.getChannel(), channel);
+
+                        schedulePrepareChannels();
                     }
                     else
                     {
@@ -339,11 +434,16 @@ public class TrafficChannelManager extends Module implements ICallEventProvider,
     @Override
     public void start(ScheduledExecutorService executor)
     {
+        mExecutor = executor;
+
+        schedulePrepareChannels();
     }
 
     @Override
     public void stop()
     {
+        mExecutor = null;
+
         if(!mTrafficChannelsInUse.isEmpty())
         {
             List<String> channels = new ArrayList<>();
@@ -26,6 +26,10 @@ import io.github.dsheirer.channel.metadata.ChannelMetadataModel;
 import io.github.dsheirer.controller.channel.map.ChannelMapModel;
 import io.github.dsheirer.filter.FilterSet;
 import io.github.dsheirer.message.Message;
+import io.github.dsheirer.metrics.Counter;
+import io.github.dsheirer.metrics.MetricSet;
+import io.github.dsheirer.metrics.MetricsRegistry;
+import io.github.dsheirer.metrics.Timer;
 import io.github.dsheirer.module.Module;
 import io.github.dsheirer.module.ProcessingChain;
 import io.github.dsheirer.module.decode.DecoderFactory;
@@ -43,16 +47,19 @@ import io.github.dsheirer.source.config.SourceConfigTuner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 public class ChannelProcessingManager implements ChannelEventListener
 {
     private final static Logger mLog = LoggerFactory.getLogger(ChannelProcessingManager.class);
 
-    private Map<Integer,ProcessingChain> mProcessingChains = new HashMap<>();
+    //Modified while synchronized on this manager.  Concurrent maps allow prepared processing chains to be checked
+    //and constructed without holding the manager lock.
+    private Map<Integer,ProcessingChain> mProcessingChains = new ConcurrentHashMap<>();
+    private Map<ProcessingChain,GrantLatencyMonitor> mGrantLatencyMonitors = new ConcurrentHashMap<>();
 
     private List<Listener<AudioPacket>> mAudioPacketListeners = new CopyOnWriteArrayList<>();
     private List<Listener<Message>> mMessageListeners = new CopyOnWriteArrayList<>();
@@ -65,6 +72,12 @@ public class ChannelProcessingManager implements ChannelEventListener
     private RecorderManager mRecorderManager;
     private SourceManager mSourceManager;
 
+    private MetricSet mMetrics;
+    private Counter mProcessingChainsCreated;
+    private Counter mPreparedTrafficChannelStarts;
+    private Timer mTrafficChannelStartTimer;
+    private Timer mGrantToAudioTimer;
+
     public ChannelProcessingManager(ChannelModel channelModel,
                                     ChannelMapModel channelMapModel,
                                     AliasModel aliasModel,
@@ -78,6 +91,16 @@ public class ChannelProcessingManager implements ChannelEventListener
         mEventLogManager = eventLogManager;
         mRecorderManager = recorderManager;
         mSourceManager = sourceManager;
+
+        mMetrics = new MetricSet(MetricsRegistry.getInstance());
+        mProcessingChainsCreated = mMetrics.counter("sdrtrunk_processing_chains_created_total",
+            "Number of channel processing chains constructed");
+        mPreparedTrafficChannelStarts = mMetrics.counter("sdrtrunk_traffic_channel_prepared_starts_total",
+            "Number of traffic channel starts that reused an existing processing chain");
+        mTrafficChannelStartTimer = mMetrics.timer("sdrtrunk_traffic_channel_start_seconds",
+            "Latency from a traffic channel grant until the traffic channel processing chain is started");
+        mGrantToAudioTimer = mMetrics.timer("sdrtrunk_traffic_channel_grant_to_audio_seconds",
+            "Latency from a traffic channel grant until the first audio packet from the traffic channel");
     }
 
     /**
@@ -145,7 +168,21 @@ public class ChannelProcessingManager implements ChannelEventListener
     }
 
     @Override
-    public synchronized void channelChanged(ChannelEvent event)
+    public void channelChanged(ChannelEvent event)
+    {
+        //Prepared processing chains are constructed without holding the manager lock so that a channel grant
+        //(REQUEST_ENABLE) isn't blocked while an idle traffic channel processing chain is being constructed
+        if(event.getEvent() == ChannelEvent.Event.REQUEST_PREPARE)
+        {
+            prepareProcessingChain(event.getChannel());
+        }
+        else
+        {
+            processChannelEvent(event);
+        }
+    }
+
+    private synchronized void processChannelEvent(ChannelEvent event)
     {
         Channel channel = event.getChannel();
 
@@ -175,11 +212,19 @@ public class ChannelProcessingManager implements ChannelEventListener
                             break;
                     }
                 }
+                break;
             case NOTIFICATION_DELETE:
                 if(channel.getEnabled())
                 {
                     stopProcessing(channel, true);
                 }
+                else if(mProcessingChains.containsKey(channel.getChannelID()))
+                {
+                    //Dispose idle traffic channel processing chains that were retained for reuse
+                    ProcessingChain processingChain = mProcessingChains.remove(channel.getChannelID());
+                    mGrantLatencyMonitors.remove(processingChain);
+                    processingChain.dispose();
+                }
                 break;
             case NOTIFICATION_CONFIGURATION_CHANGE:
                 if(isProcessing(channel))
@@ -193,6 +238,76 @@ public class ChannelProcessingManager implements ChannelEventListener
         }
     }
 
+    /**
+     * Constructs an idle processing chain for the channel ahead of a channel grant, unless the channel already has a
+     * processing chain.  The processing chain is constructed on the calling thread without holding the manager lock
+     * and is discarded if the channel was started while it was being constructed.
+     */
+    private void prepareProcessingChain(Channel channel)
+    {
+        if(mProcessingChains.containsKey(channel.getChannelID()))
+        {
+            return;
+        }
+
+        ProcessingChain processingChain = createProcessingChain(channel);
+
+        synchronized(this)
+        {
+            if(mProcessingChains.putIfAbsent(channel.getChannelID(), processingChain) == null)
+            {
+                return;
+            }
+        }
+
+        mGrantLatencyMonitors.remove(processingChain);
+        processingChain.dispose();
+    }
+
+    /**
+     * Constructs a processing chain for the channel with the decoder modules specified in the channel's decode
+     * configuration.  Event logging and recording modules and the source are added when processing is started.
+     *
+     * Traffic channel processing chains can be constructed ahead of a channel grant (REQUEST_PREPARE) so that
+     * starting the traffic channel only requires binding a source to the existing processing chain.
+     */
+    private ProcessingChain createProcessingChain(Channel channel)
+    {
+        ProcessingChain processingChain = new ProcessingChain(channel.getChannelType(), channel.getName());
+
+        /* Register global listeners */
+        for(Listener<AudioPacket> listener : mAudioPacketListeners)
+        {
+            processingChain.addAudioPacketListener(listener);
+        }
+
+        for(Listener<Message> listener : mMessageListeners)
+        {
+            processingChain.addMessageListener(listener);
+        }
+
+        /* Processing Modules */
+        List<Module> modules = DecoderFactory.getModules(mChannelModel, mChannelMapModel, this,
+            mAliasModel, channel, processingChain.getChannelState().getMutableMetadata());
+        processingChain.addModules(modules);
+
+        /* Setup message activity model with filtering */
+        FilterSet<Message> messageFilter = DecoderFactory.getMessageFilters(modules);
+        MessageActivityModel messageModel = new MessageActivityModel(messageFilter);
+        processingChain.setMessageActivityModel(messageModel);
+
+        if(channel.getChannelType() == Channel.ChannelType.TRAFFIC)
+        {
+            GrantLatencyMonitor grantLatencyMonitor = new GrantLatencyMonitor(mGrantToAudioTimer);
+            processingChain.addAudioPacketListener(grantLatencyMonitor);
+            mGrantLatencyMonitors.put(processingChain, grantLatencyMonitor);
+        }
+
+        mProcessingChainsCreated.increment();
+
+        return processingChain;
+    }
+
     private void startProcessing(ChannelEvent event)
     {
         Channel channel = event.getChannel();
@@ -229,33 +344,15 @@ public class ChannelProcessingManager implements ChannelEventListener
 
         if(processingChain == null)
         {
-            processingChain = new ProcessingChain(channel.getChannelType());
-
-			/* Register global listeners */
-            for(Listener<AudioPacket> listener : mAudioPacketListeners)
-            {
-                processingChain.addAudioPacketListener(listener);
-            }
-
-            for(Listener<Message> listener : mMessageListeners)
-            {
-                processingChain.addMessageListener(listener);
-            }
-
-            //Register channel to receive frequency correction events to show in the spectral display (hack!)
-            processingChain.addFrequencyChangeListener(channel);
-
-			/* Processing Modules */
-            List<Module> modules = DecoderFactory.getModules(mChannelModel, mChannelMapModel, this,
-                mAliasModel, channel, processingChain.getChannelState().getMutableMetadata());
-            processingChain.addModules(modules);
-
-			/* Setup message activity model with filtering */
-            FilterSet<Message> messageFilter = DecoderFactory.getMessageFilters(modules);
-            MessageActivityModel messageModel = new MessageActivityModel(messageFilter);
-            processingChain.setMessageActivityModel(messageModel);
-
+            processingChain = createProcessingChain(channel);
         }
+        else if(event instanceof TrafficChannelEvent)
+        {
+            mPreparedTrafficChannelStarts.increment();
+        }
+
+        //Register channel to receive frequency correction events to show in the spectral display (hack!)
+        processingChain.addFrequencyChangeListener(channel);
 
         //Set the recordable flag to true if the user has requested recording.  The metadata class can still
         //override recordability if any of the aliased values has 'Do Not Record' alias identifier.
@@ -319,10 +416,22 @@ public class ChannelProcessingManager implements ChannelEventListener
             processingChain.getChannelState().configureAsTrafficChannel(
                 trafficChannelEvent.getTrafficChannelManager(),
                 trafficChannelEvent.getCallEvent());
+
+            GrantLatencyMonitor grantLatencyMonitor = mGrantLatencyMonitors.get(processingChain);
+
+            if(grantLatencyMonitor != null)
+            {
+                grantLatencyMonitor.arm(trafficChannelEvent.getTimestamp());
+            }
         }
 
         processingChain.start();
 
+        if(event instanceof TrafficChannelEvent)
+        {
+            mTrafficChannelStartTimer.record(System.nanoTime() - ((TrafficChannelEvent)event).getTimestamp());
+        }
+
         getChannelMetadataModel().add(processingChain.getChannelState().getMutableMetadata(), channel);
 
         channel.setEnabled(true);
@@ -344,6 +453,13 @@ public class ChannelProcessingManager implements ChannelEventListener
 
             processingChain.stop();
 
+            GrantLatencyMonitor grantLatencyMonitor = mGrantLatencyMonitors.get(processingChain);
+
+            if(grantLatencyMonitor != null)
+            {
+                grantLatencyMonitor.disarm();
+            }
+
             processingChain.removeEventLoggingModules();
 
             processingChain.removeRecordingModules();
@@ -357,6 +473,7 @@ public class ChannelProcessingManager implements ChannelEventListener
             if(remove)
             {
                 mProcessingChains.remove(channel.getChannelID());
+                mGrantLatencyMonitors.remove(processingChain);
 
                 processingChain.dispose();
             }
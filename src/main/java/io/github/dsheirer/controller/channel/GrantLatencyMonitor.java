@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.controller.channel;
+
+import io.github.dsheirer.audio.AudioPacket;
+import io.github.dsheirer.metrics.Timer;
+import io.github.dsheirer.sample.Listener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the latency between a traffic channel grant and the first audio packet produced by the traffic channel's
+ * processing chain.  The monitor is registered as an audio packet listener on the processing chain and is armed with
+ * the grant timestamp each time the traffic channel is started.
+ */
+public class GrantLatencyMonitor implements Listener<AudioPacket>
+{
+    private AtomicLong mGrantTimestamp = new AtomicLong();
+    private Timer mTimer;
+
+    /**
+     * Constructs a monitor
+     *
+     * @param timer to record the grant to first audio packet latency
+     */
+    public GrantLatencyMonitor(Timer timer)
+    {
+        mTimer = timer;
+    }
+
+    /**
+     * Arms the monitor to record the latency of the next audio packet
+     *
+     * @param grantTimestamp from System.nanoTime() when the channel grant was processed
+     */
+    public void arm(long grantTimestamp)
+    {
+        mGrantTimestamp.set(grantTimestamp);
+    }
+
+    /**
+     * Disarms the monitor when the channel stops before producing audio
+     */
+    public void disarm()
+    {
+        mGrantTimestamp.set(0);
+    }
+
+    @Override
+    public void receive(AudioPacket audioPacket)
+    {
+        if(audioPacket.getType() == AudioPacket.Type.AUDIO && mGrantTimestamp.get() != 0)
+        {
+            long grantTimestamp = mGrantTimestamp.getAndSet(0);
+
+            if(grantTimestamp != 0)
+            {
+                mTimer.record(System.nanoTime() - grantTimestamp);
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ public class TrafficChannelEvent extends ChannelEvent
 {
 	private TrafficChannelManager mTrafficChannelManager;
 	private CallEvent mCallEvent;
+	private long mTimestamp = System.nanoTime();
 	
 	/**
 	 * Call event with traffic channel manager for call back, and original creation event.
@@ -31,4 +32,12 @@ public class TrafficChannelEvent extends ChannelEvent
 	{
 		return mCallEvent;
 	}
+
+	/**
+	 * Creation time of this event (ie the time the channel grant was processed) from System.nanoTime()
+	 */
+	public long getTimestamp()
+	{
+		return mTimestamp;
+	}
 }
@@ -17,14 +17,16 @@
  ******************************************************************************/
 package io.github.dsheirer.dsp;
 
+import io.github.dsheirer.bits.IBitRunListener;
 import io.github.dsheirer.sample.Listener;
 
-public class NRZDecoder implements Listener<Boolean>
+public class NRZDecoder implements Listener<Boolean>, IBitRunListener
 {
 	public final static boolean MODE_NORMAL = true;
 	public final static boolean MODE_INVERTED = false;
 	
 	private Listener<Boolean> mListener;
+	private IBitRunListener mBitRunListener;
 	private boolean mMode = MODE_NORMAL;
 	private boolean mPrevious;
 
@@ -50,6 +52,7 @@ public class NRZDecoder implements Listener<Boolean>
 	public void dispose()
 	{
 		mListener = null;
+		mBitRunListener = null;
 	}
 
 	@Override
@@ -57,7 +60,11 @@ public class NRZDecoder implements Listener<Boolean>
     {
 		boolean result = mPrevious ^ bit;
 		
-		if( mListener != null )
+		if( mBitRunListener != null )
+		{
+			mBitRunListener.receive( ( mMode ? result : !result ) ? 1L : 0L, 1 );
+		}
+		else if( mListener != null )
 		{
 			mListener.receive( mMode ? result : !result );
 		}
@@ -65,9 +72,65 @@ public class NRZDecoder implements Listener<Boolean>
 		mPrevious = result;
     }
 
+	/**
+	 * Decodes a run of bits and sends the decoded run to the bit run 
+	 * listener, or one bit at a time to the boolean listener
+	 */
+	@Override
+	public void receive( long bits, int count )
+	{
+		long previous = mPrevious ? 1L : 0L;
+		long decoded = 0;
+		
+		for( int x = count - 1; x >= 0; x-- )
+		{
+			previous ^= ( bits >>> x ) & 1L;
+			decoded = ( decoded << 1 ) | previous;
+		}
+		
+		mPrevious = previous == 1L;
+		
+		if( !mMode )
+		{
+			decoded = ~decoded;
+			
+			if( count < 64 )
+			{
+				decoded &= ( 1L << count ) - 1;
+			}
+		}
+
+		if( mBitRunListener != null )
+		{
+			mBitRunListener.receive( decoded, count );
+		}
+		else if( mListener != null )
+		{
+			for( int x = count - 1; x >= 0; x-- )
+			{
+				mListener.receive( ( ( decoded >>> x ) & 1L ) == 1L );
+			}
+		}
+	}
+
+	/**
+	 * Registers a listener to receive decoded bits one bit at a time.  
+	 * Replaces any bit run listener.
+	 */
 	public void setListener( Listener<Boolean> listener )
 	{
 		mListener = listener;
+		mBitRunListener = null;
+	}
+	
+	/**
+	 * Registers a listener to receive decoded bit runs.  Replaces any boolean
+	 * listener.
+	 */
+	public void setBitRunListener( IBitRunListener listener )
+	{
+		mBitRunListener = listener;
+		mListener = null;
 	}
 	
 	public void removeListener( Listener<Boolean> listener )
@@ -0,0 +1,332 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.dsp.filter;
+
+import io.github.dsheirer.properties.SystemProperties;
+import io.github.dsheirer.util.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe cache of designed filter coefficients, keyed by the filter design method and design parameters.
+ *
+ * Channels that share the same filter specification share a single coefficient array instead of redesigning the
+ * filter and allocating new coefficients each time a channel is started.  Cached coefficient arrays are shared
+ * read-only across filter instances and must not be modified.
+ *
+ * Designs can optionally be persisted to the application settings folder so that expensive (e.g. Remez) designs
+ * are not recalculated each time the application starts.  Enable persistence by adding the line
+ * filter.design.cache.persist=true to the SDRTrunk.properties file in the application home folder.  This is an
+ * application property read through SystemProperties, not a JVM -D system property.
+ */
+public class FilterDesignCache
+{
+    private final static Logger mLog = LoggerFactory.getLogger(FilterDesignCache.class);
+
+    //Application property (SDRTrunk.properties) to enable persistence of the filter designs across restarts
+    public static final String PROPERTY_PERSIST = "filter.design.cache.persist";
+
+    private static final String CACHE_FILE_NAME = "filter_designs.cache";
+
+    //Increment the file version whenever a change to a filter design method changes the designed coefficients
+    private static final int CACHE_FILE_VERSION = 1;
+
+    private static final long SAVE_DELAY_SECONDS = 5;
+
+    //Limits used to reject corrupt cache files before allocating storage for the persisted designs
+    private static final int MAXIMUM_DESIGN_COUNT = 10000;
+    private static final int MAXIMUM_COEFFICIENT_COUNT = 1 << 20;
+
+    private static FilterDesignCache sInstance;
+
+    private Map<String,float[]> mDesigns = new ConcurrentHashMap<>();
+    private AtomicBoolean mSavePending = new AtomicBoolean();
+    private Path mCachePath;
+
+    /**
+     * Constructs the cache and loads persisted filter designs when persistence is enabled.  Use getInstance().
+     */
+    private FilterDesignCache()
+    {
+        if(SystemProperties.getInstance().get(PROPERTY_PERSIST, false))
+        {
+            mCachePath = SystemProperties.getInstance().getApplicationFolder("settings").resolve(CACHE_FILE_NAME);
+
+            load();
+        }
+    }
+
+    /**
+     * Singleton instance of the filter design cache
+     */
+    public static synchronized FilterDesignCache getInstance()
+    {
+        if(sInstance == null)
+        {
+            sInstance = new FilterDesignCache();
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Creates a cache key from the filter design method name and each of the design parameters
+     *
+     * @param design method name
+     * @param parameters that fully describe the filter design
+     * @return cache key
+     */
+    public static String getKey(String design, Object... parameters)
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(design);
+
+        for(Object parameter : parameters)
+        {
+            sb.append(":").append(parameter);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Returns the cached filter coefficients for the key, designing the filter and caching the coefficients when the
+     * filter is not already cached.  Concurrent requests for the same key will only design the filter once.
+     *
+     * @param key created from the design method and design parameters
+     * @param designer to design the filter when the coefficients are not cached
+     * @return shared, read-only filter coefficients or null if the designer could not design the filter
+     */
+    public float[] get(String key, Supplier<float[]> designer)
+    {
+        float[] coefficients = mDesigns.get(key);
+
+        if(coefficients == null)
+        {
+            coefficients = mDesigns.computeIfAbsent(key, k -> designer.get());
+
+            if(coefficients != null && mCachePath != null)
+            {
+                scheduleSave();
+            }
+        }
+
+        return coefficients;
+    }
+
+    /**
+     * Returns the cached filter coefficients for the key
+     *
+     * @param key created from the design method and design parameters
+     * @return shared, read-only filter coefficients or null if the filter is not cached
+     */
+    public float[] get(String key)
+    {
+        return mDesigns.get(key);
+    }
+
+    /**
+     * Adds the designed filter coefficients to the cache when the filter is not already cached.
+     *
+     * @param key created from the design method and design parameters
+     * @param coefficients that were designed for the key
+     * @return shared, read-only filter coefficients, which are the previously cached coefficients when another
+     * thread cached a design for the same key first
+     */
+    public float[] put(String key, float[] coefficients)
+    {
+        float[] existing = mDesigns.putIfAbsent(key, coefficients);
+
+        if(existing != null)
+        {
+            return existing;
+        }
+
+        if(mCachePath != null)
+        {
+            scheduleSave();
+        }
+
+        return coefficients;
+    }
+
+    /**
+     * Number of cached filter designs
+     */
+    public int size()
+    {
+        return mDesigns.size();
+    }
+
+    /**
+     * Removes all cached filter designs from memory
+     */
+    public void clear()
+    {
+        mDesigns.clear();
+    }
+
+    /**
+     * Schedules a save of the cached designs.  Saves are delayed so that the designs created while a group of
+     * channels is started are saved together.
+     */
+    private void scheduleSave()
+    {
+        if(mSavePending.compareAndSet(false, true))
+        {
+            ThreadPool.SCHEDULED.schedule(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    mSavePending.set(false);
+                    save();
+                }
+            }, SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Loads persisted filter designs.  The persisted designs are ignored when the file version doesn't match.  A file
+     * that can't be read or that contains invalid design counts or lengths is deleted so that it is rewritten with the
+     * current designs on the next save.
+     */
+    private void load()
+    {
+        if(!Files.exists(mCachePath))
+        {
+            return;
+        }
+
+        Map<String,float[]> designs = new HashMap<>();
+
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(mCachePath))))
+        {
+            if(in.readInt() != CACHE_FILE_VERSION)
+            {
+                mLog.info("Ignoring filter design cache file with a different version [" + mCachePath + "]");
+                return;
+            }
+
+            long fileSize = Files.size(mCachePath);
+            int count = in.readInt();
+
+            if(count < 0 || count > MAXIMUM_DESIGN_COUNT)
+            {
+                throw new IOException("Invalid filter design count [" + count + "]");
+            }
+
+            for(int x = 0; x < count; x++)
+            {
+                String key = in.readUTF();
+                int length = in.readInt();
+
+                if(length < 0 || length > MAXIMUM_COEFFICIENT_COUNT || (long)length * Float.BYTES > fileSize)
+                {
+                    throw new IOException("Invalid coefficient count [" + length + "] for filter design [" + key + "]");
+                }
+
+                float[] coefficients = new float[length];
+
+                for(int y = 0; y < coefficients.length; y++)
+                {
+                    coefficients[y] = in.readFloat();
+                }
+
+                designs.put(key, coefficients);
+            }
+        }
+        catch(IOException | RuntimeException e)
+        {
+            mLog.error("Error loading filter design cache file [" + mCachePath + "] - deleting the file", e);
+            delete();
+            return;
+        }
+
+        mDesigns.putAll(designs);
+
+        mLog.info("Loaded [" + designs.size() + "] filter designs from [" + mCachePath + "]");
+    }
+
+    /**
+     * Deletes the cache file
+     */
+    private void delete()
+    {
+        try
+        {
+            Files.deleteIfExists(mCachePath);
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Unable to delete filter design cache file [" + mCachePath + "]", ioe);
+        }
+    }
+
+    /**
+     * Saves the cached filter designs to a temporary file and then replaces the cache file
+     */
+    private void save()
+    {
+        Path temporary = mCachePath.resolveSibling(CACHE_FILE_NAME + ".tmp");
+
+        try
+        {
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary))))
+            {
+                Map<String,float[]> designs = new HashMap<>(mDesigns);
+
+                out.writeInt(CACHE_FILE_VERSION);
+                out.writeInt(designs.size());
+
+                for(Map.Entry<String,float[]> entry : designs.entrySet())
+                {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+
+                    for(float coefficient : entry.getValue())
+                    {
+                        out.writeFloat(coefficient);
+                    }
+                }
+            }
+
+            Files.move(temporary, mCachePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Error saving filter design cache file [" + mCachePath + "]", ioe);
+        }
+    }
+}
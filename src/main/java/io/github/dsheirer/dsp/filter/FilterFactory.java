@@ -215,6 +215,20 @@ public class FilterFactory
                                      long cutoff,
                                      int filterLength,
                                      Window.WindowType windowType)
+    {
+        return FilterDesignCache.getInstance().get(
+            FilterDesignCache.getKey("low pass", sampleRate, cutoff, filterLength, windowType),
+            () -> designLowPass(sampleRate, cutoff, filterLength, windowType));
+    }
+
+    /**
+     * Designs the low pass filter coefficients for the getLowPass() method.  Returns a new coefficient array that
+     * can be modified by the caller.
+     */
+    private static float[] designLowPass(int sampleRate,
+                                         long cutoff,
+                                         int filterLength,
+                                         Window.WindowType windowType)
     {
         if(filterLength % 2 == 0) //even length
         {
@@ -299,10 +313,9 @@ public class FilterFactory
         //inversion, its at the correct frequency
         long convertedCutoff = sampleRate / 2 - cutoff;
 
-        return invert(getSinc(sampleRate,
-            convertedCutoff,
-            filterLength,
-            windowType));
+        return FilterDesignCache.getInstance().get(
+            FilterDesignCache.getKey("high pass", sampleRate, cutoff, filterLength, windowType),
+            () -> invert(getSinc(sampleRate, convertedCutoff, filterLength, windowType)));
     }
 
     public static float[] getHighPass(int sampleRate,
@@ -326,7 +339,11 @@ public class FilterFactory
             }
         }
 
-        return invert(getLowPass(sampleRate, stopFrequency, tapCount, windowType));
+        int length = tapCount;
+
+        return FilterDesignCache.getInstance().get(
+            FilterDesignCache.getKey("inverted low pass", sampleRate, stopFrequency, length, windowType),
+            () -> invert(designLowPass(sampleRate, stopFrequency, length, windowType)));
     }
 
     /**
@@ -579,6 +596,19 @@ public class FilterFactory
                                               int passFrequency,
                                               int attenuation,
                                               Window.WindowType window)
+    {
+        return FilterDesignCache.getInstance().get(
+            FilterDesignCache.getKey("cic cleanup", outputSampleRate, passFrequency, attenuation, window),
+            () -> designCICCleanupFilter(outputSampleRate, passFrequency, attenuation, window));
+    }
+
+    /**
+     * Designs the CIC cleanup filter coefficients for the getCICCleanupFilter() method.
+     */
+    private static float[] designCICCleanupFilter(int outputSampleRate,
+                                                  int passFrequency,
+                                                  int attenuation,
+                                                  Window.WindowType window)
     {
         int taps = getTapCount(outputSampleRate, passFrequency, passFrequency + 1500,
             attenuation);
@@ -669,6 +699,18 @@ public class FilterFactory
     public static float[] getRootRaisedCosine(int samplesPerSymbol,
                                               int symbols,
                                               float alpha)
+    {
+        return FilterDesignCache.getInstance().get(
+            FilterDesignCache.getKey("root raised cosine", samplesPerSymbol, symbols, alpha),
+            () -> designRootRaisedCosine(samplesPerSymbol, symbols, alpha));
+    }
+
+    /**
+     * Designs the root raised cosine filter coefficients for the getRootRaisedCosine() method.
+     */
+    private static float[] designRootRaisedCosine(int samplesPerSymbol,
+                                                  int symbols,
+                                                  float alpha)
     {
         int taps = samplesPerSymbol * symbols + 1;
 
@@ -748,13 +790,40 @@ public class FilterFactory
      */
     public static float[] getTaps(FIRFilterSpecification specification) throws FilterDesignException
     {
-        RemezFIRFilterDesigner designer = new RemezFIRFilterDesigner(specification);
+        String key = getKey(specification);
 
-        if(designer.isValid())
+        float[] taps = FilterDesignCache.getInstance().get(key);
+
+        //Remez designs can throw a filter design exception, so they're designed outside of the cache
+        if(taps == null)
         {
-            return designer.getImpulseResponse();
+            RemezFIRFilterDesigner designer = new RemezFIRFilterDesigner(specification);
+
+            if(designer.isValid())
+            {
+                taps = FilterDesignCache.getInstance().put(key, designer.getImpulseResponse());
+            }
         }
 
-        return null;
+        return taps;
+    }
+
+    /**
+     * Creates a filter design cache key from the filter type, order, grid density and each of the normalized
+     * frequency bands of the filter specification.
+     */
+    private static String getKey(FIRFilterSpecification specification)
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(FilterDesignCache.getKey("remez", specification.getFilterType(), specification.getOrder(),
+            specification.getGridDensity()));
+
+        for(FIRFilterSpecification.FrequencyBand band : specification.getFrequencyBands())
+        {
+            sb.append(FilterDesignCache.getKey("", band.getStart(), band.getEnd(), band.getAmplitude(),
+                band.getRippleDB()));
+        }
+
+        return sb.toString();
     }
 }
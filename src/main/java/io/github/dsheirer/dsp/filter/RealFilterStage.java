@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.dsp.filter;
+
+import io.github.dsheirer.dsp.filter.fir.real.RealFIRFilter_RB_RB;
+import io.github.dsheirer.dsp.filter.halfband.real.HalfBandFilter_RB_RB;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.real.RealBuffer;
+import org.apache.commons.lang3.Validate;
+
+import java.util.Arrays;
+
+/**
+ * Immutable description of a real buffer filter stage: the filter type, coefficients and gain.  Two stages are equal
+ * when they produce identical output from identical input, so that modules that apply equal stages to the same input
+ * stream can share a single filter instance.
+ */
+public class RealFilterStage
+{
+    public enum Type
+    {
+        /* Half-band filter with decimation by 2 - produces a new output buffer */
+        HALF_BAND_DECIMATOR,
+
+        /* FIR filter - filters the buffer samples in place */
+        FIR
+    }
+
+    private Type mType;
+    private float[] mCoefficients;
+    private float mGain;
+    private int mHashCode;
+
+    private RealFilterStage(Type type, float[] coefficients, float gain)
+    {
+        Validate.notNull(coefficients, "Coefficients cannot be null");
+
+        mType = type;
+        mCoefficients = coefficients;
+        mGain = gain;
+        mHashCode = 31 * (31 * type.hashCode() + Arrays.hashCode(coefficients)) + Float.floatToIntBits(gain);
+    }
+
+    /**
+     * Half-band decimate by 2 filter stage
+     */
+    public static RealFilterStage halfBandDecimator(float[] coefficients, float gain)
+    {
+        return new RealFilterStage(Type.HALF_BAND_DECIMATOR, coefficients, gain);
+    }
+
+    /**
+     * FIR filter stage
+     */
+    public static RealFilterStage fir(float[] coefficients, float gain)
+    {
+        return new RealFilterStage(Type.FIR, coefficients, gain);
+    }
+
+    public Type getType()
+    {
+        return mType;
+    }
+
+    /**
+     * Indicates if the stage filters the received buffer samples in place, instead of producing a new buffer
+     */
+    public boolean isInPlace()
+    {
+        return mType == Type.FIR;
+    }
+
+    /**
+     * Creates a new filter instance for this stage
+     *
+     * @param listener to receive the filtered output
+     * @return filter that receives the input buffers
+     */
+    public Listener<RealBuffer> createFilter(Listener<RealBuffer> listener)
+    {
+        switch(mType)
+        {
+            case HALF_BAND_DECIMATOR:
+                HalfBandFilter_RB_RB halfBand = new HalfBandFilter_RB_RB(mCoefficients, mGain, true);
+                halfBand.setListener(listener);
+                return halfBand;
+            case FIR:
+                RealFIRFilter_RB_RB fir = new RealFIRFilter_RB_RB(mCoefficients, mGain);
+                fir.setListener(listener);
+                return fir;
+            default:
+                throw new IllegalArgumentException("Unrecognized filter stage type: " + mType);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if(this == o)
+        {
+            return true;
+        }
+
+        if(!(o instanceof RealFilterStage))
+        {
+            return false;
+        }
+
+        RealFilterStage other = (RealFilterStage)o;
+
+        return mType == other.mType &&
+            Float.floatToIntBits(mGain) == Float.floatToIntBits(other.mGain) &&
+            (mCoefficients == other.mCoefficients || Arrays.equals(mCoefficients, other.mCoefficients));
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return mHashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        return mType + " taps [" + mCoefficients.length + "] gain [" + mGain + "]";
+    }
+}
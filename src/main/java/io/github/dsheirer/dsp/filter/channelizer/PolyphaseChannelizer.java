@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.dsp.filter.channelizer;
+
+import org.apache.commons.lang3.Validate;
+import org.jtransforms.fft.FloatFFT_1D;
+
+/**
+ * Polyphase analysis filter bank (channelizer) that divides a complex baseband sample stream into M equally spaced
+ * channels and produces all M channel outputs with a single polyphase filter pass and one M-point FFT per output
+ * sample.
+ *
+ * The channelizer is 2x oversampled: each output sample is calculated after every M/2 input samples so that each
+ * channel is output at twice the channel spacing.  This allows a signal to be positioned anywhere within the center
+ * half of a channel without being aliased, so that a consumer can fine tune a signal that is not centered on a
+ * channel and still have a clean signal after filtering.
+ *
+ * Channel 0 is centered at 0 Hz.  Channels 1 to M/2 - 1 are positive frequency channels spaced at sampleRate / M and
+ * channels M/2 to M-1 are the negative frequency channels.
+ *
+ * Implements the 2x oversampled polyphase filter bank described in Multirate Signal Processing for Communication
+ * Systems, harris, chapter 9.
+ */
+public class PolyphaseChannelizer
+{
+    private static final double BLACKMAN_TRANSITION_FACTOR = 5.5;
+
+    private int mChannelCount;
+    private int mBlockSize;
+    private int mTapsPerChannel;
+    private float[] mCoefficients;
+
+    //Input sample history, stored twice so that the most recent filter length of samples is always contiguous
+    private float[] mHistory;
+    private int mHistoryLength;
+    private int mHistoryPointer;
+    private int mBlockPointer;
+    private boolean mOddBlock;
+
+    private float[] mFFTBuffer;
+    private FloatFFT_1D mFFT;
+
+    /**
+     * Constructs a polyphase channelizer.
+     *
+     * @param sampleRate of the incoming complex sample stream
+     * @param channelCount (M) number of channels, must be an even value
+     * @param passFrequency of the prototype filter, measured from the center of the channel
+     * @param stopFrequency of the prototype filter, measured from the center of the channel.  Must be less than or
+     * equal to the channel output sample rate minus the pass frequency to avoid aliasing into the pass band.
+     */
+    public PolyphaseChannelizer(int sampleRate, int channelCount, int passFrequency, int stopFrequency)
+    {
+        Validate.isTrue(channelCount >= 2 && channelCount % 2 == 0, "Channel count must be an even value");
+        Validate.isTrue(passFrequency < stopFrequency, "Pass frequency must be less than stop frequency");
+
+        mChannelCount = channelCount;
+        mBlockSize = channelCount / 2;
+
+        //Blackman windowed filters require a transition width of approximately 5.5 / N to achieve ~74 dB attenuation
+        int tapCount = (int)Math.ceil(BLACKMAN_TRANSITION_FACTOR * (double)sampleRate /
+            (double)(stopFrequency - passFrequency));
+
+        mTapsPerChannel = (int)Math.ceil((double)tapCount / (double)channelCount);
+
+        if(mTapsPerChannel < 2)
+        {
+            mTapsPerChannel = 2;
+        }
+
+        double cutoff = (passFrequency + ((stopFrequency - passFrequency) / 2.0)) / (double)sampleRate;
+
+        mCoefficients = getPrototypeFilter(cutoff, mTapsPerChannel * channelCount);
+
+        mHistoryLength = mCoefficients.length;
+        mHistory = new float[mHistoryLength * 4];
+
+        mFFTBuffer = new float[channelCount * 2];
+        mFFT = new FloatFFT_1D(channelCount);
+    }
+
+    /**
+     * Designs a unity gain, Blackman windowed-sinc low pass prototype filter.
+     *
+     * @param cutoff frequency normalized to the sample rate
+     * @param length of the filter
+     * @return filter coefficients
+     */
+    private static float[] getPrototypeFilter(double cutoff, int length)
+    {
+        double[] coefficients = new double[length];
+        double center = (double)(length - 1) / 2.0;
+        double sum = 0.0;
+
+        for(int x = 0; x < length; x++)
+        {
+            double time = (double)x - center;
+
+            double sinc = (time == 0.0) ? 2.0 * cutoff :
+                Math.sin(2.0 * Math.PI * cutoff * time) / (Math.PI * time);
+
+            double window = 0.42 - (0.5 * Math.cos(2.0 * Math.PI * x / (length - 1))) +
+                (0.08 * Math.cos(4.0 * Math.PI * x / (length - 1)));
+
+            coefficients[x] = sinc * window;
+            sum += coefficients[x];
+        }
+
+        float[] normalized = new float[length];
+
+        for(int x = 0; x < length; x++)
+        {
+            normalized[x] = (float)(coefficients[x] / sum);
+        }
+
+        return normalized;
+    }
+
+    /**
+     * Number of channels produced by this channelizer
+     */
+    public int getChannelCount()
+    {
+        return mChannelCount;
+    }
+
+    /**
+     * Number of prototype filter taps applied to each polyphase partition
+     */
+    public int getTapsPerChannel()
+    {
+        return mTapsPerChannel;
+    }
+
+    /**
+     * Channelizes the interleaved complex samples and returns the output samples for each of the requested channels.
+     *
+     * Partial blocks of input samples are retained and processed on the next call, so the number of output samples
+     * per channel will vary by one sample from call to call when the input length is not a multiple of M/2.
+     *
+     * @param samples interleaved I/Q samples
+     * @param channels to produce output for.  Each value must be in the range 0 to (M - 1).
+     * @return interleaved I/Q output samples for each of the requested channels, in the same order as the requested
+     * channels array
+     */
+    public float[][] process(float[] samples, int[] channels)
+    {
+        float[][] outputs = new float[channels.length][getOutputLength(samples.length)];
+
+        process(samples, channels, channels.length, outputs);
+
+        return outputs;
+    }
+
+    /**
+     * Length of the interleaved I/Q output array that the next call to process() will produce for each channel from
+     * an interleaved sample array of the specified length.
+     *
+     * @param sampleArrayLength of the interleaved I/Q input samples array
+     * @return interleaved output array length per channel
+     */
+    public int getOutputLength(int sampleArrayLength)
+    {
+        return ((mBlockPointer + (sampleArrayLength / 2)) / mBlockSize) * 2;
+    }
+
+    /**
+     * Channelizes the interleaved complex samples into caller supplied output arrays so that callers can reuse
+     * output arrays across calls.
+     *
+     * @param samples interleaved I/Q samples
+     * @param channels to produce output for.  Each value must be in the range 0 to (M - 1).
+     * @param channelCount number of entries in the channels array to produce output for
+     * @param outputs array of output arrays, one per requested channel in the same order as the channels array.  Each
+     * output array must be at least getOutputLength(samples.length) long.
+     */
+    public void process(float[] samples, int[] channels, int channelCount, float[][] outputs)
+    {
+        int outputPointer = 0;
+
+        for(int x = 0; x < samples.length; x += 2)
+        {
+            //Store each sample twice so that the filter window never wraps around the end of the history array
+            int index = 2 * mHistoryPointer;
+            mHistory[index] = samples[x];
+            mHistory[index + 1] = samples[x + 1];
+            mHistory[index + 2 * mHistoryLength] = samples[x];
+            mHistory[index + 2 * mHistoryLength + 1] = samples[x + 1];
+
+            mHistoryPointer++;
+
+            if(mHistoryPointer >= mHistoryLength)
+            {
+                mHistoryPointer = 0;
+            }
+
+            mBlockPointer++;
+
+            if(mBlockPointer >= mBlockSize)
+            {
+                mBlockPointer = 0;
+
+                filter();
+
+                mFFT.complexInverse(mFFTBuffer, false);
+
+                for(int y = 0; y < channelCount; y++)
+                {
+                    int channel = channels[y];
+
+                    //Each channel output is offset from baseband by a phase rotation of PI * channel each block,
+                    //so odd numbered channels are inverted on every other block
+                    if(mOddBlock && (channel & 1) == 1)
+                    {
+                        outputs[y][outputPointer] = -mFFTBuffer[2 * channel];
+                        outputs[y][outputPointer + 1] = -mFFTBuffer[2 * channel + 1];
+                    }
+                    else
+                    {
+                        outputs[y][outputPointer] = mFFTBuffer[2 * channel];
+                        outputs[y][outputPointer + 1] = mFFTBuffer[2 * channel + 1];
+                    }
+                }
+
+                mOddBlock = !mOddBlock;
+
+                outputPointer += 2;
+            }
+        }
+    }
+
+    /**
+     * Applies each polyphase partition of the prototype filter against the sample history and loads the partition
+     * results into the FFT buffer.
+     */
+    private void filter()
+    {
+        //Index of the most recent sample in the upper copy of the sample history
+        int newest = mHistoryPointer + mHistoryLength - 1;
+
+        for(int partition = 0; partition < mChannelCount; partition++)
+        {
+            float inphase = 0.0f;
+            float quadrature = 0.0f;
+
+            int tap = partition;
+            int sample = 2 * (newest - partition);
+
+            for(int x = 0; x < mTapsPerChannel; x++)
+            {
+                float coefficient = mCoefficients[tap];
+
+                inphase += coefficient * mHistory[sample];
+                quadrature += coefficient * mHistory[sample + 1];
+
+                tap += mChannelCount;
+                sample -= 2 * mChannelCount;
+            }
+
+            mFFTBuffer[2 * partition] = inphase;
+            mFFTBuffer[2 * partition + 1] = quadrature;
+        }
+    }
+}
@@ -25,9 +25,8 @@ import io.github.dsheirer.dsp.filter.fir.complex.ComplexFIRFilter_CB_CB;
 import io.github.dsheirer.dsp.filter.halfband.complex.HalfBandFilter_CB_CB;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexBuffer;
-import io.github.dsheirer.sample.complex.ComplexSampleListener;
-import io.github.dsheirer.sample.complex.ComplexToComplexBufferAssembler;
-import io.github.dsheirer.sample.decimator.ComplexDecimator;
+import io.github.dsheirer.sample.complex.ReusableComplexBuffer;
+import io.github.dsheirer.sample.complex.ReusableComplexBufferQueue;
 import org.apache.commons.lang3.Validate;
 
 import java.util.ArrayList;
@@ -46,10 +45,11 @@ public class ComplexPrimeCICDecimate implements Listener<ComplexBuffer>
     private ArrayList<DecimatingStage> mDecimatingStages =
         new ArrayList<DecimatingStage>();
 
-    private DecimatingStage mFirstDecimatingStage;
-
     private Output mOutput;
 
+    /* Working buffer reused across calls to process each inbound buffer in place */
+    private float[] mWorkingBuffer = new float[0];
+
     /**
      * Non-Recursive Prime-Factor CIC Filter with float sample array inputs and
      * decimated, single paired i/q float sample output.
@@ -63,6 +63,12 @@ public class ComplexPrimeCICDecimate implements Listener<ComplexBuffer>
      * be adapted to higher decimation rates by adding additional prime factors
      * to the PRIMES array.
      *
+     * Each inbound buffer is processed as a block: every CIC stage runs over
+     * the complete sample array before the array is decimated and handed to
+     * the next decimating stage.  Processing occurs in place in a working
+     * buffer that is reused across calls, so the only allocations are the
+     * decimated output buffers.
+     *
      * @param decimation - overall decimation rate
      * @param order - filter order
      */
@@ -76,26 +82,10 @@ public class ComplexPrimeCICDecimate implements Listener<ComplexBuffer>
 
         for(int x = 0; x < stageSizes.size(); x++)
         {
-            DecimatingStage stage = new DecimatingStage(stageSizes.get(x), order);
-
-            mDecimatingStages.add(stage);
-
-            if(x == 0)
-            {
-                /* Reference to first stage -- will receive all samples */
-                mFirstDecimatingStage = stage;
-            }
-            else
-            {
-				/* Wire the current stage to the previous stage */
-                mDecimatingStages.get(x - 1).setListener(stage);
-            }
+            mDecimatingStages.add(new DecimatingStage(stageSizes.get(x), order));
         }
 
         mOutput = new Output(48000, passFrequency, attenuation, windowType);
-
-        mDecimatingStages.get(mDecimatingStages.size() - 1)
-            .setListener(mOutput);
     }
 
     public void dispose()
@@ -107,7 +97,7 @@ public class ComplexPrimeCICDecimate implements Listener<ComplexBuffer>
 
         mDecimatingStages.clear();
         mDecimatingStages = null;
-        mFirstDecimatingStage = null;
+        mWorkingBuffer = null;
 
         mOutput.dispose();
         mOutput = null;
@@ -168,14 +158,25 @@ public class ComplexPrimeCICDecimate implements Listener<ComplexBuffer>
     @Override
     public void receive(ComplexBuffer buffer)
     {
-        if(mFirstDecimatingStage != null)
+        if(mDecimatingStages != null)
         {
             float[] samples = buffer.getSamples();
 
-            for(int x = 0; x < samples.length; x += 2)
+            if(mWorkingBuffer.length < samples.length)
             {
-                mFirstDecimatingStage.receive(samples[x], samples[x + 1]);
+                mWorkingBuffer = new float[samples.length];
             }
+
+            System.arraycopy(samples, 0, mWorkingBuffer, 0, samples.length);
+
+            int length = samples.length;
+
+            for(DecimatingStage stage : mDecimatingStages)
+            {
+                length = stage.process(mWorkingBuffer, length);
+            }
+
+            mOutput.receive(mWorkingBuffer, length);
         }
     }
 
@@ -184,67 +185,67 @@ public class ComplexPrimeCICDecimate implements Listener<ComplexBuffer>
      * number of stages is indicated by the order value and the size indicates
      * the decimation rate of this stage.
      */
-    public class DecimatingStage implements ComplexSampleListener
+    public class DecimatingStage
     {
         private ArrayList<Stage> mStages = new ArrayList<Stage>();
-        private Stage mFirstStage;
-        private ComplexDecimator mDecimator;
+        private int mDecimationRate;
+        private int mDecimationCounter;
 
         public DecimatingStage(int size, int order)
         {
             for(int x = 0; x < order; x++)
             {
-                Stage stage;
-
                 if(size == 2)
                 {
-                    stage = new TwoStage();
-                }
-                else
-                {
-                    stage = new Stage(size);
-                }
-
-                mStages.add(stage);
-
-                if(x == 0)
-                {
-                    mFirstStage = stage;
+                    mStages.add(new TwoStage());
                 }
                 else
                 {
-                    mStages.get(x - 1).setListener(stage);
+                    mStages.add(new Stage(size));
                 }
             }
 
-            mDecimator = new ComplexDecimator(size);
-
-            mStages.get(mStages.size() - 1).setListener(mDecimator);
+            mDecimationRate = size;
         }
 
         public void dispose()
         {
-            for(Stage stage : mStages)
-            {
-                stage.dispose();
-            }
-
             mStages.clear();
-            mDecimator.dispose();
-            mDecimator = null;
-            mFirstStage = null;
             mStages = null;
         }
 
-        @Override
-        public void receive(float i, float q)
+        /**
+         * Filters the interleaved samples in place through each of the CIC
+         * stages and then decimates the samples in place, retaining 1 of
+         * every (size) samples.
+         *
+         * @param samples interleaved I/Q samples to process in place
+         * @param length number of valid sample array elements
+         * @return number of valid sample array elements after decimation
+         */
+        public int process(float[] samples, int length)
         {
-            mFirstStage.receive(i, q);
-        }
+            for(Stage stage : mStages)
+            {
+                stage.process(samples, length);
+            }
 
-        public void setListener(ComplexSampleListener listener)
-        {
-            mDecimator.setListener(listener);
+            int decimatedLength = 0;
+
+            for(int x = 0; x < length; x += 2)
+            {
+                mDecimationCounter++;
+
+                if(mDecimationCounter >= mDecimationRate)
+                {
+                    samples[decimatedLength++] = samples[x];
+                    samples[decimatedLength++] = samples[x + 1];
+
+                    mDecimationCounter = 0;
+                }
+            }
+
+            return decimatedLength;
         }
     }
 
@@ -253,10 +254,8 @@ public class ComplexPrimeCICDecimate implements Listener<ComplexBuffer>
      * running average internally to implement the stage so that stage size has
      * essentially no impact on the computational requirements of the stage
      */
-    public class Stage implements ComplexSampleListener
+    public class Stage
     {
-        protected ComplexSampleListener mListener;
-
         private float[] mISamples;
         private float[] mQSamples;
 
@@ -282,38 +281,38 @@ public class ComplexPrimeCICDecimate implements Listener<ComplexBuffer>
             mGain = 1.0f / (float)size;
         }
 
-        public void dispose()
+        /**
+         * Filters the interleaved samples in place
+         *
+         * @param samples interleaved I/Q samples
+         * @param length number of valid sample array elements
+         */
+        public void process(float[] samples, int length)
         {
-            mListener = null;
-        }
+            for(int x = 0; x < length; x += 2)
+            {
+                float i = samples[x];
+                float q = samples[x + 1];
 
-        public void receive(float i, float q)
-        {
-			/* Subtract the oldest sample and add back in the newest */
-            mISum = mISum - mISamples[mSamplePointer] + i;
-            mQSum = mQSum - mQSamples[mSamplePointer] + q;
+                /* Subtract the oldest sample and add back in the newest */
+                mISum = mISum - mISamples[mSamplePointer] + i;
+                mQSum = mQSum - mQSamples[mSamplePointer] + q;
 
-			/* Overwrite the oldest sample with the newest */
-            mISamples[mSamplePointer] = i;
-            mQSamples[mSamplePointer] = q;
+                /* Overwrite the oldest sample with the newest */
+                mISamples[mSamplePointer] = i;
+                mQSamples[mSamplePointer] = q;
 
-            mSamplePointer++;
+                mSamplePointer++;
 
-            if(mSamplePointer >= mSize)
-            {
-                mSamplePointer = 0;
-            }
+                if(mSamplePointer >= mSize)
+                {
+                    mSamplePointer = 0;
+                }
 
-            if(mListener != null)
-            {
-                mListener.receive((mISum * mGain), (mQSum * mGain));
+                samples[x] = mISum * mGain;
+                samples[x + 1] = mQSum * mGain;
             }
         }
-
-        public void setListener(ComplexSampleListener listener)
-        {
-            mListener = listener;
-        }
     }
 
     /**
@@ -329,31 +328,40 @@ public class ComplexPrimeCICDecimate implements Listener<ComplexBuffer>
             mGain = 0.5f;
         }
 
-        public void receive(float i, float q)
+        @Override
+        public void process(float[] samples, int length)
         {
-            float iSum = mISum + i;
-            float qSum = mQSum + q;
+            for(int x = 0; x < length; x += 2)
+            {
+                float i = samples[x];
+                float q = samples[x + 1];
 
-            mISum = i;
-            mQSum = q;
+                float iSum = mISum + i;
+                float qSum = mQSum + q;
 
-            if(mListener != null)
-            {
-                mListener.receive((iSum * mGain), (qSum * mGain));
+                mISum = i;
+                mQSum = q;
+
+                samples[x] = iSum * mGain;
+                samples[x + 1] = qSum * mGain;
             }
         }
     }
 
 
     /**
-     * Output adapter - applies gain correction and cleanup filter and broadcast
-     * to registered listener.
+     * Output adapter - assembles decimated samples into output buffers,
+     * applies cleanup filter and broadcasts to registered listener.
      */
-    public class Output implements ComplexSampleListener
+    public class Output
     {
         /* Decimated output buffers will contain 1024 samples */
-        private ComplexToComplexBufferAssembler mAssembler =
-            new ComplexToComplexBufferAssembler(2048);
+        private static final int BUFFER_SIZE = 2048;
+
+        private ReusableComplexBufferQueue mReusableComplexBufferQueue =
+            new ReusableComplexBufferQueue("CIC Decimation Output");
+        private ReusableComplexBuffer mBuffer;
+        private int mBufferPointer;
 
         private ComplexFIRFilter_CB_CB mCleanupFilter;
         private HalfBandFilter_CB_CB mHalfBandFilter = new HalfBandFilter_CB_CB(
@@ -369,28 +377,63 @@ public class ComplexPrimeCICDecimate implements Listener<ComplexBuffer>
                     windowType), 0.4f);
 
             //Bypassing the CIC cleanup filter for now
-            mAssembler.setListener(mHalfBandFilter);
-
-//			mAssembler.setListener( mCleanupFilter );
-//			mCleanupFilter.setListener( mHalfBandFilter );
         }
 
         public void dispose()
         {
-            mAssembler.dispose();
+            if(mBuffer != null)
+            {
+                mBuffer.decrementUserCount();
+                mBuffer = null;
+            }
+
             mCleanupFilter.dispose();
             mHalfBandFilter.dispose();
         }
 
         /**
-         * Receiver method for the output adapter to receive a filtered,
-         * decimated sample, apply gain correction, apply cleanup filtering
-         * and output the sample values as a complex sample.
+         * Receives a block of filtered, decimated samples, assembles them
+         * into fixed size output buffers and sends each full buffer through
+         * the cleanup filtering to the listener.
+         *
+         * Output buffers are reusable buffers.  The buffer is released once
+         * the listener returns, so a listener that retains the buffer beyond
+         * the receive() call must increment the buffer user count and release
+         * it when finished.
+         *
+         * @param samples interleaved I/Q samples
+         * @param length number of valid sample array elements
          */
-        @Override
-        public void receive(float inphase, float quadrature)
+        public void receive(float[] samples, int length)
         {
-            mAssembler.receive(inphase, quadrature);
+            int offset = 0;
+
+            while(offset < length)
+            {
+                if(mBuffer == null)
+                {
+                    mBuffer = mReusableComplexBufferQueue.getBuffer(BUFFER_SIZE);
+                }
+
+                int count = Math.min(length - offset, BUFFER_SIZE - mBufferPointer);
+
+                System.arraycopy(samples, offset, mBuffer.getSamples(), mBufferPointer, count);
+
+                mBufferPointer += count;
+                offset += count;
+
+                if(mBufferPointer >= BUFFER_SIZE)
+                {
+                    ReusableComplexBuffer buffer = mBuffer;
+                    mBuffer = null;
+                    mBufferPointer = 0;
+
+                    //The half-band filter doesn't decimate, so it filters in place and sends this buffer to the listener
+                    mHalfBandFilter.receive(buffer);
+
+                    buffer.decrementUserCount();
+                }
+            }
         }
 
         /**
@@ -17,17 +17,100 @@
  ******************************************************************************/
 package io.github.dsheirer.dsp.fm;
 
+import io.github.dsheirer.util.FastArcTangent;
+
 public abstract class FMDemodulator
 {
 	private float mPreviousI = 0.0f;
 	private float mPreviousQ = 0.0f;
 	protected float mGain;
+	private FastArcTangent mArcTangent = FastArcTangent.HIGH;
+
+	//Reused phase delta vectors for block demodulation
+	private float[] mInphase = new float[ 0 ];
+	private float[] mQuadrature = new float[ 0 ];
 
 	public FMDemodulator( float gain )
 	{
 		mGain = gain;
 	}
 
+	/**
+	 * Demodulates a block of interleaved complex samples.  The conjugate
+	 * multiply for the whole block is calculated first and the phase angles
+	 * are then calculated with the fast arc tangent in a single pass, so
+	 * that each pass is a simple loop over primitive arrays.
+	 * 
+	 * Note: unlike the single sample demodulate() method, the block method
+	 * uses a four quadrant arc tangent and produces phase deltas over the
+	 * full -PI to PI range.
+	 * 
+	 * @param samples interleaved I/Q samples
+	 * @param demodulated array to receive the demodulated samples, with a
+	 * length of at least half of the samples length
+	 */
+	public void demodulate( float[] samples, float[] demodulated )
+	{
+		int length = samples.length / 2;
+
+		if( mInphase.length < length )
+		{
+			mInphase = new float[ length ];
+			mQuadrature = new float[ length ];
+		}
+
+		float[] inphase = mInphase;
+		float[] quadrature = mQuadrature;
+
+		float previousI = mPreviousI;
+		float previousQ = mPreviousQ;
+
+		/**
+		 * Multiply each sample against the complex conjugate of the previous
+		 * sample to derive the phase delta between the two samples
+		 */
+		for( int x = 0; x < length; x++ )
+		{
+			float currentI = samples[ 2 * x ];
+			float currentQ = samples[ 2 * x + 1 ];
+
+			inphase[ x ] = ( currentI * previousI ) + ( currentQ * previousQ );
+			quadrature[ x ] = ( currentQ * previousI ) - ( currentI * previousQ );
+
+			previousI = currentI;
+			previousQ = currentQ;
+		}
+
+		mPreviousI = previousI;
+		mPreviousQ = previousQ;
+
+		mArcTangent.atan2( quadrature, inphase, demodulated, length );
+
+		if( mGain != 1.0f )
+		{
+			float gain = mGain;
+
+			for( int x = 0; x < length; x++ )
+			{
+				demodulated[ x ] *= gain;
+			}
+		}
+	}
+
+	/**
+	 * Sets the accuracy of the arc tangent used for block demodulation.
+	 * Defaults to FastArcTangent.HIGH.
+	 */
+	public void setArcTangent( FastArcTangent arcTangent )
+	{
+		mArcTangent = arcTangent;
+	}
+
+	public FastArcTangent getArcTangent()
+	{
+		return mArcTangent;
+	}
+
 	public float demodulate( float currentI, float currentQ )
 	{
 		/**
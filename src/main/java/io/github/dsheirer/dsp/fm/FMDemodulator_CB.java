@@ -21,6 +21,8 @@ import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexBuffer;
 import io.github.dsheirer.sample.real.RateCounter_RB;
 import io.github.dsheirer.sample.real.RealBuffer;
+import io.github.dsheirer.sample.real.ReusableRealBuffer;
+import io.github.dsheirer.sample.real.ReusableRealBufferQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,32 +34,35 @@ public class FMDemodulator_CB extends FMDemodulator implements Listener<ComplexB
 	private Listener<RealBuffer> mListener;
 	
 	private RateCounter_RB mRateCounter = new RateCounter_RB( "FM DEMOD OUTPUT" );
+	private ReusableRealBufferQueue mReusableRealBufferQueue = 
+			new ReusableRealBufferQueue( "FM Demodulator" );
 	
 	public FMDemodulator_CB( float gain )
 	{
 		super( gain );
 	}
 	
+	/**
+	 * Demodulates the complex buffer into a reusable real buffer.  The real
+	 * buffer is recycled once the listener returns, so a listener that retains
+	 * the buffer beyond the receive() call must increment the buffer user
+	 * count and release it when finished.
+	 */
 	@Override
 	public void receive( ComplexBuffer buffer )
 	{
 		if( mListener != null )
 		{
 			float[] samples = buffer.getSamples();
-			
-			int half = samples.length / 2;
-			
-			float[] demodulated = new float[ half ];
 
-			for( int x = 0; x < half; x++ )
-			{
-				int index = x * 2;
-				
-				demodulated[ x ] = demodulate( samples[ index ], 
-											   samples[ index + 1 ] );
-			}
+			ReusableRealBuffer demodulated = 
+					mReusableRealBufferQueue.getBuffer( samples.length / 2 );
 
-			mListener.receive( new RealBuffer( demodulated ) );
+			demodulate( samples, demodulated.getSamples() );
+
+			mListener.receive( demodulated );
+
+			demodulated.decrementUserCount();
 		}
 	}
 	
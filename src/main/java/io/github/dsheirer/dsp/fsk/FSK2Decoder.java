@@ -17,7 +17,7 @@
  ******************************************************************************/
 package io.github.dsheirer.dsp.fsk;
 
-import io.github.dsheirer.buffer.BooleanAveragingBuffer;
+import io.github.dsheirer.bits.IBitRunListener;
 import io.github.dsheirer.dsp.symbol.SymbolEvent;
 import io.github.dsheirer.dsp.symbol.SymbolEvent.Shift;
 import io.github.dsheirer.instrument.Instrumentable;
@@ -26,6 +26,7 @@ import io.github.dsheirer.instrument.tap.TapGroup;
 import io.github.dsheirer.instrument.tap.stream.SymbolEventTap;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.real.RealBuffer;
+import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +48,14 @@ import java.util.List;
  * 1 to 0) by inspecting the samples at the symbol edges and advancing or
  * retarding symbol window to maintain continuous symbol alignment.
  *
+ * The one-baud delay line, the low pass filter and the symbol slicer each hold
+ * their binary sample history as bits in a long, so that the delay is a shift,
+ * the low pass filter and the symbol decision are population counts and there
+ * is no per-sample object or array access.  This limits the decoder to 62
+ * samples per symbol.  Decoded bits are delivered to an IBitRunListener as a
+ * single run per sample buffer, or one bit at a time to a boolean listener
+ * (e.g. instrumentation tap).
+ *
  * Use a DC-removal filter prior to this decoder to ensure samples don't have
  * a DC component.
  *
@@ -57,6 +66,8 @@ public class FSK2Decoder implements Instrumentable, Listener<RealBuffer>
 {
     private final static Logger mLog = LoggerFactory.getLogger(FSK2Decoder.class);
 
+    private static final int MAXIMUM_SAMPLES_PER_SYMBOL = 62;
+
     public enum Output
     {
         NORMAL, INVERTED
@@ -69,12 +80,25 @@ public class FSK2Decoder implements Instrumentable, Listener<RealBuffer>
     private ArrayList<SymbolEventTap> mTaps = new ArrayList<SymbolEventTap>();
 
     private Listener<Boolean> mListener;
-    private BooleanAveragingBuffer mDelayBuffer;
-    private BooleanAveragingBuffer mLowPassFilter;
-    private Slicer mSlicer;
+    private IBitRunListener mBitRunListener;
     private boolean mNormalOutput;
     private int mSamplesPerSymbol;
     private int mSymbolRate;
+    private int mLowPassThreshold;
+    private int mDecisionThreshold;
+    private long mSymbolMask;
+
+    /* Binary sample histories, most recent sample in the least significant bit */
+    private long mSampleHistory;
+    private long mCorrelationHistory;
+
+    /* Slicer - filtered samples for the current symbol, indexed by sample counter */
+    private long mSymbolSamples;
+    private int mSampleCounter;
+
+    /* Decoded bits awaiting delivery */
+    private long mBitRun;
+    private int mBitRunLength;
 
     public FSK2Decoder(int sampleRate, int symbolRate, Output output)
     {
@@ -82,12 +106,24 @@ public class FSK2Decoder implements Instrumentable, Listener<RealBuffer>
         assert (sampleRate % symbolRate == 0);
 
         mSamplesPerSymbol = (int) (sampleRate / symbolRate);
+
+        Validate.isTrue(mSamplesPerSymbol <= MAXIMUM_SAMPLES_PER_SYMBOL,
+            "FSK2 decoder supports up to " + MAXIMUM_SAMPLES_PER_SYMBOL + " samples per symbol");
+
         mNormalOutput = (output == Output.NORMAL);
         mSymbolRate = symbolRate;
+        mSymbolMask = (1L << mSamplesPerSymbol) - 1;
 
-        mDelayBuffer = new BooleanAveragingBuffer(mSamplesPerSymbol);
-        mLowPassFilter = new BooleanAveragingBuffer(mSamplesPerSymbol);
-        mSlicer = new Slicer(mSamplesPerSymbol);
+        /* Low pass filter output is true when more than half of the samples are true */
+        mLowPassThreshold = mSamplesPerSymbol / 2;
+
+        mDecisionThreshold = (int) (mSamplesPerSymbol / 2);
+
+        /* Adjust for an odd number of samples per baud */
+        if(mSamplesPerSymbol % 2 == 1)
+        {
+            mDecisionThreshold++;
+        }
     }
 
     /**
@@ -96,6 +132,7 @@ public class FSK2Decoder implements Instrumentable, Listener<RealBuffer>
     public void dispose()
     {
         mListener = null;
+        mBitRunListener = null;
     }
 
     /**
@@ -104,159 +141,160 @@ public class FSK2Decoder implements Instrumentable, Listener<RealBuffer>
     @Override
     public void receive(RealBuffer buffer)
     {
+        int samplesPerSymbol = mSamplesPerSymbol;
+        long symbolMask = mSymbolMask;
+
         for(float sample : buffer.getSamples())
         {
-			/* Square the sample.  Greater than zero is a 1 (true) and less than
-			 * zero is a 0 (false) */
-            boolean bitSample = (sample >= 0.0f);
+            /* Square the sample.  Greater than zero is a 1 (true) and less than
+             * zero is a 0 (false) */
+            long bitSample = sample >= 0.0f ? 1L : 0L;
+
+            mSampleHistory = (mSampleHistory << 1) | bitSample;
 
-			/* Feed the delay buffer and fetch the one-baud delayed sample */
-            boolean delayedBitSample = mDelayBuffer.get(bitSample);
+            /* Correlation: xor current bit with the one-baud delayed bit */
+            long softBit = bitSample ^ ((mSampleHistory >>> samplesPerSymbol) & 1L);
 
-			/* Correlation: xor current bit with delayed bit */
-            boolean softBit = bitSample ^ delayedBitSample;
+            mCorrelationHistory = (mCorrelationHistory << 1) | softBit;
 
-			/* Low pass filter to smooth the correlated values */
-            boolean filteredSoftBit = mLowPassFilter.getAverage(softBit);
+            /* Low pass filter to smooth the correlated values */
+            boolean filteredSoftBit = Long.bitCount(mCorrelationHistory & symbolMask) > mLowPassThreshold;
 
-			/* Send the filtered correlated bit to the slicer */
-            mSlicer.receive(filteredSoftBit);
+            /* Send the filtered correlated bit to the slicer */
+            slice(filteredSoftBit);
         }
-    }
 
-    /**
-     * Registers a listener to receive the decoded FSK bits
-     */
-    public void setListener(Listener<Boolean> listener)
-    {
-        mListener = listener;
-    }
-
-    /**
-     * Removes the listener
-     */
-    public void removeListener(Listener<Boolean> listener)
-    {
-        mListener = null;
+        flush();
     }
 
     /**
      * Symbol slicer with auto-aligning baud timing
      */
-    public class Slicer
+    private void slice(boolean softBit)
     {
-        private BitSet mBitSet = new BitSet();
-        private int mSymbolLength;
-        private int mDecisionThreshold;
-        private int mSampleCounter;
-
-        public Slicer(int samplesPerSymbol)
+        if(mSampleCounter >= 0 && softBit)
         {
-            mSymbolLength = samplesPerSymbol;
-
-            mDecisionThreshold = (int) (mSymbolLength / 2);
-
-			/* Adjust for an odd number of samples per baud */
-            if(mSymbolLength % 2 == 1)
-            {
-                mDecisionThreshold++;
-            }
+            mSymbolSamples |= 1L << mSampleCounter;
         }
 
-        public void receive(boolean softBit)
-        {
-            if(mSampleCounter >= 0)
-            {
-                if(softBit)
-                {
-                    mBitSet.set(mSampleCounter);
-                }
-                else
-                {
-                    mBitSet.clear(mSampleCounter);
-                }
-            }
-
-            mSampleCounter++;
+        mSampleCounter++;
 
-            if(mSampleCounter >= mSymbolLength)
-            {
-                boolean decision = mBitSet.cardinality() >= mDecisionThreshold;
+        if(mSampleCounter >= mSamplesPerSymbol)
+        {
+            boolean decision = Long.bitCount(mSymbolSamples) >= mDecisionThreshold;
 
-                send(decision);
+            send(decision);
 
-				/* Shift timing left if the left bit in the bitset is opposite 
-				 * the decision and the right bit is the same */
-                if((mBitSet.get(0) ^ decision) &&
-                    (!(mBitSet.get(mSymbolLength - 1) ^ decision)))
-                {
-                    sendTapEvent(mBitSet, Shift.LEFT, decision);
+            boolean first = (mSymbolSamples & 1L) != 0;
+            boolean last = (mSymbolSamples & (1L << (mSamplesPerSymbol - 1))) != 0;
 
-                    reset();
+            /* Shift timing left if the left bit in the symbol is opposite
+             * the decision and the right bit is the same */
+            if((first ^ decision) && !(last ^ decision))
+            {
+                sendTapEvent(Shift.LEFT, decision);
 
-                    mSampleCounter--;
-                }
-				/* Shift timing right if the left bit is the same as the 
-				 * decision and the right bit is opposite */
-                else if((!(mBitSet.get(0) ^ decision)) &&
-                    (mBitSet.get(mSymbolLength - 1) ^ decision))
-                {
-                    sendTapEvent(mBitSet, Shift.RIGHT, decision);
-					
-					/* Last bit from previous symbol to pre-fill next symbol */
-                    boolean previousSoftBit = mBitSet.get(mSymbolLength - 1);
+                mSymbolSamples = 0;
+                mSampleCounter = -1;
+            }
+            /* Shift timing right if the left bit is the same as the
+             * decision and the right bit is opposite */
+            else if(!(first ^ decision) && (last ^ decision))
+            {
+                sendTapEvent(Shift.RIGHT, decision);
 
-                    reset();
+                /* Last bit from previous symbol to pre-fill next symbol */
+                mSymbolSamples = last ? 1L : 0L;
+                mSampleCounter = 1;
+            }
+            /* No shift */
+            else
+            {
+                sendTapEvent(Shift.NONE, decision);
 
-                    if(previousSoftBit)
-                    {
-                        mBitSet.set(0);
-                    }
+                mSymbolSamples = 0;
+                mSampleCounter = 0;
+            }
+        }
+    }
 
-                    mSampleCounter++;
-                }
-				/* No shift */
-                else
-                {
-                    sendTapEvent(mBitSet, Shift.NONE, decision);
+    /**
+     * Adds the bit decision to the current bit run
+     */
+    private void send(boolean decision)
+    {
+        mBitRun = (mBitRun << 1) | ((decision == mNormalOutput) ? 1L : 0L);
+        mBitRunLength++;
 
-                    reset();
-                }
-            }
+        if(mBitRunLength == 64)
+        {
+            flush();
         }
+    }
 
-        /**
-         * Sends the bit decision to the listener
-         */
-        private void send(boolean decision)
+    /**
+     * Delivers the current bit run to the listener
+     */
+    private void flush()
+    {
+        if(mBitRunLength > 0)
         {
-            if(mListener != null)
+            if(mBitRunListener != null)
             {
-                mListener.receive(mNormalOutput ? decision : !decision);
+                mBitRunListener.receive(mBitRun, mBitRunLength);
+            }
+            else if(mListener != null)
+            {
+                for(int x = mBitRunLength - 1; x >= 0; x--)
+                {
+                    mListener.receive(((mBitRun >>> x) & 1L) == 1L);
+                }
             }
-        }
 
-        private void reset()
-        {
-            mBitSet.clear();
-            mSampleCounter = 0;
+            mBitRun = 0;
+            mBitRunLength = 0;
         }
+    }
 
-        /**
-         * Sends instrumentation tap event to all registered listeners
-         */
-        private void sendTapEvent(BitSet bitset, Shift shift, boolean decision)
+    /**
+     * Registers a listener to receive the decoded FSK bits one bit at a time.
+     * Replaces any bit run listener.
+     */
+    public void setListener(Listener<Boolean> listener)
+    {
+        mListener = listener;
+        mBitRunListener = null;
+    }
+
+    /**
+     * Removes the listener
+     */
+    public void removeListener(Listener<Boolean> listener)
+    {
+        mListener = null;
+    }
+
+    /**
+     * Registers a listener to receive the decoded FSK bits as bit runs.
+     * Replaces any boolean listener.
+     */
+    public void setBitRunListener(IBitRunListener listener)
+    {
+        mBitRunListener = listener;
+        mListener = null;
+    }
+
+    /**
+     * Sends instrumentation tap event to all registered listeners
+     */
+    private void sendTapEvent(Shift shift, boolean decision)
+    {
+        for(SymbolEventTap tap : mTaps)
         {
-            for(SymbolEventTap tap : mTaps)
-            {
-                SymbolEvent event =
-                    new SymbolEvent(bitset.get(0, mSymbolLength),
-                        mSymbolLength,
-                        decision,
-                        shift);
+            SymbolEvent event = new SymbolEvent(BitSet.valueOf(new long[] {mSymbolSamples}),
+                mSamplesPerSymbol, decision, shift);
 
-                tap.receive(event);
-            }
+            tap.receive(event);
         }
     }
 
@@ -1,6 +1,7 @@
 package io.github.dsheirer.dsp.psk;
 
 import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.dsp.symbol.ISymbolReliabilityProvider;
 import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.Complex;
@@ -22,9 +23,11 @@ import io.github.dsheirer.sample.complex.Complex;
  *     You should have received a copy of the GNU General Public License
  *     along with this program.  If not, see <http://www.gnu.org/licenses/>
  ******************************************************************************/
-public class QPSKPolarSlicer implements Listener<Complex>
+public class QPSKPolarSlicer implements Listener<Complex>, ISymbolReliabilityProvider
 {
 	private Broadcaster<Dibit> mBroadcaster = new Broadcaster<Dibit>();
+	private int mBit1Reliability;
+	private int mBit2Reliability;
 	
 	/**
 	 * Slices a ComplexSample representing a phase shifted symbol according to
@@ -60,8 +63,40 @@ public class QPSKPolarSlicer implements Listener<Complex>
 	@Override
 	public void receive( Complex complex )
 	{
+		float sum = Math.abs( complex.inphase() ) + Math.abs( complex.quadrature() );
+
+		/* The first bit's decision boundary is the I = Q diagonal and the 
+		 * second bit's decision boundary is the I = -Q diagonal.  Reliability
+		 * is the normalized distance to each boundary, independent of the 
+		 * sample magnitude, where samples located on an axis have maximum 
+		 * reliability. */
+		if( sum > 0.0f )
+		{
+			mBit1Reliability = (int)( Math.abs( complex.inphase() - complex.quadrature() ) / 
+					sum * MAXIMUM_RELIABILITY + 0.5f );
+			mBit2Reliability = (int)( Math.abs( complex.inphase() + complex.quadrature() ) / 
+					sum * MAXIMUM_RELIABILITY + 0.5f );
+		}
+		else
+		{
+			mBit1Reliability = 0;
+			mBit2Reliability = 0;
+		}
+
 		mBroadcaster.broadcast( decide( complex ) );
 	}
+
+	@Override
+	public int getBit1Reliability()
+	{
+		return mBit1Reliability;
+	}
+
+	@Override
+	public int getBit2Reliability()
+	{
+		return mBit2Reliability;
+	}
 	
 	public static Dibit decide( Complex complex )
 	{
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.dsp.symbol;
+
+/**
+ * Dibit symbol slicer that provides the reliability (soft decision) of each of the two bits of each symbol decision,
+ * for use by soft decision error correction decoders.
+ *
+ * Slicers dispatch each symbol decision to their listeners synchronously, so a listener can access the reliability of
+ * the symbol that it is currently receiving.
+ */
+public interface ISymbolReliabilityProvider
+{
+    /**
+     * Reliability value of a bit from a symbol that is positioned at the ideal symbol location.  Reliability values
+     * range from zero for a symbol located on the bit's decision boundary, up to this maximum value.
+     */
+    int MAXIMUM_RELIABILITY = 7;
+
+    /**
+     * Reliability of the first (most significant) bit of the most recently dispatched dibit symbol decision
+     *
+     * @return reliability in the range 0 to MAXIMUM_RELIABILITY
+     */
+    int getBit1Reliability();
+
+    /**
+     * Reliability of the second (least significant) bit of the most recently dispatched dibit symbol decision
+     *
+     * @return reliability in the range 0 to MAXIMUM_RELIABILITY
+     */
+    int getBit2Reliability();
+}
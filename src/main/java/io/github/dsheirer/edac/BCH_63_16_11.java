@@ -46,7 +46,7 @@ public class BCH_63_16_11 extends BerlekempMassey_63
 	{
 		CRC status = CRC.PASSED;
 		
-		int[] original = message.toReverseIntegerArray( 0, 62 );
+		int[] original = toSymbols( message.getLong( 0, 62 ) );
 		int[] corrected = new int[ 63 ];
 
 		boolean irrecoverableErrors = decode( original, corrected );
@@ -84,6 +84,49 @@ public class BCH_63_16_11 extends BerlekempMassey_63
 		return message;
 	}
 	
+	/**
+	 * Performs error detection and correction on a 63-bit NID codeword.
+	 * 
+	 * @param codeword - BCH protected NID with the first transmitted bit in
+	 * bit position 62
+	 * @return - corrected 16-bit information value (NAC and DUID) or -1 if
+	 * the codeword contains uncorrectable errors
+	 */
+	public int correctNID( long codeword )
+	{
+		int[] corrected = new int[ 63 ];
+
+		if( decode( toSymbols( codeword ), corrected ) )
+		{
+			return -1;
+		}
+
+		int value = 0;
+
+		for( int x = 0; x < 16; x++ )
+		{
+			value = ( value << 1 ) | corrected[ 62 - x ];
+		}
+
+		return value;
+	}
+
+	/**
+	 * Converts the 63-bit codeword to the reverse ordered binary symbols that
+	 * are expected by the decoder.
+	 */
+	private static int[] toSymbols( long codeword )
+	{
+		int[] symbols = new int[ 63 ];
+
+		for( int x = 0; x < 63; x++ )
+		{
+			symbols[ x ] = (int)( codeword >>> x ) & 1;
+		}
+
+		return symbols;
+	}
+
 	public static void main( String[] args )
 	{
 		String orig  = "0010011000000011010010100000000110000111110011101010001010110000";
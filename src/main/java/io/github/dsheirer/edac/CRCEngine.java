@@ -0,0 +1,319 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.util.IntLongMap;
+import org.apache.commons.lang3.Validate;
+
+import java.util.BitSet;
+
+/**
+ * Table driven CRC calculator for non-reflected (most significant bit first) CRCs up to 64 bits wide.
+ *
+ * Message bits are read 64 at a time from the packed words of the message bit set and the CRC register is updated
+ * 8 or 16 message bits per step using a precomputed table, instead of XORing a per-bit checksum table entry for
+ * each set message bit.  An 8-bit step uses a 256 entry table and a 16-bit step uses a 65536 entry (512 KB) table.
+ *
+ * The CRC register is kept left-aligned in a 64-bit long, so CRCs narrower than the step size (e.g. CRC-7) are
+ * also supported.
+ *
+ * Instances are immutable and can be shared across threads.
+ */
+public class CRCEngine
+{
+    private int mWidth;
+    private long mPolynomial;
+    private long mInitialFill;
+    private long mFinalXor;
+    private int mBitsPerStep;
+    private long mMask;
+    private long mAlignedPolynomial;
+    private long[] mTable;
+
+    /**
+     * Constructs a CRC engine that processes 8 message bits per step.
+     *
+     * @param width of the CRC in bits (1 - 64)
+     * @param polynomial generator polynomial.  The leading (x^width) term is optional and is ignored.
+     * @param initialFill value of the CRC register before the first message bit
+     * @param finalXor value that is XORed with the CRC register after the last message bit
+     */
+    public CRCEngine(int width, long polynomial, long initialFill, long finalXor)
+    {
+        this(width, polynomial, initialFill, finalXor, 8);
+    }
+
+    /**
+     * Constructs a CRC engine.
+     *
+     * @param width of the CRC in bits (1 - 64)
+     * @param polynomial generator polynomial.  The leading (x^width) term is optional and is ignored.
+     * @param initialFill value of the CRC register before the first message bit
+     * @param finalXor value that is XORed with the CRC register after the last message bit
+     * @param bitsPerStep number of message bits processed per table lookup, 8 or 16
+     */
+    public CRCEngine(int width, long polynomial, long initialFill, long finalXor, int bitsPerStep)
+    {
+        Validate.isTrue(width > 0 && width <= 64, "CRC width must be 1 - 64 bits");
+        Validate.isTrue(bitsPerStep == 8 || bitsPerStep == 16, "Bits per step must be 8 or 16");
+
+        mWidth = width;
+        mMask = width == 64 ? -1L : (1L << width) - 1;
+        mPolynomial = polynomial & mMask;
+        mInitialFill = initialFill & mMask;
+        mFinalXor = finalXor & mMask;
+        mBitsPerStep = bitsPerStep;
+        mAlignedPolynomial = mPolynomial << (64 - width);
+
+        mTable = new long[1 << bitsPerStep];
+
+        for(int x = 0; x < mTable.length; x++)
+        {
+            long crc = (long)x << (64 - bitsPerStep);
+
+            for(int bit = 0; bit < bitsPerStep; bit++)
+            {
+                crc = crc < 0 ? (crc << 1) ^ mAlignedPolynomial : crc << 1;
+            }
+
+            mTable[x] = crc;
+        }
+    }
+
+    /**
+     * CRC width in bits
+     */
+    public int getWidth()
+    {
+        return mWidth;
+    }
+
+    /**
+     * Generator polynomial without the leading (x^width) term
+     */
+    public long getPolynomial()
+    {
+        return mPolynomial;
+    }
+
+    /**
+     * Calculates the CRC of the message bits.
+     *
+     * @param message bits
+     * @param start index of the first message bit
+     * @param end index after the last message bit
+     * @return CRC value
+     */
+    public long getChecksum(BitSet message, int start, int end)
+    {
+        return getChecksum(message.toLongArray(), start, end);
+    }
+
+    /**
+     * Calculates the CRC of the message bits.
+     *
+     * @param words packed message bits, in BitSet.toLongArray() order
+     * @param start index of the first message bit
+     * @param end index after the last message bit
+     * @return CRC value
+     */
+    public long getChecksum(long[] words, int start, int end)
+    {
+        return finish(update(getInitialRegister(), words, start, end));
+    }
+
+    /**
+     * CRC register loaded with the initial fill, for calculating a CRC over non-contiguous message bit ranges with
+     * update() and finish().
+     */
+    public long getInitialRegister()
+    {
+        return mInitialFill << (64 - mWidth);
+    }
+
+    /**
+     * Updates the CRC register with the message bits.
+     *
+     * @param register value from getInitialRegister() or a previous update
+     * @param words packed message bits, in BitSet.toLongArray() order
+     * @param start index of the first message bit
+     * @param end index after the last message bit
+     * @return updated CRC register
+     */
+    public long update(long register, long[] words, int start, int end)
+    {
+        int index = start;
+
+        while(end - index >= 64)
+        {
+            register = update(register, getBits(words, index), 64);
+            index += 64;
+        }
+
+        if(index < end)
+        {
+            register = update(register, getBits(words, index), end - index);
+        }
+
+        return register;
+    }
+
+    /**
+     * Applies the final XOR to the CRC register.
+     *
+     * @param register after the last message bit
+     * @return CRC value
+     */
+    public long finish(long register)
+    {
+        return ((register >>> (64 - mWidth)) ^ mFinalXor) & mMask;
+    }
+
+    /**
+     * Updates the left-aligned CRC register with the most significant count bits of the message bits value
+     */
+    private long update(long crc, long bits, int count)
+    {
+        int steps = count / mBitsPerStep;
+        int shift = 64 - mBitsPerStep;
+
+        for(int x = 0; x < steps; x++)
+        {
+            crc = (crc << mBitsPerStep) ^ mTable[(int)((crc ^ bits) >>> shift)];
+            bits <<= mBitsPerStep;
+        }
+
+        for(int x = steps * mBitsPerStep; x < count; x++)
+        {
+            crc ^= bits & Long.MIN_VALUE;
+            crc = crc < 0 ? (crc << 1) ^ mAlignedPolynomial : crc << 1;
+            bits <<= 1;
+        }
+
+        return crc;
+    }
+
+    /**
+     * Creates a lookup of the checksum error (syndrome) value for a single bit error at each bit position of a
+     * message of the specified length that is followed by the CRC.  Message bit errors map to positions 0 to
+     * (messageLength - 1) and CRC bit errors map to positions messageLength to (messageLength + width - 1).
+     *
+     * The syndrome is the XOR of the CRC calculated over the received message bits and the received CRC.
+     *
+     * @param messageLength number of message bits covered by the CRC
+     * @return map of syndrome to bit position, with a missing value of -1.  The map should not be modified once
+     * it is shared across threads.
+     */
+    public IntLongMap getSyndromePositions(int messageLength)
+    {
+        Validate.isTrue(mWidth <= 32, "Syndrome lookup is only supported for CRCs up to 32 bits wide");
+
+        IntLongMap positions = new IntLongMap(messageLength + mWidth, -1);
+
+        /* Register for a single error bit, advanced one message bit at a time from the last message bit */
+        long crc = mAlignedPolynomial;
+        long[] syndromes = new long[messageLength];
+
+        for(int x = messageLength - 1; x >= 0; x--)
+        {
+            syndromes[x] = crc >>> (64 - mWidth);
+            crc = crc < 0 ? (crc << 1) ^ mAlignedPolynomial : crc << 1;
+        }
+
+        for(int x = 0; x < messageLength; x++)
+        {
+            if(!positions.containsKey((int)syndromes[x]))
+            {
+                positions.put((int)syndromes[x], x);
+            }
+        }
+
+        for(int x = 0; x < mWidth; x++)
+        {
+            int syndrome = (int)(1L << (mWidth - 1 - x));
+
+            if(!positions.containsKey(syndrome))
+            {
+                positions.put(syndrome, messageLength + x);
+            }
+        }
+
+        return positions;
+    }
+
+    /**
+     * Returns 64 message bits starting at the index with the bit at the index in the most significant bit position.
+     * Bits beyond the end of the packed words are zero.
+     *
+     * @param words packed message bits, in BitSet.toLongArray() order
+     * @param index of the first bit
+     */
+    public static long getBits(long[] words, int index)
+    {
+        int word = index >>> 6;
+        int shift = index & 0x3F;
+
+        long bits = word < words.length ? words[word] >>> shift : 0;
+
+        if(shift != 0 && word + 1 < words.length)
+        {
+            bits |= words[word + 1] << (64 - shift);
+        }
+
+        return Long.reverse(bits);
+    }
+
+    /**
+     * Value of the bit field, with the first bit of the field in the most significant bit position of the value.
+     *
+     * @param words packed message bits, in BitSet.toLongArray() order
+     * @param start index of the first bit of the field
+     * @param width of the field (1 - 64)
+     */
+    public static long getValue(long[] words, int start, int width)
+    {
+        return getBits(words, start) >>> (64 - width);
+    }
+
+    /**
+     * Indicates if an odd number of the bits in the range are set.
+     *
+     * @param words packed message bits, in BitSet.toLongArray() order
+     * @param start index of the first bit
+     * @param end index after the last bit
+     */
+    public static boolean isOddParity(long[] words, int start, int end)
+    {
+        int count = 0;
+
+        for(int index = start; index < end; index += 64)
+        {
+            long bits = getBits(words, index);
+
+            if(end - index < 64)
+            {
+                bits >>>= 64 - (end - index);
+            }
+
+            count += Long.bitCount(bits);
+        }
+
+        return (count & 1) == 1;
+    }
+}
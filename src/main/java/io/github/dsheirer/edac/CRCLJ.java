@@ -18,6 +18,7 @@
 package io.github.dsheirer.edac;
 
 import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.util.IntLongMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,75 +50,18 @@ public class CRCLJ
 	private static final int MESSAGE_START = 32;
 	private static final int CRC_START = 64;
 
-	private static int[] CHECKSUMS = new int[] 
-	{
-		0x26EA, //Function 0 (LSB)
-		0x1375, //Function 1
-		0xBE0B, //Function 2
-		0xE8B4, //Function 3 (MSB)
-		0x745A, //Address 0 (LSB)
-		0x3A2D, //Address 1
-		0xAAA7, //Address 2
-		0xE2E2, //Address 3
-		0x7171, //Address 4
-		0x8F09, //Address 5
-		0xF035, //Address 6
-		0xCFAB, //Address 7
-		0xD064, //Address 8
-		0x6832, //Address 9
-		0x3419, //Address 10
-		0xADBD, //Address 11
-		0xE16F, //Address 12
-		0xC706, //Address 13
-		0x6383, //Address 14
-		0x8670, //Address 15
-		0x4338, //Address 16
-		0x219C, //Address 17
-		0x10CE, //Address 18
-		0x0867, //Address 19
-		0xB382, //Address 20
-		0x59C1, //Address 21
-		0x9B51, //Address 22
-		0xFA19, //Address 23
-		0xCABD, //Address 24
-		0xD2EF, //Address 25
-		0xDEC6, //Address 26
-		0x6F63, //Address 27 (MSB)
-		
-		//Single bit errors in the CRC Checksum
-		0x8000, //CRC 0
-		0x4000, //CRC 1
-		0x2000, //CRC 2
-		0x1000, //CRC 3
-		0x0800, //CRC 4
-		0x0400, //CRC 5
-		0x0200, //CRC 6
-		0x0100, //CRC 7
-		0x0080, //CRC 8
-		0x0040, //CRC 9
-		0x0020, //CRC 10
-		0x0010, //CRC 11
-		0x0008, //CRC 12
-		0x0004, //CRC 13
-		0x0002, //CRC 14
-		0x0001  //CRC 15
-	};
+	private static final CRCEngine CRC16 = new CRCEngine( 16, 0x6F63, 0, 0 );
+
+	private static final IntLongMap BIT_ERRORS = 
+			CRC16.getSyndromePositions( CRC_START - MESSAGE_START );
 
 	/**
 	 * Determines if FUNCTION AND ADDRESS bits pass the LJ CRC checksum
-	 * using a lookup table of CRC checksum values derived from the CRC-16 value
+	 * using the table driven CRC-16 engine
 	 */
 	public static CRC checkAndCorrect( BinaryMessage message )
 	{
-		int calculated = 0; //Starting value
-
-		/* Iterate the set bits and XOR running checksum with lookup value */
-		for (int i = message.nextSetBit( MESSAGE_START ); 
-				 i >= MESSAGE_START && i < CRC_START; 
-				 i = message.nextSetBit( i+1 ) ) 
-		{
-			calculated ^= CHECKSUMS[ i - MESSAGE_START ];
-		}
+		int calculated = (int)CRC16.getChecksum( message, MESSAGE_START, CRC_START );
 
 		int checksum = getChecksum( message );
 		
@@ -167,16 +111,15 @@ public class CRCLJ
     public static int[] findBitErrors( int checksumError )
     {
     	/* One bit errors */
-		for( int x = 0; x < 48; x++ )
+		long position = BIT_ERRORS.get( checksumError );
+		
+		if( position >= 0 )
 		{
-			if( CHECKSUMS[ x ] == checksumError )
-			{
-				int[] errors = new int[ 1 ];
+			int[] errors = new int[ 1 ];
 
-				errors[ 0 ] = x;
-				
-				return errors;
-			}
+			errors[ 0 ] = (int)position;
+			
+			return errors;
 		}
 
 		return null;
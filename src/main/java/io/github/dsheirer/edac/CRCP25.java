@@ -18,6 +18,8 @@
 package io.github.dsheirer.edac;
 
 import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.util.IntLongMap;
+import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +29,19 @@ import org.slf4j.LoggerFactory;
 public class CRCP25
 {
 	private final static Logger mLog = LoggerFactory.getLogger( CRCP25.class );
+
+	/* The checksum tables below include the all-ones initial fill in each
+	 * set bit checksum, so the table driven residual is the engine residual
+	 * XOR'd with all ones when the message has an odd number of set bits.
+	 * Either residual value passes the CRC check. */
+	private static final CRCEngine CCITT = new CRCEngine( 16, 0x1021, 0, 0 );
+	private static final CRCEngine CRC9 = new CRCEngine( 9, 0x59, 0, 0 );
+	private static final CRCEngine CRC32 = new CRCEngine( 32, 0x04C11DB7l, 0, 0 );
+
+	private static final IntLongMap CCITT_80_POSITIONS = CCITT.getSyndromePositions( 80 );
+	private static final IntLongMap PDU1_POSITIONS = CRC32.getSyndromePositions( 64 );
+	private static final IntLongMap PDU2_POSITIONS = CRC32.getSyndromePositions( 160 );
+	private static final IntLongMap PDU3_POSITIONS = CRC32.getSyndromePositions( 256 );
 	
 	/**
 	 * CRC-CCITT 16-bit checksums for a message length of 80 bits plus 16
@@ -65,7 +80,7 @@ public class CRCP25
 	    0x05F, 0x12F, 0x197, 0x1CB, 0x1E5, 0x1F2, 0x0D5, 0x16A, 0x099, 0x14C, 
 	    0x08A, 0x069, 0x134, 0x0B6, 0x077, 0x13B, 0x19D, 0x1CE, 0x0CB, 0x165, 
 	    0x1B2, 0x0F5, 0x17A, 0x091, 0x148, 0x088, 0x068, 0x018, 0x020, 0x03C, 
-	    0x302, 0x035, 0x11A, 0x0A1, 0x150, 0x084, 0x06E, 0x01B, 0x10D, 0x186, 
+	    0x032, 0x035, 0x11A, 0x0A1, 0x150, 0x084, 0x06E, 0x01B, 0x10D, 0x186, 
 	    0x0EF, 0x177, 0x1BB, 0x1DD, 0x1EE, 0x0DB, 0x16D, 0x1B6, 0x0F7, 0x17B, 
 	    0x1BD, 0x1DE, 0x0C3, 0x161, 0x1B0, 0x0F4, 0x056, 0x007, 0x103, 0x181, 
 	    0x1C0, 0x0CC, 0x04A, 0x009, 0x104, 0x0AE, 0x07B, 0x13D, 0x19E, 0x0E3, 
@@ -223,7 +238,7 @@ public class CRCP25
 	 */
 	public static BinaryMessage correctPDU1( BinaryMessage message )
 	{
-		return correctPDU( message, PDU1_CHECKSUMS, 224 );
+		return correctPDU( message, PDU1_POSITIONS, 224 );
 	}
 
 	/**
@@ -232,7 +247,7 @@ public class CRCP25
 	 */
 	public static BinaryMessage correctPDU2( BinaryMessage message )
 	{
-		return correctPDU( message, PDU2_CHECKSUMS, 320 );
+		return correctPDU( message, PDU2_POSITIONS, 320 );
 	}
 
 	/**
@@ -241,28 +256,70 @@ public class CRCP25
 	 */
 	public static BinaryMessage correctPDU3( BinaryMessage message )
 	{
-		return correctPDU( message, PDU3_CHECKSUMS, 416 );
+		return correctPDU( message, PDU3_POSITIONS, 416 );
 	}
 
-	public static BinaryMessage correctPDU( BinaryMessage message, long[] checksums, int crcStart )
+	/**
+	 * Performs error detection and single-bit error correction against the
+	 * CRC-32 protected data blocks starting at bit 160 of a PDU message.
+	 * 
+	 * The data blocks are processed with the CRC-32 engine, selected by the
+	 * data block length, so the checksum table is only used to verify that
+	 * it covers the data block length.
+	 * 
+	 * @param checksums - checksum table for the data block length
+	 * @param crcStart - index of the first CRC bit following the data blocks
+	 */
+	public static BinaryMessage correctPDU( BinaryMessage message, 
+											long[] checksums, 
+											int crcStart )
 	{
-		long calculated = 0; //Starting value
+		int messageLength = crcStart - 160;
 		
-		int messageStart = 160;
+		Validate.isTrue( checksums.length == messageLength + 32, 
+				"Checksum table length doesn't match the data block length" );
+		
+		return correctPDU( message, getPDUPositions( messageLength ), crcStart );
+	}
 
-		/* Iterate the set bits and XOR running checksum with lookup value */
-		for (int i = message.nextSetBit( messageStart ); 
-				 i >= messageStart && i < crcStart; 
-				 i = message.nextSetBit( i+1 ) ) 
+	/**
+	 * Single bit error syndrome lookup for a PDU data block length
+	 */
+	private static IntLongMap getPDUPositions( int messageLength )
+	{
+		switch( messageLength )
 		{
-			calculated ^= checksums[ i - messageStart ];
+			case 64:
+				return PDU1_POSITIONS;
+			case 160:
+				return PDU2_POSITIONS;
+			case 256:
+				return PDU3_POSITIONS;
+			default:
+				return CRC32.getSyndromePositions( messageLength );
 		}
-		
-		long checksum = getLongChecksum( message, crcStart, 32 );
+	}
 
-		long error = calculated ^ checksum;
-		
-		if( error == 0 || error == 0xFFFFFFFFl )
+	/**
+	 * Performs error detection and single-bit error correction against the
+	 * CRC-32 protected data blocks starting at bit 160 of a PDU message.
+	 * 
+	 * @param positions - single bit error syndrome lookup for the data block
+	 * length, from the CRC-32 engine
+	 * @param crcStart - index of the first CRC bit following the data blocks
+	 */
+	private static BinaryMessage correctPDU( BinaryMessage message, 
+											 IntLongMap positions,
+											 int crcStart )
+	{
+		int messageStart = 160;
+
+		long[] words = message.toLongArray();
+
+		long residual = CRC32.getChecksum( words, messageStart, crcStart ) ^ 
+				getLongChecksum( message, crcStart, 32 );
+
+		if( residual == 0 || residual == 0xFFFFFFFFl )
 		{
 			message.setCRC( CRC.PASSED );
 			
@@ -270,7 +327,13 @@ public class CRCP25
 		}
 		else
 		{
-			int errorLocation = getBitError( error, checksums );
+			if( CRCEngine.isOddParity( words, messageStart, crcStart ) )
+			{
+				residual ^= 0xFFFFFFFFl;
+			}
+
+			int errorLocation = getBitError( residual, 0xFFFFFFFFl, positions, 
+					crcStart - messageStart );
 			
 			if( errorLocation >= 0 )
 			{
@@ -295,20 +358,11 @@ public class CRCP25
 												int messageStart,
 												int crcStart )
 	{
-		int calculated = 0; //Starting value
+		long[] words = message.toLongArray();
 
-		/* Iterate the set bits and XOR running checksum with lookup value */
-		for (int i = message.nextSetBit( messageStart ); 
-				 i >= messageStart && i < crcStart; 
-				 i = message.nextSetBit( i+1 ) ) 
-		{
-			calculated ^= CCITT_80_CHECKSUMS[ i - messageStart ];
-		}
-		
-		int checksum = getIntChecksum( message, crcStart, 16 );
+		int residual = (int)CCITT.getChecksum( words, messageStart, crcStart ) ^ 
+				getIntChecksum( message, crcStart, 16 );
 
-		int residual = calculated ^ checksum;
-		
 		if( residual == 0 || residual == 0xFFFF )
 		{
 			message.setCRC( CRC.PASSED );
@@ -317,7 +371,13 @@ public class CRCP25
 		}
 		else
 		{
-			int errorLocation = getBitError( residual, CCITT_80_CHECKSUMS );
+			if( CRCEngine.isOddParity( words, messageStart, crcStart ) )
+			{
+				residual ^= 0xFFFF;
+			}
+
+			int errorLocation = getBitError( residual, 0xFFFF, 
+					CCITT_80_POSITIONS, 80 );
 			
 			if( errorLocation >= 0 )
 			{
@@ -337,30 +397,20 @@ public class CRCP25
 	/**
 	 * Error detection for CRC-9 protected Confirmed Packet Data blocks.  These
 	 * data blocks have a slightly complicated structure because the checksum
-	 * is located between bits 7-15, within a 144 bit block.  The checksums
-	 * were generated assuming that the message is contiguous from 0 - 134 bits.
+	 * is located between bits 7-15, within a 144 bit block.  The checksum
+	 * is calculated as if the message is contiguous from 0 - 134 bits.
 	 * No data correction is performed.
 	 */
 	public static CRC checkCRC9( BinaryMessage message, int messageStart )
 	{
-		int calculated = 0x0; //Initial fill of all ones
+		long[] words = message.toLongArray();
 
-		/* Iterate the set bits and XOR running checksum with lookup value */
-		for (int i = message.nextSetBit( messageStart ); 
-				 i >= messageStart && i < messageStart + 144; 
-				 i = message.nextSetBit( i+1 ) ) 
-		{
-			/* message bits before the CRC */
-			if( i < ( messageStart + 7 ) )
-			{
-				calculated ^= CRC9_CHECKSUMS[ i - messageStart ];
-			}
-			/* message bits after the CRC */
-			else if( i > ( messageStart + 15 ) )
-			{
-				calculated ^= CRC9_CHECKSUMS[ i - messageStart - 9 ];
-			}
-		}
+		/* Message bits before and after the CRC */
+		long register = CRC9.getInitialRegister();
+		register = CRC9.update( register, words, messageStart, messageStart + 7 );
+		register = CRC9.update( register, words, messageStart + 16, messageStart + 144 );
+
+		int calculated = (int)CRC9.finish( register );
 		
 		int checksum = message.getInt( messageStart + 7, messageStart + 15 );
 
@@ -385,21 +435,8 @@ public class CRCP25
 	 */
 	public static boolean correctGalois24( BinaryMessage tdulc )
 	{
-		boolean passes = true;
-		
-		int x = 64;
-		
-		while( x < tdulc.size() && passes )
-		{
-			
-			tdulc = Golay24.checkAndCorrect( tdulc, x );
-			
-			passes = tdulc.getCRC() == CRC.PASSED;
-
-			x += 24;
-		}
-
-		return passes;
+		return Golay24.checkAndCorrect( tdulc, 64, 
+				( tdulc.size() - 64 ) / 24 ) == CRC.PASSED;
 	}
 
 	
@@ -452,6 +489,37 @@ public class CRCP25
 
 		return -1;
     }
+
+    /**
+     * Identifies the single bit error position that matches the checksum
+     * residual, using the syndrome lookup from the CRC engine.  Positions
+     * match the entries of the checksum tables, where message bit errors are
+     * found with the initial fill removed and checksum bit errors are indexed
+     * from the least significant checksum bit.
+     * 
+     * @param residual - checksum error with the initial fill of each set
+     * message bit included, as produced by the checksum tables
+     * @param fill - all ones initial fill value
+     * @param positions - syndrome lookup from the CRC engine
+     * @param messageLength - number of message bits
+     */
+    private static int getBitError( long residual, long fill, 
+    		IntLongMap positions, int messageLength )
+    {
+    	long position = positions.get( (int)( residual ^ fill ) );
+    	
+    	if( position >= 0 && position < messageLength )
+    	{
+    		return (int)position;
+    	}
+    	
+    	if( Long.bitCount( residual ) == 1 )
+    	{
+    		return messageLength + Long.numberOfTrailingZeros( residual );
+    	}
+    	
+    	return -1;
+    }
     
     public static void main( String[] args )
     {
@@ -35,6 +35,10 @@ import java.util.BitSet;
  */
 public class CRCPassport
 {
+	/* The checksum table values are the CRC-7 (0x09) checksum of each message
+	 * bit followed by a bit that gives the checksum byte odd parity */
+	private static final CRCEngine CRC7 = new CRCEngine( 7, 0x09, 0, 0 );
+
 	private static final byte sFILL_00 = (byte)0x00;
 	
 	private static byte[] sCHECKSUMS = new byte[]
@@ -101,13 +105,7 @@ public class CRCPassport
 	{
 		CRC crc = CRC.UNKNOWN;
 		
-		byte calculated = 0x0; //Starting value for an OSW
-
-        //Iterate bits that are set and XOR running checksum with lookup value
-        for (int i = msg.nextSetBit( 9 ); i >= 9 && i <= 59; i = msg.nextSetBit( i+1 ) ) 
-		{
-			calculated ^= sCHECKSUMS[ i - 9 ];
-		}
+		byte calculated = getCalculatedChecksum( msg );
 
 		//Apply the message checksum to derive the residual
 		calculated ^= getChecksum( msg );
@@ -126,19 +124,34 @@ public class CRCPassport
 	
     public static byte getResidual( BitSet msg )
     {
-        byte calculated = 0x0; //Initial fill of zero
+        byte calculated = getCalculatedChecksum( msg );
 
-        //Iterate bits that are set and XOR running checksum with lookup value
-        for (int i = msg.nextSetBit( 9 ); i >= 9 && i <= 59; i = msg.nextSetBit( i+1 ) ) 
-        {
-            calculated ^= sCHECKSUMS[ i - 9 ];
-        }
-        
         calculated ^= getChecksum( msg );
         
         return calculated;
     }
     
+    /**
+     * Calculates the checksum for message bits 9 - 59, equivalent to XOR'ing
+     * the checksum table values of the set message bits.  The final bit is
+     * the parity of the CRC-7 value XOR'd with the parity of the message bits.
+     */
+    private static byte getCalculatedChecksum( BitSet msg )
+    {
+        long[] words = msg.toLongArray();
+        
+        int crc = (int)CRC7.getChecksum( words, 9, 60 );
+        
+        int parity = Integer.bitCount( crc ) & 1;
+        
+        if( CRCEngine.isOddParity( words, 9, 60 ) )
+        {
+            parity ^= 1;
+        }
+        
+        return (byte)( ( crc << 1 ) | parity );
+    }
+    
 	public static byte[] getChecks()
 	{
 		return sCHECKSUMS;
@@ -34,6 +34,19 @@ public class Golay18
 {
 	private final static Logger mLog = LoggerFactory.getLogger( Golay18.class );
 
+	/**
+	 * Corrects the 18-bit codeword by treating it as a 24-bit codeword with
+	 * 6 leading zero bits.
+	 * 
+	 * @param codeword - golay protected word with the first transmitted bit in
+	 * bit position 17
+	 * @return - corrected 18-bit codeword
+	 */
+	public static int correct( int codeword )
+	{
+		return Golay24.correct( codeword & 0x3FFFF ) & 0x3FFFF;
+	}
+
 	/**
 	 * Performs error detection and correction.
 	 */
@@ -41,13 +54,23 @@ public class Golay18
 	{
 		int value = message.getInt( startIndex, startIndex + 17 );
 
-		BinaryMessage temp = new BinaryMessage( 24 );
-		temp.load( 6, 18, value );
+		int pattern = ( value ^ correct( value ) );
 
-		BinaryMessage corrected = Golay24.checkAndCorrect( temp, 0 );
+		message.xor( startIndex, 18, pattern );
+	}
 
-		int correctedValue = corrected.getInt( 6, 23 );
-		
-		message.load( startIndex, 18, correctedValue );
+	/**
+	 * Performs error detection and correction against each of the 18-bit
+	 * codewords in the message, for example the header words of an HDU message.
+	 * 
+	 * @param message - source message
+	 * @param startIndexes - start index of each 18-bit codeword
+	 */
+	public static void checkAndCorrect( BinaryMessage message, int[] startIndexes )
+	{
+		for( int startIndex: startIndexes )
+		{
+			checkAndCorrect( message, startIndex );
+		}
 	}
 }
@@ -13,116 +13,125 @@ public class Golay23
 	    0x040, 0x020, 0x010, 0x008, 0x004, 0x002, 0x001 
 	};
 
-	/**
-	 * Implements Golay(23,12,7) error detection and correction.  Returns the
-	 * number of detected errors.  If the error count is less than or equal to
-	 * the max correctable errors (3), then the error bits are corrected.
-	 * Otherwise the message is left intact and an error count greater than 3
-	 * is returned.
-	 * 
-	 * @param frame - message frame bitset
-	 * @param startIndex - first bit index of the golay protected bit sequence
-	 * 
-	 * @return - number of detected errors
-	 */
-	public static int checkAndCorrect( BinaryMessage frame, int startIndex )
-	{
-		int syndrome = getSyndrome( frame, startIndex );
-		
-		/* No errors */
-		if( syndrome == 0 )
-		{
-			return 0;
-		}
-		
-		BinaryMessage copy = frame.getSubMessage( startIndex, startIndex + 23 );
+	/* Calculated checksum for each of the 4096 12-bit data words */
+	private static final int[] DATA_CHECKSUMS = new int[ 4096 ];
 
-		int index = -1;
-		int syndromeWeight = MAX_CORRECTABLE_ERRORS;
-		int errors = 0;
-		
-		while( index < 23 )
+	/* Error pattern for each of the 2048 11-bit syndromes.  Golay(23,12,7) is
+	 * a perfect code, so each syndrome maps to exactly one error pattern with
+	 * 3 or fewer bit errors */
+	private static final int[] ERROR_PATTERNS = new int[ 2048 ];
+
+	static
+	{
+		for( int data = 0; data < DATA_CHECKSUMS.length; data++ )
 		{
-			if( index != -1 )
+			for( int x = 0; x < 12; x++ )
 			{
-				/* restore the previous flipped bit */
-				if( index > 0 )
+				if( ( data & ( 1 << ( 11 - x ) ) ) != 0 )
 				{
-					copy.flip( index - 1 );
+					DATA_CHECKSUMS[ data ] ^= CHECKSUMS[ x ];
 				}
-				
-				copy.flip( index );
-				
-				syndromeWeight = MAX_CORRECTABLE_ERRORS - 1;
 			}
-			
-			syndrome = getSyndrome( copy, 0 );
-			
-			if( syndrome > 0 )
+		}
+
+		for( int a = 0; a < 23; a++ )
+		{
+			addErrorPattern( 1 << a );
+
+			for( int b = a + 1; b < 23; b++ )
 			{
-				for( int i = 0; i < 23; i++ )
+				addErrorPattern( ( 1 << a ) | ( 1 << b ) );
+
+				for( int c = b + 1; c < 23; c++ )
 				{
-					errors = Integer.bitCount( syndrome );
-					
-					if( errors <= syndromeWeight )
-					{
-						copy.xor( 12, 11, syndrome );
-						
-						copy.rotateRight( i, 0, 22 );
-
-						if( index >= 0 )
-						{
-							errors ++;
-						}
-
-						int corrected = copy.getInt( 0, 22 );
-						int original = frame.getInt( startIndex, startIndex + 22 );
-						
-						int errorCount = Integer.bitCount( original ^ corrected );
-						
-						if( errorCount <= 3 )
-						{
-							frame.load( startIndex, 23, corrected );
-						}
-
-						return errorCount;
-					}
-					else
-					{
-						copy.rotateLeft( 0, 22 );
-						syndrome = getSyndrome( copy, 0 );
-					}
+					addErrorPattern( ( 1 << a ) | ( 1 << b ) | ( 1 << c ) );
 				}
-				
-				index++;
 			}
 		}
+	}
 
-		/* Return an error count greater than 3 to indicate failed correction attempt */
-		return 4;
+	private static void addErrorPattern( int pattern )
+	{
+		ERROR_PATTERNS[ getSyndrome( pattern ) ] = pattern;
 	}
 
-	private static int getSyndrome( BinaryMessage frame, int startIndex )
+	/**
+	 * Calculates the syndrome of a 23-bit codeword.
+	 * 
+	 * @param codeword - golay protected word with the first transmitted bit in
+	 * bit position 22 and the last checksum bit in bit position 0
+	 * @return - 11-bit syndrome, 0 = no errors
+	 */
+	public static int getSyndrome( int codeword )
 	{
-		int calculated = calculateChecksum( frame, startIndex );
-		
-		int checksum = frame.getInt( startIndex + 12, startIndex + 22 );
+		return DATA_CHECKSUMS[ ( codeword >> 11 ) & 0xFFF ] ^ ( codeword & 0x7FF );
+	}
 
-		return ( checksum ^ calculated );
+	/**
+	 * Error pattern for the 23-bit codeword.  XOR the error pattern with the
+	 * codeword to correct it.
+	 * 
+	 * @param codeword - 23-bit golay protected word
+	 * @return - error pattern with 3 or fewer bits set, or 0 for no errors
+	 */
+	public static int getErrorPattern( int codeword )
+	{
+		return ERROR_PATTERNS[ getSyndrome( codeword ) ];
 	}
-	
-	private static int calculateChecksum( BinaryMessage frame, int startIndex )
+
+	/**
+	 * Corrects up to 3 bit errors in the 23-bit codeword.
+	 * 
+	 * @param codeword - 23-bit golay protected word
+	 * @return - corrected codeword
+	 */
+	public static int correct( int codeword )
 	{
-		int calculated = 0; //Starting value
+		return ( codeword & 0x7FFFFF ) ^ getErrorPattern( codeword );
+	}
 
-		/* Iterate the set bits and XOR running checksum with lookup value */
-		for (int i = frame.nextSetBit( startIndex ); 
-				 i >= startIndex && i < startIndex + 12; 
-				 i = frame.nextSetBit( i+1 ) ) 
+	/**
+	 * Corrects each of the 23-bit codewords in place.
+	 * 
+	 * @param codewords - array containing golay protected words
+	 * @param offset - index of the first codeword to correct
+	 * @param length - number of codewords to correct
+	 * @return - total number of corrected bit errors
+	 */
+	public static int correct( int[] codewords, int offset, int length )
+	{
+		int errors = 0;
+
+		for( int x = offset; x < offset + length; x++ )
 		{
-			calculated ^= CHECKSUMS[ i - startIndex ];
+			int pattern = getErrorPattern( codewords[ x ] );
+
+			codewords[ x ] = ( codewords[ x ] & 0x7FFFFF ) ^ pattern;
+
+			errors += Integer.bitCount( pattern );
 		}
-		
-		return calculated;
+
+		return errors;
+	}
+
+	/**
+	 * Implements Golay(23,12,7) error detection and correction.  Returns the
+	 * number of detected errors.  If the error count is less than or equal to
+	 * the max correctable errors (3), then the error bits are corrected.
+	 * Otherwise the message is left intact and an error count greater than 3
+	 * is returned.
+	 * 
+	 * @param frame - message frame bitset
+	 * @param startIndex - first bit index of the golay protected bit sequence
+	 * 
+	 * @return - number of detected errors
+	 */
+	public static int checkAndCorrect( BinaryMessage frame, int startIndex )
+	{
+		int pattern = getErrorPattern( frame.getInt( startIndex, startIndex + 22 ) );
+
+		frame.xor( startIndex, 23, pattern );
+
+		return Integer.bitCount( pattern );
 	}
 }
@@ -21,7 +21,8 @@ import org.slf4j.LoggerFactory;
  *     You should have received a copy of the GNU General Public License
  *     along with this program.  If not, see <http://www.gnu.org/licenses/>
  *     -----------------------------------------------------------------------
- *     Galois24 decoder based on Hank Wallace's tutorial/algorithm located at:
+ *     Galois24 decoder uses the Golay23 syndrome lookup tables.  The original
+ *     error trapping decoder was based on Hank Wallace's tutorial/algorithm at:
  *     http://www.aqdi.com/golay.htm
  ******************************************************************************/
 
@@ -44,21 +45,63 @@ public class Golay24
 	    0x040, 0x020, 0x010, 0x008, 0x004, 0x002, 0x001 
 	};
 
-	private static int calculateChecksum( BinaryMessage message, int startIndex )
+	/**
+	 * Error pattern for the 24-bit codeword.  The first 23 bits are corrected
+	 * as a Golay(23,12,7) codeword and the final parity bit is only corrected
+	 * when the first 23 bits are error free.  XOR the error pattern with the
+	 * codeword to correct it.
+	 * 
+	 * @param codeword - golay protected word with the first transmitted bit in
+	 * bit position 23 and the parity bit in bit position 0
+	 * @return - error pattern, or 0 for no errors
+	 */
+	public static int getErrorPattern( int codeword )
 	{
-		int calculated = 0; //Starting value
-
-		/* Iterate the set bits and XOR running checksum with lookup value */
-		for (int i = message.nextSetBit( startIndex ); 
-				 i >= startIndex && i < startIndex + 12; 
-				 i = message.nextSetBit( i+1 ) ) 
+		int pattern = Golay23.getErrorPattern( codeword >> 1 ) << 1;
+		
+		if( pattern == 0 && Integer.bitCount( codeword & 0xFFFFFF ) % 2 != 0 )
 		{
-			calculated ^= CHECKSUMS[ i - startIndex ];
+			pattern = 1;
 		}
 		
-		return calculated;
+		return pattern;
+	}
+
+	/**
+	 * Corrects the 24-bit codeword.
+	 * 
+	 * @param codeword - 24-bit golay protected word
+	 * @return - corrected codeword
+	 */
+	public static int correct( int codeword )
+	{
+		return ( codeword & 0xFFFFFF ) ^ getErrorPattern( codeword );
 	}
-	
+
+	/**
+	 * Corrects each of the 24-bit codewords in place.
+	 * 
+	 * @param codewords - array containing golay protected words
+	 * @param offset - index of the first codeword to correct
+	 * @param length - number of codewords to correct
+	 * @return - total number of corrected bit errors
+	 */
+	public static int correct( int[] codewords, int offset, int length )
+	{
+		int errors = 0;
+
+		for( int x = offset; x < offset + length; x++ )
+		{
+			int pattern = getErrorPattern( codewords[ x ] );
+
+			codewords[ x ] = ( codewords[ x ] & 0xFFFFFF ) ^ pattern;
+
+			errors += Integer.bitCount( pattern );
+		}
+
+		return errors;
+	}
+
 	/**
 	 * Performs error detection and returns a corrected copy of the 24-bit
 	 * message that starts at the start index.
@@ -68,100 +111,38 @@ public class Golay24
 	 */
 	public static BinaryMessage checkAndCorrect( BinaryMessage message, int startIndex )
 	{
-		boolean parityError = message.cardinality() % 2 != 0;
-		
-		int syndrome = getSyndrome( message, startIndex );
-		
-		/* No errors */
-		if( syndrome == 0 )
-		{
-			if( parityError )
-			{
-				message.flip( startIndex + 23 );
-			}
-
-			message.setCRC( CRC.PASSED );
-			
-			return message;
-		}
+		int pattern = getErrorPattern( message.getInt( startIndex, startIndex + 23 ) );
 
-		/* Get original message value */
-		int original = message.getInt( 0, 22 );
-		
-		int index = -1;
-		int syndromeWeight = 3;
-		int errors = 0;
-		
-		while( index < 23 )
-		{
-			if( index != -1 )
-			{
-				/* restore the previous flipped bit */
-				if( index > 0 )
-				{
-					message.flip( index - 1 );
-				}
-				
-				message.flip( index );
-				
-				syndromeWeight = 2;
-			}
-			
-			syndrome = getSyndrome( message, startIndex );
-			
-			if( syndrome > 0 )
-			{
-				for( int i = 0; i < 23; i++ )
-				{
-				
-					errors = Integer.bitCount( syndrome );
-					
-					if( errors <= syndromeWeight )
-					{
-						message.xor( 12, 11, syndrome );
-						
-						message.rotateRight( i, startIndex, startIndex + 22 );
-
-						if( index >= 0 )
-						{
-							errors ++;
-						}
-
-						int corrected = message.getInt( 0, 22 );
-						
-						if( Integer.bitCount( original ^ corrected ) > 3 )
-						{
-							message.setCRC( CRC.FAILED_CRC );
-							
-							return message;
-						}
-						
-						message.setCRC( CRC.PASSED );
-						
-						return message;
-					}
-					else
-					{
-						message.rotateLeft( startIndex, startIndex + 22 );
-						syndrome = getSyndrome( message, startIndex );
-					}
-				}
-				
-				index++;
-			}
-		}
+		message.xor( startIndex, 24, pattern );
+
+		message.setCRC( CRC.PASSED );
 
-		message.setCRC( CRC.FAILED_CRC );
-		
 		return message;
 	}
 
-	private static int getSyndrome( BinaryMessage message, int startIndex )
+	/**
+	 * Performs error detection and correction against a sequence of contiguous
+	 * 24-bit codewords, for example the link control words of a TDULC message.
+	 * 
+	 * @param message - source message
+	 * @param startIndex - start of the first 24-bit codeword
+	 * @param count - number of contiguous 24-bit codewords
+	 * @return - overall CRC status of the codewords, also applied to the message
+	 */
+	public static CRC checkAndCorrect( BinaryMessage message, int startIndex, int count )
 	{
-		int calculated = calculateChecksum( message, startIndex );
-		
-		int checksum = message.getInt( startIndex + 12, startIndex + 22 );
+		for( int x = 0; x < count; x++ )
+		{
+			int index = startIndex + ( x * 24 );
+
+			int pattern = getErrorPattern( message.getInt( index, index + 23 ) );
+
+			message.xor( index, 24, pattern );
+		}
+
+		/* Golay(23,12,7) is a perfect code, so every codeword is correctable */
+		message.setCRC( CRC.PASSED );
 
-		return ( checksum ^ calculated );
+		return CRC.PASSED;
 	}
 }
@@ -10,6 +10,131 @@ public class Hamming10
 	
 	private static int[] CHECKSUMS = new int[] { 0xE,0xD,0xB,0X7,0x3,0xC };
 
+	/* Calculated checksum for each of the 64 6-bit data words */
+	private static final int[] DATA_CHECKSUMS = new int[ 64 ];
+
+	/* Single-bit error pattern for each of the 16 syndromes.  Syndromes that
+	 * don't match a single-bit error indicate two or more bit errors */
+	private static final int UNCORRECTABLE = -1;
+	private static final int[] ERROR_PATTERNS = new int[ 16 ];
+
+	static
+	{
+		for( int data = 0; data < DATA_CHECKSUMS.length; data++ )
+		{
+			for( int x = 0; x < 6; x++ )
+			{
+				if( ( data & ( 1 << ( 5 - x ) ) ) != 0 )
+				{
+					DATA_CHECKSUMS[ data ] ^= CHECKSUMS[ x ];
+				}
+			}
+		}
+
+		for( int x = 1; x < 16; x++ )
+		{
+			ERROR_PATTERNS[ x ] = UNCORRECTABLE;
+		}
+
+		/* Data bit errors */
+		for( int x = 0; x < 6; x++ )
+		{
+			ERROR_PATTERNS[ CHECKSUMS[ x ] ] = 1 << ( 9 - x );
+		}
+
+		/* Parity bit errors */
+		for( int x = 0; x < 4; x++ )
+		{
+			ERROR_PATTERNS[ 1 << x ] = 1 << x;
+		}
+	}
+
+	/**
+	 * Calculates the syndrome of a 10-bit codeword.
+	 * 
+	 * @param codeword - hamming protected word with the first transmitted bit
+	 * (Data 6) in bit position 9 and Parity 1 in bit position 0
+	 * @return - syndrome, 0 = no errors
+	 */
+	public static int getSyndrome( int codeword )
+	{
+		return DATA_CHECKSUMS[ ( codeword >> 4 ) & 0x3F ] ^ ( codeword & 0xF );
+	}
+
+	/**
+	 * Number of detected errors in the 10-bit codeword.
+	 * 
+	 * @param codeword - 10-bit hamming protected word
+	 * @return - 0 = no errors, 1 = correctable single-bit error, 2 = two or
+	 * more errors detected
+	 */
+	public static int getErrorCount( int codeword )
+	{
+		int syndrome = getSyndrome( codeword );
+
+		if( syndrome == 0 )
+		{
+			return 0;
+		}
+
+		return ERROR_PATTERNS[ syndrome ] == UNCORRECTABLE ? 2 : 1;
+	}
+
+	/**
+	 * Corrects any single-bit error in the 10-bit codeword.  Codewords with
+	 * two or more detected errors are returned unchanged.
+	 * 
+	 * @param codeword - 10-bit hamming protected word
+	 * @return - corrected codeword
+	 */
+	public static int correct( int codeword )
+	{
+		int pattern = ERROR_PATTERNS[ getSyndrome( codeword ) ];
+
+		if( pattern == UNCORRECTABLE )
+		{
+			return codeword & 0x3FF;
+		}
+
+		return ( codeword & 0x3FF ) ^ pattern;
+	}
+
+	/**
+	 * Corrects each of the 10-bit codewords in place.
+	 * 
+	 * @param codewords - array containing hamming protected words
+	 * @param offset - index of the first codeword to correct
+	 * @param length - number of codewords to correct
+	 * @return - highest error count of the codewords (see checkAndCorrect)
+	 */
+	public static int correct( int[] codewords, int offset, int length )
+	{
+		int errors = 0;
+
+		for( int x = offset; x < offset + length; x++ )
+		{
+			int syndrome = getSyndrome( codewords[ x ] );
+
+			if( syndrome != 0 )
+			{
+				int pattern = ERROR_PATTERNS[ syndrome ];
+
+				if( pattern == UNCORRECTABLE )
+				{
+					errors = 2;
+				}
+				else
+				{
+					codewords[ x ] = ( codewords[ x ] & 0x3FF ) ^ pattern;
+
+					errors = Math.max( errors, 1 );
+				}
+			}
+		}
+
+		return errors;
+	}
+
 	/**
 	 * Performs error detection and correction of any single-bit errors.  This 
 	 * is a truncated version of the Hamming15 class.
@@ -20,96 +145,47 @@ public class Hamming10
 	 * 
 	 * @return - 0 = no errors 
 	 * 			 1 = a single-bit error was corrected
+	 * 			 2 = two or more errors detected - no corrections made
 	 */
 	public static int checkAndCorrect( BinaryMessage frame, int startIndex )
 	{
-		int syndrome = getSyndrome( frame, startIndex );
+		int syndrome = getSyndrome( frame.getInt( startIndex, startIndex + 9 ) );
 
-		switch( syndrome )
+		if( syndrome == 0 )
 		{
-			case 0:
-				return 0;
-			case 1:
-				frame.flip( startIndex + 9 ); //Parity 1
-				return 1;
-			case 2:
-				frame.flip( startIndex + 8 ); //Parity 2
-				return 1;
-			case 3:
-				frame.flip( startIndex + 4 ); //Data 2
-				return 1;
-			case 4:
-				frame.flip( startIndex + 7 ); //Parity 4
-				return 1;
-			case 5:
-				return 2;
-			case 6:
-				return 2;
-			case 7:
-				frame.flip( startIndex + 3 ); //Data 3
-				return 1;
-			case 8:
-				frame.flip( startIndex + 6 ); //Parity 8
-				return 1;
-			case 9:
-				return 2;
-			case 10:
-				return 2;
-			case 11:
-				frame.flip( startIndex + 2 ); //Data 4
-				return 1;
-			case 12:
-				frame.flip( startIndex + 5 ); //Data 1
-				return 1;
-			case 13:
-				frame.flip( startIndex + 1 ); //Data 5
-				return 1;
-			case 14:
-				frame.flip( startIndex + 0 ); //Data 6
-				return 1;
-			case 15:
-				return 2;
+			return 0;
 		}
 
-		/* We'll never get to here */
-		return 2;
-	}
-
-	/**
-	 * Calculates the checksum (Parity 8,4,2,1) for data (6 <> 1 ) bits.
-	 * @param frame - frame containing hamming(10) protected word
-	 * @param startIndex - start bit index of the hamming protected word
-	 * @return parity value, 0 - 15
-	 */
-	private static int calculateChecksum( BinaryMessage frame, int startIndex )
-	{
-		int calculated = 0; //Starting value
+		int pattern = ERROR_PATTERNS[ syndrome ];
 
-		/* Iterate the set bits and XOR running checksum with lookup value */
-		for (int i = frame.nextSetBit( startIndex ); 
-				 i >= startIndex && i < startIndex + 6; 
-				 i = frame.nextSetBit( i+1 ) ) 
+		if( pattern == UNCORRECTABLE )
 		{
-			calculated ^= CHECKSUMS[ i - startIndex ];
+			return 2;
 		}
-		
-		return calculated;
+
+		frame.xor( startIndex, 10, pattern );
+
+		return 1;
 	}
 
 	/**
-	 * Calculates the syndrome - xor of the calculated checksum and the actual
-	 * checksum.
+	 * Performs error detection and correction of any single-bit errors against
+	 * each of the 10-bit codewords in the frame, for example the link control
+	 * words of an LDU1 message.
 	 * 
-	 * @param frame - binary frame containing a hamming(15,11,4) protected word
-	 * @param startIndex - of bit 0 of the hamming protected word
-	 * @return - 0 (no errors) or 1 (single bit error corrected)
+	 * @param frame - binary frame containing Hamming(10,6,3) protected fields
+	 * @param startIndexes - offset to the first bit of each field
+	 * @return - highest error count of the codewords (see checkAndCorrect)
 	 */
-	private static int getSyndrome( BinaryMessage frame, int startIndex )
+	public static int checkAndCorrect( BinaryMessage frame, int[] startIndexes )
 	{
-		int calculated = calculateChecksum( frame, startIndex );
-		
-		int checksum = frame.getInt( startIndex + 6, startIndex + 9 );
+		int errors = 0;
+
+		for( int startIndex: startIndexes )
+		{
+			errors = Math.max( errors, checkAndCorrect( frame, startIndex ) );
+		}
 
-		return ( checksum ^ calculated );
+		return errors;
 	}
 }
@@ -7,6 +7,88 @@ public class Hamming15
 	private static int[] CHECKSUMS = new int[] { 0xF,0xE,0xD,0xC,0xB,0XA,0x9,
 		0x7,0x6,0x5,0x3 };
 
+	/* Calculated checksum for each of the 2048 11-bit data words */
+	private static final int[] DATA_CHECKSUMS = new int[ 2048 ];
+
+	/* Single-bit error pattern for each of the 16 syndromes */
+	private static final int[] ERROR_PATTERNS = new int[ 16 ];
+
+	static
+	{
+		for( int data = 0; data < DATA_CHECKSUMS.length; data++ )
+		{
+			for( int x = 0; x < 11; x++ )
+			{
+				if( ( data & ( 1 << ( 10 - x ) ) ) != 0 )
+				{
+					DATA_CHECKSUMS[ data ] ^= CHECKSUMS[ x ];
+				}
+			}
+		}
+
+		/* Data bit errors */
+		for( int x = 0; x < 11; x++ )
+		{
+			ERROR_PATTERNS[ CHECKSUMS[ x ] ] = 1 << ( 14 - x );
+		}
+
+		/* Parity bit errors */
+		for( int x = 0; x < 4; x++ )
+		{
+			ERROR_PATTERNS[ 1 << x ] = 1 << x;
+		}
+	}
+
+	/**
+	 * Calculates the syndrome of a 15-bit codeword.
+	 * 
+	 * @param codeword - hamming protected word with the first transmitted bit
+	 * (Data 11) in bit position 14 and Parity 1 in bit position 0
+	 * @return - syndrome, 0 = no errors
+	 */
+	public static int getSyndrome( int codeword )
+	{
+		return DATA_CHECKSUMS[ ( codeword >> 4 ) & 0x7FF ] ^ ( codeword & 0xF );
+	}
+
+	/**
+	 * Corrects any single-bit error in the 15-bit codeword.
+	 * 
+	 * @param codeword - 15-bit hamming protected word
+	 * @return - corrected codeword
+	 */
+	public static int correct( int codeword )
+	{
+		return ( codeword & 0x7FFF ) ^ ERROR_PATTERNS[ getSyndrome( codeword ) ];
+	}
+
+	/**
+	 * Corrects each of the 15-bit codewords in place.
+	 * 
+	 * @param codewords - array containing hamming protected words
+	 * @param offset - index of the first codeword to correct
+	 * @param length - number of codewords to correct
+	 * @return - highest error count of the codewords (see checkAndCorrect)
+	 */
+	public static int correct( int[] codewords, int offset, int length )
+	{
+		int errors = 0;
+
+		for( int x = offset; x < offset + length; x++ )
+		{
+			int syndrome = getSyndrome( codewords[ x ] );
+
+			if( syndrome != 0 )
+			{
+				codewords[ x ] = ( codewords[ x ] & 0x7FFF ) ^ ERROR_PATTERNS[ syndrome ];
+
+				errors = 1;
+			}
+		}
+
+		return errors;
+	}
+
 	/**
 	 * Performs error detection and correction of any single-bit errors.
 	 * 
@@ -20,98 +102,35 @@ public class Hamming15
 	 */
 	public static int checkAndCorrect( BinaryMessage frame, int startIndex )
 	{
-		int syndrome = getSyndrome( frame, startIndex );
+		int syndrome = getSyndrome( frame.getInt( startIndex, startIndex + 14 ) );
 
-		switch( syndrome )
+		if( syndrome == 0 )
 		{
-			case 0:
-				return 0;
-			case 1:
-				frame.flip( startIndex + 14 ); //Parity 1
-				return 1;
-			case 2:
-				frame.flip( startIndex + 13 ); //Parity 2
-				return 1;
-			case 3:
-				frame.flip( startIndex + 10 ); //Data 1
-				return 1;
-			case 4:
-				frame.flip( startIndex + 12 ); //Parity 4
-				return 1;
-			case 5:
-				frame.flip( startIndex + 9 ); //Data 2
-				return 1;
-			case 6:
-				frame.flip( startIndex + 8 ); //Data 3
-				return 1;
-			case 7:
-				frame.flip( startIndex + 7 ); //Data 4
-				return 1;
-			case 8:
-				frame.flip( startIndex + 11 ); //Parity 8
-				return 1;
-			case 9:
-				frame.flip( startIndex + 6 ); //Data 5
-				return 1;
-			case 10:
-				frame.flip( startIndex + 5 ); //Data 6
-				return 1;
-			case 11:
-				frame.flip( startIndex + 4 ); //Data 7
-				return 1;
-			case 12:
-				frame.flip( startIndex + 3 ); //Data 8
-				return 1;
-			case 13:
-				frame.flip( startIndex + 2 ); //Data 9
-				return 1;
-			case 14:
-				frame.flip( startIndex + 1 ); //Data 10
-				return 1;
-			case 15:
-				frame.flip( startIndex ); //Data 11
-				return 1;
+			return 0;
 		}
 
-		/* We'll never get to here */
-		return 2;
+		frame.xor( startIndex, 15, ERROR_PATTERNS[ syndrome ] );
+
+		return 1;
 	}
 
 	/**
-	 * Calculates the checksum (Parity 8,4,2,1) for data (11 <> 1 ) bits.
-	 * @param frame - frame containing hamming(15) protected word
-	 * @param startIndex - start bit index of the hamming protected word
-	 * @return parity value, 0 - 15
+	 * Performs error detection and correction of any single-bit errors against
+	 * each of the 15-bit codewords in the frame.
+	 * 
+	 * @param frame - binary frame containing hamming(15,11,4) protected fields
+	 * @param startIndexes - offset to the first bit of each field
+	 * @return - highest error count of the codewords (see checkAndCorrect)
 	 */
-	private static int calculateChecksum( BinaryMessage frame, int startIndex )
+	public static int checkAndCorrect( BinaryMessage frame, int[] startIndexes )
 	{
-		int calculated = 0; //Starting value
+		int errors = 0;
 
-		/* Iterate the set bits and XOR running checksum with lookup value */
-		for (int i = frame.nextSetBit( startIndex ); 
-				 i >= startIndex && i < startIndex + 11; 
-				 i = frame.nextSetBit( i+1 ) ) 
+		for( int startIndex: startIndexes )
 		{
-			calculated ^= CHECKSUMS[ i - startIndex ];
+			errors = Math.max( errors, checkAndCorrect( frame, startIndex ) );
 		}
-		
-		return calculated;
-	}
-
-	/**
-	 * Calculates the syndrome - xor of the calculated checksum and the actual
-	 * checksum.
-	 * 
-	 * @param frame - binary frame containing a hamming(15,11,4) protected word
-	 * @param startIndex - of bit 0 of the hamming protected word
-	 * @return - 0 (no errors) or 1 (single bit error corrected)
-	 */
-	private static int getSyndrome( BinaryMessage frame, int startIndex )
-	{
-		int calculated = calculateChecksum( frame, startIndex );
-		
-		int checksum = frame.getInt( startIndex + 11, startIndex + 14 );
 
-		return ( checksum ^ calculated );
+		return errors;
 	}
 }
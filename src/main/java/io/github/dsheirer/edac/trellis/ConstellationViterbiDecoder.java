@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.edac.trellis;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.Arrays;
+
+/**
+ * Table driven Viterbi decoder for trellis coded modulation (TCM) where each encoder time instant produces a 4-bit
+ * constellation (two transmitted dibits) from the current state and the input value, and the input value becomes the
+ * next state (e.g. P25 1/2 rate and 3/4 rate trellis codes).
+ *
+ * The decoder uses add-compare-select over primitive path metric arrays and a preallocated survivor (traceback)
+ * array, so decoding does not allocate.  Branch metrics are the hamming distance between each candidate constellation
+ * and the received constellation, where each bit error is optionally weighted by the reliability of the received
+ * bit (soft decision).
+ *
+ * Instances are not thread safe.
+ */
+public class ConstellationViterbiDecoder
+{
+    private static final int CONSTELLATION_COUNT = 16;
+    private static final int UNREACHABLE = Integer.MAX_VALUE / 4;
+
+    /* Hamming distance between each pair of constellations, used as the hard decision branch metrics */
+    private static final int[][] HAMMING_DISTANCES = new int[CONSTELLATION_COUNT][CONSTELLATION_COUNT];
+
+    static
+    {
+        for(int x = 0; x < CONSTELLATION_COUNT; x++)
+        {
+            for(int y = 0; y < CONSTELLATION_COUNT; y++)
+            {
+                HAMMING_DISTANCES[x][y] = Integer.bitCount(x ^ y);
+            }
+        }
+    }
+
+    private int mStateCount;
+    private int mSymbolCount;
+    private int mFinalState;
+    private int[] mConstellations;
+    private int[] mInputs;
+
+    private int[] mSoftBranchMetrics = new int[CONSTELLATION_COUNT];
+    private int[] mPathMetrics;
+    private int[] mNextPathMetrics;
+    private byte[] mSurvivors;
+
+    /**
+     * Constructs a decoder.
+     *
+     * @param constellations transition table indexed by [state][input] containing the 4-bit transmitted constellation
+     * value produced by the encoder for that state and input.  The input value is the next state of the encoder.
+     * @param symbolCount number of constellations (time instants) in each encoded block
+     * @param finalState that the encoder is flushed to at the end of each block, or -1 if the block is not terminated
+     * and the decoder should select the best path ending in any state.
+     */
+    public ConstellationViterbiDecoder(int[][] constellations, int symbolCount, int finalState)
+    {
+        Validate.isTrue(constellations.length == constellations[0].length, "Input and state counts must be equal");
+        Validate.isTrue(finalState < constellations.length, "Final state must be a valid state or -1");
+
+        mStateCount = constellations.length;
+
+        //Flatten the transition table to [state * state count + input]
+        mConstellations = new int[mStateCount * mStateCount];
+
+        for(int state = 0; state < mStateCount; state++)
+        {
+            System.arraycopy(constellations[state], 0, mConstellations, state * mStateCount, mStateCount);
+        }
+
+        //Reverse lookup of the input value for each [state * constellation count + constellation], or -1 when the
+        //constellation can't be produced from the state
+        mInputs = new int[mStateCount * CONSTELLATION_COUNT];
+        Arrays.fill(mInputs, -1);
+
+        for(int state = 0; state < mStateCount; state++)
+        {
+            for(int input = 0; input < mStateCount; input++)
+            {
+                mInputs[state * CONSTELLATION_COUNT + constellations[state][input]] = input;
+            }
+        }
+
+        mSymbolCount = symbolCount;
+        mFinalState = finalState;
+
+        mPathMetrics = new int[mStateCount];
+        mNextPathMetrics = new int[mStateCount];
+        mSurvivors = new byte[symbolCount * mStateCount];
+    }
+
+    /**
+     * Number of constellations in each encoded block
+     */
+    public int getSymbolCount()
+    {
+        return mSymbolCount;
+    }
+
+    /**
+     * Decodes the received constellations.
+     *
+     * @param received constellation values (0 - 15) for each time instant in the block
+     * @param reliability of each received bit (four per constellation, most significant bit first) where larger values
+     * are more reliable, or null for hard decision decoding where all bits are equally reliable.
+     * @param decoded array to receive the most likely input value for each time instant in the block
+     * @return number of received bits that differ from the constellations of the most likely path (ie bit errors)
+     */
+    public int decode(int[] received, int[] reliability, int[] decoded)
+    {
+        //An error free block is the most likely path regardless of bit reliabilities
+        if(decodeErrorFree(received, decoded))
+        {
+            return 0;
+        }
+
+        int stateCount = mStateCount;
+        int[] constellations = mConstellations;
+        int[] pathMetrics = mPathMetrics;
+        int[] nextPathMetrics = mNextPathMetrics;
+
+        //The encoder always starts at state 0.  Unreachable states are given a large metric that can't overflow.
+        for(int state = 0; state < stateCount; state++)
+        {
+            pathMetrics[state] = UNREACHABLE;
+        }
+
+        pathMetrics[0] = 0;
+
+        for(int symbol = 0; symbol < mSymbolCount; symbol++)
+        {
+            int[] branchMetrics = (reliability == null) ? HAMMING_DISTANCES[received[symbol]] :
+                getSoftBranchMetrics(received[symbol], reliability, symbol);
+
+            int survivorOffset = symbol * stateCount;
+
+            //Add-compare-select for each next state (input) across all previous states
+            for(int input = 0; input < stateCount; input++)
+            {
+                int bestMetric = pathMetrics[0] + branchMetrics[constellations[input]];
+                int bestState = 0;
+
+                for(int state = 1; state < stateCount; state++)
+                {
+                    int metric = pathMetrics[state] + branchMetrics[constellations[state * stateCount + input]];
+
+                    if(metric < bestMetric)
+                    {
+                        bestMetric = metric;
+                        bestState = state;
+                    }
+                }
+
+                nextPathMetrics[input] = bestMetric;
+                mSurvivors[survivorOffset + input] = (byte)bestState;
+            }
+
+            int[] swap = pathMetrics;
+            pathMetrics = nextPathMetrics;
+            nextPathMetrics = swap;
+        }
+
+        int state = mFinalState;
+
+        if(state < 0)
+        {
+            state = 0;
+
+            for(int x = 1; x < stateCount; x++)
+            {
+                if(pathMetrics[x] < pathMetrics[state])
+                {
+                    state = x;
+                }
+            }
+        }
+
+        //Traceback the survivor path from the final state and count the bit errors along the path
+        int errors = 0;
+
+        for(int symbol = mSymbolCount - 1; symbol >= 0; symbol--)
+        {
+            int previous = mSurvivors[symbol * stateCount + state];
+
+            decoded[symbol] = state;
+            errors += HAMMING_DISTANCES[constellations[previous * stateCount + state]][received[symbol]];
+
+            state = previous;
+        }
+
+        return errors;
+    }
+
+    /**
+     * Decodes the received constellations by following the encoder state transitions, when the received sequence is
+     * a valid (error free) encoder output sequence.
+     *
+     * @return true if the block was error free and was decoded, or false if the block contains errors
+     */
+    private boolean decodeErrorFree(int[] received, int[] decoded)
+    {
+        int state = 0;
+
+        for(int symbol = 0; symbol < mSymbolCount; symbol++)
+        {
+            state = mInputs[state * CONSTELLATION_COUNT + received[symbol]];
+
+            if(state < 0)
+            {
+                return false;
+            }
+
+            decoded[symbol] = state;
+        }
+
+        return mFinalState < 0 || state == mFinalState;
+    }
+
+    /**
+     * Calculates the reliability weighted hamming distance from the received constellation to each of the possible
+     * constellations.
+     */
+    private int[] getSoftBranchMetrics(int received, int[] reliability, int symbol)
+    {
+        int offset = 4 * symbol;
+
+        for(int constellation = 0; constellation < CONSTELLATION_COUNT; constellation++)
+        {
+            int difference = constellation ^ received;
+            int metric = 0;
+
+            for(int bit = 0; bit < 4; bit++)
+            {
+                if((difference & (0x8 >> bit)) != 0)
+                {
+                    metric += reliability[offset + bit];
+                }
+            }
+
+            mSoftBranchMetrics[constellation] = metric;
+        }
+
+        return mSoftBranchMetrics;
+    }
+}
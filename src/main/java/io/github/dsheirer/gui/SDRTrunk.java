@@ -31,6 +31,8 @@ import io.github.dsheirer.controller.channel.ChannelSelectionManager;
 import io.github.dsheirer.controller.channel.map.ChannelMapModel;
 import io.github.dsheirer.icon.IconManager;
 import io.github.dsheirer.map.MapService;
+import io.github.dsheirer.metrics.MetricsHttpServer;
+import io.github.dsheirer.metrics.MetricsRegistry;
 import io.github.dsheirer.module.log.EventLogManager;
 import io.github.dsheirer.playlist.PlaylistManager;
 import io.github.dsheirer.properties.SystemProperties;
@@ -58,7 +60,6 @@ import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -69,6 +70,7 @@ public class SDRTrunk implements Listener<TunerEvent>
     private boolean mBroadcastStatusVisible;
 
     private IconManager mIconManager;
+    private MetricsHttpServer mMetricsHttpServer;
     private BroadcastStatusPanel mBroadcastStatusPanel;
     private BroadcastModel mBroadcastModel;
     private ControllerPanel mControllerPanel;
@@ -93,7 +95,7 @@ public class SDRTrunk implements Listener<TunerEvent>
         mLog.info("Host Max Java Memory:  " + FileUtils.byteCountToDisplaySize(Runtime.getRuntime().maxMemory()));
 
         //Setup the application home directory
-        Path home = getHomePath();
+        Path home = SystemProperties.getHomePath();
 
         ThreadPool.logSettings();
 
@@ -102,12 +104,17 @@ public class SDRTrunk implements Listener<TunerEvent>
         //Load properties file
         if(home != null)
         {
-            loadProperties(home);
+            SystemProperties.getInstance().loadFromHomePath(home);
         }
 
         //Log current properties setting
         SystemProperties.getInstance().logCurrentSettings();
 
+        //Expose pipeline metrics via JMX and, when enabled, the local metrics HTTP endpoint
+        MetricsRegistry.getInstance().registerMBean();
+        mMetricsHttpServer = new MetricsHttpServer(MetricsRegistry.getInstance());
+        mMetricsHttpServer.start();
+
         TunerConfigurationModel tunerConfigurationModel = new TunerConfigurationModel();
         TunerModel tunerModel = new TunerModel(tunerConfigurationModel);
 
@@ -251,7 +258,7 @@ public class SDRTrunk implements Listener<TunerEvent>
             {
                 try
                 {
-                    Desktop.getDesktop().open(getHomePath().toFile());
+                    Desktop.getDesktop().open(SystemProperties.getHomePath().toFile());
                 }
                 catch(Exception e)
                 {
@@ -259,7 +266,7 @@ public class SDRTrunk implements Listener<TunerEvent>
 
                     JOptionPane.showMessageDialog(mMainGui,
                         "Can't launch file explorer - files are located at: " +
-                            getHomePath().toString(),
+                            SystemProperties.getHomePath().toString(),
                         "Can't launch file explorer",
                         JOptionPane.ERROR_MESSAGE);
                 }
@@ -412,73 +419,6 @@ public class SDRTrunk implements Listener<TunerEvent>
     }
 
 
-    /**
-     * Loads the application properties file from the user's home directory,
-     * creating the properties file for the first-time, if necessary
-     */
-    private void loadProperties(Path homePath)
-    {
-        Path propsPath = homePath.resolve("SDRTrunk.properties");
-
-        if(!Files.exists(propsPath))
-        {
-            try
-            {
-                mLog.info("SDRTrunk - creating application properties file [" +
-                    propsPath.toAbsolutePath() + "]");
-
-                Files.createFile(propsPath);
-            }
-            catch(IOException e)
-            {
-                mLog.error("SDRTrunk - couldn't create application properties "
-                    + "file [" + propsPath.toAbsolutePath(), e);
-            }
-        }
-
-        if(Files.exists(propsPath))
-        {
-            SystemProperties.getInstance().load(propsPath);
-        }
-        else
-        {
-            mLog.error("SDRTrunk - couldn't find or recreate the SDRTrunk " +
-                "application properties file");
-        }
-    }
-
-    /**
-     * Gets (or creates) the SDRTRunk application home directory.
-     *
-     * Note: the user can change this setting to allow log files and other
-     * files to reside elsewhere on the file system.
-     */
-    private Path getHomePath()
-    {
-        Path homePath = FileSystems.getDefault()
-            .getPath(System.getProperty("user.home"), "SDRTrunk");
-
-        if(!Files.exists(homePath))
-        {
-            try
-            {
-                Files.createDirectory(homePath);
-
-                mLog.info("SDRTrunk - created application home directory [" +
-                    homePath.toString() + "]");
-            }
-            catch(Exception e)
-            {
-                homePath = null;
-
-                mLog.error("SDRTrunk: exception while creating SDRTrunk home " +
-                    "directory in the user's home directory", e);
-            }
-        }
-
-        return homePath;
-    }
-
     @Override
     public void receive(TunerEvent event)
     {
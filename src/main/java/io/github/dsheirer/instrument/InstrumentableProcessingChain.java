@@ -32,7 +32,10 @@ public class InstrumentableProcessingChain extends ProcessingChain implements In
 {
     public InstrumentableProcessingChain()
     {
-        super(ChannelType.STANDARD);
+        super(ChannelType.STANDARD, "Instrument");
+
+        //Each module applies its own filter stages so that taps can be inserted between the filter stages
+        setFilterStageSharing(false);
     }
 
     public void setSource(Source source) throws IllegalStateException
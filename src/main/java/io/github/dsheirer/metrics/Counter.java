@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing counter
+ */
+public class Counter extends Metric
+{
+    private LongAdder mCount = new LongAdder();
+
+    public Counter(String name, String labels)
+    {
+        super(name, labels);
+    }
+
+    /**
+     * Increments the counter by one
+     */
+    public void increment()
+    {
+        mCount.increment();
+    }
+
+    /**
+     * Increments the counter by the amount
+     */
+    public void add(long amount)
+    {
+        mCount.add(amount);
+    }
+
+    /**
+     * Current count
+     */
+    public long getCount()
+    {
+        return mCount.sum();
+    }
+
+    @Override
+    public MetricType getType()
+    {
+        return MetricType.COUNTER;
+    }
+
+    @Override
+    public void getValues(Map<String,Double> values)
+    {
+        values.put(getKey(), (double)getCount());
+    }
+}
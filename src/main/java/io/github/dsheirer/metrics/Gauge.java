@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.metrics;
+
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Metric whose value is obtained from a supplier each time the metric is sampled.  A gauge can also report a
+ * cumulative value that is maintained elsewhere, as a counter type.
+ */
+public class Gauge extends Metric
+{
+    private DoubleSupplier mSupplier;
+    private MetricType mType;
+
+    /**
+     * Constructs a gauge
+     *
+     * @param name of the metric
+     * @param labels for the metric
+     * @param supplier of the current value
+     * @param type of the metric, either GAUGE or COUNTER for a monotonically increasing supplied value
+     */
+    public Gauge(String name, String labels, DoubleSupplier supplier, MetricType type)
+    {
+        super(name, labels);
+        mSupplier = supplier;
+        mType = type;
+    }
+
+    @Override
+    public MetricType getType()
+    {
+        return mType;
+    }
+
+    @Override
+    public void getValues(Map<String,Double> values)
+    {
+        values.put(getKey(), mSupplier.getAsDouble());
+    }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JVM heap, garbage collection and allocation rate metrics
+ */
+public class JvmMetrics
+{
+    private JvmMetrics()
+    {
+    }
+
+    /**
+     * Registers the JVM metrics with the registry
+     */
+    public static void register(MetricsRegistry registry)
+    {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        MetricSet heap = new MetricSet(registry);
+        heap.gauge("jvm_memory_heap_used_bytes", "Used heap memory",
+            () -> memory.getHeapMemoryUsage().getUsed());
+        heap.gauge("jvm_memory_heap_committed_bytes", "Committed heap memory",
+            () -> memory.getHeapMemoryUsage().getCommitted());
+
+        for(final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            MetricSet gc = new MetricSet(registry, "gc", collector.getName());
+            gc.functionCounter("jvm_gc_collections_total", "Garbage collections",
+                () -> collector.getCollectionCount());
+            gc.functionCounter("jvm_gc_collection_seconds_total", "Time spent in garbage collection",
+                () -> collector.getCollectionTime() / 1000.0);
+        }
+
+        final AllocationCounter allocationCounter = new AllocationCounter();
+
+        if(allocationCounter.isSupported())
+        {
+            MetricSet allocation = new MetricSet(registry);
+            allocation.functionCounter("jvm_allocated_bytes_total", "Heap memory allocated by application threads",
+                allocationCounter::getAllocatedBytes);
+        }
+    }
+
+    /**
+     * Accumulates the bytes allocated by each live thread into a monotonically increasing total, using the HotSpot
+     * per-thread allocation counters.  Allocations by a thread after the most recent sample are not counted when the
+     * thread terminates.
+     */
+    private static class AllocationCounter
+    {
+        private com.sun.management.ThreadMXBean mThreadMXBean;
+        private Map<Long,Long> mThreadAllocations = new HashMap<>();
+        private long mTotal;
+
+        AllocationCounter()
+        {
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+            if(threadMXBean instanceof com.sun.management.ThreadMXBean)
+            {
+                mThreadMXBean = (com.sun.management.ThreadMXBean)threadMXBean;
+
+                if(!mThreadMXBean.isThreadAllocatedMemorySupported())
+                {
+                    mThreadMXBean = null;
+                }
+            }
+        }
+
+        boolean isSupported()
+        {
+            return mThreadMXBean != null;
+        }
+
+        synchronized double getAllocatedBytes()
+        {
+            long[] ids = mThreadMXBean.getAllThreadIds();
+            long[] allocated = mThreadMXBean.getThreadAllocatedBytes(ids);
+
+            Map<Long,Long> current = new HashMap<>();
+
+            for(int x = 0; x < ids.length; x++)
+            {
+                if(allocated[x] >= 0)
+                {
+                    Long previous = mThreadAllocations.get(ids[x]);
+
+                    mTotal += allocated[x] - (previous != null ? previous : 0);
+
+                    current.put(ids[x], allocated[x]);
+                }
+            }
+
+            mThreadAllocations = current;
+
+            return mTotal;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Base metric with a name and a set of labels
+ */
+public abstract class Metric
+{
+    private String mName;
+    private String mLabels;
+
+    /**
+     * Constructs a metric
+     *
+     * @param name of the metric
+     * @param labels formatted as a Prometheus label set without the enclosing braces, or an empty string
+     */
+    public Metric(String name, String labels)
+    {
+        mName = name;
+        mLabels = labels;
+    }
+
+    /**
+     * Name of the metric
+     */
+    public String getName()
+    {
+        return mName;
+    }
+
+    /**
+     * Formatted labels for the metric
+     */
+    public String getLabels()
+    {
+        return mLabels;
+    }
+
+    /**
+     * Unique key for this metric, composed of the metric name and labels
+     */
+    public String getKey()
+    {
+        return getKey(mName);
+    }
+
+    /**
+     * Key composed of the name argument and this metric's labels
+     */
+    protected String getKey(String name)
+    {
+        return mLabels.isEmpty() ? name : name + "{" + mLabels + "}";
+    }
+
+    /**
+     * Type of metric
+     */
+    public abstract MetricType getType();
+
+    /**
+     * Adds the current sample value(s) of this metric to the map using the metric key(s)
+     */
+    public abstract void getValues(Map<String,Double> values);
+
+    /**
+     * Appends the sample line(s) for this metric in Prometheus text exposition format
+     */
+    public void write(StringBuilder sb)
+    {
+        Map<String,Double> values = new LinkedHashMap<>();
+
+        getValues(values);
+
+        for(Map.Entry<String,Double> entry : values.entrySet())
+        {
+            sb.append(entry.getKey()).append(" ").append(format(entry.getValue())).append("\n");
+        }
+    }
+
+    /**
+     * Formats the value, using integer formatting for whole number values
+     */
+    private static String format(double value)
+    {
+        if(value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15)
+        {
+            return String.valueOf((long)value);
+        }
+
+        return String.valueOf(value);
+    }
+}
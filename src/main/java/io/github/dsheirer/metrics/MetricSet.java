@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.metrics;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Set of metrics for a single component that share a common set of labels.  Metrics are registered with the metrics
+ * registry as they are created and are all removed from the registry when the set is unregistered, once the
+ * component is no longer in use.
+ */
+public class MetricSet
+{
+    private MetricsRegistry mRegistry;
+    private String mLabels;
+    private List<Metric> mMetrics = new ArrayList<>();
+
+    /**
+     * Constructs a metric set
+     *
+     * @param registry to register the metrics with
+     * @param labels as alternating label name and label value arguments
+     */
+    public MetricSet(MetricsRegistry registry, String... labels)
+    {
+        Validate.isTrue(labels.length % 2 == 0, "Labels must be provided as name and value pairs");
+
+        mRegistry = registry;
+
+        StringBuilder sb = new StringBuilder();
+
+        for(int x = 0; x < labels.length; x += 2)
+        {
+            if(sb.length() > 0)
+            {
+                sb.append(",");
+            }
+
+            sb.append(labels[x]).append("=\"").append(escape(labels[x + 1])).append("\"");
+        }
+
+        mLabels = sb.toString();
+    }
+
+    /**
+     * Creates and registers a counter
+     */
+    public Counter counter(String name, String help)
+    {
+        return register(new Counter(name, mLabels), help);
+    }
+
+    /**
+     * Creates and registers a gauge that samples the supplier
+     */
+    public Gauge gauge(String name, String help, DoubleSupplier supplier)
+    {
+        return register(new Gauge(name, mLabels, supplier, MetricType.GAUGE), help);
+    }
+
+    /**
+     * Creates and registers a counter that samples a cumulative value from the supplier
+     */
+    public Gauge functionCounter(String name, String help, DoubleSupplier supplier)
+    {
+        return register(new Gauge(name, mLabels, supplier, MetricType.COUNTER), help);
+    }
+
+    /**
+     * Creates and registers a timer and a companion gauge for the maximum recorded duration (name_max)
+     */
+    public Timer timer(String name, String help)
+    {
+        Timer timer = register(new Timer(name, mLabels), help);
+
+        register(new Gauge(name + "_max", mLabels, timer::getMaximumSeconds, MetricType.GAUGE),
+            "Maximum of " + help.substring(0, 1).toLowerCase() + help.substring(1));
+
+        return timer;
+    }
+
+    private <T extends Metric> T register(T metric, String help)
+    {
+        mMetrics.add(metric);
+        mRegistry.register(metric, help);
+        return metric;
+    }
+
+    /**
+     * Removes each of the metrics in this set from the registry
+     */
+    public void unregister()
+    {
+        for(Metric metric : mMetrics)
+        {
+            mRegistry.unregister(metric);
+        }
+
+        mMetrics.clear();
+    }
+
+    /**
+     * Escapes backslash, double quote and line feed characters in a label value
+     */
+    private static String escape(String value)
+    {
+        if(value == null)
+        {
+            return "";
+        }
+
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.github.dsheirer.properties.SystemProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Local (loopback only) HTTP endpoint that serves the metrics registry in Prometheus text exposition format at
+ * http://localhost:<port>/metrics
+ *
+ * The endpoint is disabled by default and is enabled with the metrics.http.enabled application property.
+ */
+public class MetricsHttpServer
+{
+    private final static Logger mLog = LoggerFactory.getLogger(MetricsHttpServer.class);
+
+    public static final String PROPERTY_METRICS_HTTP_ENABLED = "metrics.http.enabled";
+    public static final String PROPERTY_METRICS_HTTP_PORT = "metrics.http.port";
+    public static final int DEFAULT_PORT = 9464;
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private MetricsRegistry mRegistry;
+    private HttpServer mServer;
+
+    public MetricsHttpServer(MetricsRegistry registry)
+    {
+        mRegistry = registry;
+    }
+
+    /**
+     * Starts the HTTP endpoint when enabled in the application properties
+     */
+    public void start()
+    {
+        SystemProperties properties = SystemProperties.getInstance();
+
+        if(properties.get(PROPERTY_METRICS_HTTP_ENABLED, false))
+        {
+            int port = properties.get(PROPERTY_METRICS_HTTP_PORT, DEFAULT_PORT);
+
+            try
+            {
+                mServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+                mServer.createContext("/metrics", new MetricsHandler());
+                mServer.start();
+
+                mLog.info("Metrics endpoint started at http://localhost:" + port + "/metrics");
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Unable to start metrics endpoint on port [" + port + "]", ioe);
+            }
+        }
+    }
+
+    /**
+     * Stops the HTTP endpoint
+     */
+    public void stop()
+    {
+        if(mServer != null)
+        {
+            mServer.stop(0);
+            mServer = null;
+        }
+    }
+
+    /**
+     * Writes the current metrics to each HTTP request
+     */
+    public class MetricsHandler implements HttpHandler
+    {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException
+        {
+            byte[] response = mRegistry.getPrometheusText().getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, response.length);
+
+            try(OutputStream out = exchange.getResponseBody())
+            {
+                out.write(response);
+            }
+        }
+    }
+}
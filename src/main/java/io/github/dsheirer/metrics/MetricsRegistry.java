@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Application wide registry of pipeline metrics.  Components register metrics (normally via a MetricSet) and the
+ * registry exposes the current metric values in Prometheus text exposition format, for the metrics HTTP endpoint, and
+ * as a JMX MBean.
+ *
+ * Rates (e.g. samples per second) are derived from the counters by the metrics consumer.
+ */
+public class MetricsRegistry implements MetricsRegistryMXBean
+{
+    private final static Logger mLog = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    public static final String OBJECT_NAME = "io.github.dsheirer:type=MetricsRegistry";
+
+    private static MetricsRegistry INSTANCE;
+
+    //Sorted by key so that all metrics with the same name are contiguous when writing the exposition format
+    private Map<String,Metric> mMetrics = new ConcurrentSkipListMap<>();
+    private Map<String,String> mHelp = new ConcurrentHashMap<>();
+    private Map<String,MetricType> mTypes = new ConcurrentHashMap<>();
+
+    private MetricsRegistry()
+    {
+    }
+
+    /**
+     * Returns a SINGLETON instance of the metrics registry
+     */
+    public static synchronized MetricsRegistry getInstance()
+    {
+        if(INSTANCE == null)
+        {
+            INSTANCE = new MetricsRegistry();
+            JvmMetrics.register(INSTANCE);
+        }
+
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metric.  Replaces any existing metric with the same name and labels.
+     *
+     * @param metric to register
+     * @param help description of the metric name
+     */
+    public void register(Metric metric, String help)
+    {
+        mHelp.putIfAbsent(metric.getName(), help);
+        mTypes.putIfAbsent(metric.getName(), metric.getType());
+        mMetrics.put(metric.getKey(), metric);
+    }
+
+    /**
+     * Removes the metric from the registry
+     */
+    public void unregister(Metric metric)
+    {
+        mMetrics.remove(metric.getKey(), metric);
+    }
+
+    /**
+     * Registers this registry with the platform MBean server
+     */
+    public void registerMBean()
+    {
+        try
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+
+            if(!server.isRegistered(name))
+            {
+                server.registerMBean(this, name);
+            }
+        }
+        catch(Exception e)
+        {
+            mLog.error("Unable to register metrics registry with the JMX MBean server", e);
+        }
+    }
+
+    @Override
+    public Map<String,Double> getMetrics()
+    {
+        Map<String,Double> values = new TreeMap<>();
+
+        for(Metric metric : mMetrics.values())
+        {
+            try
+            {
+                metric.getValues(values);
+            }
+            catch(Exception e)
+            {
+                mLog.error("Error sampling metric [" + metric.getKey() + "]", e);
+            }
+        }
+
+        return values;
+    }
+
+    @Override
+    public String getPrometheusText()
+    {
+        StringBuilder sb = new StringBuilder();
+
+        String currentName = null;
+
+        for(Metric metric : mMetrics.values())
+        {
+            String name = metric.getName();
+
+            if(!name.equals(currentName))
+            {
+                currentName = name;
+
+                sb.append("# HELP ").append(name).append(" ").append(mHelp.get(name)).append("\n");
+                sb.append("# TYPE ").append(name).append(" ").append(mTypes.get(name)).append("\n");
+            }
+
+            try
+            {
+                metric.write(sb);
+            }
+            catch(Exception e)
+            {
+                mLog.error("Error sampling metric [" + metric.getKey() + "]", e);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    public int getMetricCount()
+    {
+        return mMetrics.size();
+    }
+}
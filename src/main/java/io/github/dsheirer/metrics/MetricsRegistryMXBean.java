@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX management interface for the metrics registry
+ */
+public interface MetricsRegistryMXBean
+{
+    /**
+     * Current value of each metric sample, keyed by metric name and labels
+     */
+    Map<String,Double> getMetrics();
+
+    /**
+     * Current metrics in Prometheus text exposition format
+     */
+    String getPrometheusText();
+
+    /**
+     * Number of registered metrics
+     */
+    int getMetricCount();
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.metrics;
+
+import io.github.dsheirer.sample.Listener;
+
+/**
+ * Listener wrapper that records the processing time of each element received by the wrapped listener.
+ *
+ * Processing chain modules deliver their output to downstream modules on the same thread, so the time spent in a
+ * nested timed listener is excluded from the enclosing listener's recorded time.  Each timer records only the time
+ * spent within its own module.
+ */
+public class TimedListener<T> implements Listener<T>
+{
+    //Accumulated time of nested timed listeners on the current thread
+    private static final ThreadLocal<long[]> NESTED_TIME = new ThreadLocal<long[]>()
+    {
+        @Override
+        protected long[] initialValue()
+        {
+            return new long[1];
+        }
+    };
+
+    private Listener<T> mListener;
+    private Timer mTimer;
+
+    public TimedListener(Listener<T> listener, Timer timer)
+    {
+        mListener = listener;
+        mTimer = timer;
+    }
+
+    /**
+     * Wrapped listener
+     */
+    public Listener<T> getListener()
+    {
+        return mListener;
+    }
+
+    @Override
+    public void receive(T t)
+    {
+        long[] nested = NESTED_TIME.get();
+        long enclosing = nested[0];
+        nested[0] = 0;
+
+        long start = System.nanoTime();
+
+        try
+        {
+            mListener.receive(t);
+        }
+        finally
+        {
+            long elapsed = System.nanoTime() - start;
+
+            mTimer.record(elapsed - nested[0]);
+
+            nested[0] = enclosing + elapsed;
+        }
+    }
+}
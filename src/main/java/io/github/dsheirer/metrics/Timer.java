@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the count and cumulative duration of timed events, reported in seconds as a summary metric.  The maximum
+ * recorded duration is available for reporting as a separate gauge.
+ */
+public class Timer extends Metric
+{
+    private static final double NANOSECONDS_PER_SECOND = 1E9;
+
+    private LongAdder mCount = new LongAdder();
+    private LongAdder mTotal = new LongAdder();
+    private AtomicLong mMaximum = new AtomicLong();
+
+    public Timer(String name, String labels)
+    {
+        super(name, labels);
+    }
+
+    /**
+     * Records an event duration
+     *
+     * @param nanoseconds duration
+     */
+    public void record(long nanoseconds)
+    {
+        mCount.increment();
+        mTotal.add(nanoseconds);
+
+        long maximum = mMaximum.get();
+
+        while(nanoseconds > maximum && !mMaximum.compareAndSet(maximum, nanoseconds))
+        {
+            maximum = mMaximum.get();
+        }
+    }
+
+    /**
+     * Number of recorded events
+     */
+    public long getCount()
+    {
+        return mCount.sum();
+    }
+
+    /**
+     * Cumulative duration of all recorded events in seconds
+     */
+    public double getTotalSeconds()
+    {
+        return (double)mTotal.sum() / NANOSECONDS_PER_SECOND;
+    }
+
+    /**
+     * Longest recorded event duration in seconds
+     */
+    public double getMaximumSeconds()
+    {
+        return (double)mMaximum.get() / NANOSECONDS_PER_SECOND;
+    }
+
+    @Override
+    public MetricType getType()
+    {
+        return MetricType.SUMMARY;
+    }
+
+    @Override
+    public void getValues(Map<String,Double> values)
+    {
+        values.put(getKey(getName() + "_count"), (double)getCount());
+        values.put(getKey(getName() + "_sum"), getTotalSeconds());
+    }
+}
@@ -42,6 +42,10 @@ import io.github.dsheirer.controller.channel.IChannelEventProvider;
 import io.github.dsheirer.message.IMessageListener;
 import io.github.dsheirer.message.IMessageProvider;
 import io.github.dsheirer.message.Message;
+import io.github.dsheirer.metrics.MetricSet;
+import io.github.dsheirer.metrics.MetricsRegistry;
+import io.github.dsheirer.metrics.TimedListener;
+import io.github.dsheirer.metrics.Timer;
 import io.github.dsheirer.module.decode.event.CallEvent;
 import io.github.dsheirer.module.decode.event.CallEventModel;
 import io.github.dsheirer.module.decode.event.ICallEventListener;
@@ -52,10 +56,12 @@ import io.github.dsheirer.record.wave.ComplexBufferWaveRecorder;
 import io.github.dsheirer.record.wave.RealBufferWaveRecorder;
 import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.ReusableBufferBroadcaster;
 import io.github.dsheirer.sample.complex.ComplexBuffer;
 import io.github.dsheirer.sample.complex.IComplexBufferListener;
 import io.github.dsheirer.sample.real.IFilteredRealBufferListener;
 import io.github.dsheirer.sample.real.IFilteredRealBufferProvider;
+import io.github.dsheirer.sample.real.ISharedFilterStageListener;
 import io.github.dsheirer.sample.real.IUnFilteredRealBufferListener;
 import io.github.dsheirer.sample.real.IUnFilteredRealBufferProvider;
 import io.github.dsheirer.sample.real.RealBuffer;
@@ -70,7 +76,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -99,7 +107,7 @@ public class ProcessingChain implements IChannelEventListener
     private Broadcaster<AudioPacket> mAudioPacketBroadcaster = new Broadcaster<>();
     private Broadcaster<CallEvent> mCallEventBroadcaster = new Broadcaster<>();
     private Broadcaster<ChannelEvent> mChannelEventBroadcaster = new Broadcaster<>();
-    private Broadcaster<ComplexBuffer> mComplexBufferBroadcaster = new Broadcaster<>();
+    private Broadcaster<ComplexBuffer> mComplexBufferBroadcaster = new ReusableBufferBroadcaster<>();
     private Broadcaster<DecoderStateEvent> mDecoderStateEventBroadcaster = new Broadcaster<>();
     private Broadcaster<FrequencyChangeEvent> mFrequencyChangeEventBroadcaster = new Broadcaster<>();
     private Broadcaster<Heartbeat> mHeartbeatBroadcaster = new Broadcaster<>();
@@ -116,13 +124,24 @@ public class ProcessingChain implements IChannelEventListener
     private ChannelState mChannelState;
     private MessageActivityModel mMessageActivityModel;
 
+    private String mName;
+    private Map<Module,ModuleMetrics> mModuleMetrics = new HashMap<>();
+    private SharedFilterStageGraph mSharedFilterStageGraph;
+    private boolean mFilterStageSharing = true;
+
     /**
      * Creates a processing chain for managing a set of modules
      *
      * @param channelType
+     * @param name of the channel for metrics reporting
      */
-    public ProcessingChain(ChannelType channelType)
+    public ProcessingChain(ChannelType channelType, String name)
     {
+        mName = name;
+
+        mSharedFilterStageGraph = new SharedFilterStageGraph(name);
+        mFilteredRealBufferBroadcaster.addListener(mSharedFilterStageGraph);
+
         mChannelState = new ChannelState(channelType);
         addModule(mChannelState);
 
@@ -163,6 +182,15 @@ public class ProcessingChain implements IChannelEventListener
 
         mModules.clear();
 
+        for(ModuleMetrics moduleMetrics : mModuleMetrics.values())
+        {
+            moduleMetrics.unregister();
+        }
+
+        mModuleMetrics.clear();
+
+        mSharedFilterStageGraph.dispose();
+
         mAudioPacketBroadcaster.dispose();
         mCallEventBroadcaster.dispose();
         mChannelEventBroadcaster.dispose();
@@ -235,6 +263,25 @@ public class ProcessingChain implements IChannelEventListener
         return decoderStates;
     }
 
+    /**
+     * Enables or disables sharing of equal front end filter stages across modules that consume the filtered real
+     * buffer stream (enabled by default).  When disabled, each module applies its own filter stages, which allows
+     * instrumentation taps to be inserted between a module's filter stages.  This setting must be applied before any
+     * modules are added to the processing chain.
+     */
+    protected void setFilterStageSharing(boolean enabled)
+    {
+        mFilterStageSharing = enabled;
+    }
+
+    /**
+     * Shared filter stages for modules that consume the filtered real buffer stream
+     */
+    public SharedFilterStageGraph getSharedFilterStageGraph()
+    {
+        return mSharedFilterStageGraph;
+    }
+
     /**
      * Adds the list of modules to this processing chain
      */
@@ -277,6 +324,13 @@ public class ProcessingChain implements IChannelEventListener
         unregisterListeners(module);
         unregisterProviders(module);
 
+        ModuleMetrics moduleMetrics = mModuleMetrics.remove(module);
+
+        if(moduleMetrics != null)
+        {
+            moduleMetrics.unregister();
+        }
+
         mModules.remove(module);
     }
 
@@ -293,7 +347,8 @@ public class ProcessingChain implements IChannelEventListener
 
         if(module instanceof IAudioPacketListener)
         {
-            mAudioPacketBroadcaster.addListener(((IAudioPacketListener) module).getAudioPacketListener());
+            mAudioPacketBroadcaster.addListener(getModuleMetrics(module)
+                .timed(((IAudioPacketListener) module).getAudioPacketListener()));
         }
 
         if(module instanceof ICallEventListener)
@@ -308,7 +363,8 @@ public class ProcessingChain implements IChannelEventListener
 
         if(module instanceof IComplexBufferListener)
         {
-            mComplexBufferBroadcaster.addListener(((IComplexBufferListener) module).getComplexBufferListener());
+            mComplexBufferBroadcaster.addListener(getModuleMetrics(module)
+                .timed(((IComplexBufferListener) module).getComplexBufferListener()));
         }
 
         if(module instanceof IDecoderStateEventListener)
@@ -337,9 +393,17 @@ public class ProcessingChain implements IChannelEventListener
             mMessageBroadcaster.addListener(((IMessageListener) module).getMessageListener());
         }
 
-        if(module instanceof IFilteredRealBufferListener)
+        if(mFilterStageSharing && module instanceof ISharedFilterStageListener)
+        {
+            ISharedFilterStageListener stageListener = (ISharedFilterStageListener)module;
+
+            mSharedFilterStageGraph.add(stageListener.getFilterStages(),
+                getModuleMetrics(module).timed(stageListener.getFilterStageListener()));
+        }
+        else if(module instanceof IFilteredRealBufferListener)
         {
-            mFilteredRealBufferBroadcaster.addListener(((IFilteredRealBufferListener) module).getFilteredRealBufferListener());
+            mFilteredRealBufferBroadcaster.addListener(getModuleMetrics(module)
+                .timed(((IFilteredRealBufferListener) module).getFilteredRealBufferListener()));
         }
 
         if(module instanceof ISquelchStateListener)
@@ -349,7 +413,8 @@ public class ProcessingChain implements IChannelEventListener
 
         if(module instanceof IUnFilteredRealBufferListener)
         {
-            mUnFilteredRealBufferBroadcaster.addListener(((IUnFilteredRealBufferListener) module).getUnFilteredRealBufferListener());
+            mUnFilteredRealBufferBroadcaster.addListener(getModuleMetrics(module)
+                .timed(((IUnFilteredRealBufferListener) module).getUnFilteredRealBufferListener()));
         }
     }
 
@@ -366,7 +431,8 @@ public class ProcessingChain implements IChannelEventListener
 
         if(module instanceof IAudioPacketListener)
         {
-            mAudioPacketBroadcaster.removeListener(((IAudioPacketListener) module).getAudioPacketListener());
+            mAudioPacketBroadcaster.removeListener(getModuleMetrics(module)
+                .getTimed(((IAudioPacketListener) module).getAudioPacketListener()));
         }
 
         if(module instanceof ICallEventListener)
@@ -381,7 +447,8 @@ public class ProcessingChain implements IChannelEventListener
 
         if(module instanceof IComplexBufferListener)
         {
-            mComplexBufferBroadcaster.removeListener(((IComplexBufferListener) module).getComplexBufferListener());
+            mComplexBufferBroadcaster.removeListener(getModuleMetrics(module)
+                .getTimed(((IComplexBufferListener) module).getComplexBufferListener()));
         }
 
         if(module instanceof IDecoderStateEventListener)
@@ -404,9 +471,15 @@ public class ProcessingChain implements IChannelEventListener
             mMessageBroadcaster.removeListener(((IMessageListener) module).getMessageListener());
         }
 
-        if(module instanceof IFilteredRealBufferListener)
+        if(mFilterStageSharing && module instanceof ISharedFilterStageListener)
+        {
+            mSharedFilterStageGraph.remove(getModuleMetrics(module)
+                .getTimed(((ISharedFilterStageListener) module).getFilterStageListener()));
+        }
+        else if(module instanceof IFilteredRealBufferListener)
         {
-            mFilteredRealBufferBroadcaster.removeListener(((IFilteredRealBufferListener) module).getFilteredRealBufferListener());
+            mFilteredRealBufferBroadcaster.removeListener(getModuleMetrics(module)
+                .getTimed(((IFilteredRealBufferListener) module).getFilteredRealBufferListener()));
         }
 
         if(module instanceof ISquelchStateListener)
@@ -416,8 +489,25 @@ public class ProcessingChain implements IChannelEventListener
 
         if(module instanceof IUnFilteredRealBufferListener)
         {
-            mUnFilteredRealBufferBroadcaster.removeListener(((IUnFilteredRealBufferListener) module).getUnFilteredRealBufferListener());
+            mUnFilteredRealBufferBroadcaster.removeListener(getModuleMetrics(module)
+                .getTimed(((IUnFilteredRealBufferListener) module).getUnFilteredRealBufferListener()));
+        }
+    }
+
+    /**
+     * Processing time metrics for the module, created on first use
+     */
+    private ModuleMetrics getModuleMetrics(Module module)
+    {
+        ModuleMetrics moduleMetrics = mModuleMetrics.get(module);
+
+        if(moduleMetrics == null)
+        {
+            moduleMetrics = new ModuleMetrics(module);
+            mModuleMetrics.put(module, moduleMetrics);
         }
+
+        return moduleMetrics;
     }
 
     /**
@@ -579,6 +669,11 @@ public class ProcessingChain implements IChannelEventListener
                             + "sample type - cannot start processing chain");
                 }
 				
+                if(mSharedFilterStageGraph.getSavedStageCount() > 0)
+                {
+                    mLog.info("Channel [" + mName + "] " + mSharedFilterStageGraph.getStatistics());
+                }
+
 				/* Start each of the modules */
                 for(Module module : mModules)
                 {
@@ -809,4 +904,61 @@ public class ProcessingChain implements IChannelEventListener
     {
         return mChannelEventBroadcaster;
     }
+
+    /**
+     * Measures the processing time of a module for each sample buffer or audio packet that it receives.  Module
+     * listeners are wrapped in a timed listener that is registered with the broadcaster in place of the module
+     * listener.
+     */
+    private class ModuleMetrics
+    {
+        private MetricSet mMetricSet;
+        private Timer mTimer;
+        private Map<Listener<?>,Listener<?>> mTimedListeners = new HashMap<>();
+
+        public ModuleMetrics(Module module)
+        {
+            String moduleName = module.getClass().getSimpleName();
+
+            if(moduleName.isEmpty())
+            {
+                moduleName = module.getClass().getName();
+            }
+
+            mMetricSet = new MetricSet(MetricsRegistry.getInstance(), "channel", mName, "module", moduleName);
+            mTimer = mMetricSet.timer("sdrtrunk_module_processing_seconds",
+                "Module processing time per received sample buffer or audio packet, excluding downstream modules");
+        }
+
+        /**
+         * Wraps the listener in a timed listener
+         */
+        public <T> Listener<T> timed(Listener<T> listener)
+        {
+            if(listener == null)
+            {
+                return null;
+            }
+
+            TimedListener<T> timedListener = new TimedListener<>(listener, mTimer);
+            mTimedListeners.put(listener, timedListener);
+            return timedListener;
+        }
+
+        /**
+         * Timed listener that wraps the listener, or the listener itself if it was not wrapped
+         */
+        @SuppressWarnings("unchecked")
+        public <T> Listener<T> getTimed(Listener<T> listener)
+        {
+            Listener<T> timedListener = (Listener<T>)mTimedListeners.remove(listener);
+
+            return timedListener != null ? timedListener : listener;
+        }
+
+        public void unregister()
+        {
+            mMetricSet.unregister();
+        }
+    }
 }
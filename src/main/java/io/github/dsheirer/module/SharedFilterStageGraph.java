@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.module;
+
+import io.github.dsheirer.dsp.filter.RealFilterStage;
+import io.github.dsheirer.metrics.MetricSet;
+import io.github.dsheirer.metrics.MetricsRegistry;
+import io.github.dsheirer.metrics.TimedListener;
+import io.github.dsheirer.metrics.Timer;
+import io.github.dsheirer.sample.Broadcaster;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.real.RealBuffer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filter stage graph that computes equal front end filter stages once for all of the consumers of a real buffer
+ * stream.
+ *
+ * Each consumer describes its front end as an ordered list of filter stages.  The stage lists are merged into a tree
+ * rooted at the input stream, where each node is a single filter instance for a stage and all consumers whose stage
+ * lists share the same prefix share the nodes for that prefix.  For example, auxiliary decoders that each decimate
+ * and band pass filter the demodulated audio with the same filters share one decimation filter and one band pass
+ * filter, instead of each running their own.
+ *
+ * Stages that filter in place receive a copy of the input buffer whenever the input buffer is also delivered to
+ * other consumers or stages, or when the stage receives the graph input buffers directly.
+ */
+public class SharedFilterStageGraph implements Listener<RealBuffer>
+{
+    private StageNode mRoot = new StageNode(null, null);
+    private Map<Listener<RealBuffer>,StageNode> mConsumerNodes = new HashMap<>();
+    private TimedListener<RealBuffer> mTimedInput;
+    private MetricSet mMetricSet;
+    private int mNodeCount;
+    private int mConsumerStageCount;
+
+    /**
+     * Constructs a shared filter stage graph
+     *
+     * @param name of the channel for metrics reporting
+     */
+    public SharedFilterStageGraph(String name)
+    {
+        mMetricSet = new MetricSet(MetricsRegistry.getInstance(), "channel", name);
+
+        Timer timer = mMetricSet.timer("sdrtrunk_shared_filter_stage_processing_seconds",
+            "Shared filter stage processing time per received sample buffer, excluding downstream modules");
+        mMetricSet.gauge("sdrtrunk_shared_filter_stages", "Filter stage instances in the shared filter stage graph",
+            this::getStageCount);
+        mMetricSet.gauge("sdrtrunk_shared_filter_stages_saved", "Filter stage instances avoided by sharing equal " +
+            "filter stages across modules", this::getSavedStageCount);
+
+        //Timed listeners exclude nested timed (module) listeners, so the timer measures the shared stages only
+        mTimedInput = new TimedListener<>(mRoot, timer);
+    }
+
+    @Override
+    public void receive(RealBuffer buffer)
+    {
+        mTimedInput.receive(buffer);
+    }
+
+    /**
+     * Adds a consumer to receive the output of the filter stages.  Existing nodes are reused for the longest
+     * matching prefix of the stages and new nodes are created for the remaining stages.
+     *
+     * @param stages to apply, in order.  An empty list delivers the input stream to the consumer.
+     * @param consumer to receive the output of the last stage
+     */
+    public synchronized void add(List<RealFilterStage> stages, Listener<RealBuffer> consumer)
+    {
+        StageNode node = mRoot;
+
+        for(RealFilterStage stage : stages)
+        {
+            StageNode child = node.getChild(stage);
+
+            if(child == null)
+            {
+                child = new StageNode(node, stage);
+                node.addChild(child);
+                mNodeCount++;
+            }
+
+            node = child;
+        }
+
+        node.addConsumer(consumer);
+        mConsumerNodes.put(consumer, node);
+        mConsumerStageCount += stages.size();
+    }
+
+    /**
+     * Removes the consumer and any filter stage nodes that are no longer used by other consumers
+     */
+    public synchronized void remove(Listener<RealBuffer> consumer)
+    {
+        StageNode node = mConsumerNodes.remove(consumer);
+
+        if(node != null)
+        {
+            node.removeConsumer(consumer);
+
+            mConsumerStageCount -= node.getDepth();
+
+            //Remove the nodes that are no longer used by any consumer
+            while(node != mRoot && node.isUnused())
+            {
+                StageNode parent = node.getParent();
+                parent.removeChild(node);
+                mNodeCount--;
+                node = parent;
+            }
+        }
+    }
+
+    /**
+     * Number of filter stage instances in the graph
+     */
+    public synchronized int getStageCount()
+    {
+        return mNodeCount;
+    }
+
+    /**
+     * Number of filter stage instances the consumers would use if each applied its own filter stages
+     */
+    public synchronized int getConsumerStageCount()
+    {
+        return mConsumerStageCount;
+    }
+
+    /**
+     * Number of filter stage instances avoided by sharing stages
+     */
+    public synchronized int getSavedStageCount()
+    {
+        return mConsumerStageCount - mNodeCount;
+    }
+
+    /**
+     * Number of consumers served by the graph
+     */
+    public synchronized int getConsumerCount()
+    {
+        return mConsumerNodes.size();
+    }
+
+    /**
+     * Summary of the shared filter stages
+     */
+    public synchronized String getStatistics()
+    {
+        return "shared filter stages [" + mNodeCount + "] serving [" + mConsumerNodes.size() + "] modules with [" +
+            mConsumerStageCount + "] filter stages - saved [" + getSavedStageCount() + "] filter stages per buffer";
+    }
+
+    /**
+     * Removes all consumers and unregisters the metrics
+     */
+    public synchronized void dispose()
+    {
+        for(Listener<RealBuffer> consumer : new ArrayList<>(mConsumerNodes.keySet()))
+        {
+            remove(consumer);
+        }
+
+        mMetricSet.unregister();
+    }
+
+    /**
+     * Filter stage node.  The root node has no stage and delivers the input buffers unmodified.
+     */
+    private class StageNode implements Listener<RealBuffer>
+    {
+        private StageNode mParent;
+        private RealFilterStage mStage;
+        private Listener<RealBuffer> mFilter;
+        private Broadcaster<RealBuffer> mOutput = new Broadcaster<>();
+        private Map<RealFilterStage,StageNode> mChildren = new HashMap<>();
+
+        StageNode(StageNode parent, RealFilterStage stage)
+        {
+            mParent = parent;
+            mStage = stage;
+
+            if(stage != null)
+            {
+                mFilter = stage.createFilter(mOutput);
+            }
+        }
+
+        @Override
+        public void receive(RealBuffer buffer)
+        {
+            if(mFilter == null)
+            {
+                mOutput.receive(buffer);
+            }
+            else if(mStage.isInPlace() && (mParent == mRoot || mParent.getOutputCount() > 1))
+            {
+                //Buffer is shared with sibling stages or consumers, or with modules outside of the graph
+                mFilter.receive(buffer.copyOf());
+            }
+            else
+            {
+                mFilter.receive(buffer);
+            }
+        }
+
+        StageNode getParent()
+        {
+            return mParent;
+        }
+
+        /**
+         * Number of filter stages from the root to this node
+         */
+        int getDepth()
+        {
+            return mParent == null ? 0 : mParent.getDepth() + 1;
+        }
+
+        StageNode getChild(RealFilterStage stage)
+        {
+            return mChildren.get(stage);
+        }
+
+        void addChild(StageNode child)
+        {
+            mChildren.put(child.mStage, child);
+            mOutput.addListener(child);
+        }
+
+        void removeChild(StageNode child)
+        {
+            mChildren.remove(child.mStage);
+            mOutput.removeListener(child);
+        }
+
+        void addConsumer(Listener<RealBuffer> consumer)
+        {
+            mOutput.addListener(consumer);
+        }
+
+        void removeConsumer(Listener<RealBuffer> consumer)
+        {
+            mOutput.removeListener(consumer);
+        }
+
+        int getOutputCount()
+        {
+            return mOutput.getListenerCount();
+        }
+
+        boolean isUnused()
+        {
+            return !mOutput.hasListeners();
+        }
+    }
+}
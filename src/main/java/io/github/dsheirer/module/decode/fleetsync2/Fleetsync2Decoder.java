@@ -21,10 +21,11 @@ import io.github.dsheirer.alias.AliasList;
 import io.github.dsheirer.bits.MessageFramer;
 import io.github.dsheirer.bits.SyncPattern;
 import io.github.dsheirer.dsp.filter.Filters;
+import io.github.dsheirer.dsp.filter.RealFilterStage;
 import io.github.dsheirer.dsp.filter.fir.real.RealFIRFilter_RB_RB;
 import io.github.dsheirer.dsp.filter.halfband.real.HalfBandFilter_RB_RB;
-import io.github.dsheirer.dsp.fsk.FSK2Decoder;
 import io.github.dsheirer.dsp.fsk.FSK2Decoder.Output;
+import io.github.dsheirer.dsp.fsk.FSK2Decoder;
 import io.github.dsheirer.instrument.Instrumentable;
 import io.github.dsheirer.instrument.tap.Tap;
 import io.github.dsheirer.instrument.tap.TapGroup;
@@ -33,10 +34,11 @@ import io.github.dsheirer.instrument.tap.stream.FloatBufferTap;
 import io.github.dsheirer.module.decode.Decoder;
 import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.sample.Listener;
-import io.github.dsheirer.sample.real.IFilteredRealBufferListener;
+import io.github.dsheirer.sample.real.ISharedFilterStageListener;
 import io.github.dsheirer.sample.real.RealBuffer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -44,7 +46,7 @@ import java.util.concurrent.ScheduledExecutorService;
  * Fleetsync II Decoder - 1200 baud 2FSK decoder that can process 48k sample rate
  * floating point samples and output fully framed Fleetsync II messages
  */
-public class Fleetsync2Decoder extends Decoder implements IFilteredRealBufferListener,
+public class Fleetsync2Decoder extends Decoder implements ISharedFilterStageListener,
 			Instrumentable
 {
 	/* Decimated sample rate ( 48,000 / 2 = 24,000 ) feeding the decoder */
@@ -55,6 +57,11 @@ public class Fleetsync2Decoder extends Decoder implements IFilteredRealBufferLis
 
 	/* Message length - 5 x REVS + 16 x SYNC + 8 x 64Bit Blocks */
     private static final int sMESSAGE_LENGTH = 537;
+
+	/* Front end filter stages - shared with other decoders that consume the same channel */
+	private static final List<RealFilterStage> FILTER_STAGES = Arrays.asList(
+		RealFilterStage.halfBandDecimator(Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0f),
+		RealFilterStage.fir(Filters.FIRBP_1200FSK_24000FS.getCoefficients(), 1.02f));
     
     /* Instrumentation Taps */
     private ArrayList<TapGroup> mAvailableTaps;
@@ -71,21 +78,12 @@ public class Fleetsync2Decoder extends Decoder implements IFilteredRealBufferLis
     
     public Fleetsync2Decoder( AliasList aliasList )
 	{
-        mDecimationFilter = new HalfBandFilter_RB_RB( 
-    		Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0f, true );
-        
-        mBandPassFilter = new RealFIRFilter_RB_RB( 
-        		Filters.FIRBP_1200FSK_24000FS.getCoefficients(), 1.02f );
-
-        mDecimationFilter.setListener( mBandPassFilter );
-
         mFSKDecoder = new FSK2Decoder( sDECIMATED_SAMPLE_RATE, 
         					sSYMBOL_RATE, Output.INVERTED );
-        mBandPassFilter.setListener( mFSKDecoder );
 
         mMessageFramer = new MessageFramer( 
         		SyncPattern.FLEETSYNC2.getPattern(), sMESSAGE_LENGTH );
-        mFSKDecoder.setListener( mMessageFramer );
+        mFSKDecoder.setBitRunListener( mMessageFramer );
         
         mMessageProcessor = new Fleetsync2MessageProcessor( aliasList );
         mMessageFramer.addMessageListener( mMessageProcessor );
@@ -97,8 +95,12 @@ public class Fleetsync2Decoder extends Decoder implements IFilteredRealBufferLis
     {
     	super.dispose();
     	
-    	mBandPassFilter.dispose();
-    	mDecimationFilter.dispose();
+    	if( mDecimationFilter != null )
+    	{
+    		mBandPassFilter.dispose();
+    		mDecimationFilter.dispose();
+    	}
+
     	mFSKDecoder.dispose();
     	mMessageFramer.dispose();
     	mMessageProcessor.dispose();
@@ -141,6 +143,7 @@ public class Fleetsync2Decoder extends Decoder implements IFilteredRealBufferLis
 		{
 			case INSTRUMENT_BANDPASS_FILTER_TO_FSK2_DEMOD:
 				FloatBufferTap bpTap = (FloatBufferTap)tap;
+				createFilters();
 				mBandPassFilter.setListener( bpTap );
 				bpTap.setListener( mFSKDecoder );
 				break;
@@ -160,10 +163,13 @@ public class Fleetsync2Decoder extends Decoder implements IFilteredRealBufferLis
 		switch( tap.getName() )
 		{
 			case INSTRUMENT_BANDPASS_FILTER_TO_FSK2_DEMOD:
-				mBandPassFilter.setListener( mFSKDecoder );
+				if( mBandPassFilter != null )
+				{
+					mBandPassFilter.setListener( mFSKDecoder );
+				}
 				break;
 			case INSTRUMENT_FSK2_DECODER_TO_MESSAGE_FRAMER:
-				mFSKDecoder.setListener( mMessageFramer );
+				mFSKDecoder.setBitRunListener( mMessageFramer );
 		        break;
 		}
     }
@@ -171,9 +177,42 @@ public class Fleetsync2Decoder extends Decoder implements IFilteredRealBufferLis
 	@Override
 	public Listener<RealBuffer> getFilteredRealBufferListener()
 	{
+		createFilters();
+
 		return mDecimationFilter;
 	}
 
+	/**
+	 * Creates the decoder's own decimation and band pass filters on first use, for processing chains that don't
+	 * share filter stages.
+	 */
+	private void createFilters()
+	{
+		if( mDecimationFilter == null )
+		{
+			mDecimationFilter = new HalfBandFilter_RB_RB( 
+				Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0f, true );
+
+			mBandPassFilter = new RealFIRFilter_RB_RB( 
+				Filters.FIRBP_1200FSK_24000FS.getCoefficients(), 1.02f );
+
+			mDecimationFilter.setListener( mBandPassFilter );
+			mBandPassFilter.setListener( mFSKDecoder );
+		}
+	}
+
+	@Override
+	public List<RealFilterStage> getFilterStages()
+	{
+		return FILTER_STAGES;
+	}
+
+	@Override
+	public Listener<RealBuffer> getFilterStageListener()
+	{
+		return mFSKDecoder;
+	}
+
 	@Override
 	public void reset()
 	{
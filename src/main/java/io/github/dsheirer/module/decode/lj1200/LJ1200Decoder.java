@@ -18,13 +18,15 @@
 package io.github.dsheirer.module.decode.lj1200;
 
 import io.github.dsheirer.alias.AliasList;
+import io.github.dsheirer.bits.BitRunBroadcaster;
 import io.github.dsheirer.bits.MessageFramer;
 import io.github.dsheirer.bits.SyncPattern;
 import io.github.dsheirer.dsp.filter.Filters;
+import io.github.dsheirer.dsp.filter.RealFilterStage;
 import io.github.dsheirer.dsp.filter.fir.real.RealFIRFilter_RB_RB;
 import io.github.dsheirer.dsp.filter.halfband.real.HalfBandFilter_RB_RB;
-import io.github.dsheirer.dsp.fsk.FSK2Decoder;
 import io.github.dsheirer.dsp.fsk.FSK2Decoder.Output;
+import io.github.dsheirer.dsp.fsk.FSK2Decoder;
 import io.github.dsheirer.instrument.Instrumentable;
 import io.github.dsheirer.instrument.tap.Tap;
 import io.github.dsheirer.instrument.tap.TapGroup;
@@ -33,20 +35,20 @@ import io.github.dsheirer.instrument.tap.stream.FloatBufferTap;
 import io.github.dsheirer.instrument.tap.stream.FloatTap;
 import io.github.dsheirer.module.decode.Decoder;
 import io.github.dsheirer.module.decode.DecoderType;
-import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
-import io.github.dsheirer.sample.real.IFilteredRealBufferListener;
+import io.github.dsheirer.sample.real.ISharedFilterStageListener;
 import io.github.dsheirer.sample.real.RealBuffer;
 import io.github.dsheirer.sample.real.RealSampleListener;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * LJ1200 - 1200 baud 2FSK decoder
  */
-public class LJ1200Decoder extends Decoder implements IFilteredRealBufferListener, 
+public class LJ1200Decoder extends Decoder implements ISharedFilterStageListener, 
 			Instrumentable
 {
 	/* Decimated sample rate ( 48,000 / 2 = 24,000 ) feeding the decoder */
@@ -57,6 +59,11 @@ public class LJ1200Decoder extends Decoder implements IFilteredRealBufferListene
 
 	/* Message length - 16-bit sync plus 64 bit message */
     private static final int MESSAGE_LENGTH = 80;
+
+	/* Front end filter stages - shared with other decoders that consume the same channel */
+	private static final List<RealFilterStage> FILTER_STAGES = Arrays.asList(
+		RealFilterStage.halfBandDecimator(Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0f),
+		RealFilterStage.fir(Filters.FIRBP_1200FSK_24000FS.getCoefficients(), 1.02f));
     
     /* Instrumentation Taps */
     private ArrayList<TapGroup> mAvailableTaps;
@@ -66,8 +73,8 @@ public class LJ1200Decoder extends Decoder implements IFilteredRealBufferListene
 			"Tap Point: FSK2 Decoder > < Message Framer";
 	
     private FSK2Decoder mFSKDecoder;
-    private Broadcaster<Boolean> mFSKDecoderBroadcaster = 
-    					new Broadcaster<Boolean>();
+    private BitRunBroadcaster mFSKDecoderBroadcaster = 
+    					new BitRunBroadcaster();
     
     private HalfBandFilter_RB_RB mDecimationFilter;
     private RealFIRFilter_RB_RB mBandPassFilter;
@@ -77,18 +84,10 @@ public class LJ1200Decoder extends Decoder implements IFilteredRealBufferListene
     
     public LJ1200Decoder( AliasList aliasList )
 	{
-        mDecimationFilter = new HalfBandFilter_RB_RB( 
-    		Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0f, true );
-
-        mBandPassFilter = new RealFIRFilter_RB_RB( 
-        		Filters.FIRBP_1200FSK_24000FS.getCoefficients(), 1.02f );
-        mDecimationFilter.setListener( mBandPassFilter );
-
         mFSKDecoder = new FSK2Decoder( DECIMATED_SAMPLE_RATE, 
         					SYMBOL_RATE, Output.INVERTED );
-        mBandPassFilter.setListener( mFSKDecoder );
 
-        mFSKDecoder.setListener( mFSKDecoderBroadcaster );
+        mFSKDecoder.setBitRunListener( mFSKDecoderBroadcaster );
 
         mTowerMessageFramer = new MessageFramer( 
         		SyncPattern.LJ1200.getPattern(), MESSAGE_LENGTH );
@@ -113,8 +112,12 @@ public class LJ1200Decoder extends Decoder implements IFilteredRealBufferListene
     {
     	super.dispose();
     	
-    	mDecimationFilter.dispose();
-    	mBandPassFilter.dispose();
+    	if( mDecimationFilter != null )
+    	{
+    		mDecimationFilter.dispose();
+    		mBandPassFilter.dispose();
+    	}
+
     	mFSKDecoder.dispose();
     	mTowerMessageFramer.dispose();
     	mMessageProcessor.dispose();
@@ -126,6 +129,8 @@ public class LJ1200Decoder extends Decoder implements IFilteredRealBufferListene
 	 */
 	public RealSampleListener getRealReceiver()
 	{
+		createFilters();
+
 		return (RealSampleListener)mDecimationFilter;
 	}
 	
@@ -159,13 +164,14 @@ public class LJ1200Decoder extends Decoder implements IFilteredRealBufferListene
 		{
 			case INSTRUMENT_BANDPASS_FILTER_TO_FSK2_DEMOD:
 				FloatBufferTap bpTap = (FloatBufferTap)tap;
+				createFilters();
 				mBandPassFilter.setListener( bpTap );
 				bpTap.setListener( mFSKDecoder );
 				break;
 			case INSTRUMENT_FSK2_DECODER_TO_MESSAGE_FRAMER:
 				BinaryTap decoderTap = (BinaryTap)tap;
 				mFSKDecoder.setListener( decoderTap );
-				decoderTap.setListener( mTowerMessageFramer );
+				decoderTap.setListener( mFSKDecoderBroadcaster );
 		        break;
 		}
     }
@@ -178,10 +184,13 @@ public class LJ1200Decoder extends Decoder implements IFilteredRealBufferListene
 		switch( tap.getName() )
 		{
 			case INSTRUMENT_BANDPASS_FILTER_TO_FSK2_DEMOD:
-				mBandPassFilter.setListener( mFSKDecoder );
+				if( mBandPassFilter != null )
+				{
+					mBandPassFilter.setListener( mFSKDecoder );
+				}
 				break;
 			case INSTRUMENT_FSK2_DECODER_TO_MESSAGE_FRAMER:
-				mFSKDecoder.setListener( mTowerMessageFramer );
+				mFSKDecoder.setBitRunListener( mFSKDecoderBroadcaster );
 		        break;
 		}
     }
@@ -189,9 +198,42 @@ public class LJ1200Decoder extends Decoder implements IFilteredRealBufferListene
 	@Override
 	public Listener<RealBuffer> getFilteredRealBufferListener()
 	{
+		createFilters();
+
 		return mDecimationFilter;
 	}
 
+	/**
+	 * Creates the decoder's own decimation and band pass filters on first use, for processing chains that don't
+	 * share filter stages.
+	 */
+	private void createFilters()
+	{
+		if( mDecimationFilter == null )
+		{
+			mDecimationFilter = new HalfBandFilter_RB_RB( 
+				Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0f, true );
+
+			mBandPassFilter = new RealFIRFilter_RB_RB( 
+				Filters.FIRBP_1200FSK_24000FS.getCoefficients(), 1.02f );
+
+			mDecimationFilter.setListener( mBandPassFilter );
+			mBandPassFilter.setListener( mFSKDecoder );
+		}
+	}
+
+	@Override
+	public List<RealFilterStage> getFilterStages()
+	{
+		return FILTER_STAGES;
+	}
+
+	@Override
+	public Listener<RealBuffer> getFilterStageListener()
+	{
+		return mFSKDecoder;
+	}
+
 	@Override
 	public void reset()
 	{
@@ -22,10 +22,11 @@ import io.github.dsheirer.bits.MessageFramer;
 import io.github.dsheirer.bits.SyncPattern;
 import io.github.dsheirer.dsp.NRZDecoder;
 import io.github.dsheirer.dsp.filter.Filters;
+import io.github.dsheirer.dsp.filter.RealFilterStage;
 import io.github.dsheirer.dsp.filter.fir.real.RealFIRFilter_RB_RB;
 import io.github.dsheirer.dsp.filter.halfband.real.HalfBandFilter_RB_RB;
-import io.github.dsheirer.dsp.fsk.FSK2Decoder;
 import io.github.dsheirer.dsp.fsk.FSK2Decoder.Output;
+import io.github.dsheirer.dsp.fsk.FSK2Decoder;
 import io.github.dsheirer.instrument.Instrumentable;
 import io.github.dsheirer.instrument.tap.Tap;
 import io.github.dsheirer.instrument.tap.TapGroup;
@@ -35,10 +36,11 @@ import io.github.dsheirer.instrument.tap.stream.FloatTap;
 import io.github.dsheirer.module.decode.Decoder;
 import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.sample.Listener;
-import io.github.dsheirer.sample.real.IFilteredRealBufferListener;
+import io.github.dsheirer.sample.real.ISharedFilterStageListener;
 import io.github.dsheirer.sample.real.RealBuffer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -46,7 +48,7 @@ import java.util.concurrent.ScheduledExecutorService;
  * MDC1200 Decoder - 1200 baud 2FSK decoder that can process 48k sample rate
  * complex or floating point samples and output fully framed MDC1200 messages
  */
-public class MDCDecoder extends Decoder implements IFilteredRealBufferListener, 
+public class MDCDecoder extends Decoder implements ISharedFilterStageListener, 
 												   Instrumentable
 {
 	/* Decimated sample rate ( 48,000 / 2 = 24,000 ) feeding the decoder */
@@ -57,6 +59,11 @@ public class MDCDecoder extends Decoder implements IFilteredRealBufferListener,
 
 	/* Message length */
     private static final int sMESSAGE_LENGTH = 304;
+
+	/* Front end filter stages - shared with other decoders that consume the same channel */
+	private static final List<RealFilterStage> FILTER_STAGES = Arrays.asList(
+		RealFilterStage.halfBandDecimator(Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0f),
+		RealFilterStage.fir(Filters.FIRBP_1200FSK_24000FS.getCoefficients(), 1.02f));
     
     /* Instrumentation Taps */
     private ArrayList<TapGroup> mAvailableTaps;
@@ -76,28 +83,18 @@ public class MDCDecoder extends Decoder implements IFilteredRealBufferListener,
     
     public MDCDecoder( AliasList aliasList )
 	{
-    	/* Decimation filter: 48000 / 2 = 24000 */
-    	mDecimationFilter = new HalfBandFilter_RB_RB( 
-    		Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0f, true );
-
-        /* Bandpass filter - predefined */
-        mBandPassFilter = new RealFIRFilter_RB_RB( 
-        		Filters.FIRBP_1200FSK_24000FS.getCoefficients(), 1.02f );
-        mDecimationFilter.setListener( mBandPassFilter );
-
         /* 2FSK Decoder */
     	mFSKDecoder = new FSK2Decoder( sDECIMATED_SAMPLE_RATE, 
 				   sSYMBOL_RATE, Output.NORMAL );
-        mBandPassFilter.setListener( mFSKDecoder );
 
         /* NRZ Decoder */
         mNRZDecoder = new NRZDecoder( NRZDecoder.MODE_INVERTED );
-        mFSKDecoder.setListener( mNRZDecoder );
+        mFSKDecoder.setBitRunListener( mNRZDecoder );
 
         /* Message Framer */
         mMessageFramer = new MessageFramer( SyncPattern.MDC1200.getPattern(), 
 				sMESSAGE_LENGTH );
-        mNRZDecoder.setListener( mMessageFramer );
+        mNRZDecoder.setBitRunListener( mMessageFramer );
 
         /* Message Processor */
         mMessageProcessor = new MDCMessageProcessor( aliasList );
@@ -109,8 +106,12 @@ public class MDCDecoder extends Decoder implements IFilteredRealBufferListener,
     {
     	super.dispose();
     	
-    	mDecimationFilter.dispose();
-    	mBandPassFilter.dispose();
+    	if( mDecimationFilter != null )
+    	{
+    		mDecimationFilter.dispose();
+    		mBandPassFilter.dispose();
+    	}
+
     	mFSKDecoder.dispose();
     	mNRZDecoder.dispose();
     	mMessageFramer.dispose();
@@ -151,6 +152,7 @@ public class MDCDecoder extends Decoder implements IFilteredRealBufferListener,
 			case INSTRUMENT_BANDPASS_FILTER_TO_FSK2_DEMOD:
 				/* wire the tap between the bandpass filter and the demod */
 				FloatBufferTap floatTap = (FloatBufferTap)tap; 
+				createFilters();
 		        mBandPassFilter.setListener( floatTap );
 		        floatTap.setListener( mFSKDecoder );
 				break;
@@ -178,13 +180,16 @@ public class MDCDecoder extends Decoder implements IFilteredRealBufferListener,
 		switch( tap.getName() )
 		{
 			case INSTRUMENT_BANDPASS_FILTER_TO_FSK2_DEMOD:
-		        mBandPassFilter.setListener( mFSKDecoder );
+				if( mBandPassFilter != null )
+				{
+					mBandPassFilter.setListener( mFSKDecoder );
+				}
 				break;
 			case INSTRUMENT_FSK2_DECODER_TO_NRZ_DECODER:
-				mFSKDecoder.setListener( mNRZDecoder );
+				mFSKDecoder.setBitRunListener( mNRZDecoder );
 				break;
 			case INSTRUMENT_NRZI_DECODER_TO_MESSAGE_FRAMER:
-				mNRZDecoder.setListener( mMessageFramer );
+				mNRZDecoder.setBitRunListener( mMessageFramer );
 		        break;
 			default:
 		}
@@ -199,9 +204,42 @@ public class MDCDecoder extends Decoder implements IFilteredRealBufferListener,
 	@Override
 	public Listener<RealBuffer> getFilteredRealBufferListener()
 	{
+		createFilters();
+
 		return mDecimationFilter;
 	}
 
+	/**
+	 * Creates the decoder's own decimation (48000 / 2 = 24000) and band pass filters on first use, for processing
+	 * chains that don't share filter stages.
+	 */
+	private void createFilters()
+	{
+		if( mDecimationFilter == null )
+		{
+			mDecimationFilter = new HalfBandFilter_RB_RB( 
+				Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0f, true );
+
+			mBandPassFilter = new RealFIRFilter_RB_RB( 
+				Filters.FIRBP_1200FSK_24000FS.getCoefficients(), 1.02f );
+
+			mDecimationFilter.setListener( mBandPassFilter );
+			mBandPassFilter.setListener( mFSKDecoder );
+		}
+	}
+
+	@Override
+	public List<RealFilterStage> getFilterStages()
+	{
+		return FILTER_STAGES;
+	}
+
+	@Override
+	public Listener<RealBuffer> getFilterStageListener()
+	{
+		return mFSKDecoder;
+	}
+
 	@Override
 	public void reset()
 	{
@@ -19,10 +19,12 @@
 package io.github.dsheirer.module.decode.mpt1327;
 
 import io.github.dsheirer.alias.AliasList;
+import io.github.dsheirer.bits.BitRunBroadcaster;
 import io.github.dsheirer.bits.MessageFramer;
 import io.github.dsheirer.bits.SyncPattern;
 import io.github.dsheirer.dsp.filter.FilterFactory;
 import io.github.dsheirer.dsp.filter.Filters;
+import io.github.dsheirer.dsp.filter.RealFilterStage;
 import io.github.dsheirer.dsp.filter.fir.FIRFilterSpecification;
 import io.github.dsheirer.dsp.filter.fir.real.RealFIRFilter_RB_RB;
 import io.github.dsheirer.dsp.filter.halfband.real.HalfBandFilter_RB_RB;
@@ -35,14 +37,14 @@ import io.github.dsheirer.instrument.tap.stream.FloatBufferTap;
 import io.github.dsheirer.instrument.tap.stream.FloatTap;
 import io.github.dsheirer.module.decode.Decoder;
 import io.github.dsheirer.module.decode.DecoderType;
-import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
-import io.github.dsheirer.sample.real.IFilteredRealBufferListener;
+import io.github.dsheirer.sample.real.ISharedFilterStageListener;
 import io.github.dsheirer.sample.real.RealBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -51,7 +53,7 @@ import java.util.concurrent.ScheduledExecutorService;
  * complex or floating point samples and output fully framed MPT1327 control and
  * traffic messages.
  */
-public class MPT1327Decoder extends Decoder implements IFilteredRealBufferListener, Instrumentable
+public class MPT1327Decoder extends Decoder implements ISharedFilterStageListener, Instrumentable
 {
     private final static Logger mLog = LoggerFactory.getLogger(MPT1327Decoder.class);
 
@@ -66,12 +68,17 @@ public class MPT1327Decoder extends Decoder implements IFilteredRealBufferListen
         .build();
 
     private static float[] HIGHPASS_FILTER;
+    private static List<RealFilterStage> FILTER_STAGES;
 
     static
     {
         try
         {
             HIGHPASS_FILTER = FilterFactory.getTaps(HIGH_PASS_SPECIFICATION);
+
+            FILTER_STAGES = Arrays.asList(
+                RealFilterStage.halfBandDecimator(Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0f),
+                RealFilterStage.fir(HIGHPASS_FILTER, 1.0f));
         }
         catch(Exception e)
         {
@@ -101,7 +108,7 @@ public class MPT1327Decoder extends Decoder implements IFilteredRealBufferListen
     private HalfBandFilter_RB_RB mDecimationFilter;
     private RealFIRFilter_RB_RB mHighPassFilter;
     private FSK2Decoder mFSKDecoder;
-    private Broadcaster<Boolean> mSymbolBroadcaster;
+    private BitRunBroadcaster mSymbolBroadcaster;
     private MessageFramer mControlMessageFramer;
     private MessageFramer mTrafficMessageFramer;
     private MPT1327MessageProcessor mMessageProcessor;
@@ -125,18 +132,8 @@ public class MPT1327Decoder extends Decoder implements IFilteredRealBufferListen
             throw new IllegalArgumentException("MPT1327 Decoder - unrecognized Sync type");
         }
 
-        /* Decimation filter - 48000 / 2 = 24000 output */
-        mDecimationFilter = new HalfBandFilter_RB_RB(Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0002f, true);
-
-        //High-pass filter the audio to remove any DC component or CTCSS tones. The audio has already been low-pass
-        //filtered by the AudioDemodulation filter cutoff of 3400 Hz.
-        mHighPassFilter = new RealFIRFilter_RB_RB(HIGHPASS_FILTER, 1.0f);
-        mDecimationFilter.setListener(mHighPassFilter);
-
-        mHighPassFilter.setListener(mFSKDecoder);
-
-        mSymbolBroadcaster = new Broadcaster<Boolean>();
-        mFSKDecoder.setListener(mSymbolBroadcaster);
+        mSymbolBroadcaster = new BitRunBroadcaster();
+        mFSKDecoder.setBitRunListener(mSymbolBroadcaster);
 
         /* Message framer for control channel messages */
         mControlMessageFramer = new MessageFramer(sync.getControlSyncPattern().getPattern(), sMESSAGE_LENGTH);
@@ -156,9 +153,44 @@ public class MPT1327Decoder extends Decoder implements IFilteredRealBufferListen
     @Override
     public Listener<RealBuffer> getFilteredRealBufferListener()
     {
+        createFilters();
+
         return mDecimationFilter;
     }
 
+    /**
+     * Creates the decoder's own decimation and high-pass filters on first use, for processing chains that don't
+     * share filter stages.
+     */
+    private void createFilters()
+    {
+        if(mDecimationFilter == null)
+        {
+            /* Decimation filter - 48000 / 2 = 24000 output */
+            mDecimationFilter = new HalfBandFilter_RB_RB(Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(),
+                1.0f, true);
+
+            //High-pass filter the audio to remove any DC component or CTCSS tones. The audio has already been
+            //low-pass filtered by the AudioDemodulation filter cutoff of 3400 Hz.
+            mHighPassFilter = new RealFIRFilter_RB_RB(HIGHPASS_FILTER, 1.0f);
+            mDecimationFilter.setListener(mHighPassFilter);
+
+            mHighPassFilter.setListener(mFSKDecoder);
+        }
+    }
+
+    @Override
+    public List<RealFilterStage> getFilterStages()
+    {
+        return FILTER_STAGES;
+    }
+
+    @Override
+    public Listener<RealBuffer> getFilterStageListener()
+    {
+        return mFSKDecoder;
+    }
+
     @Override
     public DecoderType getDecoderType()
     {
@@ -178,7 +210,10 @@ public class MPT1327Decoder extends Decoder implements IFilteredRealBufferListen
 
         mFSKDecoder.dispose();
 
-        mDecimationFilter.dispose();
+        if(mDecimationFilter != null)
+        {
+            mDecimationFilter.dispose();
+        }
 
         mMessageProcessor.dispose();
 
@@ -218,11 +253,13 @@ public class MPT1327Decoder extends Decoder implements IFilteredRealBufferListen
         {
             case INSTRUMENT_HB1_FILTER_TO_HIGH_PASS:
                 FloatBufferTap hb1Tap = (FloatBufferTap) tap;
+                createFilters();
                 mDecimationFilter.setListener(hb1Tap);
                 hb1Tap.setListener(mHighPassFilter);
                 break;
             case INSTRUMENT_HIGH_PASS_TO_DECODER:
                 FloatBufferTap lowTap = (FloatBufferTap) tap;
+                createFilters();
                 mHighPassFilter.setListener(lowTap);
                 lowTap.setListener(mFSKDecoder);
                 break;
@@ -242,13 +279,19 @@ public class MPT1327Decoder extends Decoder implements IFilteredRealBufferListen
         switch(tap.getName())
         {
             case INSTRUMENT_HB1_FILTER_TO_HIGH_PASS:
-                mDecimationFilter.setListener(mHighPassFilter);
+                if(mDecimationFilter != null)
+                {
+                    mDecimationFilter.setListener(mHighPassFilter);
+                }
                 break;
             case INSTRUMENT_HIGH_PASS_TO_DECODER:
-                mHighPassFilter.setListener(mFSKDecoder);
+                if(mHighPassFilter != null)
+                {
+                    mHighPassFilter.setListener(mFSKDecoder);
+                }
                 break;
             case INSTRUMENT_DECODER_TO_FRAMER:
-                mFSKDecoder.setListener(mSymbolBroadcaster);
+                mFSKDecoder.setBitRunListener(mSymbolBroadcaster);
                 break;
         }
     }
@@ -1,6 +1,7 @@
 package io.github.dsheirer.module.decode.p25;
 
 import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.dsp.symbol.ISymbolReliabilityProvider;
 import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.real.RealSampleListener;
@@ -11,11 +12,22 @@ import io.github.dsheirer.sample.real.RealSampleListener;
  * 
  * Supports registering listener(s) to receive normal and/or inverted symbol
  * output streams.
+ * 
+ * Provides the reliability of each bit of each symbol decision from the 
+ * distance of the sample to the bit's decision boundary: zero for the sign 
+ * (first) bit and the +/- threshold for the magnitude (second) bit.
  */
-public class C4FMSlicer implements RealSampleListener
+public class C4FMSlicer implements RealSampleListener, ISymbolReliabilityProvider
 {
 	private static final float THRESHOLD = 2.0f;
 
+	/* Distance from a decision boundary to the ideal symbol location */
+	private static final float SYMBOL_SPACING = 1.0f;
+	private static final float RELIABILITY_SCALE = MAXIMUM_RELIABILITY / SYMBOL_SPACING;
+
+	private int mBit1Reliability;
+	private int mBit2Reliability;
+
 	private Broadcaster<Dibit> mBroadcaster = new Broadcaster<Dibit>();
 	
 	public void dispose()
@@ -31,6 +43,13 @@ public class C4FMSlicer implements RealSampleListener
 	@Override
     public void receive( float sample )
     {
+		float magnitude = Math.abs( sample );
+
+		/* Distance to each bit's decision boundary, limited to the distance 
+		 * of an ideal symbol */
+		mBit1Reliability = getReliability( magnitude );
+		mBit2Reliability = getReliability( Math.abs( magnitude - THRESHOLD ) );
+
 		if( sample > 0.0 )
 		{
 			if( sample >= THRESHOLD )
@@ -56,6 +75,23 @@ public class C4FMSlicer implements RealSampleListener
 		}
     }
 
+	private static int getReliability( float distance )
+	{
+		return (int)( Math.min( distance, SYMBOL_SPACING ) * RELIABILITY_SCALE + 0.5f );
+	}
+
+	@Override
+	public int getBit1Reliability()
+	{
+		return mBit1Reliability;
+	}
+
+	@Override
+	public int getBit2Reliability()
+	{
+		return mBit2Reliability;
+	}
+
 	/**
 	 * Dispatches the symbol decision to any registered listeners
 	 */
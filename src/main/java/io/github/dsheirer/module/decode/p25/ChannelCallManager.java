@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.module.decode.p25;
+
+import io.github.dsheirer.module.decode.event.CallEvent;
+import io.github.dsheirer.sample.Broadcaster;
+import io.github.dsheirer.util.IntObjectMap;
+import io.github.dsheirer.util.TimerWheel;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Tracks the current call event for each channel granted on a P25 control channel.
+ *
+ * Calls are keyed by primitive channel and address values that are read directly from the channel grant messages,
+ * so that the channel grant and grant update messages that repeat continuously on a busy control channel are
+ * matched against the current calls without formatting or parsing channel and address strings.  Strings are only
+ * rendered when a call event is created or updated for display.
+ *
+ * Each call expires and is ended when it has not been refreshed by a channel grant or grant update within the call
+ * timeout, or when a different call is granted on the same channel.
+ */
+public class ChannelCallManager
+{
+    /* Address value for a missing (null) address */
+    public static final long NO_ADDRESS = -1L;
+
+    /* Address types so that group and unit addresses with the same value don't match */
+    private static final long GROUP_ADDRESS = 1L << 60;
+    private static final long UNIT_ADDRESS = 2L << 60;
+    private static final long FULLY_QUALIFIED_UNIT_ADDRESS = 3L << 60;
+    private static final long ADDRESS_TYPE_MASK = 3L << 60;
+
+    private static final long TICK_DURATION_MS = 1000;
+    private static final int TICK_COUNT = 64;
+
+    private IntObjectMap<ChannelCall> mChannelCalls = new IntObjectMap<>();
+    private TimerWheel mTimerWheel = new TimerWheel(TICK_DURATION_MS, TICK_COUNT);
+    private IntConsumer mExpiredCallProcessor = this::expire;
+    private Broadcaster<CallEvent> mCallEventBroadcaster;
+    private long mCallTimeout;
+    private long mTimestamp;
+
+    /**
+     * Constructs a channel call manager
+     *
+     * @param broadcaster for broadcasting call events that are ended by the manager
+     * @param callTimeout in milliseconds after the most recent channel grant or grant update for a call
+     */
+    public ChannelCallManager(Broadcaster<CallEvent> broadcaster, long callTimeout)
+    {
+        mCallEventBroadcaster = broadcaster;
+        mCallTimeout = callTimeout;
+    }
+
+    /**
+     * Channel value for the channel identifier (band) and channel number
+     */
+    public static int getChannel(int identifier, int number)
+    {
+        return (identifier << 12) | number;
+    }
+
+    /**
+     * Address value for a 16-bit talkgroup
+     */
+    public static long getGroupAddress(int group)
+    {
+        return GROUP_ADDRESS | group;
+    }
+
+    /**
+     * Address value for a 24-bit radio unit
+     */
+    public static long getUnitAddress(int unit)
+    {
+        return UNIT_ADDRESS | unit;
+    }
+
+    /**
+     * Address value for a fully qualified radio unit
+     *
+     * @param wacn 20-bit wide area communications network
+     * @param system 12-bit system
+     * @param unit 24-bit radio unit
+     */
+    public static long getUnitAddress(int wacn, int system, int unit)
+    {
+        return FULLY_QUALIFIED_UNIT_ADDRESS | ((long)wacn << 36) | ((long)system << 24) | unit;
+    }
+
+    /**
+     * Renders the address value in the same hexadecimal format as the message address fields, or null for a missing
+     * address.
+     */
+    public static String format(long address)
+    {
+        if(address == NO_ADDRESS)
+        {
+            return null;
+        }
+
+        switch((int)((address & ADDRESS_TYPE_MASK) >>> 60))
+        {
+            case 1:
+                return String.format("%04X", address & 0xFFFF);
+            case 2:
+                return String.format("%06X", address & 0xFFFFFF);
+            default:
+                return String.format("%05X-%03X-%06X", (address >>> 36) & 0xFFFFF, (address >>> 24) & 0xFFF,
+                    address & 0xFFFFFF);
+        }
+    }
+
+    /**
+     * Indicates if the address value is a group or unit address of zero, which is not a valid from address
+     */
+    private static boolean isZero(long address)
+    {
+        long type = address & ADDRESS_TYPE_MASK;
+
+        return (type == GROUP_ADDRESS || type == UNIT_ADDRESS) && (address & 0xFFFFFF) == 0;
+    }
+
+    /**
+     * Indicates if there is a current call on the channel to the address and from the address, or from an unknown
+     * address.  A matching call is refreshed so that it doesn't expire.
+     *
+     * @param channel value
+     * @param from address value or NO_ADDRESS
+     * @param to address value
+     * @return true if there is a matching call
+     */
+    public boolean hasCallEvent(int channel, long from, long to)
+    {
+        ChannelCall call = mChannelCalls.get(channel);
+
+        if(call != null && to != NO_ADDRESS && call.mTo == to &&
+            (from == NO_ADDRESS || call.mFrom == NO_ADDRESS || call.mFrom == from))
+        {
+            mTimerWheel.schedule(channel, mTimestamp + mCallTimeout);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Updates the from address of the current call on the channel when the call was granted without a from address
+     * and broadcasts the updated call event.
+     *
+     * @param channel value
+     * @param from address value or NO_ADDRESS
+     * @param to address value
+     */
+    public void updateCallEvent(int channel, long from, long to)
+    {
+        ChannelCall call = mChannelCalls.get(channel);
+
+        if(call != null && to != NO_ADDRESS && call.mTo == to && call.mFrom == NO_ADDRESS &&
+            from != NO_ADDRESS && !isZero(from))
+        {
+            call.mFrom = from;
+            call.mEvent.setFromID(format(from));
+            mCallEventBroadcaster.broadcast(call.mEvent);
+        }
+    }
+
+    /**
+     * Registers the call event as the current call on the channel.  Ends and broadcasts the previous call event for
+     * the channel.
+     *
+     * @param channel value
+     * @param from address value or NO_ADDRESS
+     * @param to address value
+     * @param event for the call
+     */
+    public void registerCallEvent(int channel, long from, long to, P25CallEvent event)
+    {
+        ChannelCall previous = mChannelCalls.put(channel, new ChannelCall(event, from, to));
+
+        if(previous != null)
+        {
+            end(previous);
+        }
+
+        mTimerWheel.schedule(channel, mTimestamp + mCallTimeout);
+    }
+
+    /**
+     * Current call event for the channel or null
+     */
+    public P25CallEvent getCallEvent(int channel)
+    {
+        ChannelCall call = mChannelCalls.get(channel);
+
+        return call != null ? call.mEvent : null;
+    }
+
+    /**
+     * Number of current calls
+     */
+    public int getCallCount()
+    {
+        return mChannelCalls.size();
+    }
+
+    /**
+     * Updates the current time and ends any calls that have expired
+     *
+     * @param timestamp in milliseconds, normally the time the most recent message was received
+     */
+    public void update(long timestamp)
+    {
+        mTimestamp = timestamp;
+        mTimerWheel.advance(timestamp, mExpiredCallProcessor);
+    }
+
+    /**
+     * Ends and removes the expired call for the channel
+     */
+    private void expire(int channel)
+    {
+        ChannelCall call = mChannelCalls.remove(channel);
+
+        if(call != null)
+        {
+            end(call);
+        }
+    }
+
+    private void end(ChannelCall call)
+    {
+        call.mEvent.end();
+        mCallEventBroadcaster.broadcast(call.mEvent);
+    }
+
+    /**
+     * Current call on a channel
+     */
+    private static class ChannelCall
+    {
+        private P25CallEvent mEvent;
+        private long mFrom;
+        private long mTo;
+
+        ChannelCall(P25CallEvent event, long from, long to)
+        {
+            mEvent = event;
+            mFrom = from;
+            mTo = to;
+        }
+    }
+}
@@ -131,6 +131,7 @@ import io.github.dsheirer.module.decode.p25.reference.IPProtocol;
 import io.github.dsheirer.module.decode.p25.reference.LinkControlOpcode;
 import io.github.dsheirer.module.decode.p25.reference.Response;
 import io.github.dsheirer.module.decode.p25.reference.Vendor;
+import io.github.dsheirer.util.IntLongMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -150,6 +151,9 @@ public class P25DecoderState extends DecoderState
     private static final DecimalFormat mFrequencyFormatter =
         new DecimalFormat("0.000000");
 
+    /* Calls and call detects end when they are not refreshed by a grant or channel update within the timeout */
+    private static final long CALL_TIMEOUT_MS = 10000;
+
 
     private NetworkStatusBroadcast mNetworkStatus;
     private NetworkStatusBroadcastExtended mNetworkStatusExtended;
@@ -162,7 +166,6 @@ public class P25DecoderState extends DecoderState
         new TreeSet<>();
 
     private Map<Integer,IdentifierUpdate> mBands = new HashMap<>();
-    private Map<String,Long> mRegistrations = new HashMap<>();
     private Map<String,IAdjacentSite> mNeighborMap = new HashMap<>();
 
     private String mLastCommandEventID;
@@ -186,9 +189,10 @@ public class P25DecoderState extends DecoderState
     private boolean mControlChannelShutdownLogged;
 
     private P25CallEvent mCurrentCallEvent;
-    private List<String> mCallDetectTalkgroups = new ArrayList<>();
-    private Map<String,P25CallEvent> mChannelCallMap = new HashMap<>();
+    private IntLongMap mCallDetectTalkgroups = new IntLongMap(0);
+    private ChannelCallManager mChannelCallManager;
     private PatchGroupManager mPatchGroupManager;
+    private long mTimestamp;
 
     public P25DecoderState(AliasList aliasList,
                            ChannelType channelType,
@@ -201,6 +205,7 @@ public class P25DecoderState extends DecoderState
         mIgnoreDataCalls = ignoreDataCalls;
 
         mPatchGroupManager = new PatchGroupManager(aliasList, getCallEventBroadcaster());
+        mChannelCallManager = new ChannelCallManager(getCallEventBroadcaster(), CALL_TIMEOUT_MS);
         mSiteAttributeMonitor = new AliasedStringAttributeMonitor(Attribute.NETWORK_ID_2,
             getAttributeChangeRequestListener(), getAliasList(), AliasIDType.SITE);
         mFromTalkgroupMonitor = new AliasedStringAttributeMonitor(Attribute.PRIMARY_ADDRESS_FROM,
@@ -267,90 +272,6 @@ public class P25DecoderState extends DecoderState
     {
     }
 
-    /**
-     * Indicates if there a call event exists for the specified channel and
-     * from and to talkgroup identifiers.
-     *
-     * @param channel - channel number
-     * @param from user id
-     * @param to talkgroup or user id
-     * @return true if there is a call event
-     */
-    public boolean hasCallEvent(String channel, String from, String to)
-    {
-        boolean hasEvent = false;
-
-        if(mChannelCallMap.containsKey(channel))
-        {
-            P25CallEvent event = mChannelCallMap.get(channel);
-
-            if(to != null &&
-                event.getToID() != null &&
-                to.contentEquals(event.getToID()))
-            {
-                if(from != null)
-                {
-                    if(event.getFromID() == null)
-                    {
-                        hasEvent = true;
-                    }
-                    else if(from.contentEquals(event.getFromID()))
-                    {
-                        hasEvent = true;
-                    }
-                }
-                else
-                {
-                    hasEvent = true;
-                }
-            }
-        }
-
-        return hasEvent;
-    }
-
-    /**
-     * Adds the channel and event to the current channel call map.  If an entry
-     * already exists, terminates the event and broadcasts the update.
-     *
-     * @param event to place in the map
-     */
-    public void registerCallEvent(P25CallEvent event)
-    {
-        String channel = event.getChannel();
-
-        if(mChannelCallMap.containsKey(event.getChannel()))
-        {
-            P25CallEvent previousEvent = mChannelCallMap.remove(event.getChannel());
-
-            previousEvent.end();
-
-            broadcast(previousEvent);
-        }
-
-        mChannelCallMap.put(event.getChannel(), event);
-    }
-
-    private void updateCallEvent(String channel, String from, String to)
-    {
-        P25CallEvent event = mChannelCallMap.get(channel);
-
-        if(event != null &&
-            to != null &&
-            event.getToID() != null &&
-            event.getToID().contentEquals(to))
-        {
-            if(event.getFromID() == null &&
-                from != null &&
-                !from.contentEquals("0000") &&
-                !from.contentEquals("000000"))
-            {
-                event.setFromID(from);
-                broadcast(event);
-            }
-        }
-    }
-
     /**
      * Primary message processing method.
      */
@@ -358,6 +279,9 @@ public class P25DecoderState extends DecoderState
     {
         if(message instanceof P25Message)
         {
+            mTimestamp = message.getTimeReceived();
+            mChannelCallManager.update(mTimestamp);
+
             updateNAC(((P25Message)message).getNAC());
 
 			/* Voice Vocoder messages */
@@ -558,34 +482,26 @@ public class P25DecoderState extends DecoderState
                 {
                     GroupVoiceChannelUpdate gvcu = (GroupVoiceChannelUpdate)tdulc;
 
-                    String groupA = gvcu.getGroupAddressA();
-
-                    if(!mCallDetectTalkgroups.contains(groupA))
+                    if(isNewCallDetect(gvcu.getGroupAddressAValue()))
                     {
                         broadcast(new P25CallEvent.Builder(CallEvent.CallEventType.CALL_DETECT)
                             .aliasList(getAliasList())
                             .channel(gvcu.getChannelA())
                             .details((gvcu.isEncrypted() ? "ENCRYPTED" : ""))
                             .frequency(gvcu.getDownlinkFrequencyA())
-                            .to(groupA)
+                            .to(gvcu.getGroupAddressA())
                             .build());
-
-                        mCallDetectTalkgroups.add(groupA);
                     }
 
-                    String groupB = gvcu.getGroupAddressB();
-
-                    if(!mCallDetectTalkgroups.contains(groupB))
+                    if(isNewCallDetect(gvcu.getGroupAddressBValue()))
                     {
                         broadcast(new P25CallEvent.Builder(CallEvent.CallEventType.CALL_DETECT)
                             .aliasList(getAliasList())
                             .channel(gvcu.getChannelB())
                             .details((gvcu.isEncrypted() ? "ENCRYPTED" : ""))
                             .frequency(gvcu.getDownlinkFrequencyB())
-                            .to(groupB)
+                            .to(gvcu.getGroupAddressB())
                             .build());
-
-                        mCallDetectTalkgroups.add(groupB);
                     }
                 }
                 break;
@@ -597,19 +513,15 @@ public class P25DecoderState extends DecoderState
                     GroupVoiceChannelUpdateExplicit gvcue =
                         (GroupVoiceChannelUpdateExplicit)tdulc;
 
-                    String group = gvcue.getGroupAddress();
-
-                    if(!mCallDetectTalkgroups.contains(group))
+                    if(isNewCallDetect(gvcue.getGroupAddressValue()))
                     {
                         broadcast(new P25CallEvent.Builder(CallEvent.CallEventType.CALL_DETECT)
                             .aliasList(getAliasList())
                             .channel(gvcue.getTransmitChannel())
                             .details((gvcue.isEncrypted() ? "ENCRYPTED" : ""))
                             .frequency(gvcue.getDownlinkFrequency())
-                            .to(group)
+                            .to(gvcue.getGroupAddress())
                             .build());
-
-                        mCallDetectTalkgroups.add(group);
                     }
                 }
                 break;
@@ -949,6 +861,21 @@ public class P25DecoderState extends DecoderState
         }
     }
 
+    /**
+     * Indicates if a call detect event should be broadcast for the talkgroup.  Call detects are broadcast once per
+     * talkgroup and again once the talkgroup has not been seen in a channel update for the call timeout period.
+     *
+     * @param group address value
+     * @return true if the talkgroup has not been seen within the call timeout period
+     */
+    private boolean isNewCallDetect(int group)
+    {
+        long lastSeen = mCallDetectTalkgroups.get(group);
+        mCallDetectTalkgroups.put(group, mTimestamp);
+
+        return lastSeen == 0 || (mTimestamp - lastSeen) > CALL_TIMEOUT_MS;
+    }
+
     /**
      * Log optional vendor format messages that we don't yet support so that we
      * can understand those messages and eventually add support.
@@ -1098,37 +1025,29 @@ public class P25DecoderState extends DecoderState
                         io.github.dsheirer.module.decode.p25.message.ldu.lc.GroupVoiceChannelUpdate gvcu =
                             (io.github.dsheirer.module.decode.p25.message.ldu.lc.GroupVoiceChannelUpdate)ldu;
 
-                        String userA = gvcu.getGroupAddressA();
-                        String userB = gvcu.getGroupAddressB();
-
                         if(mChannelType == ChannelType.STANDARD)
                         {
-                            if(!mCallDetectTalkgroups.contains(userA))
+                            if(isNewCallDetect(gvcu.getGroupAddressAValue()))
                             {
                                 broadcast(new P25CallEvent.Builder(CallEvent.CallEventType.CALL_DETECT)
                                     .aliasList(getAliasList())
                                     .channel(gvcu.getChannelA())
                                     .details((gvcu.isEncryptedLinkControlWord() ? "ENCRYPTED" : ""))
                                     .frequency(gvcu.getDownlinkFrequencyA())
-                                    .to(userA)
+                                    .to(gvcu.getGroupAddressA())
                                     .build());
-
-                                mCallDetectTalkgroups.add(userA);
                             }
 
-                            if(userB != null &&
-                                !userB.contentEquals("0000") &&
-                                !mCallDetectTalkgroups.contains(userB))
+                            if(gvcu.getGroupAddressBValue() != 0 &&
+                                isNewCallDetect(gvcu.getGroupAddressBValue()))
                             {
                                 broadcast(new P25CallEvent.Builder(CallEvent.CallEventType.CALL_DETECT)
                                     .aliasList(getAliasList())
                                     .channel(gvcu.getChannelB())
                                     .details((gvcu.isEncryptedLinkControlWord() ? "ENCRYPTED" : ""))
                                     .frequency(gvcu.getDownlinkFrequencyB())
-                                    .to(userB)
+                                    .to(gvcu.getGroupAddressB())
                                     .build());
-
-                                mCallDetectTalkgroups.add(userB);
                             }
                         }
                     }
@@ -1143,21 +1062,17 @@ public class P25DecoderState extends DecoderState
                         io.github.dsheirer.module.decode.p25.message.ldu.lc.GroupVoiceChannelUpdateExplicit gvcue =
                             (io.github.dsheirer.module.decode.p25.message.ldu.lc.GroupVoiceChannelUpdateExplicit)ldu;
 
-                        String group = gvcue.getGroupAddress();
-
                         if(mChannelType == ChannelType.STANDARD)
                         {
-                            if(!mCallDetectTalkgroups.contains(group))
+                            if(isNewCallDetect(gvcue.getGroupAddressValue()))
                             {
                                 broadcast(new P25CallEvent.Builder(CallEvent.CallEventType.CALL_DETECT)
                                     .aliasList(getAliasList())
                                     .channel(gvcue.getTransmitChannel())
                                     .details((gvcue.isEncryptedLinkControlWord() ? "ENCRYPTED" : ""))
                                     .frequency(gvcue.getDownlinkFrequency())
-                                    .to(group)
+                                    .to(gvcue.getGroupAddress())
                                     .build());
-
-                                mCallDetectTalkgroups.add(group);
                             }
                         }
                     }
@@ -2002,12 +1917,6 @@ public class P25DecoderState extends DecoderState
                         UnitRegistrationResponseExtended urr =
                             (UnitRegistrationResponseExtended)pdu;
 
-                        if(urr.getResponse() == Response.ACCEPT)
-                        {
-                            mRegistrations.put(urr.getAssignedSourceAddress(),
-                                System.currentTimeMillis());
-                        }
-
                         if(mLastRegistrationEventID == null || !mLastRegistrationEventID
                             .contentEquals(urr.getAssignedSourceAddress()))
                         {
@@ -2064,9 +1973,9 @@ public class P25DecoderState extends DecoderState
 
     private void processPDUChannelGrant(PDUMessage pdu)
     {
-        String channel = null;
-        String from = null;
-        String to = null;
+        int channel = 0;
+        long from = ChannelCallManager.NO_ADDRESS;
+        long to = ChannelCallManager.NO_ADDRESS;
 
         switch(pdu.getOpcode())
         {
@@ -2076,27 +1985,28 @@ public class P25DecoderState extends DecoderState
                     GroupDataChannelGrantExtended gdcge =
                         (GroupDataChannelGrantExtended)pdu;
 
-                    channel = gdcge.getTransmitChannel();
-                    from = gdcge.getSourceAddress();
-                    to = gdcge.getGroupAddress();
+                    channel = ChannelCallManager.getChannel(gdcge.getTransmitChannelIdentifier(),
+                        gdcge.getTransmitChannelNumber());
+                    from = ChannelCallManager.getUnitAddress(gdcge.getSourceAddressValue());
+                    to = ChannelCallManager.getGroupAddress(gdcge.getGroupAddressValue());
 
-                    if(hasCallEvent(channel, from, to))
+                    if(mChannelCallManager.hasCallEvent(channel, from, to))
                     {
-                        updateCallEvent(channel, from, to);
+                        mChannelCallManager.updateCallEvent(channel, from, to);
                     }
                     else
                     {
                         P25CallEvent callEvent = new P25CallEvent.Builder(CallEvent.CallEventType.DATA_CALL)
                             .aliasList(getAliasList())
-                            .channel(channel)
+                            .channel(gdcge.getTransmitChannel())
                             .details((gdcge.isEncrypted() ? "ENCRYPTED" : "") +
                                 (gdcge.isEmergency() ? " EMERGENCY" : ""))
                             .frequency(gdcge.getDownlinkFrequency())
-                            .from(from)
-                            .to(to)
+                            .from(gdcge.getSourceAddress())
+                            .to(gdcge.getGroupAddress())
                             .build();
 
-                        registerCallEvent(callEvent);
+                        mChannelCallManager.registerCallEvent(channel, from, to, callEvent);
                         broadcast(callEvent);
                     }
                 }
@@ -2107,8 +2017,9 @@ public class P25DecoderState extends DecoderState
 
                 if(!mIgnoreDataCalls)
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this,
-                        mChannelCallMap.get(channel)));
+                    //Alternate vendor grants are not tracked and allocate a channel without a call event
+                    broadcast(new TrafficChannelAllocationEvent(this, pdu instanceof GroupDataChannelGrantExtended ?
+                        mChannelCallManager.getCallEvent(channel) : null));
                 }
                 break;
             case GROUP_VOICE_CHANNEL_GRANT:
@@ -2117,32 +2028,33 @@ public class P25DecoderState extends DecoderState
                     GroupVoiceChannelGrantExplicit gvcge =
                         (GroupVoiceChannelGrantExplicit)pdu;
 
-                    channel = gvcge.getTransmitChannel();
-                    from = gvcge.getSourceAddress();
-                    to = gvcge.getGroupAddress();
+                    channel = ChannelCallManager.getChannel(gvcge.getTransmitChannelIdentifier(),
+                        gvcge.getTransmitChannelNumber());
+                    from = ChannelCallManager.getUnitAddress(gvcge.getSourceAddressValue());
+                    to = ChannelCallManager.getGroupAddress(gvcge.getGroupAddressValue());
 
-                    if(hasCallEvent(channel, from, to))
+                    if(mChannelCallManager.hasCallEvent(channel, from, to))
                     {
-                        updateCallEvent(channel, from, to);
+                        mChannelCallManager.updateCallEvent(channel, from, to);
                     }
                     else
                     {
                         P25CallEvent callEvent = new P25CallEvent.Builder(CallEvent.CallEventType.GROUP_CALL)
                             .aliasList(getAliasList())
-                            .channel(channel)
+                            .channel(gvcge.getTransmitChannel())
                             .details((gvcge.isEncrypted() ? "ENCRYPTED" : "") +
                                 (gvcge.isEmergency() ? " EMERGENCY" : ""))
                             .frequency(gvcge.getDownlinkFrequency())
-                            .from(from)
-                            .to(to)
+                            .from(gvcge.getSourceAddress())
+                            .to(gvcge.getGroupAddress())
                             .build();
 
-                        registerCallEvent(callEvent);
+                        mChannelCallManager.registerCallEvent(channel, from, to, callEvent);
                         broadcast(callEvent);
                     }
 
                     broadcast(new TrafficChannelAllocationEvent(this,
-                        mChannelCallMap.get(channel)));
+                        mChannelCallManager.getCallEvent(channel)));
                 }
                 else
                 {
@@ -2155,36 +2067,36 @@ public class P25DecoderState extends DecoderState
                     IndividualDataChannelGrantExtended idcge =
                         (IndividualDataChannelGrantExtended)pdu;
 
-                    channel = idcge.getTransmitChannel();
-                    from = idcge.getSourceWACN() + "-" +
-                        idcge.getSourceSystemID() + "-" +
-                        idcge.getSourceAddress();
-                    to = idcge.getTargetAddress();
+                    channel = ChannelCallManager.getChannel(idcge.getTransmitChannelIdentifier(),
+                        idcge.getTransmitChannelNumber());
+                    from = ChannelCallManager.getUnitAddress(idcge.getSourceWACNValue(),
+                        idcge.getSourceSystemIDValue(), idcge.getSourceAddressValue());
+                    to = ChannelCallManager.getUnitAddress(idcge.getTargetAddressValue());
 
-                    if(hasCallEvent(channel, from, to))
+                    if(mChannelCallManager.hasCallEvent(channel, from, to))
                     {
-                        updateCallEvent(channel, from, to);
+                        mChannelCallManager.updateCallEvent(channel, from, to);
                     }
                     else
                     {
                         P25CallEvent callEvent = new P25CallEvent.Builder(CallEvent.CallEventType.DATA_CALL)
                             .aliasList(getAliasList())
-                            .channel(channel)
+                            .channel(idcge.getTransmitChannel())
                             .details((idcge.isEncrypted() ? "ENCRYPTED" : "") +
                                 (idcge.isEmergency() ? " EMERGENCY" : ""))
                             .frequency(idcge.getDownlinkFrequency())
-                            .from(from)
-                            .to(to)
+                            .from(ChannelCallManager.format(from))
+                            .to(idcge.getTargetAddress())
                             .build();
 
-                        registerCallEvent(callEvent);
+                        mChannelCallManager.registerCallEvent(channel, from, to, callEvent);
                         broadcast(callEvent);
                     }
 
                     if(!mIgnoreDataCalls)
                     {
                         broadcast(new TrafficChannelAllocationEvent(this,
-                            mChannelCallMap.get(channel)));
+                            mChannelCallManager.getCallEvent(channel)));
                     }
                 }
                 else
@@ -2196,36 +2108,37 @@ public class P25DecoderState extends DecoderState
                 TelephoneInterconnectChannelGrantExplicit ticge =
                     (TelephoneInterconnectChannelGrantExplicit)pdu;
 
-                channel = ticge.getTransmitChannel();
+                channel = ChannelCallManager.getChannel(ticge.getTransmitChannelIdentifier(),
+                    ticge.getTransmitChannelNumber());
 
                 //We don't know if the subscriber is calling or being called, so
                 //we use the same address in both from/to fields
-                from = ticge.getAddress();
-                to = ticge.getAddress();
+                from = ChannelCallManager.getUnitAddress(ticge.getAddressValue());
+                to = from;
 
-                if(hasCallEvent(channel, from, to))
+                if(mChannelCallManager.hasCallEvent(channel, from, to))
                 {
-                    updateCallEvent(channel, from, to);
+                    mChannelCallManager.updateCallEvent(channel, from, to);
                 }
                 else
                 {
                     P25CallEvent callEvent = new P25CallEvent.Builder(CallEvent.CallEventType.TELEPHONE_INTERCONNECT)
                         .aliasList(getAliasList())
-                        .channel(channel)
+                        .channel(ticge.getTransmitChannel())
                         .details((ticge.isEncrypted() ? "ENCRYPTED" : "") +
                             (ticge.isEmergency() ? " EMERGENCY" : "") +
                             " CALL TIMER:" + ticge.getCallTimer())
                         .frequency(ticge.getDownlinkFrequency())
-                        .from(from)
-                        .to(to)
+                        .from(ticge.getAddress())
+                        .to(ticge.getAddress())
                         .build();
 
-                    registerCallEvent(callEvent);
+                    mChannelCallManager.registerCallEvent(channel, from, to, callEvent);
                     broadcast(callEvent);
                 }
 
                 broadcast(new TrafficChannelAllocationEvent(this,
-                    mChannelCallMap.get(channel)));
+                    mChannelCallManager.getCallEvent(channel)));
                 break;
             case UNIT_TO_UNIT_VOICE_CHANNEL_GRANT:
                 if(pdu instanceof UnitToUnitVoiceChannelGrantExtended)
@@ -2233,34 +2146,34 @@ public class P25DecoderState extends DecoderState
                     UnitToUnitVoiceChannelGrantExtended uuvcge =
                         (UnitToUnitVoiceChannelGrantExtended)pdu;
 
-                    channel = uuvcge.getTransmitChannel();
-                    from = uuvcge.getSourceWACN() + "-" +
-                        uuvcge.getSourceSystemID() + "-" +
-                        uuvcge.getSourceID();
-                    to = uuvcge.getTargetAddress();
+                    channel = ChannelCallManager.getChannel(uuvcge.getTransmitChannelIdentifier(),
+                        uuvcge.getTransmitChannelNumber());
+                    from = ChannelCallManager.getUnitAddress(uuvcge.getSourceWACNValue(),
+                        uuvcge.getSourceSystemIDValue(), uuvcge.getSourceIDValue());
+                    to = ChannelCallManager.getUnitAddress(uuvcge.getTargetAddressValue());
 
-                    if(hasCallEvent(channel, from, to))
+                    if(mChannelCallManager.hasCallEvent(channel, from, to))
                     {
-                        updateCallEvent(channel, from, to);
+                        mChannelCallManager.updateCallEvent(channel, from, to);
                     }
                     else
                     {
                         P25CallEvent callEvent = new P25CallEvent.Builder(CallEvent.CallEventType.UNIT_TO_UNIT_CALL)
                             .aliasList(getAliasList())
-                            .channel(channel)
+                            .channel(uuvcge.getTransmitChannel())
                             .details((uuvcge.isEncrypted() ? "ENCRYPTED" : "") +
                                 (uuvcge.isEmergency() ? " EMERGENCY" : ""))
                             .frequency(uuvcge.getDownlinkFrequency())
-                            .from(from)
-                            .to(to)
+                            .from(ChannelCallManager.format(from))
+                            .to(uuvcge.getTargetAddress())
                             .build();
 
-                        registerCallEvent(callEvent);
+                        mChannelCallManager.registerCallEvent(channel, from, to, callEvent);
                         broadcast(callEvent);
                     }
 
                     broadcast(new TrafficChannelAllocationEvent(this,
-                        mChannelCallMap.get(channel)));
+                        mChannelCallManager.getCallEvent(channel)));
                 }
                 else
                 {
@@ -2273,34 +2186,34 @@ public class P25DecoderState extends DecoderState
                     UnitToUnitVoiceChannelGrantUpdateExtended uuvcgue =
                         (UnitToUnitVoiceChannelGrantUpdateExtended)pdu;
 
-                    channel = uuvcgue.getTransmitChannel();
-                    from = uuvcgue.getSourceWACN() + "-" +
-                        uuvcgue.getSourceSystemID() + "-" +
-                        uuvcgue.getSourceID();
-                    to = uuvcgue.getTargetAddress();
+                    channel = ChannelCallManager.getChannel(uuvcgue.getTransmitChannelIdentifier(),
+                        uuvcgue.getTransmitChannelNumber());
+                    from = ChannelCallManager.getUnitAddress(uuvcgue.getSourceWACNValue(),
+                        uuvcgue.getSourceSystemIDValue(), uuvcgue.getSourceIDValue());
+                    to = ChannelCallManager.getUnitAddress(uuvcgue.getTargetAddressValue());
 
-                    if(hasCallEvent(channel, from, to))
+                    if(mChannelCallManager.hasCallEvent(channel, from, to))
                     {
-                        updateCallEvent(channel, from, to);
+                        mChannelCallManager.updateCallEvent(channel, from, to);
                     }
                     else
                     {
                         P25CallEvent callEvent = new P25CallEvent.Builder(CallEvent.CallEventType.UNIT_TO_UNIT_CALL)
                             .aliasList(getAliasList())
-                            .channel(channel)
+                            .channel(uuvcgue.getTransmitChannel())
                             .details((uuvcgue.isEncrypted() ? "ENCRYPTED" : "") +
                                 (uuvcgue.isEmergency() ? " EMERGENCY" : ""))
                             .frequency(uuvcgue.getDownlinkFrequency())
-                            .from(from)
-                            .to(to)
+                            .from(ChannelCallManager.format(from))
+                            .to(uuvcgue.getTargetAddress())
                             .build();
 
-                        registerCallEvent(callEvent);
+                        mChannelCallManager.registerCallEvent(channel, from, to, callEvent);
                         broadcast(callEvent);
                     }
 
                     broadcast(new TrafficChannelAllocationEvent(this,
-                        mChannelCallMap.get(channel)));
+                        mChannelCallManager.getCallEvent(channel)));
 
                 }
                 else
@@ -2528,12 +2441,6 @@ public class P25DecoderState extends DecoderState
                 LocationRegistrationResponse lrr =
                     (LocationRegistrationResponse)message;
 
-                if(lrr.getResponse() == Response.ACCEPT)
-                {
-                    mRegistrations.put(lrr.getTargetAddress(),
-                        System.currentTimeMillis());
-                }
-
                 if(mLastRegistrationEventID == null ||
                     !mLastRegistrationEventID.contentEquals(lrr.getTargetAddress()))
                 {
@@ -2605,12 +2512,6 @@ public class P25DecoderState extends DecoderState
             case UNIT_REGISTRATION_RESPONSE:
                 UnitRegistrationResponse urr = (UnitRegistrationResponse)message;
 
-                if(urr.getResponse() == Response.ACCEPT)
-                {
-                    mRegistrations.put(urr.getSourceAddress(),
-                        System.currentTimeMillis());
-                }
-
                 if(mLastRegistrationEventID == null ||
                     !mLastRegistrationEventID.contentEquals(urr.getSourceAddress()))
                 {
@@ -2638,22 +2539,6 @@ public class P25DecoderState extends DecoderState
                         .from(udr.getSourceID())
                         .build());
 
-                    List<String> keysToRemove = new ArrayList<String>();
-
-					/* Remove this radio from the registrations set */
-                    for(String key : mRegistrations.keySet())
-                    {
-                        if(key.startsWith(udr.getSourceID()))
-                        {
-                            keysToRemove.add(key);
-                        }
-                    }
-
-                    for(String key : keysToRemove)
-                    {
-                        mRegistrations.remove(key);
-                    }
-
                     mLastRegistrationEventID = udr.getSourceID();
                 }
                 break;
@@ -2724,9 +2609,9 @@ public class P25DecoderState extends DecoderState
      */
     private void processMotorolaTSBK(MotorolaTSBKMessage tsbk)
     {
-        String channel;
-        String from;
-        String to;
+        int channel;
+        long from;
+        long to;
 
         switch(((MotorolaTSBKMessage)tsbk).getMotorolaOpcode())
         {
@@ -2736,13 +2621,13 @@ public class P25DecoderState extends DecoderState
 
                 PatchGroupVoiceChannelGrant pgvcg = (PatchGroupVoiceChannelGrant)tsbk;
 
-                channel = pgvcg.getChannel();
-                from = pgvcg.getSourceAddress();
-                to = pgvcg.getPatchGroupAddress();
+                channel = ChannelCallManager.getChannel(pgvcg.getChannelIdentifier(), pgvcg.getChannelNumber());
+                from = ChannelCallManager.getUnitAddress(pgvcg.getSourceAddressValue());
+                to = ChannelCallManager.getGroupAddress(pgvcg.getPatchGroupAddressValue());
 
-                if(hasCallEvent(channel, from, to))
+                if(mChannelCallManager.hasCallEvent(channel, from, to))
                 {
-                    updateCallEvent(channel, from, to);
+                    mChannelCallManager.updateCallEvent(channel, from, to);
                 }
                 else
                 {
@@ -2755,20 +2640,20 @@ public class P25DecoderState extends DecoderState
 
                     P25CallEvent event = new P25CallEvent.Builder(CallEvent.CallEventType.PATCH_GROUP_CALL)
                         .aliasList(getAliasList())
-                        .channel(channel)
+                        .channel(pgvcg.getChannel())
                         .details(details.toString())
                         .frequency(pgvcg.getDownlinkFrequency())
-                        .from(from)
-                        .to(to)
+                        .from(pgvcg.getSourceAddress())
+                        .to(pgvcg.getPatchGroupAddress())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel, from, to, event);
                     broadcast(event);
                 }
 
                 if(!pgvcg.isTDMAChannel())
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel)));
+                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel)));
                 }
                 break;
             case PATCH_GROUP_CHANNEL_GRANT_UPDATE:
@@ -2777,58 +2662,58 @@ public class P25DecoderState extends DecoderState
 
                 PatchGroupVoiceChannelGrantUpdate gvcgu = (PatchGroupVoiceChannelGrantUpdate)tsbk;
 
-                channel = gvcgu.getChannel1();
-                to = gvcgu.getPatchGroupAddress1();
+                channel = ChannelCallManager.getChannel(gvcgu.getChannelIdentifier1(), gvcgu.getChannelNumber1());
+                to = ChannelCallManager.getGroupAddress(gvcgu.getPatchGroupAddress1Value());
 
-                if(hasCallEvent(channel, null, to))
+                if(mChannelCallManager.hasCallEvent(channel, ChannelCallManager.NO_ADDRESS, to))
                 {
-                    updateCallEvent(channel, null, to);
+                    mChannelCallManager.updateCallEvent(channel, ChannelCallManager.NO_ADDRESS, to);
                 }
                 else
                 {
                     P25CallEvent event = new P25CallEvent.Builder(CallEvent.CallEventType.PATCH_GROUP_CALL)
                         .aliasList(getAliasList())
-                        .channel(channel)
+                        .channel(gvcgu.getChannel1())
                         .details((gvcgu.isTDMAChannel1() ? "TDMA " : "") +
                             (gvcgu.isEncrypted() ? "ENCRYPTED " : ""))
                         .frequency(gvcgu.getDownlinkFrequency1())
-                        .to(to)
+                        .to(gvcgu.getPatchGroupAddress1())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel, ChannelCallManager.NO_ADDRESS, to, event);
                     broadcast(event);
                 }
 
                 if(!gvcgu.isTDMAChannel1())
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel)));
+                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel)));
                 }
 
-                String channel2 = gvcgu.getChannel2();
-                String to2 = gvcgu.getPatchGroupAddress2();
+                int channel2 = ChannelCallManager.getChannel(gvcgu.getChannelIdentifier2(), gvcgu.getChannelNumber2());
+                long to2 = ChannelCallManager.getGroupAddress(gvcgu.getPatchGroupAddress2Value());
 
-                if(hasCallEvent(channel2, null, to2))
+                if(mChannelCallManager.hasCallEvent(channel2, ChannelCallManager.NO_ADDRESS, to2))
                 {
-                    updateCallEvent(channel2, null, to2);
+                    mChannelCallManager.updateCallEvent(channel2, ChannelCallManager.NO_ADDRESS, to2);
                 }
                 else
                 {
                     P25CallEvent event = new P25CallEvent.Builder(CallEvent.CallEventType.PATCH_GROUP_CALL)
                         .aliasList(getAliasList())
-                        .channel(channel2)
+                        .channel(gvcgu.getChannel2())
                         .details((gvcgu.isTDMAChannel2() ? "TDMA " : "") +
                                 (gvcgu.isEncrypted() ? "ENCRYPTED " : ""))
                         .frequency(gvcgu.getDownlinkFrequency2())
-                        .to(to2)
+                        .to(gvcgu.getPatchGroupAddress2())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel2, ChannelCallManager.NO_ADDRESS, to2, event);
                     broadcast(event);
                 }
 
                 if(!gvcgu.isTDMAChannel2())
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel2)));
+                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel2)));
                 }
 
                 break;
@@ -2861,22 +2746,22 @@ public class P25DecoderState extends DecoderState
         //Cleanup patch groups - auto-expire any patch groups before we allocate a channel
         mPatchGroupManager.cleanupPatchGroups();
 
-        String channel = null;
-        String from = null;
-        String to = null;
+        int channel = 0;
+        long from = ChannelCallManager.NO_ADDRESS;
+        long to = ChannelCallManager.NO_ADDRESS;
 
         switch(message.getOpcode())
         {
             case GROUP_DATA_CHANNEL_GRANT:
                 GroupDataChannelGrant gdcg = (GroupDataChannelGrant)message;
 
-                channel = gdcg.getChannel();
-                from = gdcg.getSourceAddress();
-                to = gdcg.getGroupAddress();
+                channel = ChannelCallManager.getChannel(gdcg.getChannelIdentifier(), gdcg.getChannelNumber());
+                from = ChannelCallManager.getUnitAddress(gdcg.getSourceAddressValue());
+                to = ChannelCallManager.getGroupAddress(gdcg.getGroupAddressValue());
 
-                if(hasCallEvent(channel, from, to))
+                if(mChannelCallManager.hasCallEvent(channel, from, to))
                 {
-                    updateCallEvent(channel, from, to);
+                    mChannelCallManager.updateCallEvent(channel, from, to);
                 }
                 else
                 {
@@ -2889,33 +2774,33 @@ public class P25DecoderState extends DecoderState
 
                     P25CallEvent event = new P25CallEvent.Builder(CallEvent.CallEventType.DATA_CALL)
                         .aliasList(getAliasList())
-                        .channel(channel)
+                        .channel(gdcg.getChannel())
                         .details(details.toString())
                         .frequency(gdcg.getDownlinkFrequency())
-                        .from(from)
-                        .to(to)
+                        .from(gdcg.getSourceAddress())
+                        .to(gdcg.getGroupAddress())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel, from, to, event);
                     broadcast(event);
                 }
 
                 if(!mIgnoreDataCalls && !gdcg.isTDMAChannel())
                 {
                     broadcast(new TrafficChannelAllocationEvent(this,
-                        mChannelCallMap.get(channel)));
+                        mChannelCallManager.getCallEvent(channel)));
                 }
                 break;
             case GROUP_VOICE_CHANNEL_GRANT:
                 GroupVoiceChannelGrant gvcg = (GroupVoiceChannelGrant)message;
 
-                channel = gvcg.getChannel();
-                from = gvcg.getSourceAddress();
-                to = gvcg.getGroupAddress();
+                channel = ChannelCallManager.getChannel(gvcg.getChannelIdentifier(), gvcg.getChannelNumber());
+                from = ChannelCallManager.getUnitAddress(gvcg.getSourceAddressValue());
+                to = ChannelCallManager.getGroupAddress(gvcg.getGroupAddressValue());
 
-                if(hasCallEvent(channel, from, to))
+                if(mChannelCallManager.hasCallEvent(channel, from, to))
                 {
-                    updateCallEvent(channel, from, to);
+                    mChannelCallManager.updateCallEvent(channel, from, to);
                 }
                 else
                 {
@@ -2928,32 +2813,31 @@ public class P25DecoderState extends DecoderState
 
                     P25CallEvent event = new P25CallEvent.Builder(CallEvent.CallEventType.GROUP_CALL)
                         .aliasList(getAliasList())
-                        .channel(channel)
+                        .channel(gvcg.getChannel())
                         .details(details.toString())
                         .frequency(gvcg.getDownlinkFrequency())
-                        .from(from)
-                        .to(to)
+                        .from(gvcg.getSourceAddress())
+                        .to(gvcg.getGroupAddress())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel, from, to, event);
                     broadcast(event);
                 }
 
                 if(!gvcg.isTDMAChannel())
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel)));
+                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel)));
                 }
                 break;
             case GROUP_VOICE_CHANNEL_GRANT_UPDATE:
                 GroupVoiceChannelGrantUpdate gvcgu = (GroupVoiceChannelGrantUpdate)message;
 
-                channel = gvcgu.getChannel1();
-                from = null;
-                to = gvcgu.getGroupAddress1();
+                channel = ChannelCallManager.getChannel(gvcgu.getChannelIdentifier1(), gvcgu.getChannelNumber1());
+                to = ChannelCallManager.getGroupAddress(gvcgu.getGroupAddress1Value());
 
-                if(hasCallEvent(channel, from, to))
+                if(mChannelCallManager.hasCallEvent(channel, from, to))
                 {
-                    updateCallEvent(channel, from, to);
+                    mChannelCallManager.updateCallEvent(channel, from, to);
                 }
                 else
                 {
@@ -2969,27 +2853,26 @@ public class P25DecoderState extends DecoderState
                         .channel(gvcgu.getChannel1())
                         .details(details.toString())
                         .frequency(gvcgu.getDownlinkFrequency1())
-                        .from(from)
-                        .to(to)
+                        .to(gvcgu.getGroupAddress1())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel, from, to, event);
                     broadcast(event);
                 }
 
                 if(!gvcgu.isTDMAChannel1())
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel)));
+                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel)));
                 }
 
                 if(gvcgu.hasChannelNumber2())
                 {
-                    channel = gvcgu.getChannel2();
-                    to = gvcgu.getGroupAddress2();
+                    channel = ChannelCallManager.getChannel(gvcgu.getChannelIdentifier2(), gvcgu.getChannelNumber2());
+                    to = ChannelCallManager.getGroupAddress(gvcgu.getGroupAddress2Value());
 
-                    if(hasCallEvent(channel, from, to))
+                    if(mChannelCallManager.hasCallEvent(channel, from, to))
                     {
-                        updateCallEvent(channel, from, to);
+                        mChannelCallManager.updateCallEvent(channel, from, to);
                     }
                     else
                     {
@@ -3008,13 +2891,13 @@ public class P25DecoderState extends DecoderState
                             .to(gvcgu.getGroupAddress2())
                             .build();
 
-                        registerCallEvent(event2);
+                        mChannelCallManager.registerCallEvent(channel, from, to, event2);
                         broadcast(event2);
                     }
 
                     if(!gvcgu.isTDMAChannel2())
                     {
-                        broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel)));
+                        broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel)));
                     }
                 }
                 break;
@@ -3022,14 +2905,13 @@ public class P25DecoderState extends DecoderState
                 GroupVoiceChannelGrantUpdateExplicit gvcgue =
                     (GroupVoiceChannelGrantUpdateExplicit)message;
 
-                channel = gvcgue.getTransmitChannelIdentifier() + "-" +
-                    gvcgue.getTransmitChannelNumber();
-                from = null;
-                to = gvcgue.getGroupAddress();
+                channel = ChannelCallManager.getChannel(gvcgue.getTransmitChannelIdentifier(),
+                    gvcgue.getTransmitChannelNumber());
+                to = ChannelCallManager.getGroupAddress(gvcgue.getGroupAddressValue());
 
-                if(hasCallEvent(channel, from, to))
+                if(mChannelCallManager.hasCallEvent(channel, from, to))
                 {
-                    updateCallEvent(channel, from, to);
+                    mChannelCallManager.updateCallEvent(channel, from, to);
                 }
                 else
                 {
@@ -3042,32 +2924,31 @@ public class P25DecoderState extends DecoderState
 
                     P25CallEvent event = new P25CallEvent.Builder(CallEvent.CallEventType.GROUP_CALL)
                         .aliasList(getAliasList())
-                        .channel(channel)
+                        .channel(gvcgue.getTransmitChannelIdentifier() + "-" + gvcgue.getTransmitChannelNumber())
                         .details(details.toString())
                         .frequency(gvcgue.getDownlinkFrequency())
-                        .from(from)
-                        .to(to)
+                        .to(gvcgue.getGroupAddress())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel, from, to, event);
                     broadcast(event);
                 }
 
                 if(!gvcgue.isTDMAChannel())
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel)));
+                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel)));
                 }
                 break;
             case INDIVIDUAL_DATA_CHANNEL_GRANT:
                 IndividualDataChannelGrant idcg = (IndividualDataChannelGrant)message;
 
-                channel = idcg.getChannel();
-                from = idcg.getSourceAddress();
-                to = idcg.getTargetAddress();
+                channel = ChannelCallManager.getChannel(idcg.getChannelIdentifier(), idcg.getChannelNumber());
+                from = ChannelCallManager.getUnitAddress(idcg.getSourceAddressValue());
+                to = ChannelCallManager.getUnitAddress(idcg.getTargetAddressValue());
 
-                if(hasCallEvent(channel, from, to))
+                if(mChannelCallManager.hasCallEvent(channel, from, to))
                 {
-                    updateCallEvent(channel, from, to);
+                    mChannelCallManager.updateCallEvent(channel, from, to);
                 }
                 else
                 {
@@ -3080,32 +2961,32 @@ public class P25DecoderState extends DecoderState
 
                     P25CallEvent event = new P25CallEvent.Builder(CallEvent.CallEventType.DATA_CALL)
                         .aliasList(getAliasList())
-                        .channel(channel)
+                        .channel(idcg.getChannel())
                         .details(details.toString())
                         .frequency(idcg.getDownlinkFrequency())
-                        .from(from)
-                        .to(to)
+                        .from(idcg.getSourceAddress())
+                        .to(idcg.getTargetAddress())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel, from, to, event);
                     broadcast(event);
                 }
 
                 if(!mIgnoreDataCalls && !idcg.isTDMAChannel())
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel)));
+                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel)));
                 }
                 break;
             case SNDCP_DATA_CHANNEL_GRANT:
                 SNDCPDataChannelGrant sdcg = (SNDCPDataChannelGrant)message;
 
-                channel = sdcg.getTransmitChannel();
-                from = null;
-                to = sdcg.getTargetAddress();
+                channel = ChannelCallManager.getChannel(sdcg.getTransmitChannelIdentifier(),
+                    sdcg.getTransmitChannelNumber());
+                to = ChannelCallManager.getUnitAddress(sdcg.getTargetAddressValue());
 
-                if(hasCallEvent(channel, from, to))
+                if(mChannelCallManager.hasCallEvent(channel, from, to))
                 {
-                    updateCallEvent(channel, from, to);
+                    mChannelCallManager.updateCallEvent(channel, from, to);
                 }
                 else
                 {
@@ -3117,34 +2998,32 @@ public class P25DecoderState extends DecoderState
 
                     P25CallEvent event = new P25CallEvent.Builder(CallEvent.CallEventType.DATA_CALL)
                         .aliasList(getAliasList())
-                        .channel(channel)
+                        .channel(sdcg.getTransmitChannel())
                         .details(details.toString())
                         .frequency(sdcg.getDownlinkFrequency())
-                        .from(from)
-                        .to(to)
+                        .to(sdcg.getTargetAddress())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel, from, to, event);
                     broadcast(event);
                 }
 
                 if(!mIgnoreDataCalls && !sdcg.isTDMAChannel())
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel)));
+                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel)));
                 }
                 break;
             case TELEPHONE_INTERCONNECT_VOICE_CHANNEL_GRANT:
                 TelephoneInterconnectVoiceChannelGrant tivcg = (TelephoneInterconnectVoiceChannelGrant)message;
 
-                channel = tivcg.getChannel();
-                from = null;
+                channel = ChannelCallManager.getChannel(tivcg.getChannelIdentifier(), tivcg.getChannelNumber());
 				/* Address is ambiguous and could mean either source or target,
 				 * so we'll place the value in the to field */
-                to = tivcg.getAddress();
+                to = ChannelCallManager.getUnitAddress(tivcg.getSourceAddressValue());
 
-                if(hasCallEvent(channel, from, to))
+                if(mChannelCallManager.hasCallEvent(channel, from, to))
                 {
-                    updateCallEvent(channel, from, to);
+                    mChannelCallManager.updateCallEvent(channel, from, to);
                 }
                 else
                 {
@@ -3159,35 +3038,33 @@ public class P25DecoderState extends DecoderState
                     P25CallEvent event = new P25CallEvent.Builder(
                         CallEvent.CallEventType.TELEPHONE_INTERCONNECT)
                         .aliasList(getAliasList())
-                        .channel(channel)
+                        .channel(tivcg.getChannel())
                         .details(details.toString())
                         .frequency(tivcg.getDownlinkFrequency())
-                        .from(from)
-                        .to(to)
+                        .to(tivcg.getAddress())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel, from, to, event);
                     broadcast(event);
                 }
 
                 if(!tivcg.isTDMAChannel())
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel)));
+                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel)));
                 }
                 break;
             case TELEPHONE_INTERCONNECT_VOICE_CHANNEL_GRANT_UPDATE:
                 TelephoneInterconnectVoiceChannelGrantUpdate tivcgu = (TelephoneInterconnectVoiceChannelGrantUpdate)message;
 
-                channel = tivcgu.getChannelIdentifier() + "-" + tivcgu.getChannelNumber();
-                from = null;
+                channel = ChannelCallManager.getChannel(tivcgu.getChannelIdentifier(), tivcgu.getChannelNumber());
 
 				/* Address is ambiguous and could mean either source or target,
 				 * so we'll place the value in the to field */
-                to = tivcgu.getAddress();
+                to = ChannelCallManager.getUnitAddress(tivcgu.getSourceAddressValue());
 
-                if(hasCallEvent(channel, from, to))
+                if(mChannelCallManager.hasCallEvent(channel, from, to))
                 {
-                    updateCallEvent(channel, from, to);
+                    mChannelCallManager.updateCallEvent(channel, from, to);
                 }
                 else
                 {
@@ -3202,32 +3079,31 @@ public class P25DecoderState extends DecoderState
                     P25CallEvent event = new P25CallEvent.Builder(
                         CallEvent.CallEventType.TELEPHONE_INTERCONNECT)
                         .aliasList(getAliasList())
-                        .channel(channel)
+                        .channel(tivcgu.getChannel())
                         .details(details.toString())
                         .frequency(tivcgu.getDownlinkFrequency())
-                        .from(from)
-                        .to(to)
+                        .to(tivcgu.getAddress())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel, from, to, event);
                     broadcast(event);
                 }
 
                 if(!tivcgu.isTDMAChannel())
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel)));
+                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel)));
                 }
                 break;
             case UNIT_TO_UNIT_VOICE_CHANNEL_GRANT:
                 UnitToUnitVoiceChannelGrant uuvcg = (UnitToUnitVoiceChannelGrant)message;
 
-                channel = uuvcg.getChannelIdentifier() + "-" + uuvcg.getChannelNumber();
-                from = uuvcg.getSourceAddress();
-                to = uuvcg.getTargetAddress();
+                channel = ChannelCallManager.getChannel(uuvcg.getChannelIdentifier(), uuvcg.getChannelNumber());
+                from = ChannelCallManager.getUnitAddress(uuvcg.getSourceAddressValue());
+                to = ChannelCallManager.getUnitAddress(uuvcg.getTargetAddressValue());
 
-                if(hasCallEvent(channel, from, to))
+                if(mChannelCallManager.hasCallEvent(channel, from, to))
                 {
-                    updateCallEvent(channel, from, to);
+                    mChannelCallManager.updateCallEvent(channel, from, to);
                 }
                 else
                 {
@@ -3241,32 +3117,32 @@ public class P25DecoderState extends DecoderState
                     P25CallEvent event = new P25CallEvent.Builder(
                         CallEvent.CallEventType.UNIT_TO_UNIT_CALL)
                         .aliasList(getAliasList())
-                        .channel(channel)
+                        .channel(uuvcg.getChannel())
                         .details(details.toString())
                         .frequency(uuvcg.getDownlinkFrequency())
-                        .from(from)
-                        .to(to)
+                        .from(uuvcg.getSourceAddress())
+                        .to(uuvcg.getTargetAddress())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel, from, to, event);
                     broadcast(event);
                 }
 
                 if(!uuvcg.isTDMAChannel())
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel)));
+                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel)));
                 }
                 break;
             case UNIT_TO_UNIT_VOICE_CHANNEL_GRANT_UPDATE:
                 UnitToUnitVoiceChannelGrantUpdate uuvcgu = (UnitToUnitVoiceChannelGrantUpdate)message;
 
-                channel = uuvcgu.getChannelIdentifier() + "-" + uuvcgu.getChannelNumber();
-                from = uuvcgu.getSourceAddress();
-                to = uuvcgu.getTargetAddress();
+                channel = ChannelCallManager.getChannel(uuvcgu.getChannelIdentifier(), uuvcgu.getChannelNumber());
+                from = ChannelCallManager.getUnitAddress(uuvcgu.getSourceAddressValue());
+                to = ChannelCallManager.getUnitAddress(uuvcgu.getTargetAddressValue());
 
-                if(hasCallEvent(channel, from, to))
+                if(mChannelCallManager.hasCallEvent(channel, from, to))
                 {
-                    updateCallEvent(channel, from, to);
+                    mChannelCallManager.updateCallEvent(channel, from, to);
                 }
                 else
                 {
@@ -3280,20 +3156,20 @@ public class P25DecoderState extends DecoderState
                     P25CallEvent event = new P25CallEvent.Builder(
                         CallEvent.CallEventType.UNIT_TO_UNIT_CALL)
                         .aliasList(getAliasList())
-                        .channel(channel)
+                        .channel(uuvcgu.getChannel())
                         .details(details.toString())
                         .frequency(uuvcgu.getDownlinkFrequency())
-                        .from(from)
-                        .to(to)
+                        .from(uuvcgu.getSourceAddress())
+                        .to(uuvcgu.getTargetAddress())
                         .build();
 
-                    registerCallEvent(event);
+                    mChannelCallManager.registerCallEvent(channel, from, to, event);
                     broadcast(event);
                 }
 
                 if(!uuvcgu.isTDMAChannel())
                 {
-                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallMap.get(channel)));
+                    broadcast(new TrafficChannelAllocationEvent(this, mChannelCallManager.getCallEvent(channel)));
                 }
                 break;
             default:
@@ -70,6 +70,23 @@ public class P25Interleave
 		return deinterleave( DATA_DEINTERLEAVE, message, start, end );
 	}
 	
+	/**
+	 * Deinterleaves per-bit values (e.g. bit reliabilities) for a 196-bit 
+	 * data block, applying the same reordering as the data block deinterleave.
+	 * 
+	 * @param values - source array of bit values
+	 * @param offset - index of the first bit of the block in the source array
+	 * @param deinterleaved - array to receive the 196 deinterleaved bit values
+	 */
+	public static void deinterleaveData( int[] values, int offset, 
+			int[] deinterleaved )
+	{
+		for( int x = 0; x < DATA_DEINTERLEAVE.length; x++ )
+		{
+			deinterleaved[ DATA_DEINTERLEAVE[ x ] ] = values[ offset + x ];
+		}
+	}
+	
 	public static BinaryMessage deinterleaveVoice( BinaryMessage message, 
 			int start, int end )
 	{
@@ -2,7 +2,6 @@ package io.github.dsheirer.module.decode.p25;
 
 import io.github.dsheirer.alias.AliasList;
 import io.github.dsheirer.bits.BinaryMessage;
-import io.github.dsheirer.bits.BitSetFullException;
 import io.github.dsheirer.bits.ISyncDetectListener;
 import io.github.dsheirer.bits.MultiSyncPatternMatcher;
 import io.github.dsheirer.bits.SoftSyncDetector;
@@ -10,6 +9,7 @@ import io.github.dsheirer.bits.SyncDetector;
 import io.github.dsheirer.dsp.psk.LSMDemodulator;
 import io.github.dsheirer.dsp.symbol.Dibit;
 import io.github.dsheirer.dsp.symbol.FrameSync;
+import io.github.dsheirer.dsp.symbol.ISymbolReliabilityProvider;
 import io.github.dsheirer.edac.BCH_63_16_11;
 import io.github.dsheirer.edac.CRC;
 import io.github.dsheirer.edac.CRCP25;
@@ -36,6 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 public class P25MessageFramer implements Listener<Dibit>
 {
@@ -81,6 +82,8 @@ public class P25MessageFramer implements Listener<Dibit>
 	private Trellis_1_2_Rate mHalfRate = new Trellis_1_2_Rate();
 	private Trellis_3_4_Rate mThreeQuarterRate = new Trellis_3_4_Rate();
 	private BCH_63_16_11 mNIDDecoder = new BCH_63_16_11();
+	private ISymbolReliabilityProvider mReliabilityProvider;
+	private int[] mBlockReliability = new int[ 196 ];
 	
 	/**
 	 * Constructs a P25 message framer to receive a stream of symbols and
@@ -152,6 +155,7 @@ public class P25MessageFramer implements Listener<Dibit>
 
 		mListener = null;
 		mAliasList = null;
+		mReliabilityProvider = null;
 		
 		mMatcher.dispose();
 		mMatcher = null;
@@ -193,6 +197,17 @@ public class P25MessageFramer implements Listener<Dibit>
 		mListener = listener;
     }
 
+    /**
+     * Sets the symbol slicer that provides the reliability of each received
+     * bit, to enable soft decision trellis decoding of TSBK and PDU blocks.
+     * Trellis blocks are decoded using hard decisions when a provider is not
+     * set.
+     */
+    public void setSymbolReliabilityProvider( ISymbolReliabilityProvider provider )
+    {
+    	mReliabilityProvider = provider;
+    }
+
     public void removeListener( Listener<Message> listener )
     {
 		mListener = null;
@@ -204,6 +219,8 @@ public class P25MessageFramer implements Listener<Dibit>
     	 * account for the 48-bit sync pattern which is not included in message */
     	private int mStatusSymbolPointer = 24;
     	private BinaryMessage mMessage;
+    	/* Reliability of each received bit, indexed by message bit position */
+    	private int[] mReliability;
         private int mMessageLength;
         private boolean mComplete = false;
         private boolean mActive = false;
@@ -213,6 +230,7 @@ public class P25MessageFramer implements Listener<Dibit>
         {
         	mMessageLength = mDUID.getMessageLength();
             mMessage = new BinaryMessage( mMessageLength );
+            mReliability = new int[ mMessageLength ];
         	reset();
         }
         
@@ -228,15 +246,16 @@ public class P25MessageFramer implements Listener<Dibit>
         		{
         			mStatusSymbolPointer++;
 
-                    try
-                    {
-                        mMessage.add( dibit.getBit1() );
-                        mMessage.add( dibit.getBit2() );
-                    }
-                    catch( BitSetFullException e )
+                    if( mReliabilityProvider != null )
                     {
-                         mComplete = true;
+                    	setReliability( mMessage.pointer(), 
+                    			mReliabilityProvider.getBit1Reliability() );
+                    	setReliability( mMessage.pointer() + 1, 
+                    			mReliabilityProvider.getBit2Reliability() );
                     }
+
+                    append( dibit.getBit1() );
+                    append( dibit.getBit2() );
          
                     /* Check the message for complete */
                     if( mMessage.isFull() )
@@ -247,6 +266,55 @@ public class P25MessageFramer implements Listener<Dibit>
         	}
         }
 
+        /**
+         * Appends the bit at the message pointer, or flags the message as
+         * complete when the message is already full.
+         */
+        private void append( boolean bit )
+        {
+        	if( mMessage.isFull() )
+        	{
+        		mComplete = true;
+        	}
+        	else
+        	{
+        		mMessage.set( mMessage.pointer(), bit );
+        		mMessage.adjustPointer( 1 );
+        	}
+        }
+
+        /**
+         * Stores the reliability for the bit at the bit index, growing the
+         * reliability array as needed for long (confirmed PDU) messages.
+         */
+        private void setReliability( int index, int reliability )
+        {
+        	if( index >= mReliability.length )
+        	{
+        		mReliability = Arrays.copyOf( mReliability, 
+        				Math.max( index + 1, mReliability.length * 2 ) );
+        	}
+        	
+        	mReliability[ index ] = reliability;
+        }
+
+        /**
+         * Deinterleaved bit reliabilities for the 196-bit trellis block that
+         * starts at the bit index, or null for hard decision decoding when
+         * bit reliabilities are not available.
+         */
+        private int[] getBlockReliability( int start )
+        {
+        	if( mReliabilityProvider == null || start + 196 > mReliability.length )
+        	{
+        		return null;
+        	}
+        	
+        	P25Interleave.deinterleaveData( mReliability, start, mBlockReliability );
+        	
+        	return mBlockReliability;
+        }
+
         public void reset()
         {
         	mDUID = DataUnitID.NID;
@@ -330,7 +398,8 @@ public class P25MessageFramer implements Listener<Dibit>
 	
 					/* Remove trellis encoding - abort processing if we have an
 					 * unsuccessful decode due to excessive errors */
-					if( mHalfRate.decode( mMessage, PDU0_BEGIN, PDU0_END ) )
+					if( mHalfRate.decode( mMessage, PDU0_BEGIN, PDU0_END, 
+							getBlockReliability( PDU0_BEGIN ) ) )
 					{
 						mMessage = CRCP25.correctCCITT80( mMessage, 
 								PDU0_BEGIN, PDU0_CRC_BEGIN );
@@ -372,7 +441,8 @@ public class P25MessageFramer implements Listener<Dibit>
 	
 					/* Remove trellis encoding - abort processing if we have an
 					 * unsuccessful decode due to excessive errors */
-					if( mHalfRate.decode( mMessage, PDU1_BEGIN, PDU1_END ) )
+					if( mHalfRate.decode( mMessage, PDU1_BEGIN, PDU1_END, 
+							getBlockReliability( PDU1_BEGIN ) ) )
 					{
 						if( mMessage.getInt( PDUMessage.BLOCKS_TO_FOLLOW ) == 1 )
 						{
@@ -403,7 +473,8 @@ public class P25MessageFramer implements Listener<Dibit>
 	
 					/* Remove trellis encoding - abort processing if we have an
 					 * unsuccessful decode due to excessive errors */
-					if( mHalfRate.decode( mMessage, PDU2_BEGIN, PDU2_END ) )
+					if( mHalfRate.decode( mMessage, PDU2_BEGIN, PDU2_END, 
+							getBlockReliability( PDU2_BEGIN ) ) )
 					{
 						if( mMessage.getInt( PDUMessage.BLOCKS_TO_FOLLOW ) == 2 )
 						{
@@ -437,7 +508,8 @@ public class P25MessageFramer implements Listener<Dibit>
 	
 					/* Remove trellis encoding - abort processing if we have an
 					 * unsuccessful decode due to excessive errors */
-					if( mHalfRate.decode( mMessage, PDU3_BEGIN, PDU3_END ) )
+					if( mHalfRate.decode( mMessage, PDU3_BEGIN, PDU3_END, 
+							getBlockReliability( PDU3_BEGIN ) ) )
 					{
 						mMessage.setSize( PDU3_DECODED_END );
 						
@@ -455,7 +527,8 @@ public class P25MessageFramer implements Listener<Dibit>
 
 					/* Decode 3/4 rate convolutional encoding from latest block */
 					if( mThreeQuarterRate.decode( mMessage, 
-							mMessage.size() - 196, mMessage.size() ) )
+							mMessage.size() - 196, mMessage.size(), 
+							getBlockReliability( mMessage.size() - 196 ) ) )
 					{
 						/* Resize the message and adjust the message pointer
 						 * to account for removing 48 + 4 parity bits */
@@ -526,7 +599,8 @@ public class P25MessageFramer implements Listener<Dibit>
 					/* Remove trellis encoding - abort processing if we have an
 					 * unsuccessful decode due to excessive errors */
 					
-					if( mHalfRate.decode( mMessage, TSBK_BEGIN, TSBK_END ) )
+					if( mHalfRate.decode( mMessage, TSBK_BEGIN, TSBK_END, 
+							getBlockReliability( TSBK_BEGIN ) ) )
 					{
 						mMessage = CRCP25.correctCCITT80( mMessage, 
 								TSBK_BEGIN, TSBK_CRC_START );
@@ -570,7 +644,8 @@ public class P25MessageFramer implements Listener<Dibit>
 
 					/* Remove trellis encoding - abort processing if we have an
 					 * unsuccessful decode due to excessive errors */
-					if( mHalfRate.decode( mMessage, TSBK_BEGIN, TSBK_END ) )
+					if( mHalfRate.decode( mMessage, TSBK_BEGIN, TSBK_END, 
+							getBlockReliability( TSBK_BEGIN ) ) )
 					{
 						mMessage = CRCP25.correctCCITT80( mMessage, 
 								TSBK_BEGIN, TSBK_CRC_START );
@@ -611,7 +686,8 @@ public class P25MessageFramer implements Listener<Dibit>
 	
 					/* Remove trellis encoding - abort processing if we have an
 					 * unsuccessful decode due to excessive errors */
-					if( mHalfRate.decode( mMessage, TSBK_BEGIN, TSBK_END ) )
+					if( mHalfRate.decode( mMessage, TSBK_BEGIN, TSBK_END, 
+							getBlockReliability( TSBK_BEGIN ) ) )
 					{
 						mMessage = CRCP25.correctCCITT80( mMessage, 
 								TSBK_BEGIN, TSBK_CRC_START );
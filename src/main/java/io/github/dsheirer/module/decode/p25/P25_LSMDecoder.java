@@ -55,6 +55,7 @@ public class P25_LSMDecoder extends P25Decoder implements IComplexBufferListener
 	private List<TapGroup> mAvailableTaps;
 	
 	private ComplexFIRFilter_CB_CB mBasebandFilter;
+	private Listener<ComplexBuffer> mComplexBufferListener = new ComplexBufferReceiver();
 	private ComplexBufferToStreamConverter mStreamConverter = new ComplexBufferToStreamConverter();
 	private ComplexFeedForwardGainControl mAGC = 
 							new ComplexFeedForwardGainControl( 32 );
@@ -79,6 +80,7 @@ public class P25_LSMDecoder extends P25Decoder implements IComplexBufferListener
 		
 		mMessageFramer = new P25MessageFramer( aliasList, mLSMDemodulator );
 		mQPSKSlicer.addListener( mMessageFramer );
+		mMessageFramer.setSymbolReliabilityProvider( mQPSKSlicer );
 		
         mMessageFramer.setListener( getMessageProcessor() );
 	}
@@ -132,7 +134,7 @@ public class P25_LSMDecoder extends P25Decoder implements IComplexBufferListener
     @Override
 	public Listener<ComplexBuffer> getComplexBufferListener()
 	{
-		return mBasebandFilter;
+		return mComplexBufferListener;
 	}
 
 	public Modulation getModulation()
@@ -256,4 +258,24 @@ public class P25_LSMDecoder extends P25Decoder implements IComplexBufferListener
 		// TODO Auto-generated method stub
 		
 	}
+
+	/**
+	 * Filters and demodulates each complex buffer and releases the buffer once
+	 * demodulated
+	 */
+	private class ComplexBufferReceiver implements Listener<ComplexBuffer>
+	{
+		@Override
+		public void receive( ComplexBuffer buffer )
+		{
+			ComplexFIRFilter_CB_CB filter = mBasebandFilter;
+
+			if( filter != null )
+			{
+				filter.receive( buffer );
+			}
+
+			buffer.decrementUserCount();
+		}
+	}
 }
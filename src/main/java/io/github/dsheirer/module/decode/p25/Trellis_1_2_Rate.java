@@ -2,342 +2,108 @@ package io.github.dsheirer.module.decode.p25;
 
 import io.github.dsheirer.bits.BinaryMessage;
 import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.edac.trellis.ConstellationViterbiDecoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.Random;
 
+/**
+ * P25 1/2 rate trellis decoder.  Decodes a deinterleaved 196-bit block 
+ * containing 49 transmitted 4-bit constellations into 98 bits (48 data dibits
+ * and 1 flushing dibit) using a table driven Viterbi decoder.
+ * 
+ * Supports hard decision decoding, or soft decision decoding when the 
+ * reliability of each received bit is available from the symbol slicer.
+ */
 public class Trellis_1_2_Rate
 {
-	public final static int MAX_ERROR_THRESHOLD = 7;
+	/* Maximum number of bit errors corrected in a block before the block is rejected */
+	public final static int MAX_ERROR_THRESHOLD = 12;
 	
 	private final static Logger mLog = 
 			LoggerFactory.getLogger( Trellis_1_2_Rate.class );
 
-	private ArrayList<ConstellationNode> mConstellationNodes = 
-				new ArrayList<ConstellationNode>();
+	public static final int CONSTELLATION_COUNT = 49;
 
-	private static final int[][] CONSTELLATION_COSTS = 
-		{ { 0,1,1,2,1,2,2,3,1,2,2,3,2,3,3,4 },
-		  { 1,0,2,1,2,1,3,2,2,1,3,2,3,2,4,3 },
-		  { 1,2,0,1,2,3,1,2,2,3,1,2,3,4,2,3 },
-		  { 2,1,1,0,3,2,2,1,3,2,2,1,4,3,3,2 },
-		  { 1,2,2,3,0,1,1,2,2,3,3,4,1,2,2,3 },
-		  { 2,1,3,2,1,0,2,1,3,2,4,3,2,1,3,2 },
-		  { 2,3,1,2,1,2,0,1,3,4,2,3,2,3,1,2 },
-		  { 3,2,2,1,2,1,1,0,4,3,3,2,3,2,2,1 },
-		  { 1,2,2,3,2,3,3,4,0,1,1,2,1,2,2,3 },
-		  { 2,1,3,2,3,2,4,3,1,0,2,1,2,1,3,2 },
-		  { 2,3,1,2,3,4,2,3,1,2,0,1,2,3,1,2 },
-		  { 3,2,2,1,4,3,3,2,2,1,1,0,3,2,2,1 },
-		  { 2,3,3,4,1,2,2,3,1,2,2,3,0,1,1,2 },
-		  { 3,2,4,3,2,1,3,2,2,1,3,2,1,0,2,1 },
-		  { 3,4,2,3,2,3,1,2,2,3,1,2,1,2,0,1 },
-		  { 4,3,3,2,3,2,2,1,3,2,2,1,2,1,1,0 } };
-		
-	public Trellis_1_2_Rate()
+	/* Transmitted constellation values indexed by [state dibit][input dibit] */
+	private static final int[][] CONSTELLATIONS = new int[ 4 ][ 4 ];
+
+	static
 	{
-		/* Create 49 x 4-bit constellation nodes to handle 196-bit blocks */
-		ConstellationNode previous = null;
-		
-		for( int x = 0; x < 49; x++ )
+		for( Dibit state: Dibit.values() )
 		{
-			ConstellationNode node = new ConstellationNode();
-
-			if( previous != null )
+			for( Dibit input: Dibit.values() )
 			{
-				previous.connect( node );
+				CONSTELLATIONS[ state.getLowValue() ][ input.getLowValue() ] = 
+					Constellation.fromStateAndInputDibits( state, input ).getTransmittedValue();
 			}
-			
-			previous = node;
-			
-			mConstellationNodes.add( node );
 		}
 	}
+
+	private ConstellationViterbiDecoder mDecoder = 
+			new ConstellationViterbiDecoder( CONSTELLATIONS, CONSTELLATION_COUNT, -1 );
+	private int[] mReceived = new int[ CONSTELLATION_COUNT ];
+	private int[] mDecoded = new int[ CONSTELLATION_COUNT ];
+
+	public Trellis_1_2_Rate()
+	{
+	}
 	
 	public void dispose()
 	{
-		for( ConstellationNode node: mConstellationNodes )
-		{
-			node.dispose();
-		}
-		
-		mConstellationNodes.clear();
 	}
-	
-//	private String constellationsToString( String label )
-//	{
-//		StringBuilder sb = new StringBuilder();
-//		
-//		sb.append( label );
-//
-//		for( ConstellationNode node: mConstellationNodes )
-//		{
-//			sb.append( "  " + node.getConstellation().name() );
-//		}
-//		
-//		return sb.toString();
-//	}
-//
-//	private String inputsToString()
-//	{
-//		StringBuilder sb = new StringBuilder();
-//		
-//		sb.append( "  INPUTS: " );
-//
-//		for( ConstellationNode node: mConstellationNodes )
-//		{
-//			sb.append( "  " );
-//			sb.append( ( node.getConstellation().getInput().getBit1() ? "1" : "0" ) );
-//			sb.append( ( node.getConstellation().getInput().getBit2() ? "1" : "0" ) );
-//		}
-//		
-//		return sb.toString();
-//	}
 
+	/**
+	 * Decodes a 196-bit 1/2 rate trellis encoded block located between the
+	 * start and end indexes using hard decisions and overlays the decoded
+	 * 98 bits upon the original message with the remaining bits cleared.
+	 * 
+	 * @return true if the block was decoded, or false if the block contains
+	 * too many errors
+	 */
 	public boolean decode( BinaryMessage message, int start, int end )
 	{
-		/* load each of the nodes with de-interleaved constellations */
-		for( int index = 0; index < 49; index++ )
-		{
-			Constellation c = getConstellation( message, start + index * 4 );
-
-			mConstellationNodes.get( index ).setConstellation( c );
-		}
-
-		/* test to see if constellations are correct - otherwise correct them */
-		ConstellationNode firstNode = mConstellationNodes.get( 0 );
-
-		int errorCount = firstNode.getErrorCount();
-
-		if( errorCount > 0 )
-		{
-			if( errorCount < MAX_ERROR_THRESHOLD )
-			{
-				/* repair the errors */
-				firstNode.correctTo( Dibit.D00_PLUS_1 );
-			}
-			else
-			{
-				return false;
-			}
-		}
-		
-		/* clear constellations from original message */
-		message.clear( start, end );
-
-		/* replace with decoded values from the constellation nodes */
-		for( int index = 0; index < 49; index++ )
-		{
-			ConstellationNode node = mConstellationNodes.get( index );
-			
-			Dibit input = node.getInputDibit();
-			
-			if( input.getBit1() )
-			{
-				message.set( start + ( index * 2 ) );
-			}
-			if( input.getBit2() )
-			{
-				message.set( start + ( index * 2 ) + 1 );
-			}
-		}
-		
-		return true;
-	}
-	
-	private Constellation getConstellation( BinaryMessage message, int index )
-	{
-		int transmittedValue = 0;
-		
-		for( int x = 0; x < 4; x++ )
-		{
-			if( message.get( index + x ) )
-			{
-				transmittedValue += ( 1 << ( 3 - x ) );
-			}
-		}
-		
-		return Constellation.fromTransmittedValue( transmittedValue );
+		return decode( message, start, end, null );
 	}
-	
-	public class ConstellationNode
+
+	/**
+	 * Decodes a 196-bit 1/2 rate trellis encoded block located between the
+	 * start and end indexes and overlays the decoded 98 bits upon the 
+	 * original message with the remaining bits cleared.
+	 * 
+	 * @param reliability of each of the 196 (deinterleaved) bits in the block
+	 * for soft decision decoding, or null for hard decision decoding
+	 * 
+	 * @return true if the block was decoded, or false if the block contains
+	 * too many errors
+	 */
+	public boolean decode( BinaryMessage message, int start, int end, int[] reliability )
 	{
-		private ConstellationNode mConnectedNode;
-		private Constellation mConstellation;
-		private boolean mCorrect;
-		
-		public ConstellationNode()
-		{
-		}
-		
-		public void dispose()
-		{
-			mConnectedNode = null;
-		}
-		
-		public Constellation getConstellation()
+		for( int index = 0; index < CONSTELLATION_COUNT; index++ )
 		{
-			return mConstellation;
-		}
-		
-		public Dibit getInputDibit()
-		{
-			return mConstellation.getInput();
+			int pointer = start + ( index * 4 );
+			
+			mReceived[ index ] = message.getInt( pointer, pointer + 3 );
 		}
 		
-		public boolean hasStateDibit( Dibit dibit )
-		{
-			return mConstellation.getState() == dibit;
-		}
+		int errors = mDecoder.decode( mReceived, reliability, mDecoded );
 		
-		/**
-		 * Executes a correction down the line of connected nodes.  Only nodes
-		 * with the mCorrect flag set to false will be corrected.
-		 * 
-		 * Note: Assumes that the starting node's value is 0.  Initiate the 
-		 * corrective sequence by invoking this method with Dibit.D0 on the
-		 * first node.
-		 * 
-		 * @param stateDibit to use for the left side.
-		 */
-		public void correctTo( Dibit stateDibit )
+		if( errors > MAX_ERROR_THRESHOLD )
 		{
-			if( mCorrect && mConstellation.getState() == stateDibit )
-			{
-				return;
-			}
-			
-			if( isCurrentConnectionCorrect() )
-			{
-				mConstellation = Constellation.fromStateAndInputDibits( stateDibit, 
-						mConstellation.getInput() );
-
-				mCorrect = true;
-				
-				if( mConnectedNode != null )
-				{
-					/* the next node's state was this node's input */
-					mConnectedNode.correctTo( mConstellation.getInput() );
-				}
-			}
-			else
-			{
-				Constellation cheapestConstellation = mConstellation;
-				
-				int cheapestCost = 100; //arbitrary
-				
-				for( Dibit testInput: Dibit.values() )
-				{
-					Constellation testConstellation = Constellation
-							.fromStateAndInputDibits( stateDibit, testInput );
-					
-					int testCost = mConstellation.costTo( testConstellation ) + 
-								   mConnectedNode.costTo( testInput );
-
-					if( testCost < cheapestCost )
-					{
-						cheapestCost = testCost;
-						cheapestConstellation = testConstellation;
-					}
-				}
-
-				mConstellation = cheapestConstellation;
-				
-				mConnectedNode.correctTo( mConstellation.getInput() );
-				
-				mCorrect = true;
-			}
+			return false;
 		}
 
-		/**
-		 * Calculates the cost (hamming distance) of using the argument as the
-		 * state dibit for the current node, and recursively finding the
-		 * cheapest corresponding input dibit.
-		 * 
-		 * @param stateTest
-		 * @return
-		 */
-		public int costTo( Dibit stateTest )
-		{
-			if( isCurrentConnectionCorrect() )
-			{
-				Constellation c = Constellation.fromStateAndInputDibits( 
-						stateTest, mConstellation.getInput() );
-				
-				return mConstellation.costTo( c );
-			}
-			else
-			{
-				int cheapestCost = 100; //arbitrary
-				
-				for( Dibit inputTest: Dibit.values() )
-				{
-					Constellation constellationTest = 
-						Constellation.fromStateAndInputDibits( stateTest, inputTest );
-					
-					int cost = mConnectedNode.costTo( inputTest ) + 
-							   mConstellation.costTo( constellationTest );
-					
-					if( cost < cheapestCost )
-					{
-						cheapestCost = cost;
-					}
-				}
-				
-				return cheapestCost;
-			}
-		}
-
-		/**
-		 * Indicates if the immediate connection to the right is correct
-		 */
-		public boolean isCurrentConnectionCorrect()
-		{
-			return ( mConnectedNode == null || 
-					 mConstellation.getInput() == mConnectedNode.getStateDibit() );
-		}
-		
-		/**
-		 * Executes a recursive call to all nodes to the right, setting the 
-		 * mCorrect flag on all nodes to true, if the node's connection to the
-		 * right node is correct and all nodes to the right are correct.  Or,
-		 * false if this node's connection, or any node's connection to the
-		 * right is incorrect.
-		 * 
-		 * @return - true - all node connections to the right are correct
-		 * 			 false - one or more nodes to the right are incorrect
-		 */
-		public int getErrorCount()
-		{
-			if( mConnectedNode == null )
-			{
-				mCorrect = true;
-				
-				return 0;
-			}
-			
-			mCorrect = mConstellation.getInput() == mConnectedNode.getStateDibit();
+		/* clear constellations from original message */
+		message.clear( start, end );
 
-			return mConnectedNode.getErrorCount() + ( mCorrect ? 0 : 1 );
-		}
-		
-		public Dibit getStateDibit()
-		{
-			return mConstellation.getState();
-		}
-		
-		public void setConstellation( Constellation constellation )
+		/* replace with decoded input dibits */
+		for( int index = 0; index < CONSTELLATION_COUNT; index++ )
 		{
-			mConstellation = constellation;
-			mCorrect = false;
+			message.load( start + ( index * 2 ), 2, mDecoded[ index ] );
 		}
 		
-		public void connect( ConstellationNode node )
-		{
-			mConnectedNode = node;
-		}
+		return true;
 	}
 	
 	public enum Constellation
@@ -480,16 +246,6 @@ public class Trellis_1_2_Rate
 			/* Should never get to here */
 			return C0;
 		}
-
-		/**
-		 * Returns the cost or hamming distance to the other constellation using
-		 * the values from the constellation costs table
-		 */
-		public int costTo( Constellation other )
-		{
-			return CONSTELLATION_COSTS[ getTransmittedValue() ][ other.getTransmittedValue() ];
-		}
-		
 	}
 	
 	/**
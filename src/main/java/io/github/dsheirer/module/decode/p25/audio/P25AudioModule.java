@@ -144,7 +144,7 @@ public class P25AudioModule extends Module implements Listener<Message>, IAudioP
 
                 audio = mGain.apply(audio);
 
-                mAudioPacketListener.receive(new AudioPacket(audio, mMetadata.copyOf()));
+                mAudioPacketListener.receive(new AudioPacket(audio, mMetadata.getSnapshot()));
             }
         }
         else
@@ -257,7 +257,7 @@ public class P25AudioModule extends Module implements Listener<Message>, IAudioP
             {
                 if(mAudioPacketListener != null)
                 {
-                    mAudioPacketListener.receive(new AudioPacket(AudioPacket.Type.END, mMetadata.copyOf()));
+                    mAudioPacketListener.receive(new AudioPacket(AudioPacket.Type.END, mMetadata.getSnapshot()));
                 }
 
                 mEncryptedCallStateEstablished = false;
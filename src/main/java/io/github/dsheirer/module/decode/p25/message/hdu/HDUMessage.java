@@ -90,10 +90,7 @@ public class HDUMessage extends P25Message
 	private void checkCRC()
 	{
 		/* Golay( 18,6,18 ) error detection and correction */
-		for( int index: GOLAY_WORD_STARTS )
-		{
-			Golay18.checkAndCorrect( mMessage, index );
-		}
+		Golay18.checkAndCorrect( mMessage, GOLAY_WORD_STARTS );
 		
     	mCRC[ 1 ] = CRC.PASSED;
 
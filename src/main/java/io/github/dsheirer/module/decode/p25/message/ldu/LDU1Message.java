@@ -94,14 +94,9 @@ public class LDU1Message extends LDUMessage
         mCRC[1] = CRC.PASSED;
 
     	/* Hamming( 10,6,3 ) error detection and correction */
-        for(int index : GOLAY_WORD_STARTS)
+        if(Hamming10.checkAndCorrect(mMessage, GOLAY_WORD_STARTS) > 1)
         {
-            int errors = Hamming10.checkAndCorrect(mMessage, index);
-
-            if(errors > 1)
-            {
-                mCRC[1] = CRC.FAILED_CRC;
-            }
+            mCRC[1] = CRC.FAILED_CRC;
         }
 
 		/* Reed-Solomon( 24,16,9 ) error detection and correction
@@ -109,11 +109,21 @@ public class GroupVoiceChannelUpdate extends LDU1Message implements IdentifierRe
         return mMessage.getHex(GROUP_ADDRESS_A, 4);
     }
 
+    public int getGroupAddressAValue()
+    {
+        return mMessage.getInt(GROUP_ADDRESS_A);
+    }
+
     public String getGroupAddressB()
     {
         return mMessage.getHex(GROUP_ADDRESS_B, 4);
     }
 
+    public int getGroupAddressBValue()
+    {
+        return mMessage.getInt(GROUP_ADDRESS_B);
+    }
+
     @Override
     public void setIdentifierMessage(int identifier, IBandIdentifier message)
     {
@@ -124,26 +124,51 @@ public abstract class UnitToUnitChannelGrantExtended extends PDUMessage implemen
         return mMessage.getHex(SOURCE_ADDRESS, 6);
     }
 
+    public int getSourceAddressValue()
+    {
+        return mMessage.getInt(SOURCE_ADDRESS);
+    }
+
     public String getSourceID()
     {
         return mMessage.getHex(SOURCE_ID, 6);
     }
 
+    public int getSourceIDValue()
+    {
+        return mMessage.getInt(SOURCE_ID);
+    }
+
     public String getSourceWACN()
     {
         return mMessage.getHex(SOURCE_WACN, 5);
     }
 
+    public int getSourceWACNValue()
+    {
+        return mMessage.getInt(SOURCE_WACN);
+    }
+
     public String getSourceSystemID()
     {
         return mMessage.getHex(SOURCE_SYSTEM_ID, 3);
     }
 
+    public int getSourceSystemIDValue()
+    {
+        return mMessage.getInt(SOURCE_SYSTEM_ID);
+    }
+
     public String getTargetAddress()
     {
         return mMessage.getHex(TARGET_ADDRESS, 6);
     }
 
+    public int getTargetAddressValue()
+    {
+        return mMessage.getInt(TARGET_ADDRESS);
+    }
+
     public int getTransmitChannelIdentifier()
     {
         return mMessage.getInt(TRANSMIT_IDENTIFIER);
@@ -118,11 +118,21 @@ public class GroupDataChannelGrantExtended extends PDUMessage implements Identif
         return mMessage.getHex(SOURCE_ADDRESS, 6);
     }
 
+    public int getSourceAddressValue()
+    {
+        return mMessage.getInt(SOURCE_ADDRESS);
+    }
+
     public String getGroupAddress()
     {
         return mMessage.getHex(GROUP_ADDRESS, 4);
     }
 
+    public int getGroupAddressValue()
+    {
+        return mMessage.getInt(GROUP_ADDRESS);
+    }
+
     public int getTransmitChannelIdentifier()
     {
         return mMessage.getInt(TRANSMIT_IDENTIFIER);
@@ -120,6 +120,11 @@ public class TelephoneInterconnectChannelGrantExplicit extends PDUMessage implem
         return mMessage.getHex(ADDRESS, 6);
     }
 
+    public int getAddressValue()
+    {
+        return mMessage.getInt(ADDRESS);
+    }
+
     /*
      * Call timer in milliseconds
      */
@@ -109,11 +109,21 @@ public class GroupVoiceChannelUpdate extends TDULinkControlMessage implements Id
         return mMessage.getHex(GROUP_ADDRESS_A, 4);
     }
 
+    public int getGroupAddressAValue()
+    {
+        return mMessage.getInt(GROUP_ADDRESS_A);
+    }
+
     public String getGroupAddressB()
     {
         return mMessage.getHex(GROUP_ADDRESS_B, 4);
     }
 
+    public int getGroupAddressBValue()
+    {
+        return mMessage.getInt(GROUP_ADDRESS_B);
+    }
+
     /**
      * Returns a sorted list of addresses contained in the A and B fields
      *
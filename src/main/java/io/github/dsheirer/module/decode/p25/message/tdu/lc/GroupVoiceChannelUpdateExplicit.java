@@ -130,6 +130,11 @@ public class GroupVoiceChannelUpdateExplicit extends TDULinkControlMessage
         return mMessage.getHex(GROUP_ADDRESS, 4);
     }
 
+    public int getGroupAddressValue()
+    {
+        return mMessage.getInt(GROUP_ADDRESS);
+    }
+
     @Override
     public void setIdentifierMessage(int identifier, IBandIdentifier message)
     {
@@ -178,21 +178,8 @@ public class TDULinkControlMessage extends P25Message
 	private void checkCRC()
 	{
 		/* Check the Golay codewords */
-		int x = 64;
-
-		mCRC[ 1 ] = CRC.PASSED;
-		
-		while( x < mMessage.size() )
-		{
-			mMessage = Golay24.checkAndCorrect( mMessage, x );
-			
-			if( !( mMessage.getCRC() == CRC.PASSED ) )
-			{
-				mCRC[ 1 ] = CRC.FAILED_CRC;
-			}
-			
-			x += 24;
-		}
+		mCRC[ 1 ] = Golay24.checkAndCorrect( mMessage, 64, 
+				( mMessage.size() - 64 ) / 24 );
 		
 		/* Check the Reed-Solomon parity bits. The RS decoder expects the link
 		 * control data and reed solomon parity hex codewords in reverse order.  
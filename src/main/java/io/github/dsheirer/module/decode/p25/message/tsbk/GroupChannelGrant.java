@@ -24,11 +24,21 @@ public abstract class GroupChannelGrant extends ChannelGrant
     {
         return mMessage.getHex( GROUP_ADDRESS, 4 );
     }
+
+    public int getGroupAddressValue()
+    {
+        return mMessage.getInt( GROUP_ADDRESS );
+    }
     
     public String getSourceAddress()
     {
         return mMessage.getHex( SOURCE_ADDRESS, 6 );
     }
+
+    public int getSourceAddressValue()
+    {
+        return mMessage.getInt( SOURCE_ADDRESS );
+    }
     
     public String getMessage()
     {
@@ -109,6 +109,11 @@ public abstract class GroupChannelGrantExplicit extends ChannelGrant
         return mMessage.getHex(GROUP_ADDRESS, 4);
     }
 
+    public int getGroupAddressValue()
+    {
+        return mMessage.getInt(GROUP_ADDRESS);
+    }
+
     @Override
     public void setIdentifierMessage(int identifier, IBandIdentifier message)
     {
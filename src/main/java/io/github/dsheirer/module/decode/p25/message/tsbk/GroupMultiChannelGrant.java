@@ -85,6 +85,11 @@ public abstract class GroupMultiChannelGrant extends ChannelGrant implements Ide
         return mMessage.getHex(GROUP_ADDRESS_1, 4);
     }
 
+    public int getGroupAddress1Value()
+    {
+        return mMessage.getInt(GROUP_ADDRESS_1);
+    }
+
     public int getChannelIdentifier2()
     {
         return mMessage.getInt(CHANNEL_IDENTIFIER_2);
@@ -105,6 +110,11 @@ public abstract class GroupMultiChannelGrant extends ChannelGrant implements Ide
         return mMessage.getHex(GROUP_ADDRESS_2, 4);
     }
 
+    public int getGroupAddress2Value()
+    {
+        return mMessage.getInt(GROUP_ADDRESS_2);
+    }
+
     public boolean hasChannelNumber2()
     {
         return mMessage.getInt(CHANNEL_NUMBER_2) !=
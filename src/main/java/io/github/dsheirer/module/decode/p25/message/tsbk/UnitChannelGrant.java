@@ -60,11 +60,21 @@ public abstract class UnitChannelGrant extends ChannelGrant
         return mMessage.getHex(TARGET_ADDRESS, 6);
     }
 
+    public int getTargetAddressValue()
+    {
+        return mMessage.getInt(TARGET_ADDRESS);
+    }
+
     public String getSourceAddress()
     {
         return mMessage.getHex(SOURCE_ADDRESS, 6);
     }
 
+    public int getSourceAddressValue()
+    {
+        return mMessage.getInt(SOURCE_ADDRESS);
+    }
+
     @Override
     public String getFromID()
     {
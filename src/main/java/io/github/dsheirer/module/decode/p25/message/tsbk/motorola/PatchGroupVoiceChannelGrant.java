@@ -100,11 +100,21 @@ public class PatchGroupVoiceChannelGrant extends MotorolaTSBKMessage implements
         return mMessage.getHex(PATCH_GROUP_ADDRESS, 4);
     }
 
+    public int getPatchGroupAddressValue()
+    {
+        return mMessage.getInt(PATCH_GROUP_ADDRESS);
+    }
+
     public String getSourceAddress()
     {
         return mMessage.getHex(SOURCE_ADDRESS, 6);
     }
 
+    public int getSourceAddressValue()
+    {
+        return mMessage.getInt(SOURCE_ADDRESS);
+    }
+
     public boolean isEmergency()
     {
         return mMessage.get(EMERGENCY_FLAG);
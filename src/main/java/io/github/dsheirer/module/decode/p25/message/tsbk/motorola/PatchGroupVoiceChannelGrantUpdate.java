@@ -76,11 +76,21 @@ public class PatchGroupVoiceChannelGrantUpdate extends MotorolaTSBKMessage imple
         return mMessage.getHex(PATCH_GROUP_ADDRESS_1, 4);
     }
 
+    public int getPatchGroupAddress1Value()
+    {
+        return mMessage.getInt(PATCH_GROUP_ADDRESS_1);
+    }
+
     public String getPatchGroupAddress2()
     {
         return mMessage.getHex(PATCH_GROUP_ADDRESS_2, 4);
     }
 
+    public int getPatchGroupAddress2Value()
+    {
+        return mMessage.getInt(PATCH_GROUP_ADDRESS_2);
+    }
+
     public int getChannelIdentifier1()
     {
         return mMessage.getInt(IDENTIFIER_1);
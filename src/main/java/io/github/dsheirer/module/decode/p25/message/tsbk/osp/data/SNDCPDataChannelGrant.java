@@ -113,6 +113,11 @@ public class SNDCPDataChannelGrant extends SNDCPData implements IdentifierReceiv
         return mMessage.getHex(TARGET_ADDRESS, 6);
     }
 
+    public int getTargetAddressValue()
+    {
+        return mMessage.getInt(TARGET_ADDRESS);
+    }
+
     @Override
     public void setIdentifierMessage(int identifier, IBandIdentifier message)
     {
@@ -18,9 +18,11 @@
 package io.github.dsheirer.module.decode.tait;
 
 import io.github.dsheirer.alias.AliasList;
+import io.github.dsheirer.bits.BitRunBroadcaster;
 import io.github.dsheirer.bits.MessageFramer;
 import io.github.dsheirer.bits.SyncPattern;
 import io.github.dsheirer.dsp.filter.Filters;
+import io.github.dsheirer.dsp.filter.RealFilterStage;
 import io.github.dsheirer.dsp.filter.fir.real.RealFIRFilter_RB_RB;
 import io.github.dsheirer.dsp.filter.halfband.real.HalfBandFilter_RB_RB;
 import io.github.dsheirer.dsp.fsk.FSK2Decoder;
@@ -33,19 +35,19 @@ import io.github.dsheirer.instrument.tap.stream.FloatBufferTap;
 import io.github.dsheirer.instrument.tap.stream.FloatTap;
 import io.github.dsheirer.module.decode.Decoder;
 import io.github.dsheirer.module.decode.DecoderType;
-import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
-import io.github.dsheirer.sample.real.IFilteredRealBufferListener;
+import io.github.dsheirer.sample.real.ISharedFilterStageListener;
 import io.github.dsheirer.sample.real.RealBuffer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * TAIT 1200 - 1200 baud 2FSK decoder
  */
-public class Tait1200Decoder extends Decoder implements IFilteredRealBufferListener,
+public class Tait1200Decoder extends Decoder implements ISharedFilterStageListener,
 					Instrumentable
 {
 	/* Decimated sample rate ( 48,000 / 2 = 24,000 ) feeding the decoder */
@@ -56,6 +58,11 @@ public class Tait1200Decoder extends Decoder implements IFilteredRealBufferListe
 
 	/* Message length ... */
     private static final int MESSAGE_LENGTH = 440;
+
+	/* Front end filter stages - shared with other decoders that consume the same channel */
+	private static final List<RealFilterStage> FILTER_STAGES = Arrays.asList(
+		RealFilterStage.halfBandDecimator(Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0f),
+		RealFilterStage.fir(Filters.FIRBP_1200FSK_24000FS.getCoefficients(), 1.02f));
     
     /* Instrumentation Taps */
     private ArrayList<TapGroup> mAvailableTaps;
@@ -70,25 +77,16 @@ public class Tait1200Decoder extends Decoder implements IFilteredRealBufferListe
     private RealFIRFilter_RB_RB mBandPassFilter;
     private MessageFramer mMessageFramerGPS;
     private MessageFramer mMessageFramerANI;
-    private Broadcaster<Boolean> mFSKBroadcaster = new Broadcaster<Boolean>();
+    private BitRunBroadcaster mFSKBroadcaster = new BitRunBroadcaster();
     private Tait1200GPSMessageProcessor mMessageAProcessor;
     private Tait1200ANIMessageProcessor mMessageBProcessor;
     
     public Tait1200Decoder( AliasList aliasList )
 	{
-        mDecimationFilter = new HalfBandFilter_RB_RB( 
-    		Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0002f, true );
-
-        mBandPassFilter = new RealFIRFilter_RB_RB( 
-        		Filters.FIRBP_1200FSK_24000FS.getCoefficients(), 1.02f );
-        mDecimationFilter.setListener( mBandPassFilter );
-
         mFSKDecoder = new FSK2Decoder( DECIMATED_SAMPLE_RATE, 
         					SYMBOL_RATE, Output.INVERTED );
-        mBandPassFilter.setListener( mFSKDecoder );
 
-
-        mFSKDecoder.setListener( mFSKBroadcaster );
+        mFSKDecoder.setBitRunListener( mFSKBroadcaster );
 
         mMessageFramerGPS = new MessageFramer( 
         		SyncPattern.TAIT_CCDI_GPS_MESSAGE.getPattern(), MESSAGE_LENGTH );
@@ -112,8 +110,12 @@ public class Tait1200Decoder extends Decoder implements IFilteredRealBufferListe
     {
     	super.dispose();
     	
-    	mDecimationFilter.dispose();
-    	mBandPassFilter.dispose();
+    	if( mDecimationFilter != null )
+    	{
+    		mDecimationFilter.dispose();
+    		mBandPassFilter.dispose();
+    	}
+
     	mFSKDecoder.dispose();
     	mMessageFramerGPS.dispose();
     	mMessageFramerANI.dispose();
@@ -152,12 +154,14 @@ public class Tait1200Decoder extends Decoder implements IFilteredRealBufferListe
 		{
 			case INSTRUMENT_BANDPASS_FILTER_TO_FSK2_DEMOD:
 				FloatBufferTap bpTap = (FloatBufferTap)tap;
+				createFilters();
 				mBandPassFilter.setListener( bpTap );
 				bpTap.setListener( mFSKDecoder );
 				break;
 			case INSTRUMENT_FSK2_DECODER_TO_MESSAGE_FRAMER:
 				BinaryTap decoderTap = (BinaryTap)tap;
-				mFSKBroadcaster.addListener( decoderTap );
+				mFSKDecoder.setListener( decoderTap );
+				decoderTap.setListener( mFSKBroadcaster );
 		        break;
 		}
     }
@@ -170,10 +174,13 @@ public class Tait1200Decoder extends Decoder implements IFilteredRealBufferListe
 		switch( tap.getName() )
 		{
 			case INSTRUMENT_BANDPASS_FILTER_TO_FSK2_DEMOD:
-				mBandPassFilter.setListener( mFSKDecoder );
+				if( mBandPassFilter != null )
+				{
+					mBandPassFilter.setListener( mFSKDecoder );
+				}
 				break;
 			case INSTRUMENT_FSK2_DECODER_TO_MESSAGE_FRAMER:
-				mFSKBroadcaster.removeListener( (BinaryTap)tap );
+				mFSKDecoder.setBitRunListener( mFSKBroadcaster );
 		        break;
 		}
     }
@@ -181,9 +188,42 @@ public class Tait1200Decoder extends Decoder implements IFilteredRealBufferListe
 	@Override
 	public Listener<RealBuffer> getFilteredRealBufferListener()
 	{
+		createFilters();
+
 		return mDecimationFilter;
 	}
 
+	/**
+	 * Creates the private decimation and band pass filters on first use.  These filters are only used when the
+	 * processing chain doesn't share filter stages (e.g. the instrumentation chain), so decoders that are fed from
+	 * the shared filter stages never construct them.
+	 */
+	private void createFilters()
+	{
+		if( mDecimationFilter == null )
+		{
+			mDecimationFilter = new HalfBandFilter_RB_RB( 
+				Filters.FIR_HALF_BAND_31T_ONE_EIGHTH_FCO.getCoefficients(), 1.0f, true );
+
+			mBandPassFilter = new RealFIRFilter_RB_RB( 
+				Filters.FIRBP_1200FSK_24000FS.getCoefficients(), 1.02f );
+			mDecimationFilter.setListener( mBandPassFilter );
+			mBandPassFilter.setListener( mFSKDecoder );
+		}
+	}
+
+	@Override
+	public List<RealFilterStage> getFilterStages()
+	{
+		return FILTER_STAGES;
+	}
+
+	@Override
+	public Listener<RealBuffer> getFilterStageListener()
+	{
+		return mFSKDecoder;
+	}
+
 	@Override
 	public DecoderType getDecoderType()
 	{
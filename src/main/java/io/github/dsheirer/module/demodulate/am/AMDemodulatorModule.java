@@ -41,6 +41,7 @@ public class AMDemodulatorModule extends Module
 	private AMDemodulator_CB mDemodulator;
 	private RealFIRFilter_RB_RB mLowPassFilter;	
     private AutomaticGainControl_RB mAGC;
+	private Listener<ComplexBuffer> mComplexBufferListener = new ComplexBufferReceiver();
 
 	/**
 	 * FM Demodulator with integrated DC removal and automatic frequency
@@ -76,7 +77,7 @@ public class AMDemodulatorModule extends Module
 	@Override
 	public Listener<ComplexBuffer> getComplexBufferListener()
 	{
-		return mIQFilter;
+		return mComplexBufferListener;
 	}
 
 	@Override
@@ -121,4 +122,24 @@ public class AMDemodulatorModule extends Module
 	public void stop()
 	{
 	}
+
+	/**
+	 * Filters and demodulates each complex buffer and releases the buffer once
+	 * demodulated
+	 */
+	private class ComplexBufferReceiver implements Listener<ComplexBuffer>
+	{
+		@Override
+		public void receive( ComplexBuffer buffer )
+		{
+			ComplexFIRFilter_CB_CB filter = mIQFilter;
+
+			if( filter != null )
+			{
+				filter.receive( buffer );
+			}
+
+			buffer.decrementUserCount();
+		}
+	}
 }
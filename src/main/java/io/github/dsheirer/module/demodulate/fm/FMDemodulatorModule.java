@@ -40,6 +40,7 @@ public class FMDemodulatorModule extends Module implements IComplexBufferListene
 
     private ComplexFIRFilter_CB_CB mIQFilter;
     private FMDemodulator_CB mDemodulator;
+    private Listener<ComplexBuffer> mComplexBufferListener = new ComplexBufferReceiver();
 
     /**
      * FM Demodulator with I/Q filter.  Demodulated output is unfiltered and
@@ -72,7 +73,7 @@ public class FMDemodulatorModule extends Module implements IComplexBufferListene
     @Override
     public Listener<ComplexBuffer> getComplexBufferListener()
     {
-        return mIQFilter;
+        return mComplexBufferListener;
     }
 
     @Override
@@ -108,6 +109,25 @@ public class FMDemodulatorModule extends Module implements IComplexBufferListene
     {
     }
 
+    /**
+     * Filters and demodulates each complex buffer and releases the buffer once demodulated
+     */
+    private class ComplexBufferReceiver implements Listener<ComplexBuffer>
+    {
+        @Override
+        public void receive(ComplexBuffer buffer)
+        {
+            ComplexFIRFilter_CB_CB filter = mIQFilter;
+
+            if(filter != null)
+            {
+                filter.receive(buffer);
+            }
+
+            buffer.decrementUserCount();
+        }
+    }
+
     @Override
     public void stop()
     {
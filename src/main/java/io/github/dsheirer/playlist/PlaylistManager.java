@@ -70,6 +70,8 @@ public class PlaylistManager implements ChannelEventListener
      * after they occur.
      *
      * @param channelModel
+     * @param broadcastModel or null when the playlist manager is only used to load() the playlist, for example by
+     * offline batch processing, which doesn't transfer the playlist to the models or save the playlist.
      */
     public PlaylistManager(AliasModel aliasModel, BroadcastModel broadcastModel, ChannelModel channelModel, ChannelMapModel channelMapModel)
     {
@@ -102,6 +104,11 @@ public class PlaylistManager implements ChannelEventListener
             }
         });
 
+        if(mBroadcastModel == null)
+        {
+            return;
+        }
+
         mBroadcastModel.addListener(new Listener<BroadcastEvent>()
         {
             @Override
@@ -155,6 +155,74 @@ public class SystemProperties
         return retVal;
     }
 
+    /**
+     * Gets (or creates) the SDRTrunk application home directory in the user's home directory.
+     *
+     * Note: the user can change this setting to allow log files and other
+     * files to reside elsewhere on the file system.
+     *
+     * @return home directory or null if the directory doesn't exist and can't be created
+     */
+    public static Path getHomePath()
+    {
+        Path homePath = Paths.get(System.getProperty("user.home"), DEFAULT_APP_ROOT);
+
+        if(!Files.exists(homePath))
+        {
+            try
+            {
+                Files.createDirectory(homePath);
+
+                mLog.info("SDRTrunk - created application home directory [" +
+                    homePath.toString() + "]");
+            }
+            catch(Exception e)
+            {
+                homePath = null;
+
+                mLog.error("SDRTrunk: exception while creating SDRTrunk home " +
+                    "directory in the user's home directory", e);
+            }
+        }
+
+        return homePath;
+    }
+
+    /**
+     * Loads the application properties file from the home directory,
+     * creating the properties file for the first-time, if necessary
+     */
+    public void loadFromHomePath(Path homePath)
+    {
+        Path propsPath = homePath.resolve(PROPERTIES_FILENAME);
+
+        if(!Files.exists(propsPath))
+        {
+            try
+            {
+                mLog.info("SDRTrunk - creating application properties file [" +
+                    propsPath.toAbsolutePath() + "]");
+
+                Files.createFile(propsPath);
+            }
+            catch(IOException e)
+            {
+                mLog.error("SDRTrunk - couldn't create application properties "
+                    + "file [" + propsPath.toAbsolutePath(), e);
+            }
+        }
+
+        if(Files.exists(propsPath))
+        {
+            load(propsPath);
+        }
+        else
+        {
+            mLog.error("SDRTrunk - couldn't find or recreate the SDRTrunk " +
+                "application properties file");
+        }
+    }
+
     public void logCurrentSettings()
     {
         if(mPropertiesPath == null)
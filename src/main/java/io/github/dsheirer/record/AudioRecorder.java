@@ -26,6 +26,7 @@ import io.github.dsheirer.sample.Listener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -45,7 +46,11 @@ public abstract class AudioRecorder extends Module implements Listener<AudioPack
     private LinkedBlockingQueue<AudioPacket> mAudioPacketQueue = new LinkedBlockingQueue<>(500);
     private List<AudioPacket> mPacketsToProcess = new ArrayList<>();
 
-    private FileOutputStream mFileOutputStream;
+    private static final int IN_MEMORY_INITIAL_CAPACITY = 16384;
+
+    private OutputStream mOutputStream;
+    private ByteArrayOutputStream mMemoryOutputStream;
+    private boolean mInMemory;
     private AtomicBoolean mRunning = new AtomicBoolean();
 
     protected Path mPath;
@@ -64,8 +69,23 @@ public abstract class AudioRecorder extends Module implements Listener<AudioPack
      * @param path for the output recording
      */
     public AudioRecorder(Path path)
+    {
+        this(path, false);
+    }
+
+    /**
+     * Abstract audio recorder that implements audio packet queueing and threaded audio conversion/writing to either a
+     * file or to memory.
+     *
+     * @param path for the output recording.  In-memory recorders don't write to this path, but the path can be used
+     * by the owner of the recorder to persist the recorded audio after the recording is closed.
+     * @param inMemory true to record the converted audio to memory instead of to a file.  Use getRecordedAudio() to
+     * access the recorded audio once the recording is closed.
+     */
+    public AudioRecorder(Path path, boolean inMemory)
     {
         mPath = path;
+        mInMemory = inMemory;
     }
 
     /**
@@ -76,6 +96,29 @@ public abstract class AudioRecorder extends Module implements Listener<AudioPack
         return mPath;
     }
 
+    /**
+     * Indicates if this recorder records the converted audio to memory instead of to a file
+     */
+    public boolean isInMemory()
+    {
+        return mInMemory;
+    }
+
+    /**
+     * Converted audio for an in-memory recorder.  This method should only be invoked after the recording is closed.
+     *
+     * @return recorded audio or null if this is not an in-memory recorder or if the recorder was never started
+     */
+    public byte[] getRecordedAudio()
+    {
+        if(mMemoryOutputStream != null)
+        {
+            return mMemoryOutputStream.toByteArray();
+        }
+
+        return null;
+    }
+
     /**
      * Latest audio metadata received for this recording
      */
@@ -145,11 +188,12 @@ public abstract class AudioRecorder extends Module implements Listener<AudioPack
     }
 
     /**
-     * File output stream for the current recording.  Intended to allow sub-classes to write binary data to the file.
+     * Output stream for the current recording.  Intended to allow sub-classes to write binary data to the file or
+     * to memory.
      */
     protected OutputStream getOutputStream()
     {
-        return mFileOutputStream;
+        return mOutputStream;
     }
 
     /**
@@ -209,7 +253,15 @@ public abstract class AudioRecorder extends Module implements Listener<AudioPack
 
             try
             {
-                mFileOutputStream = new FileOutputStream(mPath.toFile());
+                if(mInMemory)
+                {
+                    mMemoryOutputStream = new ByteArrayOutputStream(IN_MEMORY_INITIAL_CAPACITY);
+                    mOutputStream = mMemoryOutputStream;
+                }
+                else
+                {
+                    mOutputStream = new FileOutputStream(mPath.toFile());
+                }
 
 				/* Schedule the handler to run every half second */
                 mProcessorHandle = executor.scheduleAtFixedRate(mBufferProcessor, 0, 500, TimeUnit.MILLISECONDS);
@@ -299,12 +351,12 @@ public abstract class AudioRecorder extends Module implements Listener<AudioPack
                     //Allow sub-classes to flush remaining audio frame data to disk.
                     flush();
 
-                    if(mFileOutputStream != null)
+                    if(mOutputStream != null)
                     {
                         try
                         {
-                            mFileOutputStream.flush();
-                            mFileOutputStream.close();
+                            mOutputStream.flush();
+                            mOutputStream.close();
                         }
                         catch(IOException e)
                         {
@@ -18,6 +18,9 @@ package io.github.dsheirer.record;
 
 import io.github.dsheirer.audio.AudioPacket;
 import io.github.dsheirer.channel.metadata.Metadata;
+import io.github.dsheirer.metrics.Counter;
+import io.github.dsheirer.metrics.MetricSet;
+import io.github.dsheirer.metrics.MetricsRegistry;
 import io.github.dsheirer.properties.SystemProperties;
 import io.github.dsheirer.record.wave.AudioPacketWaveRecorder;
 import io.github.dsheirer.record.wave.ComplexBufferWaveRecorder;
@@ -48,6 +51,11 @@ public class RecorderManager implements Listener<AudioPacket>
     private OverflowableTransferQueue<AudioPacket> mAudioPacketQueue = new OverflowableTransferQueue<>(1000, 100);
     private ScheduledFuture<?> mBufferProcessorFuture;
 
+    private MetricSet mMetrics;
+    private Counter mPacketCounter;
+    private Counter mDroppedPacketCounter;
+    private Counter mOverflowCounter;
+
     private boolean mCanStartNewRecorders = true;
 
     /**
@@ -59,6 +67,15 @@ public class RecorderManager implements Listener<AudioPacket>
      */
     public RecorderManager()
     {
+        mMetrics = new MetricSet(MetricsRegistry.getInstance());
+        mPacketCounter = mMetrics.counter("sdrtrunk_recorder_packets_total", "Audio packets received for recording");
+        mDroppedPacketCounter = mMetrics.counter("sdrtrunk_recorder_dropped_packets_total",
+            "Audio packets dropped while the recorder queue is in overflow");
+        mOverflowCounter = mMetrics.counter("sdrtrunk_recorder_overflows_total",
+            "Number of times the recorder queue has entered overflow");
+        mMetrics.gauge("sdrtrunk_recorder_queue_depth", "Audio packets waiting for recording",
+            mAudioPacketQueue::size);
+
         mAudioPacketQueue.setOverflowListener(new IOverflowListener()
         {
             @Override
@@ -66,6 +83,7 @@ public class RecorderManager implements Listener<AudioPacket>
             {
                 if(overflow)
                 {
+                    mOverflowCounter.increment();
                     mLog.warn("overflow - audio packets will be dropped until recording catches up");
                 }
                 else
@@ -88,6 +106,16 @@ public class RecorderManager implements Listener<AudioPacket>
         {
             mBufferProcessorFuture.cancel(true);
         }
+
+        mMetrics.unregister();
+    }
+
+    /**
+     * Number of audio packets waiting to be dispatched to the audio recorders
+     */
+    public int getQueueSize()
+    {
+        return mAudioPacketQueue.size();
     }
 
     /**
@@ -99,7 +127,12 @@ public class RecorderManager implements Listener<AudioPacket>
     {
         if(audioPacket.hasMetadata() && audioPacket.getMetadata().isRecordable())
         {
-            mAudioPacketQueue.offer(audioPacket);
+            mPacketCounter.increment();
+
+            if(!mAudioPacketQueue.offer(audioPacket))
+            {
+                mDroppedPacketCounter.increment();
+            }
         }
     }
 
@@ -49,7 +49,19 @@ public class MP3Recorder extends AudioRecorder
      */
     public MP3Recorder(Path path)
     {
-        super(path);
+        this(path, false);
+    }
+
+    /**
+     * MP3 audio recorder module for converting audio packets to 16 kHz constant bit rate MP3 format and
+     * recording to a file or to memory.
+     *
+     * @param path to the output file.  File name should include the .mp3 file extension.
+     * @param inMemory true to record to memory instead of to the file
+     */
+    public MP3Recorder(Path path, boolean inMemory)
+    {
+        super(path, inMemory);
 
         mMP3Converter = new MP3AudioConverter(MP3_BIT_RATE, CONSTANT_BIT_RATE);
     }
@@ -53,6 +53,7 @@ public class AudioPacketWaveRecorder extends Module implements Listener<AudioPac
     private LinkedBlockingQueue<AudioPacket> mAudioPackets = new LinkedBlockingQueue<>(500);
     private Metadata mMetadata;
     private long mLastBufferReceived;
+    private long mRecordingStart;
 
     private AtomicBoolean mRunning = new AtomicBoolean();
 
@@ -108,6 +109,10 @@ public class AudioPacketWaveRecorder extends Module implements Listener<AudioPac
 
                 mFile = Paths.get(sb.toString());
 
+                //Audio packet metadata snapshots are shared across packets, so the recording creation time is
+                //captured here rather than taken from the metadata
+                mRecordingStart = System.currentTimeMillis();
+
                 mWriter = new WaveWriter(mAudioFormat, mFile);
 
 				/* Schedule the processor to run every 500 milliseconds */
@@ -132,7 +137,7 @@ public class AudioPacketWaveRecorder extends Module implements Listener<AudioPac
                 //Append the LIST and ID3 metadata to the end
                 if(mMetadata != null)
                 {
-                    mWriter.writeMetadata(WaveMetadata.createFrom(mMetadata));
+                    mWriter.writeMetadata(WaveMetadata.createFrom(mMetadata, mRecordingStart));
                     mMetadata = null;
                 }
 
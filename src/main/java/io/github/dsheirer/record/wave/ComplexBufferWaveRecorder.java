@@ -125,10 +125,29 @@ public class ComplexBufferWaveRecorder extends Module
 				mLog.error( "recorder buffer overflow - purging [" +
 						mFile.toFile().getAbsolutePath() + "]" );
 				
-				mBuffers.clear();
+				buffer.decrementUserCount();
+				clearBuffers();
 			}
 		}
+		else
+		{
+			buffer.decrementUserCount();
+		}
     }
+
+	/**
+	 * Removes and releases all queued buffers
+	 */
+	private void clearBuffers()
+	{
+		Buffer buffer = mBuffers.poll();
+
+		while( buffer != null )
+		{
+			buffer.decrementUserCount();
+			buffer = mBuffers.poll();
+		}
+	}
 	
 	@Override
 	public Listener<ComplexBuffer> getComplexBufferListener()
@@ -161,7 +180,7 @@ public class ComplexBufferWaveRecorder extends Module
 					{
 						buffer = null;
 						
-						mBuffers.clear();
+						clearBuffers();
 						
 						if( mWriter != null )
 						{
@@ -188,7 +207,15 @@ public class ComplexBufferWaveRecorder extends Module
 					}
 					else
 					{
-						mWriter.writeData( ConversionUtils.convertToSigned16BitSamples( buffer ) );
+						try
+						{
+							mWriter.writeData( ConversionUtils.convertToSigned16BitSamples( buffer ) );
+						}
+						finally
+						{
+							buffer.decrementUserCount();
+						}
+
 						buffer = mBuffers.poll();
 					}
 				}
@@ -196,7 +223,7 @@ public class ComplexBufferWaveRecorder extends Module
 			catch ( IOException ioe )
 			{
 				/* Stop this module if/when we get an IO exception */
-				mBuffers.clear();
+				clearBuffers();
 				stop();
 				
 				mLog.error( "IOException while trying to write to the wave "
@@ -274,14 +274,15 @@ public class WaveMetadata
     /**
      * Creates a WAVE recording metadata chunk from the audio metadata argument
      * @param audioMetadata to create the wave metadata from
+     * @param timestamp when the recording was created, in milliseconds since epoch
      * @return wave metadata instance
      */
-    public static WaveMetadata createFrom(Metadata audioMetadata)
+    public static WaveMetadata createFrom(Metadata audioMetadata, long timestamp)
     {
         WaveMetadata waveMetadata = new WaveMetadata();
 
         waveMetadata.add(WaveMetadataType.SOFTWARE, SystemProperties.getInstance().getApplicationName());
-        waveMetadata.add(WaveMetadataType.DATE_CREATED, SDF.format(new Date(audioMetadata.getTimestamp())));
+        waveMetadata.add(WaveMetadataType.DATE_CREATED, SDF.format(new Date(timestamp)));
         waveMetadata.add(WaveMetadataType.ARTIST_NAME, audioMetadata.getChannelConfigurationSystem());
         waveMetadata.add(WaveMetadataType.ALBUM_TITLE, audioMetadata.getChannelConfigurationSite());
         waveMetadata.add(WaveMetadataType.TRACK_TITLE, audioMetadata.getChannelConfigurationName());
@@ -14,6 +14,29 @@ public class Buffer
 		return mSamples;
 	}
 
+	/**
+	 * Indicates that an additional consumer is using this buffer.  Each
+	 * consumer that receives a reusable buffer must release it via
+	 * decrementUserCount() once finished with the samples.
+	 *
+	 * This is a no-op for standard buffers that are garbage collected.
+	 * Reusable buffers override this method to track the number of users.
+	 */
+	public void incrementUserCount()
+	{
+	}
+
+	/**
+	 * Indicates that a consumer is finished using this buffer.
+	 *
+	 * This is a no-op for standard buffers that are garbage collected.
+	 * Reusable buffers override this method and are recycled once all users
+	 * have released the buffer.
+	 */
+	public void decrementUserCount()
+	{
+	}
+
 	/**
 	 * Cleanup method to nullify all data and references
 	 */
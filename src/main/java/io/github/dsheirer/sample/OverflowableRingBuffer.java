@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.sample;
+
+import io.github.dsheirer.sample.real.IOverflowListener;
+import org.apache.commons.lang3.Validate;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, preallocated single-producer/single-consumer ring buffer with the same overflow semantics as the
+ * OverflowableTransferQueue.  When the number of queued elements exceeds the maximum size (overflow), all inbound
+ * elements are ignored until the queue size is reduced to or below the reset threshold.
+ *
+ * The offer() method must only be invoked by a single producer thread and the drainTo() method must only be invoked
+ * by a single consumer thread at a time (e.g. a scheduled task).  Offer is lock-free and neither method allocates
+ * per element.  The clear() methods can be invoked from any thread.  Use clear(Consumer) for reference counted
+ * (reusable) elements so that each cleared element is released.
+ *
+ * The producer (tail) and consumer (head) sequences are padded to occupy separate cache lines so that the producer
+ * and consumer threads don't contend over the same cache line.
+ */
+public class OverflowableRingBuffer<E>
+{
+    private final Object[] mElements;
+    private final int mMask;
+    private final PaddedSequence mHead = new PaddedSequence();
+    private final PaddedSequence mTail = new PaddedSequence();
+    private final Object mConsumerLock = new Object();
+
+    private IOverflowListener mOverflowListener;
+    private AtomicBoolean mOverflow = new AtomicBoolean();
+    private int mMaximumSize;
+    private int mResetThreshold;
+
+    /**
+     * Constructs a ring buffer that can hold the maximum size plus one elements, rounded up to the next power of two.
+     *
+     * @param maximumSize of the queue.  Overflow state will occur once queue size exceeds this value.
+     * @param resetThreshold for resetting overflow state to normal, once queue size is at or below this value.
+     */
+    public OverflowableRingBuffer(int maximumSize, int resetThreshold)
+    {
+        Validate.isTrue(maximumSize > 0, "Maximum size must be positive");
+        Validate.isTrue(resetThreshold < maximumSize, "Reset threshold must be less than the maximum size");
+
+        mMaximumSize = maximumSize;
+        mResetThreshold = resetThreshold;
+
+        //The element that causes the overflow is accepted, so the ring must hold one more than the maximum size
+        int capacity = Integer.highestOneBit(maximumSize) << 1;
+
+        mElements = new Object[capacity];
+        mMask = capacity - 1;
+    }
+
+    /**
+     * Adds the element to the queue if able to do so without exceeding maximum queue size.  Otherwise, ignores
+     * the element.  Producer thread only.
+     *
+     * @return true if the element was added or false if the queue is in an overflow state
+     */
+    public boolean offer(E e)
+    {
+        if(mOverflow.get())
+        {
+            return false;
+        }
+
+        long tail = mTail.get();
+
+        mElements[(int)tail & mMask] = e;
+
+        //Ordered write publishes the element to the consumer before the tail sequence update is visible
+        mTail.lazySet(tail + 1);
+
+        if(tail + 1 - mHead.get() > mMaximumSize)
+        {
+            setOverflow(true);
+        }
+
+        return true;
+    }
+
+    /**
+     * Retrieves elements from the queue into the collection up to the maximum number of elements specified.
+     * Consumer thread only.
+     *
+     * @return number of elements transferred to the collection
+     */
+    public int drainTo(Collection<? super E> collection, int maxElements)
+    {
+        synchronized(mConsumerLock)
+        {
+            long head = mHead.get();
+            long tail = mTail.get();
+
+            int count = (int)Math.min(tail - head, maxElements);
+
+            for(int x = 0; x < count; x++)
+            {
+                int index = (int)(head + x) & mMask;
+
+                collection.add(elementAt(index));
+                mElements[index] = null;
+            }
+
+            head += count;
+
+            mHead.lazySet(head);
+
+            if(mOverflow.get() && tail - head <= mResetThreshold)
+            {
+                setOverflow(false);
+            }
+
+            return count;
+        }
+    }
+
+    /**
+     * Current number of elements in the queue
+     */
+    public int size()
+    {
+        return (int)(mTail.get() - mHead.get());
+    }
+
+    /**
+     * Sets a listener to receive overflow state change events
+     */
+    public void setOverflowListener(IOverflowListener listener)
+    {
+        mOverflowListener = listener;
+    }
+
+    /**
+     * Toggles the overflow state and broadcast state change to listener
+     */
+    private void setOverflow(boolean overflow)
+    {
+        if(mOverflow.compareAndSet(!overflow, overflow))
+        {
+            if(mOverflowListener != null)
+            {
+                mOverflowListener.sourceOverflow(overflow);
+            }
+        }
+    }
+
+    /**
+     * Clears all elements from the queue and resets the overflow state
+     */
+    public void clear()
+    {
+        clear(null);
+    }
+
+    /**
+     * Clears all elements from the queue, passing each cleared element to the release consumer (e.g. to decrement
+     * the user count of a reusable buffer), and resets the overflow state
+     *
+     * @param release consumer for each cleared element, or null
+     */
+    public void clear(Consumer<? super E> release)
+    {
+        synchronized(mConsumerLock)
+        {
+            long head = mHead.get();
+            long tail = mTail.get();
+
+            while(head < tail)
+            {
+                int index = (int)head & mMask;
+
+                E element = elementAt(index);
+
+                if(release != null && element != null)
+                {
+                    release.accept(element);
+                }
+
+                mElements[index] = null;
+                head++;
+            }
+
+            mHead.set(head);
+            mOverflow.set(false);
+        }
+    }
+
+    /**
+     * Element stored at the index.  The elements array only contains elements added by offer().
+     */
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index)
+    {
+        return (E)mElements[index];
+    }
+
+    /**
+     * Sequence value padded on both sides with unused fields so that the value occupies its own cache line.  The
+     * padding is declared in the super and sub classes because the JVM lays out superclass fields first, but may
+     * reorder the fields declared within a single class.
+     */
+    private static class PaddedSequence extends RightPadding
+    {
+        private static final AtomicLongFieldUpdater<SequenceValue> VALUE_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(SequenceValue.class, "mValue");
+
+        public long get()
+        {
+            return mValue;
+        }
+
+        public void set(long value)
+        {
+            mValue = value;
+        }
+
+        /**
+         * Ordered write that is not immediately visible to other threads but is never reordered with prior writes
+         */
+        public void lazySet(long value)
+        {
+            VALUE_UPDATER.lazySet(this, value);
+        }
+    }
+
+    private static class LeftPadding
+    {
+        protected long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    private static class SequenceValue extends LeftPadding
+    {
+        protected volatile long mValue;
+    }
+
+    private static class RightPadding extends SequenceValue
+    {
+        protected long p9, p10, p11, p12, p13, p14, p15;
+    }
+}
@@ -58,7 +58,7 @@ public class OverflowableTransferQueue<E>
      * Adds the element to the queue if able to do so without exceeding maximum queue size.  Otherwise, ignores
      * the element.
      */
-    public void offer(E e)
+    public boolean offer(E e)
     {
         if(!mOverflow.get())
         {
@@ -70,7 +70,11 @@ public class OverflowableTransferQueue<E>
             {
                 setOverflow(true);
             }
+
+            return true;
         }
+
+        return false;
     }
 
     /**
@@ -90,6 +94,14 @@ public class OverflowableTransferQueue<E>
         return drainCount;
     }
 
+    /**
+     * Current number of elements in the queue
+     */
+    public int size()
+    {
+        return mCounter.get();
+    }
+
     /**
      * Sets a listener to receive overflow state change events
      */
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.sample;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Broadcasts a reusable buffer to multiple listeners.  The buffer's user count is incremented once for each listener
+ * before the buffer is dispatched, so that each listener can release the buffer (decrementUserCount) when finished
+ * without the buffer being recycled while other listeners still need it.
+ *
+ * The producer should hold its own user count on the buffer while broadcasting and release that count after the
+ * broadcast, so that a buffer with no listeners is recycled immediately.
+ */
+public class ReusableBufferBroadcaster<T extends Buffer> extends Broadcaster<T>
+{
+    @Override
+    public void broadcast(T buffer)
+    {
+        //Use a snapshot of the listeners so that the user count matches the number of listeners that receive the buffer
+        List<Listener<T>> listeners = new ArrayList<>(getListeners());
+
+        for(int x = 0; x < listeners.size(); x++)
+        {
+            buffer.incrementUserCount();
+        }
+
+        for(Listener<T> listener : listeners)
+        {
+            listener.receive(buffer);
+        }
+    }
+}
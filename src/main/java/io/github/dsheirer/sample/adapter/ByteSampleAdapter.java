@@ -17,36 +17,92 @@
  ******************************************************************************/
 package io.github.dsheirer.sample.adapter;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Converts unsigned 8-bit I/Q byte samples into float samples in the range
+ * -1.0 to 1.0
+ */
 public class ByteSampleAdapter implements ISampleAdapter
 {
-	private final static float[] LOOKUP_VALUES;
+	/* Scaling by a power of two produces the same values as the original
+	 * lookup table (x - 127) / 128 without the table lookup, so that the
+	 * conversion loop compiles to straight-line arithmetic */
+	private final static float SCALE = 1.0f / 128.0f;
 
-	/**
-	 * Creates a static lookup table that converts the 8-bit valued range 
-	 * from 0 - 255 into scaled float values of -1.0 to 0 to 1.0
-	 */
-	static
+	@Override
+    public float[] convert( byte[] samples )
+    {
+		float[] convertedSamples = new float[ getSampleCount( samples.length ) ];
+
+		convert( samples, convertedSamples );
+
+	    return convertedSamples;
+    }
+
+	@Override
+	public int getSampleCount( int byteCount )
 	{
-		LOOKUP_VALUES = new float[ 256 ];
-		
-		for( int x = 0; x < 256; x++ )
+		return byteCount;
+	}
+
+	@Override
+	public void convert( byte[] samples, float[] convertedSamples )
+	{
+		for( int x = 0; x < samples.length; x++ )
 		{
-			LOOKUP_VALUES[ x ] = (float)( x - 127 ) / 128.0f;
+			convertedSamples[ x ] = scale( samples[ x ] );
 		}
 	}
 
+	/**
+	 * Converts directly from the byte buffer, reading eight samples at a time
+	 * as a single long value to minimize the per-sample buffer access overhead
+	 * against native (direct) byte buffers.
+	 */
 	@Override
-    public float[] convert( byte[] samples )
-    {
-		float[] convertedSamples = new float[ samples.length ];
-		int pointer = 0;
-		
-		for( byte sample: samples )
+	public void convert( ByteBuffer samples, int length, float[] convertedSamples )
+	{
+		boolean bigEndian = samples.order() == ByteOrder.BIG_ENDIAN;
+
+		int blockLength = length & ~7;
+
+		int x = 0;
+
+		while( x < blockLength )
 		{
-			/* Convert byte value into float from the lookup table */
-			convertedSamples[ pointer++ ] = LOOKUP_VALUES[ ( sample & 0xFF ) ];
+			long value = samples.getLong( x );
+
+			/* Normalize so that the first sample is in the low byte */
+			if( bigEndian )
+			{
+				value = Long.reverseBytes( value );
+			}
+
+			convertedSamples[ x++ ] = scale( (int)value );
+			convertedSamples[ x++ ] = scale( (int)( value >>> 8 ) );
+			convertedSamples[ x++ ] = scale( (int)( value >>> 16 ) );
+			convertedSamples[ x++ ] = scale( (int)( value >>> 24 ) );
+			convertedSamples[ x++ ] = scale( (int)( value >>> 32 ) );
+			convertedSamples[ x++ ] = scale( (int)( value >>> 40 ) );
+			convertedSamples[ x++ ] = scale( (int)( value >>> 48 ) );
+			convertedSamples[ x++ ] = scale( (int)( value >>> 56 ) );
 		}
-		
-	    return convertedSamples;
-    }
+
+		while( x < length )
+		{
+			convertedSamples[ x ] = scale( samples.get( x ) );
+			x++;
+		}
+	}
+
+	/**
+	 * Converts the low 8 bits of the value as an unsigned byte into a scaled
+	 * float value
+	 */
+	private static float scale( int value )
+	{
+		return (float)( ( value & 0xFF ) - 127 ) * SCALE;
+	}
 }
@@ -43,38 +43,41 @@ public class ChannelShortAdapter implements ISampleAdapter
 	@Override
     public float[] convert( byte[] samples )
     {
-		float[] processed = new float[ samples.length / 4 ];
+		float[] processed = new float[ getSampleCount( samples.length ) ];
 
-		int pointer = 0;
+		convert( samples, processed );
 
-		/* Wrap byte array in a byte buffer so we can process them as shorts */
-		ByteBuffer buffer = ByteBuffer.wrap( samples );
+		return processed;
+    }
 
-		/* Set endian to correct byte ordering */
-		buffer.order( mByteOrder );
+	@Override
+	public int getSampleCount( int byteCount )
+	{
+		return byteCount / 4;
+	}
 
-        while( buffer.hasRemaining() )
-        {
-        	if( mMixerChannel == MixerChannel.LEFT )
-        	{
-            	processed[ pointer ] = mMap.get( buffer.getShort() );
+	@Override
+	public void convert( byte[] samples, float[] processed )
+	{
+		convert( ByteBuffer.wrap( samples ), samples.length, processed );
+	}
 
-            	/* Throw away the right channel */
-            	buffer.getShort();
-        	}
-        	else
-        	{
-            	/* Throw away the left channel */
-            	buffer.getShort();
+	@Override
+	public void convert( ByteBuffer samples, int length, float[] processed )
+	{
+		/* Use a view of the buffer set to the correct byte ordering */
+		ByteBuffer buffer = samples.duplicate().order( mByteOrder );
 
-            	processed[ pointer ] = mMap.get( buffer.getShort() );
-        	}
-        	
-        	pointer++;
-        }
-        
-        return processed;
-    }
+		/* Left channel is the first short of each frame, right is the second */
+		int offset = mMixerChannel == MixerChannel.LEFT ? 0 : 2;
+
+		int pointer = 0;
+
+		for( int x = 0; x + 3 < length; x += 4 )
+		{
+			processed[ pointer++ ] = mMap.get( buffer.getShort( x + offset ) );
+		}
+	}
 
 	/**
 	 * Set byte interpretation to little or big endian.  Defaults to LITTLE
@@ -17,6 +17,8 @@
  ******************************************************************************/
 package io.github.dsheirer.sample.adapter;
 
+import java.nio.ByteBuffer;
+
 /*
  * Adapter to convert byte data received from a data stream into float[] 
  * samples
@@ -24,4 +26,30 @@ package io.github.dsheirer.sample.adapter;
 public interface ISampleAdapter
 {
 	public abstract float[] convert( byte[] samples );
+
+	/**
+	 * Number of float samples produced by converting the number of bytes
+	 */
+	public abstract int getSampleCount( int byteCount );
+
+	/**
+	 * Converts the byte samples and stores the converted values into the
+	 * converted samples array, which must be sized according to the value
+	 * returned from getSampleCount() for the byte sample length.  Allows the
+	 * caller to reuse sample arrays.
+	 */
+	public abstract void convert( byte[] samples, float[] convertedSamples );
+
+	/**
+	 * Converts the byte samples directly from the (native) byte buffer and
+	 * stores the converted values into the converted samples array, which must
+	 * be sized according to the value returned from getSampleCount() for the
+	 * length.  Byte samples are read from index 0 up to the length argument
+	 * using absolute get methods so that the buffer position is unchanged.
+	 *
+	 * @param samples buffer containing the byte samples
+	 * @param length number of bytes to convert
+	 * @param convertedSamples to receive the converted float samples
+	 */
+	public abstract void convert( ByteBuffer samples, int length, float[] convertedSamples );
 }
@@ -31,25 +31,38 @@ public class ShortAdapter implements ISampleAdapter
 	@Override
     public float[] convert( byte[] samples )
     {
-		float[] processed = new float[ samples.length / 2 ];
+		float[] processed = new float[ getSampleCount( samples.length ) ];
 
-		int pointer = 0;
+		convert( samples, processed );
 
-		/* Wrap byte array in a byte buffer so we can process them as shorts */
-		ByteBuffer buffer = ByteBuffer.wrap( samples );
+		return processed;
+    }
 
-		/* Set endian to correct byte ordering */
-		buffer.order( mByteOrder );
+	@Override
+	public int getSampleCount( int byteCount )
+	{
+		return byteCount / 2;
+	}
 
-        while( buffer.hasRemaining() )
-        {
-        	processed[ pointer ] = mMap.get( buffer.getShort() );
+	@Override
+	public void convert( byte[] samples, float[] processed )
+	{
+		convert( ByteBuffer.wrap( samples ), samples.length, processed );
+	}
 
-        	pointer++;
-        }
-        
-        return processed;
-    }
+	@Override
+	public void convert( ByteBuffer samples, int length, float[] processed )
+	{
+		/* Use a view of the buffer set to the correct byte ordering */
+		ByteBuffer buffer = samples.duplicate().order( mByteOrder );
+
+		int pointer = 0;
+
+		for( int x = 0; x + 1 < length; x += 2 )
+		{
+			processed[ pointer++ ] = mMap.get( buffer.getShort( x ) );
+		}
+	}
 
 	/**
 	 * Set byte interpretation to little or big endian.  Defaults to LITTLE
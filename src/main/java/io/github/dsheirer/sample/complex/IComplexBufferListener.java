@@ -4,5 +4,10 @@ import io.github.dsheirer.sample.Listener;
 
 public interface IComplexBufferListener
 {
+	/**
+	 * Listener to receive complex buffers.  The processing chain increments the
+	 * buffer user count for each listener, so the listener must release the
+	 * buffer (decrementUserCount) once it is finished with the samples.
+	 */
 	public Listener<ComplexBuffer> getComplexBufferListener();
 }
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.sample.complex;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reference counted complex buffer that is returned to its owning reusable buffer queue once all users have released
+ * the buffer.  Users must not access the sample array after releasing the buffer.
+ */
+public class ReusableComplexBuffer extends ComplexBuffer
+{
+    private final static Logger mLog = LoggerFactory.getLogger(ReusableComplexBuffer.class);
+
+    private ReusableComplexBufferQueue mReusableComplexBufferQueue;
+    private AtomicInteger mUserCount = new AtomicInteger();
+
+    /**
+     * Constructs a reusable buffer.  Use the ReusableComplexBufferQueue to obtain instances.
+     *
+     * @param queue that owns this buffer
+     * @param samples interleaved I/Q sample array
+     */
+    ReusableComplexBuffer(ReusableComplexBufferQueue queue, float[] samples)
+    {
+        super(samples);
+        mReusableComplexBufferQueue = queue;
+    }
+
+    /**
+     * Current number of users of this buffer
+     */
+    public int getUserCount()
+    {
+        return mUserCount.get();
+    }
+
+    @Override
+    public void incrementUserCount()
+    {
+        mUserCount.incrementAndGet();
+    }
+
+    @Override
+    public void decrementUserCount()
+    {
+        int count = mUserCount.decrementAndGet();
+
+        if(count == 0)
+        {
+            mReusableComplexBufferQueue.recycle(this);
+        }
+        else if(count < 0)
+        {
+            mLog.error("Reusable complex buffer user count is negative - a user released this buffer more than once");
+            mUserCount.set(0);
+        }
+    }
+
+    /**
+     * Reusable buffers retain their sample array so that it can be recycled
+     */
+    @Override
+    public void dispose()
+    {
+    }
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.sample.complex;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of reusable complex buffers.  Buffers are recycled into this queue once every user of the buffer has released
+ * it.  Buffers that are never released by a user are simply garbage collected and replaced with a newly allocated
+ * buffer, so a misbehaving user reduces the pool efficiency but can't corrupt another user's samples.
+ */
+public class ReusableComplexBufferQueue
+{
+    //Maximum number of recycled buffers retained by the queue
+    private static final int MAXIMUM_RECYCLED_BUFFERS = 100;
+
+    private ConcurrentLinkedQueue<ReusableComplexBuffer> mRecycledBuffers = new ConcurrentLinkedQueue<>();
+    private AtomicInteger mRecycledBufferCount = new AtomicInteger();
+    private AtomicLong mHitCount = new AtomicLong();
+    private AtomicLong mMissCount = new AtomicLong();
+    private String mName;
+
+    /**
+     * Constructs a reusable buffer queue
+     *
+     * @param name to use when reporting statistics
+     */
+    public ReusableComplexBufferQueue(String name)
+    {
+        mName = name;
+    }
+
+    /**
+     * Obtains a buffer with a sample array of the requested size.  The returned buffer has a user count of 1,
+     * representing the caller.  The caller must release the buffer (decrementUserCount) once finished with it,
+     * including after broadcasting the buffer to any listeners.
+     *
+     * @param size of the sample array
+     * @return reusable buffer
+     */
+    public ReusableComplexBuffer getBuffer(int size)
+    {
+        ReusableComplexBuffer buffer = mRecycledBuffers.poll();
+
+        if(buffer != null)
+        {
+            mRecycledBufferCount.decrementAndGet();
+
+            //Discard recycled buffers that don't match the requested size
+            if(buffer.getSamples().length != size)
+            {
+                buffer = null;
+            }
+        }
+
+        if(buffer == null)
+        {
+            mMissCount.incrementAndGet();
+            buffer = new ReusableComplexBuffer(this, new float[size]);
+        }
+        else
+        {
+            mHitCount.incrementAndGet();
+        }
+
+        buffer.incrementUserCount();
+
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer to the queue for reuse
+     */
+    void recycle(ReusableComplexBuffer buffer)
+    {
+        if(mRecycledBufferCount.get() < MAXIMUM_RECYCLED_BUFFERS)
+        {
+            mRecycledBufferCount.incrementAndGet();
+            mRecycledBuffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Number of buffer requests that were satisfied with a recycled buffer
+     */
+    public long getHitCount()
+    {
+        return mHitCount.get();
+    }
+
+    /**
+     * Number of buffer requests that required a newly allocated buffer
+     */
+    public long getMissCount()
+    {
+        return mMissCount.get();
+    }
+
+    /**
+     * Number of recycled buffers currently available for reuse
+     */
+    public int getAvailableCount()
+    {
+        return mRecycledBufferCount.get();
+    }
+
+    /**
+     * Pool statistics summary
+     */
+    public String getStatistics()
+    {
+        long hits = getHitCount();
+        long misses = getMissCount();
+        long total = hits + misses;
+
+        return "Reusable buffer queue [" + mName + "] requests [" + total + "] hits [" + hits + "] misses [" +
+            misses + "] hit rate [" + (total > 0 ? (100 * hits / total) : 0) + "%] available [" +
+            getAvailableCount() + "]";
+    }
+}
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.sample.real;
+
+import io.github.dsheirer.dsp.filter.RealFilterStage;
+import io.github.dsheirer.sample.Listener;
+
+import java.util.List;
+
+/**
+ * Filtered real buffer listener that describes its front end filter stages, so that a processing chain can compute
+ * the stages once for all modules that apply equal stages to the filtered real buffer stream.
+ *
+ * When the processing chain doesn't share filter stages, the module receives the filtered real buffers through
+ * getFilteredRealBufferListener() and applies its own filter stages.
+ */
+public interface ISharedFilterStageListener extends IFilteredRealBufferListener
+{
+    /**
+     * Front end filter stages, in processing order, that are applied to the filtered real buffer stream ahead of the
+     * filter stage listener.
+     */
+    List<RealFilterStage> getFilterStages();
+
+    /**
+     * Listener to receive the output of the last front end filter stage
+     */
+    Listener<RealBuffer> getFilterStageListener();
+}
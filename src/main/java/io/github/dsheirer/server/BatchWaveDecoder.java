@@ -0,0 +1,551 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.server;
+
+import io.github.dsheirer.alias.AliasModel;
+import io.github.dsheirer.audio.broadcast.BroadcastModel;
+import io.github.dsheirer.channel.metadata.Attribute;
+import io.github.dsheirer.channel.metadata.AttributeChangeRequest;
+import io.github.dsheirer.controller.channel.Channel;
+import io.github.dsheirer.controller.channel.ChannelModel;
+import io.github.dsheirer.controller.channel.ChannelProcessingManager;
+import io.github.dsheirer.controller.channel.map.ChannelMapModel;
+import io.github.dsheirer.module.Module;
+import io.github.dsheirer.module.ProcessingChain;
+import io.github.dsheirer.module.decode.DecoderFactory;
+import io.github.dsheirer.module.decode.DecoderType;
+import io.github.dsheirer.module.log.EventLogManager;
+import io.github.dsheirer.playlist.PlaylistManager;
+import io.github.dsheirer.playlist.PlaylistV2;
+import io.github.dsheirer.properties.SystemProperties;
+import io.github.dsheirer.record.RecorderManager;
+import io.github.dsheirer.record.RecorderType;
+import io.github.dsheirer.source.wave.MappedComplexWaveSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offline batch decoder for baseband (I/Q) wave recordings, such as the recordings produced by the channel baseband
+ * recorder.  Each recording is memory-mapped and processed through a full processing chain that is configured from a
+ * channel in the playlist (decoders, event loggers and audio recorders) as fast as the processing chain can consume
+ * the samples, instead of at the real-time sample rate.
+ *
+ * Each recording is processed by its own processing chain and the recordings are processed concurrently, one per
+ * processor core.  A summary of the decoded messages and processing rate is logged for each recording and for the
+ * overall batch.
+ *
+ *     java -cp sdrtrunk-all.jar io.github.dsheirer.server.BatchWaveDecoder "channel name" recording.wav [...]
+ *
+ * Recording arguments can be either wave files or directories that contain wave files.  The batch decoder uses the
+ * same application home directory, properties file and playlist as the gui application, but doesn't start any
+ * tuners or modify the playlist.  Traffic channel grants are not followed since a baseband recording only contains
+ * the recorded channel.
+ */
+public class BatchWaveDecoder
+{
+    private final static Logger mLog = LoggerFactory.getLogger(BatchWaveDecoder.class);
+
+    //Decoders process complex samples at the tuner channel sample rate, which is also the baseband recording rate
+    public static final int CHANNEL_SAMPLE_RATE = 48000;
+
+    //Number of sample frames (100 ms) processed per sample buffer
+    private static final int BUFFER_FRAMES = CHANNEL_SAMPLE_RATE / 10;
+
+    //Audio recorders run on a fixed schedule, so processing pauses while the recorder queue is backlogged
+    private static final int RECORDER_QUEUE_THRESHOLD = 400;
+    private static final long BACK_PRESSURE_WAIT_MS = 10;
+    private static final long RECORDER_FLUSH_DELAY_MS = 2000;
+
+    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("0.0");
+
+    private Channel mChannel;
+    private AliasModel mAliasModel;
+    private ChannelModel mChannelModel = new ChannelModel();
+    private ChannelMapModel mChannelMapModel;
+    private EventLogManager mEventLogManager = new EventLogManager();
+    private RecorderManager mRecorderManager;
+    private ChannelProcessingManager mChannelProcessingManager;
+    private AtomicInteger mChainCounter = new AtomicInteger();
+
+    /**
+     * Constructs a batch decoder for the channel configuration.
+     *
+     * @param channel configuration with the decoder, event logging and recording settings to apply
+     * @param aliasModel with aliases for the channel's alias list
+     * @param channelMapModel with channel maps for the channel's decoder
+     * @param recorderManager to receive audio packets for recording
+     */
+    public BatchWaveDecoder(Channel channel, AliasModel aliasModel, ChannelMapModel channelMapModel,
+                            RecorderManager recorderManager)
+    {
+        mChannel = channel;
+        mAliasModel = aliasModel;
+        mChannelMapModel = channelMapModel;
+        mRecorderManager = recorderManager;
+
+        //The channel model isn't registered with the processing manager, so traffic channel requests are ignored
+        mChannelProcessingManager = new ChannelProcessingManager(mChannelModel, mChannelMapModel, mAliasModel,
+            mEventLogManager, mRecorderManager, null);
+    }
+
+    /**
+     * Processes the recordings concurrently and returns the result for each recording.
+     *
+     * @param recordings to process
+     * @param threadCount number of recordings to process concurrently
+     * @return results in the same order as the recordings
+     */
+    public List<BatchResult> process(List<Path> recordings, int threadCount)
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threadCount,
+            recordings.size())));
+
+        List<Future<BatchResult>> futures = new ArrayList<>();
+
+        for(Path recording : recordings)
+        {
+            futures.add(executor.submit(() -> process(recording)));
+        }
+
+        List<BatchResult> results = new ArrayList<>();
+
+        for(int x = 0; x < futures.size(); x++)
+        {
+            try
+            {
+                results.add(futures.get(x).get());
+            }
+            catch(InterruptedException | ExecutionException e)
+            {
+                mLog.error("Error processing recording [" + recordings.get(x).toString() + "]", e);
+
+                BatchResult result = new BatchResult(recordings.get(x));
+                result.mError = e.getMessage();
+                results.add(result);
+            }
+        }
+
+        executor.shutdown();
+
+        return results;
+    }
+
+    /**
+     * Processes the recording through a new processing chain on the calling thread
+     *
+     * @param recording to process
+     * @return processing result
+     */
+    public BatchResult process(Path recording)
+    {
+        BatchResult result = new BatchResult(recording);
+
+        MappedComplexWaveSource source = new MappedComplexWaveSource(recording);
+
+        try
+        {
+            source.open();
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Unable to open recording [" + recording.toString() + "]", ioe);
+            result.mError = ioe.getMessage();
+            return result;
+        }
+
+        if(source.getSampleRate() != CHANNEL_SAMPLE_RATE)
+        {
+            mLog.error("Unable to process recording [" + recording.toString() + "] - unsupported sample rate [" +
+                source.getSampleRate() + "]");
+            result.mError = "Unsupported sample rate [" + source.getSampleRate() + "] - only " +
+                CHANNEL_SAMPLE_RATE + " Hz baseband recordings are supported";
+            source.close();
+            return result;
+        }
+
+        result.mFrameCount = source.getFrameCount();
+        result.mSampleRate = source.getSampleRate();
+
+        ProcessingChain processingChain = createProcessingChain(mChannel.getName() + " batch " +
+            mChainCounter.incrementAndGet());
+
+        processingChain.addMessageListener(message ->
+        {
+            result.mMessageCount.incrementAndGet();
+
+            if(message.isValid())
+            {
+                result.mValidMessageCount.incrementAndGet();
+            }
+        });
+
+        processingChain.addCallEventListener(callEvent -> result.mCallEventCount.incrementAndGet());
+
+        processingChain.setSource(source);
+
+        long start = System.nanoTime();
+
+        try
+        {
+            processingChain.start();
+
+            while(source.next(BUFFER_FRAMES))
+            {
+                while(mRecorderManager.getQueueSize() > RECORDER_QUEUE_THRESHOLD)
+                {
+                    Thread.sleep(BACK_PRESSURE_WAIT_MS);
+                }
+            }
+        }
+        catch(IOException | InterruptedException e)
+        {
+            mLog.error("Error processing recording [" + recording.toString() + "]", e);
+            result.mError = e.getMessage();
+        }
+        finally
+        {
+            result.mElapsedNanos = System.nanoTime() - start;
+
+            //Stopping the processing chain also disposes (closes) the source
+            processingChain.stop();
+            processingChain.dispose();
+        }
+
+        mLog.info(result.toString());
+
+        return result;
+    }
+
+    /**
+     * Creates a processing chain with the decoder, event logging and recording modules for the channel, mirroring the
+     * processing chain that the channel processing manager creates for a live channel.
+     *
+     * @param name for the processing chain that is unique across the batch
+     */
+    private ProcessingChain createProcessingChain(String name)
+    {
+        ProcessingChain processingChain = new ProcessingChain(mChannel.getChannelType(), name);
+
+        List<Module> modules = DecoderFactory.getModules(mChannelModel, mChannelMapModel, mChannelProcessingManager,
+            mAliasModel, mChannel, processingChain.getChannelState().getMutableMetadata());
+        processingChain.addModules(modules);
+
+        List<Module> loggers = mEventLogManager.getLoggers(mChannel.getEventLogConfiguration(), mChannel.getName());
+
+        if(!loggers.isEmpty())
+        {
+            processingChain.addModules(loggers);
+        }
+
+        boolean recordable = mChannel.getRecordConfiguration() != null &&
+            mChannel.getRecordConfiguration().getRecorders().contains(RecorderType.AUDIO);
+
+        processingChain.getChannelState().getMutableMetadata().setRecordable(recordable);
+        processingChain.addAudioPacketListener(mRecorderManager);
+
+        processingChain.getChannelState().getMutableMetadata().receive(
+            new AttributeChangeRequest<String>(Attribute.CHANNEL_CONFIGURATION_SYSTEM, mChannel.getSystem()));
+        processingChain.getChannelState().getMutableMetadata().receive(
+            new AttributeChangeRequest<String>(Attribute.CHANNEL_CONFIGURATION_SITE, mChannel.getSite()));
+        processingChain.getChannelState().getMutableMetadata().receive(
+            new AttributeChangeRequest<String>(Attribute.CHANNEL_CONFIGURATION_NAME, mChannel.getName()));
+        processingChain.getChannelState().getMutableMetadata().receive(
+            new AttributeChangeRequest<DecoderType>(Attribute.PRIMARY_DECODER_TYPE,
+                mChannel.getDecodeConfiguration().getDecoderType()));
+
+        return processingChain;
+    }
+
+    /**
+     * Waits for the audio recorders to finish writing any queued audio
+     */
+    public void flush() throws InterruptedException
+    {
+        while(mRecorderManager.getQueueSize() > 0)
+        {
+            Thread.sleep(BACK_PRESSURE_WAIT_MS);
+        }
+
+        Thread.sleep(RECORDER_FLUSH_DELAY_MS);
+    }
+
+    /**
+     * Adds the wave file, or the wave files contained in the directory, to the list of recordings
+     */
+    private static void addRecordings(Path path, List<Path> recordings) throws IOException
+    {
+        if(Files.isDirectory(path))
+        {
+            try(DirectoryStream<Path> directoryStream = Files.newDirectoryStream(path, "*.{wav,WAV}"))
+            {
+                for(Path recording : directoryStream)
+                {
+                    recordings.add(recording);
+                }
+            }
+        }
+        else
+        {
+            recordings.add(path);
+        }
+    }
+
+    /**
+     * Logs the summary for the batch
+     */
+    private static void logSummary(List<BatchResult> results, long elapsedNanos)
+    {
+        double duration = 0.0;
+        long messages = 0;
+        long validMessages = 0;
+        long callEvents = 0;
+        int errors = 0;
+
+        for(BatchResult result : results)
+        {
+            duration += result.getDuration();
+            messages += result.mMessageCount.get();
+            validMessages += result.mValidMessageCount.get();
+            callEvents += result.mCallEventCount.get();
+
+            if(result.mError != null)
+            {
+                errors++;
+            }
+        }
+
+        double elapsed = elapsedNanos / 1E9;
+
+        mLog.info("Batch summary - recordings [" + results.size() + "] errors [" + errors + "] recorded duration [" +
+            DECIMAL_FORMAT.format(duration) + " s] processing time [" + DECIMAL_FORMAT.format(elapsed) +
+            " s] speed [" + DECIMAL_FORMAT.format(duration / elapsed) + "x real time] messages [" + messages +
+            "] valid [" + validMessages + "] messages/sec [" + DECIMAL_FORMAT.format(messages / elapsed) +
+            "] call events [" + callEvents + "]");
+    }
+
+    /**
+     * Processing result for a single recording
+     */
+    public static class BatchResult
+    {
+        private Path mRecording;
+        private long mFrameCount;
+        private int mSampleRate;
+        private long mElapsedNanos;
+        private AtomicLong mMessageCount = new AtomicLong();
+        private AtomicLong mValidMessageCount = new AtomicLong();
+        private AtomicLong mCallEventCount = new AtomicLong();
+        private String mError;
+
+        public BatchResult(Path recording)
+        {
+            mRecording = recording;
+        }
+
+        public Path getRecording()
+        {
+            return mRecording;
+        }
+
+        /**
+         * Number of sample frames in the recording
+         */
+        public long getFrameCount()
+        {
+            return mFrameCount;
+        }
+
+        /**
+         * Sample rate of the recording, or 0 if the recording could not be opened
+         */
+        public int getSampleRate()
+        {
+            return mSampleRate;
+        }
+
+        /**
+         * Recorded duration in seconds
+         */
+        public double getDuration()
+        {
+            return mSampleRate > 0 ? (double)mFrameCount / mSampleRate : 0.0;
+        }
+
+        /**
+         * Processing time in nanoseconds
+         */
+        public long getElapsedNanos()
+        {
+            return mElapsedNanos;
+        }
+
+        public long getMessageCount()
+        {
+            return mMessageCount.get();
+        }
+
+        public long getValidMessageCount()
+        {
+            return mValidMessageCount.get();
+        }
+
+        public long getCallEventCount()
+        {
+            return mCallEventCount.get();
+        }
+
+        /**
+         * Error description if processing failed, or null
+         */
+        public String getError()
+        {
+            return mError;
+        }
+
+        @Override
+        public String toString()
+        {
+            double elapsed = mElapsedNanos / 1E9;
+            double duration = getDuration();
+
+            return "Recording [" + mRecording.getFileName() + "] duration [" + DECIMAL_FORMAT.format(duration) +
+                " s] processing time [" + DECIMAL_FORMAT.format(elapsed) + " s] speed [" +
+                (elapsed > 0 ? DECIMAL_FORMAT.format(duration / elapsed) : "-") + "x real time] messages [" +
+                mMessageCount.get() + "] valid [" + mValidMessageCount.get() + "] messages/sec [" +
+                (elapsed > 0 ? DECIMAL_FORMAT.format(mMessageCount.get() / elapsed) : "-") + "] call events [" +
+                mCallEventCount.get() + "]" + (mError != null ? " error [" + mError + "]" : "");
+        }
+    }
+
+    /**
+     * Launch the batch decoder.
+     *
+     * @param args channel name followed by one or more wave files or directories of wave files
+     */
+    public static void main(String[] args)
+    {
+        System.setProperty("java.awt.headless", "true");
+
+        if(args.length < 2)
+        {
+            System.out.println("Usage: BatchWaveDecoder \"channel name\" recording.wav|directory [...]");
+            System.exit(1);
+        }
+
+        Path home = SystemProperties.getHomePath();
+
+        if(home != null)
+        {
+            SystemProperties.getInstance().loadFromHomePath(home);
+        }
+
+        //Load the playlist into unused models so that the playlist manager never saves changes to the playlist
+        PlaylistManager playlistManager = new PlaylistManager(new AliasModel(), (BroadcastModel)null,
+            new ChannelModel(), new ChannelMapModel());
+        PlaylistV2 playlist = playlistManager.load();
+
+        if(playlist == null)
+        {
+            mLog.error("Unable to load the playlist");
+            System.exit(1);
+        }
+
+        Channel channel = null;
+
+        for(Channel candidate : playlist.getChannels())
+        {
+            if(args[0].equals(candidate.getName()))
+            {
+                channel = candidate;
+                break;
+            }
+        }
+
+        if(channel == null)
+        {
+            mLog.error("Channel [" + args[0] + "] was not found in the playlist");
+            System.exit(1);
+        }
+
+        List<Path> recordings = new ArrayList<>();
+
+        try
+        {
+            for(int x = 1; x < args.length; x++)
+            {
+                addRecordings(Paths.get(args[x]), recordings);
+            }
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Error discovering recordings", ioe);
+            System.exit(1);
+        }
+
+        AliasModel aliasModel = new AliasModel();
+        aliasModel.addAliases(playlist.getAliases());
+
+        ChannelMapModel channelMapModel = new ChannelMapModel();
+        channelMapModel.addChannelMaps(playlist.getChannelMaps());
+
+        RecorderManager recorderManager = new RecorderManager();
+
+        BatchWaveDecoder decoder = new BatchWaveDecoder(channel, aliasModel, channelMapModel, recorderManager);
+
+        int threadCount = Runtime.getRuntime().availableProcessors();
+
+        mLog.info("Batch decoding [" + recordings.size() + "] recordings with channel [" + channel.getName() +
+            "] decoder [" + channel.getDecodeConfiguration().getDecoderType() + "] using [" +
+            Math.min(threadCount, recordings.size()) + "] threads");
+
+        long start = System.nanoTime();
+
+        List<BatchResult> results = decoder.process(recordings, threadCount);
+
+        logSummary(results, System.nanoTime() - start);
+
+        try
+        {
+            decoder.flush();
+        }
+        catch(InterruptedException ie)
+        {
+            //Ignore
+        }
+
+        recorderManager.dispose();
+
+        System.exit(0);
+    }
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.server;
+
+import io.github.dsheirer.alias.AliasModel;
+import io.github.dsheirer.alias.action.AliasActionManager;
+import io.github.dsheirer.audio.AudioManager;
+import io.github.dsheirer.audio.broadcast.BroadcastModel;
+import io.github.dsheirer.controller.channel.ChannelModel;
+import io.github.dsheirer.controller.channel.ChannelProcessingManager;
+import io.github.dsheirer.controller.channel.map.ChannelMapModel;
+import io.github.dsheirer.metrics.MetricsHttpServer;
+import io.github.dsheirer.metrics.MetricsRegistry;
+import io.github.dsheirer.module.log.EventLogManager;
+import io.github.dsheirer.playlist.PlaylistManager;
+import io.github.dsheirer.properties.SystemProperties;
+import io.github.dsheirer.record.RecorderManager;
+import io.github.dsheirer.settings.SettingsManager;
+import io.github.dsheirer.source.SourceManager;
+import io.github.dsheirer.source.tuner.TunerModel;
+import io.github.dsheirer.source.tuner.configuration.TunerConfigurationModel;
+import io.github.dsheirer.util.ThreadPool;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+
+/**
+ * Headless trunking server.  Loads the playlist and runs the tuners, channel processing, audio, recording,
+ * streaming and event logging without creating any of the user interface (controller panel, spectral and waterfall
+ * displays, channel metadata panel or map service).
+ *
+ * The server uses the same application home directory, properties file, settings and playlist as the gui
+ * application, so a playlist can be created with the gui application and then run on a server with:
+ *
+ *     java -cp sdrtrunk-all.jar io.github.dsheirer.server.SDRTrunkServer
+ *
+ * The server runs until the JVM is terminated.
+ */
+public class SDRTrunkServer
+{
+    private final static Logger mLog = LoggerFactory.getLogger(SDRTrunkServer.class);
+
+    private MetricsHttpServer mMetricsHttpServer;
+    private AudioManager mAudioManager;
+    private RecorderManager mRecorderManager;
+
+    public SDRTrunkServer()
+    {
+        mLog.info("*******************************************************************");
+        mLog.info("**** sdrtrunk: a trunked radio and digital decoding application ***");
+        mLog.info("****  website: https://github.com/dsheirer/sdrtrunk             ***");
+        mLog.info("****     mode: headless server                                  ***");
+        mLog.info("*******************************************************************");
+        mLog.info("Host CPU Cores:        " + Runtime.getRuntime().availableProcessors());
+        mLog.info("Host OS Name:          " + System.getProperty("os.name"));
+        mLog.info("Host OS Arch:          " + System.getProperty("os.arch"));
+        mLog.info("Host OS Version:       " + System.getProperty("os.version"));
+        mLog.info("Host Max Java Memory:  " + FileUtils.byteCountToDisplaySize(Runtime.getRuntime().maxMemory()));
+
+        Path home = SystemProperties.getHomePath();
+
+        ThreadPool.logSettings();
+
+        if(home != null)
+        {
+            mLog.info("Home path: " + home.toString());
+
+            SystemProperties.getInstance().loadFromHomePath(home);
+        }
+
+        SystemProperties.getInstance().logCurrentSettings();
+
+        MetricsRegistry.getInstance().registerMBean();
+        mMetricsHttpServer = new MetricsHttpServer(MetricsRegistry.getInstance());
+        mMetricsHttpServer.start();
+
+        TunerConfigurationModel tunerConfigurationModel = new TunerConfigurationModel();
+        TunerModel tunerModel = new TunerModel(tunerConfigurationModel);
+
+        SettingsManager settingsManager = new SettingsManager(tunerConfigurationModel);
+
+        AliasModel aliasModel = new AliasModel();
+        ChannelModel channelModel = new ChannelModel();
+        ChannelMapModel channelMapModel = new ChannelMapModel();
+        EventLogManager eventLogManager = new EventLogManager();
+        mRecorderManager = new RecorderManager();
+
+        //Discovers and starts the tuners
+        SourceManager sourceManager = new SourceManager(tunerModel, settingsManager);
+
+        ChannelProcessingManager channelProcessingManager = new ChannelProcessingManager(
+            channelModel, channelMapModel, aliasModel, eventLogManager, mRecorderManager, sourceManager);
+        channelProcessingManager.addAudioPacketListener(mRecorderManager);
+
+        channelModel.addListener(channelProcessingManager);
+
+        AliasActionManager aliasActionManager = new AliasActionManager();
+        channelProcessingManager.addMessageListener(aliasActionManager);
+
+        //Servers commonly have no sound card - local audio playback is optional
+        try
+        {
+            mAudioManager = new AudioManager(sourceManager.getMixerManager());
+            channelProcessingManager.addAudioPacketListener(mAudioManager);
+        }
+        catch(Exception e)
+        {
+            mLog.warn("Unable to open an audio output mixer - local audio playback is disabled", e);
+        }
+
+        //Broadcast model creates the stream manager for audio streaming.  Without an icon manager, the broadcast
+        //model simply omits the status icons that are only used by the gui.
+        BroadcastModel broadcastModel = new BroadcastModel(null);
+        channelProcessingManager.addAudioPacketListener(broadcastModel);
+
+        //Loading the playlist auto-starts each of the enabled channels
+        PlaylistManager playlistManager = new PlaylistManager(aliasModel, broadcastModel, channelModel,
+            channelMapModel);
+
+        playlistManager.init();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "sdrtrunk shutdown"));
+
+        mLog.info("Headless server started with [" + channelModel.getChannels().size() + "] channels");
+    }
+
+    /**
+     * Stops the audio output and recorder processing and the metrics endpoint
+     */
+    private void shutdown()
+    {
+        mLog.info("Headless server shutting down");
+
+        mRecorderManager.dispose();
+        if(mAudioManager != null)
+        {
+            mAudioManager.dispose();
+        }
+
+        mMetricsHttpServer.stop();
+    }
+
+    /**
+     * Launch the headless server.
+     */
+    public static void main(String[] args)
+    {
+        //Prevent any incidental use of the AWT toolkit from attempting to connect to a display
+        System.setProperty("java.awt.headless", "true");
+
+        new SDRTrunkServer();
+    }
+}
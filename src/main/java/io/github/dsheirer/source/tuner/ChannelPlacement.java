@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.source.tuner;
+
+/**
+ * Evaluation of sourcing a tuner channel from a tuner, produced by the tuner controller without changing the tuner's
+ * state.
+ */
+public class ChannelPlacement
+{
+    private int mChannelCount;
+    private boolean mRetune;
+    private long mSpanIncrease;
+    private int mUsableBandwidth;
+
+    /**
+     * Constructs a placement evaluation.
+     *
+     * @param channelCount number of channels currently sourced by the tuner
+     * @param retune indicates if the tuner's LO frequency must be changed to accommodate the channel
+     * @param spanIncrease in hertz of the frequency span occupied by the tuner's channels once the channel is added
+     * @param usableBandwidth of the tuner in hertz
+     */
+    public ChannelPlacement(int channelCount, boolean retune, long spanIncrease, int usableBandwidth)
+    {
+        mChannelCount = channelCount;
+        mRetune = retune;
+        mSpanIncrease = spanIncrease;
+        mUsableBandwidth = usableBandwidth;
+    }
+
+    /**
+     * Number of channels currently sourced by the tuner, not including the evaluated channel
+     */
+    public int getChannelCount()
+    {
+        return mChannelCount;
+    }
+
+    /**
+     * Indicates if the tuner's LO frequency must be changed to accommodate the channel
+     */
+    public boolean isRetune()
+    {
+        return mRetune;
+    }
+
+    /**
+     * Increase in hertz of the frequency span occupied by the tuner's channels once the channel is added
+     */
+    public long getSpanIncrease()
+    {
+        return mSpanIncrease;
+    }
+
+    /**
+     * Fraction of the tuner's usable bandwidth that is consumed by the span increase.  Adding a channel that lies
+     * within the span of the currently sourced channels consumes none of the remaining bandwidth.
+     */
+    public double getSpanIncreaseFraction()
+    {
+        return mUsableBandwidth > 0 ? (double)mSpanIncrease / (double)mUsableBandwidth : 1.0;
+    }
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.source.tuner;
+
+import io.github.dsheirer.sample.complex.ComplexBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reference counted channelizer output buffer that identifies the channelizer channel that produced the samples, so
+ * that a tuner channel source can mix each buffer with the frequency offset of the channel the buffer came from,
+ * even when the source is retuned to another channelizer channel while buffers are queued.
+ *
+ * Buffers are obtained from a Pool and are returned to the pool once every user has released the buffer.
+ */
+public class ChannelizerBuffer extends ComplexBuffer
+{
+    private final static Logger mLog = LoggerFactory.getLogger(ChannelizerBuffer.class);
+
+    private Pool mPool;
+    private AtomicInteger mUserCount = new AtomicInteger();
+    private int mChannel;
+
+    private ChannelizerBuffer(Pool pool, float[] samples)
+    {
+        super(samples);
+        mPool = pool;
+    }
+
+    /**
+     * Index of the channelizer channel that produced the samples in this buffer
+     */
+    public int getChannel()
+    {
+        return mChannel;
+    }
+
+    @Override
+    public void incrementUserCount()
+    {
+        mUserCount.incrementAndGet();
+    }
+
+    @Override
+    public void decrementUserCount()
+    {
+        int count = mUserCount.decrementAndGet();
+
+        if(count == 0)
+        {
+            mPool.recycle(this);
+        }
+        else if(count < 0)
+        {
+            mLog.error("Channelizer buffer user count is negative - a user released this buffer more than once");
+            mUserCount.set(0);
+        }
+    }
+
+    /**
+     * Pooled buffers retain their sample array so that it can be recycled
+     */
+    @Override
+    public void dispose()
+    {
+    }
+
+    /**
+     * Pool of channelizer buffers.  The channelizer output length alternates between two consecutive values when the
+     * tuner buffer length isn't a multiple of the channelizer block size, so recycled buffers are kept in separate
+     * queues for odd and even sample counts to avoid discarding buffers of the other length.
+     */
+    public static class Pool
+    {
+        //Maximum number of recycled buffers retained by the pool
+        private static final int MAXIMUM_RECYCLED_BUFFERS = 100;
+
+        private ConcurrentLinkedQueue<ChannelizerBuffer> mEvenBuffers = new ConcurrentLinkedQueue<>();
+        private ConcurrentLinkedQueue<ChannelizerBuffer> mOddBuffers = new ConcurrentLinkedQueue<>();
+        private AtomicInteger mRecycledBufferCount = new AtomicInteger();
+
+        /**
+         * Obtains a buffer with a sample array of the requested length for the channel.  The returned buffer has a
+         * user count of 1, representing the caller.
+         *
+         * @param length of the interleaved sample array
+         * @param channel index of the channelizer channel
+         * @return buffer
+         */
+        public ChannelizerBuffer getBuffer(int length, int channel)
+        {
+            ChannelizerBuffer buffer = getQueue(length / 2).poll();
+
+            if(buffer != null)
+            {
+                mRecycledBufferCount.decrementAndGet();
+
+                if(buffer.getSamples().length != length)
+                {
+                    buffer = null;
+                }
+            }
+
+            if(buffer == null)
+            {
+                buffer = new ChannelizerBuffer(this, new float[length]);
+            }
+
+            buffer.mChannel = channel;
+            buffer.incrementUserCount();
+
+            return buffer;
+        }
+
+        /**
+         * Number of recycled buffers currently available for reuse
+         */
+        public int getAvailableCount()
+        {
+            return mRecycledBufferCount.get();
+        }
+
+        private ConcurrentLinkedQueue<ChannelizerBuffer> getQueue(int sampleCount)
+        {
+            return (sampleCount & 1) == 0 ? mEvenBuffers : mOddBuffers;
+        }
+
+        private void recycle(ChannelizerBuffer buffer)
+        {
+            if(mRecycledBufferCount.get() < MAXIMUM_RECYCLED_BUFFERS)
+            {
+                mRecycledBufferCount.incrementAndGet();
+                getQueue(buffer.getSamples().length / 2).offer(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.source.tuner;
+
+import io.github.dsheirer.properties.SystemProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Channelizer types that can be used by a tuner channel source to obtain a decimated channel from a tuner.
+ */
+public enum ChannelizerType
+{
+    /**
+     * Each tuner channel source mixes the full tuner bandwidth down to baseband and decimates it independently.
+     */
+    HETERODYNE("Heterodyne Decimation"),
+
+    /**
+     * Tuner provides a shared polyphase filter bank channelizer and each tuner channel source fine tunes and decimates
+     * the single channelizer output channel that contains its frequency.
+     */
+    POLYPHASE("Polyphase Channelizer");
+
+    private final static Logger mLog = LoggerFactory.getLogger(ChannelizerType.class);
+
+    public static final String PROPERTY_CHANNELIZER_TYPE = "tuner.channelizer.type";
+
+    private String mLabel;
+
+    ChannelizerType(String label)
+    {
+        mLabel = label;
+    }
+
+    public String getLabel()
+    {
+        return mLabel;
+    }
+
+    @Override
+    public String toString()
+    {
+        return mLabel;
+    }
+
+    /**
+     * Channelizer type specified in the system properties, or POLYPHASE if one hasn't been specified.
+     */
+    public static ChannelizerType getConfiguredType()
+    {
+        String value = SystemProperties.getInstance().get(PROPERTY_CHANNELIZER_TYPE, POLYPHASE.name());
+
+        try
+        {
+            return ChannelizerType.valueOf(value);
+        }
+        catch(IllegalArgumentException iae)
+        {
+            mLog.error("Unrecognized channelizer type [" + value + "] in system properties - using " + POLYPHASE.name());
+        }
+
+        return POLYPHASE;
+    }
+}
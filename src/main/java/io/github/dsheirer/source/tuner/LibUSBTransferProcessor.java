@@ -19,38 +19,42 @@
 package io.github.dsheirer.source.tuner;
 
 import io.github.dsheirer.source.tuner.usb.USBTransferProcessor;
-import io.github.dsheirer.util.ThreadPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.usb4java.LibUsb;
 
 import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Runnable for executing LibUsb processing of bulk transfer buffers
+ * Dedicated LibUsb event handling thread for processing completed bulk transfer buffers.
+ *
+ * The event thread blocks in LibUsb waiting for transfer completion events, so completed transfers are processed
+ * (and resubmitted) as soon as the device returns them, instead of waiting for the next run of a polling timer.  All
+ * downstream completed transfer processing occurs on the event thread, so transfer callbacks must hand off the
+ * converted samples to another thread rather than processing them directly.
+ *
+ * The event thread auto-starts when the first transfer processor is registered and auto-stops once all transfer
+ * processors have been unregistered.
  */
 public class LibUSBTransferProcessor
 {
     private final static Logger mLog = LoggerFactory.getLogger(LibUSBTransferProcessor.class);
 
-    private static final long USB_TIMEOUT_MS = 2000l; //milliseconds
+    //Maximum time to block in LibUsb waiting for events, so that the event thread can respond to a stop request
+    private static final long EVENT_TIMEOUT_MICROSECONDS = 250000l;
+    private static final long ERROR_BACKOFF_MS = 5l;
 
     private List<USBTransferProcessor> mRegisteredProcessors = new CopyOnWriteArrayList<>();
-    private ByteBuffer mStatusBuffer = ByteBuffer.allocateDirect(4);
-    private AtomicBoolean mRunning = new AtomicBoolean();
-    private Processor mProcessor = new Processor();
-    private ScheduledFuture mProcessorFuture;
+    private EventThread mEventThread;
 
     /**
-     * Registers the transfer processor so that LibUSB timeout processing will auto-start.
+     * Registers the transfer processor so that LibUSB event processing will auto-start.
      * @param processor to register
      */
-    public void registerTransferProcessor(USBTransferProcessor processor)
+    public synchronized void registerTransferProcessor(USBTransferProcessor processor)
     {
         if(!mRegisteredProcessors.contains(processor))
         {
@@ -61,12 +65,12 @@ public class LibUSBTransferProcessor
     }
 
     /**
-     * Unregisters the transfer processor so that LibUSB timeout processing will auto-stop once all processors have
+     * Unregisters the transfer processor so that LibUSB event processing will auto-stop once all processors have
      * been unregistered.
      *
      * @param processor to unregister
      */
-    public void unregisterTransferProcessor(USBTransferProcessor processor)
+    public synchronized void unregisterTransferProcessor(USBTransferProcessor processor)
     {
         mRegisteredProcessors.remove(processor);
 
@@ -77,49 +81,87 @@ public class LibUSBTransferProcessor
     }
 
     /**
-     * Starts processing of LibUSB timeout events
+     * Starts the LibUSB event thread
      */
     private void start()
     {
-        if(mRunning.compareAndSet(false, true))
+        if(mEventThread == null)
         {
-            //Set periodicity to an odd multiple to avoid contention with transfer buffer receivers
-            mProcessorFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(mProcessor, 0L, 5L, TimeUnit.MILLISECONDS);
+            mEventThread = new EventThread();
+            mEventThread.start();
         }
     }
 
     /**
-     * Stops processing of LibUSB timeout events
+     * Signals the LibUSB event thread to stop.  The event thread stops once it returns from the current LibUsb event
+     * wait.  This method doesn't wait for the thread to stop since it can be invoked from the event thread itself,
+     * from a transfer callback.
      */
     private void stop()
     {
-        if(mRunning.compareAndSet(true, false))
+        if(mEventThread != null)
         {
-            if(mProcessorFuture != null)
-            {
-                mProcessorFuture.cancel(true);
-                mProcessorFuture = null;
-            }
+            mEventThread.cancel();
+            mEventThread = null;
         }
     }
 
     /**
-     * Runnable to invoke LibUSB timeout handler.  All downstream completed transfer processing will occur on this
-     * thread instance.
+     * Maximum priority daemon thread that blocks in the LibUSB event handler.  Each thread uses its own completion
+     * status buffer so that a stopping thread can't interfere with a newly started thread.
      */
-    class Processor implements Runnable
+    class EventThread extends Thread
     {
+        private IntBuffer mStatus = ByteBuffer.allocateDirect(4).asIntBuffer();
+        private volatile boolean mRunning = true;
+
+        EventThread()
+        {
+            super("sdrtrunk libusb events");
+            setDaemon(true);
+            setPriority(Thread.MAX_PRIORITY);
+        }
+
+        /**
+         * Stops the thread once it returns from the current event wait
+         */
+        void cancel()
+        {
+            mRunning = false;
+        }
+
         @Override
         public void run()
         {
-            int result = LibUsb.handleEventsTimeoutCompleted(null, USB_TIMEOUT_MS, mStatusBuffer.asIntBuffer());
+            mLog.debug("LibUSB event thread started");
 
-            if(result != LibUsb.SUCCESS)
+            while(mRunning)
             {
-                mLog.error("Error processing timeout events for LibUSB - error code:" + result);
+                try
+                {
+                    int result = LibUsb.handleEventsTimeoutCompleted(null, EVENT_TIMEOUT_MICROSECONDS, mStatus);
+
+                    mStatus.rewind();
+
+                    if(result != LibUsb.SUCCESS && result != LibUsb.ERROR_INTERRUPTED)
+                    {
+                        mLog.error("Error processing events for LibUSB - error code:" + result);
+
+                        //Avoid spinning on a persistent error condition
+                        Thread.sleep(ERROR_BACKOFF_MS);
+                    }
+                }
+                catch(InterruptedException ie)
+                {
+                    //Ignore
+                }
+                catch(Throwable throwable)
+                {
+                    mLog.error("Error in LibUSB event thread", throwable);
+                }
             }
 
-            mStatusBuffer.rewind();
+            mLog.debug("LibUSB event thread stopped");
         }
     }
 }
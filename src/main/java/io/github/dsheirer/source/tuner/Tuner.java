@@ -39,6 +39,7 @@ public abstract class Tuner implements ITunerChannelProvider
 	
 	private String mName;
 	private TunerController mTunerController;
+	private TunerChannelizer mChannelizer;
 	/**
 	 * Sample Listeners - these will typically be the DFT processor for spectral
 	 * display, or it will be one or more tuner channel sources
@@ -89,6 +90,11 @@ public abstract class Tuner implements ITunerChannelProvider
 	
 	public void dispose()
 	{
+		if( mChannelizer != null )
+		{
+			mChannelizer.dispose();
+		}
+
 		mSampleListeners.clear();
 	}
 	
@@ -97,6 +103,38 @@ public abstract class Tuner implements ITunerChannelProvider
 		mName = name;
 	}
 	
+	/**
+	 * Shared polyphase channelizer for this tuner.  Created on first access.
+	 */
+	public synchronized TunerChannelizer getChannelizer()
+	{
+		if( mChannelizer == null )
+		{
+			mChannelizer = new TunerChannelizer( this );
+		}
+
+		return mChannelizer;
+	}
+
+	/**
+	 * Cumulative DSP processing time in nanoseconds of the channelizer and the
+	 * currently sourced tuner channels.  Used to estimate the processing load
+	 * of this tuner.
+	 */
+	public long getProcessingTime()
+	{
+		long processingTime = mTunerController.getProcessingTime();
+
+		TunerChannelizer channelizer = mChannelizer;
+
+		if( channelizer != null )
+		{
+			processingTime += channelizer.getProcessingTime();
+		}
+
+		return processingTime;
+	}
+
 	/**
 	 * Unique identifier for this tuner, used to lookup a tuner configuration
 	 * from the settings manager.
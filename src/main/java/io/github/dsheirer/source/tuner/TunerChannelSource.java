@@ -23,9 +23,12 @@ import io.github.dsheirer.dsp.filter.FilterFactory;
 import io.github.dsheirer.dsp.filter.Window.WindowType;
 import io.github.dsheirer.dsp.filter.cic.ComplexPrimeCICDecimate;
 import io.github.dsheirer.dsp.mixer.Oscillator;
-import io.github.dsheirer.sample.Buffer;
+import io.github.dsheirer.metrics.Counter;
+import io.github.dsheirer.metrics.MetricSet;
+import io.github.dsheirer.metrics.MetricsRegistry;
+import io.github.dsheirer.metrics.Timer;
 import io.github.dsheirer.sample.Listener;
-import io.github.dsheirer.sample.OverflowableTransferQueue;
+import io.github.dsheirer.sample.OverflowableRingBuffer;
 import io.github.dsheirer.sample.complex.Complex;
 import io.github.dsheirer.sample.complex.ComplexBuffer;
 import io.github.dsheirer.sample.real.IOverflowListener;
@@ -36,6 +39,8 @@ import io.github.dsheirer.source.tuner.frequency.FrequencyChangeEvent.Event;
 import io.github.dsheirer.source.tuner.frequency.IFrequencyChangeListener;
 import io.github.dsheirer.source.tuner.frequency.IFrequencyChangeProcessor;
 import io.github.dsheirer.source.tuner.frequency.IFrequencyChangeProvider;
+import io.github.dsheirer.util.DSPTask;
+import io.github.dsheirer.util.ThreadPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,8 +48,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class TunerChannelSource extends ComplexSource implements IFrequencyChangeProcessor, Listener<ComplexBuffer>
@@ -57,21 +60,35 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
     //Threshold for resetting buffer overflow condition
     private static final int BUFFER_OVERFLOW_RESET_THRESHOLD = 100;
 
-    private static int CHANNEL_RATE = 48000;
-    private static int CHANNEL_PASS_FREQUENCY = 12000;
+    //Maximum interval between decimation task runs, to ensure heartbeats are sent when samples aren't arriving
+    private static final long HEARTBEAT_INTERVAL_MS = 100;
+
+    static final int CHANNEL_RATE = 48000;
+    static final int CHANNEL_PASS_FREQUENCY = 12000;
     private static final Heartbeat HEARTBEAT = new Heartbeat();
 
-    private OverflowableTransferQueue<ComplexBuffer> mBuffer;
+    private OverflowableRingBuffer<ComplexBuffer> mBuffer;
 
     private Tuner mTuner;
     private TunerChannel mTunerChannel;
+    private ChannelizerType mChannelizerType;
+    //Channelizer channel and mixer settings, published as a single immutable value so that readers never observe a
+    //channelizer index paired with the mixer offset of a different channel
+    private volatile ChannelTuning mChannelTuning;
     private Oscillator mMixer;
     private ComplexPrimeCICDecimate mDecimationFilter;
     private Listener<ComplexBuffer> mListener;
     private Listener<Heartbeat> mHeartbeatListener;
     private IFrequencyChangeProcessor mFrequencyChangeProcessor;
     private DownstreamProcessor mDownstreamFrequencyEventProcessor = new DownstreamProcessor();
-    private ScheduledFuture<?> mTaskHandle;
+    private volatile DSPTask mTaskHandle;
+    private IOverflowListener mOverflowListener;
+
+    private MetricSet mMetrics;
+    private Counter mSampleCounter;
+    private Counter mDroppedBufferCounter;
+    private Counter mOverflowCounter;
+    private Timer mProcessingTimer;
 
     private long mTunerFrequency = 0;
     private int mTunerSampleRate;
@@ -86,6 +103,11 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
      * Provides a Digital Drop Channel (DDC) to decimate the IQ output from a
      * tuner down to a 48 kHz IQ channel rate.
      *
+     * When the polyphase channelizer type is configured, this source receives
+     * the tuner's shared channelizer output channel that contains the channel
+     * frequency and only performs the fine tuning and final decimation.
+     * Otherwise, this source mixes and decimates the full tuner bandwidth.
+     *
      * Note: this class can only be used once (started and stopped) and a new
      * tuner channel source must be requested from the tuner once this object
      * has been stopped.  This is because channels are managed dynamically and
@@ -106,12 +128,40 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
         mTuner.getTunerController().addListener((IFrequencyChangeProcessor) this);
         mTunerFrequency = mTuner.getTunerController().getFrequency();
 
-        mBuffer = new OverflowableTransferQueue<>(BUFFER_MAX_CAPACITY, BUFFER_OVERFLOW_RESET_THRESHOLD);
+        mChannelizerType = ChannelizerType.getConfiguredType();
+
+        if(mChannelizerType == ChannelizerType.POLYPHASE &&
+            !TunerChannelizer.isSupported(mTuner.getTunerController().getSampleRate()))
+        {
+            mChannelizerType = ChannelizerType.HETERODYNE;
+        }
+
+        mBuffer = new OverflowableRingBuffer<>(BUFFER_MAX_CAPACITY, BUFFER_OVERFLOW_RESET_THRESHOLD);
+        mBuffer.setOverflowListener(new IOverflowListener()
+        {
+            @Override
+            public void sourceOverflow(boolean overflow)
+            {
+                if(overflow && mOverflowCounter != null)
+                {
+                    mOverflowCounter.increment();
+                }
+
+                IOverflowListener listener = mOverflowListener;
+
+                if(listener != null)
+                {
+                    listener.sourceOverflow(overflow);
+                }
+            }
+        });
 
 	    /* Setup the frequency translator to the current source frequency */
         long frequencyOffset = mTunerFrequency - mTunerChannel.getFrequency();
 
-        mMixer = new Oscillator(frequencyOffset, mTuner.getTunerController().getSampleRate());
+        int sampleRate = mTuner.getTunerController().getSampleRate();
+        mMixer = new Oscillator(frequencyOffset, sampleRate);
+        mChannelTuning = new ChannelTuning(frequencyOffset, -1, sampleRate, sampleRate);
 
 		/* Fire a sample rate change event to setup the decimation chain */
         frequencyChanged(new FrequencyChangeEvent(Event.NOTIFICATION_SAMPLE_RATE_CHANGE,
@@ -119,12 +169,13 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
     }
 
     /**
-     * Overrides the default source overflow listener management to delegate responsibility to the overflow buffer
+     * Overrides the default source overflow listener management to receive overflow state changes from the overflow
+     * buffer
      */
     @Override
     public void setOverflowListener(IOverflowListener listener)
     {
-        mBuffer.setOverflowListener(listener);
+        mOverflowListener = listener;
     }
 
     public void start(ScheduledExecutorService executor)
@@ -141,12 +192,32 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
             mDownstreamFrequencyEventProcessor.broadcastCurrentFrequency();
             mDownstreamFrequencyEventProcessor.broadcastCurrentSampleRate();
 
-            //Schedule the decimation task to run every 9 ms (111 iterations/second), an odd periodicity relative
-            //to the inbound periodicity of 20 ms, to attempt to avoid thread queue contention
-            mTaskHandle = executor.scheduleAtFixedRate(mDecimationProcessor, 0, 9, TimeUnit.MILLISECONDS);
-
-		    /* Finally, register to receive samples from the tuner */
-            mTuner.addListener((Listener<ComplexBuffer>) this);
+            mMetrics = new MetricSet(MetricsRegistry.getInstance(), "channel",
+                String.valueOf(mTunerChannel.getFrequency()));
+            mSampleCounter = mMetrics.counter("sdrtrunk_channel_samples_total",
+                "Complex samples received by the tuner channel source");
+            mDroppedBufferCounter = mMetrics.counter("sdrtrunk_channel_dropped_buffers_total",
+                "Sample buffers dropped while the tuner channel source buffer is in overflow");
+            mOverflowCounter = mMetrics.counter("sdrtrunk_channel_overflows_total",
+                "Number of times the tuner channel source buffer has entered overflow");
+            mProcessingTimer = mMetrics.timer("sdrtrunk_channel_processing_seconds",
+                "Channel processing time per sample buffer, including downstream demodulation and decoding");
+            mMetrics.gauge("sdrtrunk_channel_queue_depth", "Sample buffers waiting for decimation", mBuffer::size);
+
+            //Register the decimation task with the DSP scheduler to run as sample buffers arrive.  The task also runs
+            //when idle for more than 100 ms so that downstream heartbeat monitoring continues without samples.
+            mTaskHandle = ThreadPool.DSP.register("Channel " + mTunerChannel.getFrequency() + " decimation",
+                mDecimationProcessor, mBuffer::size, HEARTBEAT_INTERVAL_MS);
+
+		    /* Finally, register to receive samples from the tuner or from the tuner's channelizer */
+            if(mChannelizerType == ChannelizerType.POLYPHASE)
+            {
+                mTuner.getChannelizer().addChannelSource(this);
+            }
+            else
+            {
+                mTuner.addListener((Listener<ComplexBuffer>) this);
+            }
         }
         else
         {
@@ -164,16 +235,23 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
     {
         if(mRunning.compareAndSet(true, false))
         {
+            if(mChannelizerType == ChannelizerType.POLYPHASE)
+            {
+                mTuner.getChannelizer().removeChannelSource(this);
+            }
+
             mTuner.releaseChannel(this);
             mDecimationProcessor.shutdown();
 
             if(mTaskHandle != null)
             {
-                mTaskHandle.cancel(true);
+                mTaskHandle.cancel();
                 mTaskHandle = null;
             }
 
-            mBuffer.clear();
+            mBuffer.clear(ComplexBuffer::decrementUserCount);
+
+            mMetrics.unregister();
 
             mExpended = true;
         }
@@ -218,13 +296,57 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
         return mTunerChannel;
     }
 
+    /**
+     * Channelizer type used by this source
+     */
+    public ChannelizerType getChannelizerType()
+    {
+        return mChannelizerType;
+    }
+
+    /**
+     * Cumulative processing time in nanoseconds of this source's decimation task, including downstream demodulation
+     * and decoding.
+     */
+    public long getProcessingTime()
+    {
+        DSPTask task = mTaskHandle;
+
+        return task != null ? task.getTotalRunTime() : 0;
+    }
+
+    /**
+     * Index of the tuner channelizer channel that contains this source's channel, when using the polyphase
+     * channelizer type.
+     */
+    public int getChannelizerIndex()
+    {
+        return mChannelTuning.getChannelizerIndex();
+    }
+
     @Override
     public void receive(ComplexBuffer buffer)
     {
         if(mRunning.get())
         {
-            mBuffer.offer(buffer);
+            mSampleCounter.add(buffer.getSamples().length / 2);
+
+            if(mBuffer.offer(buffer))
+            {
+                DSPTask task = mTaskHandle;
+
+                if(task != null)
+                {
+                    task.signal();
+                }
+
+                return;
+            }
+
+            mDroppedBufferCounter.increment();
         }
+
+        buffer.decrementUserCount();
     }
 
     public void setFrequencyChangeListener(IFrequencyChangeProcessor processor)
@@ -287,17 +409,26 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
     {
         if(mTunerSampleRate != sampleRate)
         {
-            mMixer.setSampleRate(sampleRate);
+            mTunerSampleRate = sampleRate;
+
+            //The polyphase channelizer performs the bulk of the decimation, so this source only processes the
+            //channelizer channel output sample rate
+            int inputSampleRate = sampleRate;
+
+            if(mChannelizerType == ChannelizerType.POLYPHASE)
+            {
+                inputSampleRate = TunerChannelizer.getChannelSampleRate(sampleRate);
+            }
+
+            updateMixerFrequencyOffset();
 
             /* Get new decimation filter */
-            mDecimationFilter = FilterFactory.getDecimationFilter(sampleRate, CHANNEL_RATE, 1,
+            mDecimationFilter = FilterFactory.getDecimationFilter(inputSampleRate, CHANNEL_RATE, 1,
                 CHANNEL_PASS_FREQUENCY, 60, WindowType.HAMMING);
 
             /* re-add the original output listener */
             mDecimationFilter.setListener(mListener);
 
-            mTunerSampleRate = sampleRate;
-
             mDownstreamFrequencyEventProcessor.broadcastCurrentSampleRate();
         }
     }
@@ -305,11 +436,33 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
     /**
      * Calculates the local mixer frequency offset from the tuned frequency,
      * channel's requested frequency, and channel frequency correction.
+     *
+     * When using the polyphase channelizer, selects the channelizer channel
+     * nearest to the channel frequency and sets the mixer to the residual
+     * offset from the channelizer channel center frequency.
+     *
+     * The settings are published as a new channel tuning and the mixer is
+     * updated by the decimation processor thread before it mixes the next
+     * buffer.
      */
     private void updateMixerFrequencyOffset()
     {
         long offset = mTunerFrequency - mTunerChannel.getFrequency() - mChannelFrequencyCorrection;
-        mMixer.setFrequency(offset);
+        int index = -1;
+        int mixerSampleRate = mTunerSampleRate;
+
+        if(mChannelizerType == ChannelizerType.POLYPHASE && mTunerSampleRate > 0)
+        {
+            index = TunerChannelizer.getChannelIndex(-offset, mTunerSampleRate);
+            mixerSampleRate = TunerChannelizer.getChannelSampleRate(mTunerSampleRate);
+        }
+
+        if(mixerSampleRate <= 0)
+        {
+            mixerSampleRate = mChannelTuning.getMixerSampleRate();
+        }
+
+        mChannelTuning = new ChannelTuning(offset, index, mTunerSampleRate, mixerSampleRate);
     }
 
     public int getSampleRate() throws SourceException
@@ -483,12 +636,36 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
     {
         private boolean mProcessing = true;
         private List<ComplexBuffer> mSampleBuffers = new ArrayList<ComplexBuffer>();
+        private float[] mTranslated = new float[0];
+
+        //Mixer settings currently applied - the mixer is only accessed from this processor's thread
+        private ChannelTuning mMixerTuning;
+        private int mMixerChannel = -1;
 
         public void shutdown()
         {
             mProcessing = false;
         }
 
+        /**
+         * Updates the mixer to the current channel tuning before mixing the buffer.  Polyphase channelizer buffers
+         * identify the channelizer channel that produced them, so buffers that were queued before a change of
+         * channelizer channel are mixed with the offset of the channel they came from.
+         */
+        private void updateMixer(ComplexBuffer buffer)
+        {
+            ChannelTuning tuning = mChannelTuning;
+            int channel = buffer instanceof ChannelizerBuffer ? ((ChannelizerBuffer)buffer).getChannel() : -1;
+
+            if(tuning != mMixerTuning || channel != mMixerChannel)
+            {
+                mMixer.setSampleRate(tuning.getMixerSampleRate());
+                mMixer.setFrequency(tuning.getMixerFrequency(channel));
+                mMixerTuning = tuning;
+                mMixerChannel = channel;
+            }
+        }
+
         @Override
         public void run()
         {
@@ -508,22 +685,41 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
 
                     mBuffer.drainTo(mSampleBuffers, 20);
 
-                    for(Buffer buffer : mSampleBuffers)
+                    for(int index = 0; index < mSampleBuffers.size(); index++)
                     {
 							/* Check to see if we've been shutdown */
                         if(!mProcessing)
                         {
-                            mBuffer.clear();
+                            //Release the drained buffers that were not processed
+                            for(int x = index; x < mSampleBuffers.size(); x++)
+                            {
+                                mSampleBuffers.get(x).decrementUserCount();
+                            }
+
+                            mBuffer.clear(ComplexBuffer::decrementUserCount);
+                            mSampleBuffers.clear();
                             return;
                         }
                         else
                         {
+                            ComplexBuffer buffer = mSampleBuffers.get(index);
+
+                            long start = System.nanoTime();
+
                             float[] samples = buffer.getSamples();
 
-								/* We make a copy of the buffer so that we don't affect
+								/* We translate into a separate array so that we don't affect
 								 * anyone else that is using the same buffer, like other
-								 * channels or the spectral display */
-                            float[] translated = new float[samples.length];
+								 * channels or the spectral display.  The translation array is
+								 * reused since the decimation filter copies the samples */
+                            if(mTranslated.length != samples.length)
+                            {
+                                mTranslated = new float[samples.length];
+                            }
+
+                            float[] translated = mTranslated;
+
+                            updateMixer(buffer);
 
 								/* Perform frequency translation */
                             for(int x = 0; x < samples.length; x += 2)
@@ -537,11 +733,16 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
                                     samples[x], samples[x + 1], mMixer.inphase(), mMixer.quadrature());
                             }
 
+                            //Release the source buffer so that it can be recycled
+                            buffer.decrementUserCount();
+
                             if(mProcessing)
                             {
                                 final ComplexPrimeCICDecimate filter = mDecimationFilter;
                                 filter.receive(new ComplexBuffer(translated));
                             }
+
+                            mProcessingTimer.record(System.nanoTime() - start);
                         }
                     }
 
@@ -564,9 +765,64 @@ public class TunerChannelSource extends ComplexSource implements IFrequencyChang
 			/* Check to see if we've been shutdown */
             if(!mProcessing)
             {
-                mBuffer.clear();
+                mBuffer.clear(ComplexBuffer::decrementUserCount);
                 mSampleBuffers.clear();
             }
         }
     }
+
+    /**
+     * Immutable channelizer channel and mixer settings for this source
+     */
+    private static class ChannelTuning
+    {
+        private final long mFrequencyOffset;
+        private final int mChannelizerIndex;
+        private final int mTunerSampleRate;
+        private final int mMixerSampleRate;
+
+        /**
+         * Constructs an instance
+         *
+         * @param frequencyOffset of the channel from the tuner center frequency, including frequency correction
+         * @param channelizerIndex of the polyphase channelizer channel containing the channel, or -1 when the
+         * polyphase channelizer isn't used
+         * @param tunerSampleRate of the tuner
+         * @param mixerSampleRate of the samples processed by the mixer
+         */
+        public ChannelTuning(long frequencyOffset, int channelizerIndex, int tunerSampleRate, int mixerSampleRate)
+        {
+            mFrequencyOffset = frequencyOffset;
+            mChannelizerIndex = channelizerIndex;
+            mTunerSampleRate = tunerSampleRate;
+            mMixerSampleRate = mixerSampleRate;
+        }
+
+        public int getChannelizerIndex()
+        {
+            return mChannelizerIndex;
+        }
+
+        public int getMixerSampleRate()
+        {
+            return mMixerSampleRate;
+        }
+
+        /**
+         * Mixer frequency for samples produced by the channelizer channel.  The mixer translates the residual offset
+         * of the channel from the channelizer channel center frequency.
+         *
+         * @param channel index of the channelizer channel that produced the samples, or -1 for full bandwidth tuner
+         * samples
+         */
+        public long getMixerFrequency(int channel)
+        {
+            if(channel >= 0)
+            {
+                return mFrequencyOffset + TunerChannelizer.getChannelFrequency(channel, mTunerSampleRate);
+            }
+
+            return mFrequencyOffset;
+        }
+    }
 }
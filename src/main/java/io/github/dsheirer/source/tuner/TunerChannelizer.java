@@ -0,0 +1,435 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.source.tuner;
+
+import io.github.dsheirer.dsp.filter.channelizer.PolyphaseChannelizer;
+import io.github.dsheirer.dsp.filter.cic.ComplexPrimeCICDecimate;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.OverflowableRingBuffer;
+import io.github.dsheirer.sample.complex.ComplexBuffer;
+import io.github.dsheirer.sample.real.IOverflowListener;
+import io.github.dsheirer.source.SourceException;
+import io.github.dsheirer.source.tuner.frequency.FrequencyChangeEvent;
+import io.github.dsheirer.source.tuner.frequency.IFrequencyChangeProcessor;
+import io.github.dsheirer.util.DSPTask;
+import io.github.dsheirer.util.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wideband polyphase channelizer shared by all of the polyphase tuner channel sources of a tuner.  Each tuner buffer
+ * is channelized once and each registered tuner channel source receives the output of the channelizer channel that
+ * contains its frequency.  Tuner channel sources perform the remaining fine tuning and decimation at the (much lower)
+ * channelizer output sample rate.
+ *
+ * The channelizer only processes the tuner sample stream while at least one tuner channel source is registered.
+ */
+public class TunerChannelizer implements Listener<ComplexBuffer>, IFrequencyChangeProcessor
+{
+    private final static Logger mLog = LoggerFactory.getLogger(TunerChannelizer.class);
+
+    //Maximum number of filled buffers for the blocking queue
+    private static final int BUFFER_MAX_CAPACITY = 300;
+
+    //Threshold for resetting buffer overflow condition
+    private static final int BUFFER_OVERFLOW_RESET_THRESHOLD = 100;
+
+    private Tuner mTuner;
+    private PolyphaseChannelizer mChannelizer;
+    private List<TunerChannelSource> mChannelSources = new CopyOnWriteArrayList<>();
+    private OverflowableRingBuffer<ComplexBuffer> mBuffer;
+    private ChannelizerProcessor mChannelizerProcessor = new ChannelizerProcessor();
+    private volatile DSPTask mTaskHandle;
+    private volatile int mSampleRate;
+    private volatile boolean mSampleRateChanged = false;
+
+    /**
+     * Constructs a channelizer for the tuner.
+     *
+     * @param tuner to channelize
+     */
+    public TunerChannelizer(Tuner tuner)
+    {
+        mTuner = tuner;
+        mSampleRate = tuner.getTunerController().getSampleRate();
+
+        mBuffer = new OverflowableRingBuffer<>(BUFFER_MAX_CAPACITY, BUFFER_OVERFLOW_RESET_THRESHOLD);
+        mBuffer.setOverflowListener(new IOverflowListener()
+        {
+            @Override
+            public void sourceOverflow(boolean overflow)
+            {
+                if(overflow)
+                {
+                    mLog.warn("Channelizer buffer overflow for tuner [" + mTuner.getName() + "]");
+                }
+            }
+        });
+    }
+
+    /**
+     * Number of channelizer channels for the tuner sample rate.
+     *
+     * The overall decimation from the tuner sample rate to the tuner channel source sample rate is split so that the
+     * channelizer performs the largest share of the decimation and leaves the smallest prime factor of the overall
+     * decimation to the tuner channel source, so that each channel source still has enough bandwidth to fine tune
+     * a signal positioned anywhere within its channelizer channel.
+     *
+     * @param sampleRate of the tuner
+     * @return even number of channelizer channels
+     */
+    public static int getChannelCount(int sampleRate)
+    {
+        int decimation = sampleRate / TunerChannelSource.CHANNEL_RATE;
+
+        List<Integer> factors = ComplexPrimeCICDecimate.getPrimeFactors(decimation);
+
+        if(factors.isEmpty())
+        {
+            return 2;
+        }
+
+        return 2 * (decimation / factors.get(0));
+    }
+
+    /**
+     * Indicates if the channelizer can provide channels at the tuner sample rate
+     */
+    public static boolean isSupported(int sampleRate)
+    {
+        return sampleRate / TunerChannelSource.CHANNEL_RATE >= 2;
+    }
+
+    /**
+     * Frequency spacing of the channelizer channels
+     *
+     * @param sampleRate of the tuner
+     * @return channel spacing in hertz
+     */
+    public static double getChannelSpacing(int sampleRate)
+    {
+        return (double)sampleRate / (double)getChannelCount(sampleRate);
+    }
+
+    /**
+     * Sample rate of each channelizer channel (twice the channel spacing)
+     *
+     * @param sampleRate of the tuner
+     * @return channel output sample rate in hertz
+     */
+    public static int getChannelSampleRate(int sampleRate)
+    {
+        return (int)(2.0 * getChannelSpacing(sampleRate));
+    }
+
+    /**
+     * Channelizer channel index that is nearest to the frequency offset
+     *
+     * @param offset of the frequency from the tuner center frequency in hertz
+     * @param sampleRate of the tuner
+     * @return channel index in the range 0 to (channel count - 1)
+     */
+    public static int getChannelIndex(long offset, int sampleRate)
+    {
+        int channelCount = getChannelCount(sampleRate);
+
+        int index = (int)Math.round((double)offset / getChannelSpacing(sampleRate)) % channelCount;
+
+        if(index < 0)
+        {
+            index += channelCount;
+        }
+
+        return index;
+    }
+
+    /**
+     * Center frequency of the channelizer channel as an offset from the tuner center frequency
+     *
+     * @param index of the channelizer channel
+     * @param sampleRate of the tuner
+     * @return center frequency offset in hertz
+     */
+    public static long getChannelFrequency(int index, int sampleRate)
+    {
+        int channelCount = getChannelCount(sampleRate);
+
+        if(index >= channelCount / 2)
+        {
+            index -= channelCount;
+        }
+
+        return Math.round(index * getChannelSpacing(sampleRate));
+    }
+
+    /**
+     * Registers the tuner channel source to receive channelizer output and starts the channelizer when this is the
+     * first registered source.
+     */
+    public synchronized void addChannelSource(TunerChannelSource source)
+    {
+        mChannelSources.add(source);
+
+        if(mTaskHandle == null)
+        {
+            mTuner.getTunerController().addListener(this);
+            mSampleRate = mTuner.getTunerController().getSampleRate();
+            mSampleRateChanged = true;
+
+            mTaskHandle = ThreadPool.DSP.register(mTuner.getName() + " channelizer", mChannelizerProcessor,
+                mBuffer::size, 0);
+
+            mTuner.addListener(this);
+        }
+    }
+
+    /**
+     * Removes the tuner channel source from receiving channelizer output and stops the channelizer once all sources
+     * are removed.
+     */
+    public synchronized void removeChannelSource(TunerChannelSource source)
+    {
+        mChannelSources.remove(source);
+
+        if(mChannelSources.isEmpty() && mTaskHandle != null)
+        {
+            mTuner.removeListener(this);
+            mTuner.getTunerController().removeListener(this);
+
+            mTaskHandle.cancel();
+            mTaskHandle = null;
+
+            mBuffer.clear(ComplexBuffer::decrementUserCount);
+        }
+    }
+
+    /**
+     * Number of tuner channel sources currently served by this channelizer
+     */
+    public int getChannelSourceCount()
+    {
+        return mChannelSources.size();
+    }
+
+    /**
+     * Cumulative processing time of the channelizer task in nanoseconds while the channelizer is running
+     */
+    public long getProcessingTime()
+    {
+        DSPTask task = mTaskHandle;
+
+        return task != null ? task.getTotalRunTime() : 0;
+    }
+
+    /**
+     * Stops the channelizer and releases all channel sources
+     */
+    public synchronized void dispose()
+    {
+        for(TunerChannelSource source : mChannelSources)
+        {
+            removeChannelSource(source);
+        }
+    }
+
+    @Override
+    public void receive(ComplexBuffer buffer)
+    {
+        if(mBuffer.offer(buffer))
+        {
+            DSPTask task = mTaskHandle;
+
+            if(task != null)
+            {
+                task.signal();
+            }
+        }
+        else
+        {
+            buffer.decrementUserCount();
+        }
+    }
+
+    /**
+     * Monitors tuner sample rate changes so that the filter bank can be redesigned for the new sample rate
+     */
+    @Override
+    public void frequencyChanged(FrequencyChangeEvent event) throws SourceException
+    {
+        if(event.getEvent() == FrequencyChangeEvent.Event.NOTIFICATION_SAMPLE_RATE_CHANGE)
+        {
+            mSampleRate = event.getValue().intValue();
+            mSampleRateChanged = true;
+        }
+    }
+
+    /**
+     * Creates a new filter bank for the current tuner sample rate
+     */
+    private void updateChannelizer()
+    {
+        int sampleRate = mSampleRate;
+        int channelCount = getChannelCount(sampleRate);
+        int spacing = (int)getChannelSpacing(sampleRate);
+
+        //Pass band covers a full channel bandwidth signal positioned at the edge of the center half of the channel
+        //and the stop band is positioned to prevent aliasing into that pass band at the channel output sample rate
+        int passFrequency = (spacing / 2) + TunerChannelSource.CHANNEL_PASS_FREQUENCY;
+        int stopFrequency = getChannelSampleRate(sampleRate) - passFrequency;
+
+        mChannelizer = new PolyphaseChannelizer(sampleRate, channelCount, passFrequency, stopFrequency);
+
+        mLog.info("Tuner [" + mTuner.getName() + "] polyphase channelizer - sample rate [" + sampleRate +
+            "] channels [" + channelCount + "] taps per channel [" + mChannelizer.getTapsPerChannel() + "]");
+    }
+
+    /**
+     * Channelizes each tuner buffer and distributes the channel outputs to the registered tuner channel sources
+     */
+    public class ChannelizerProcessor implements Runnable
+    {
+        private List<ComplexBuffer> mSampleBuffers = new ArrayList<>();
+        private ChannelizerBuffer.Pool mBufferPool = new ChannelizerBuffer.Pool();
+
+        //Working arrays reused across buffers and resized only when the number of channel sources grows
+        private int[] mSourceChannels = new int[0];
+        private int[] mRequestedChannels = new int[0];
+        private ChannelizerBuffer[] mChannelBuffers = new ChannelizerBuffer[0];
+        private float[][] mOutputs = new float[0][];
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                if(mSampleRateChanged)
+                {
+                    mSampleRateChanged = false;
+                    updateChannelizer();
+                }
+
+                mBuffer.drainTo(mSampleBuffers, 20);
+
+                int channelCount = mChannelizer.getChannelCount();
+
+                for(ComplexBuffer buffer : mSampleBuffers)
+                {
+                    List<TunerChannelSource> sources = mChannelSources;
+
+                    if(mSourceChannels.length < sources.size())
+                    {
+                        resize(sources.size());
+                    }
+
+                    int requestedCount = 0;
+
+                    //Identify the unique set of channelizer channels needed by the current sources.  Each source's
+                    //channel is read once so that routing below uses the same channel that was requested.
+                    for(int x = 0; x < sources.size(); x++)
+                    {
+                        int channel = sources.get(x).getChannelizerIndex();
+                        mSourceChannels[x] = channel;
+
+                        if(channel >= 0 && channel < channelCount &&
+                            indexOf(mRequestedChannels, requestedCount, channel) < 0)
+                        {
+                            mRequestedChannels[requestedCount++] = channel;
+                        }
+                    }
+
+                    int outputLength = mChannelizer.getOutputLength(buffer.getSamples().length);
+
+                    for(int x = 0; x < requestedCount; x++)
+                    {
+                        mChannelBuffers[x] = mBufferPool.getBuffer(outputLength, mRequestedChannels[x]);
+                        mOutputs[x] = mChannelBuffers[x].getSamples();
+                    }
+
+                    mChannelizer.process(buffer.getSamples(), mRequestedChannels, requestedCount, mOutputs);
+
+                    //Release the tuner buffer so that it can be recycled
+                    buffer.decrementUserCount();
+
+                    //Sources sharing a channelizer channel share the same (read-only) channel buffer
+                    for(int x = 0; x < sources.size(); x++)
+                    {
+                        int index = indexOf(mRequestedChannels, requestedCount, mSourceChannels[x]);
+
+                        if(index >= 0)
+                        {
+                            mChannelBuffers[index].incrementUserCount();
+                            sources.get(x).receive(mChannelBuffers[index]);
+                        }
+                    }
+
+                    //Release the channelizer's own reference so each buffer is recycled once its sources release it
+                    for(int x = 0; x < requestedCount; x++)
+                    {
+                        mChannelBuffers[x].decrementUserCount();
+                        mChannelBuffers[x] = null;
+                        mOutputs[x] = null;
+                    }
+                }
+
+                mSampleBuffers.clear();
+            }
+            catch(Exception e)
+            {
+                mLog.error("Error encountered during channelizer processing", e);
+                mSampleBuffers.clear();
+            }
+            catch(Throwable throwable)
+            {
+                mLog.error("Code error encountered during channelizer processing - channelizer thread will " +
+                    "probably die", throwable);
+            }
+        }
+
+        /**
+         * Resizes the working arrays to accommodate the specified number of channel sources
+         */
+        private void resize(int size)
+        {
+            mSourceChannels = new int[size];
+            mRequestedChannels = new int[size];
+            mChannelBuffers = new ChannelizerBuffer[size];
+            mOutputs = new float[size][];
+        }
+
+        /**
+         * Index of the value within the first count elements of the array, or -1 if the value isn't found
+         */
+        private int indexOf(int[] values, int count, int value)
+        {
+            for(int x = 0; x < count; x++)
+            {
+                if(values[x] == value)
+                {
+                    return x;
+                }
+            }
+
+            return -1;
+        }
+    }
+}
@@ -27,8 +27,11 @@ import io.github.dsheirer.source.tuner.frequency.IFrequencyChangeProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.RejectedExecutionException;
 
 public abstract class TunerController implements Tunable, IFrequencyChangeProcessor
@@ -37,6 +40,7 @@ public abstract class TunerController implements Tunable, IFrequencyChangeProces
 
     /* List of currently tuned channels being served to demod channels */
     private SortedSet<TunerChannel> mTunedChannels = new ConcurrentSkipListSet<>();
+    private List<TunerChannelSource> mChannelSources = new CopyOnWriteArrayList<>();
     protected FrequencyController mFrequencyController;
     private int mMiddleUnusable;
     private double mUsableBandwidthPercentage;
@@ -142,20 +146,28 @@ public abstract class TunerController implements Tunable, IFrequencyChangeProces
      * channels can fit within the tunable bandwidth.
      */
     private boolean canTune(TunerChannel channel)
+    {
+        return canTune(channel, mTunedChannels);
+    }
+
+    /**
+     * Indicates if channel along with the set of tuned channels can fit within the tunable bandwidth.
+     */
+    private boolean canTune(TunerChannel channel, SortedSet<TunerChannel> tunedChannels)
     {
         //Make sure we're within the tunable frequency range of this tuner
         if(getMinFrequency() < channel.getMinFrequency() && getMaxFrequency() > channel.getMaxFrequency())
         {
             //If this is the first lock, then we're good
-            if(mTunedChannels.isEmpty())
+            if(tunedChannels.isEmpty())
             {
                 return true;
             }
             else
             {
                 int usableBandwidth = getUsableBandwidth();
-                long minLockedFrequency = mTunedChannels.first().getMinFrequency();
-                long maxLockedFrequency = mTunedChannels.last().getMaxFrequency();
+                long minLockedFrequency = tunedChannels.first().getMinFrequency();
+                long maxLockedFrequency = tunedChannels.last().getMaxFrequency();
 
                 //Requested channel is within current locked channel frequency range
                 if(minLockedFrequency <= channel.getMinFrequency() && channel.getMaxFrequency() <= maxLockedFrequency)
@@ -211,6 +223,8 @@ public abstract class TunerController implements Tunable, IFrequencyChangeProces
                 }
 
                 source = new TunerChannelSource(tuner, channel);
+
+                mChannelSources.add(source);
             }
             catch(SourceException se)
             {
@@ -222,6 +236,53 @@ public abstract class TunerController implements Tunable, IFrequencyChangeProces
         return source;
     }
 
+    /**
+     * Evaluates sourcing the channel from this tuner, without changing the tuner's state.  The evaluation includes
+     * whether the tuner's LO frequency must be changed to accommodate the channel and, if so, that a new LO frequency
+     * exists that fits the channel and all currently sourced channels without placing any of them in the central DC
+     * spike unusable region.
+     *
+     * @param channel with defined center frequency and bandwidth
+     * @return placement evaluation or null if the channel can't be sourced from this tuner
+     */
+    public ChannelPlacement evaluate(TunerChannel channel)
+    {
+        SortedSet<TunerChannel> tunedChannels = new TreeSet<>(mTunedChannels);
+
+        if(!canTune(channel, tunedChannels))
+        {
+            return null;
+        }
+
+        long currentSpan = tunedChannels.isEmpty() ? 0 :
+            tunedChannels.last().getMaxFrequency() - tunedChannels.first().getMinFrequency();
+
+        int channelCount = tunedChannels.size();
+
+        tunedChannels.add(channel);
+
+        long span = tunedChannels.last().getMaxFrequency() - tunedChannels.first().getMinFrequency();
+
+        boolean retune;
+
+        try
+        {
+            retune = requiresLOUpdate(channel);
+
+            if(retune)
+            {
+                //Throws an exception when there is no viable LO frequency
+                calculateLOFrequency(tunedChannels);
+            }
+        }
+        catch(SourceException se)
+        {
+            return null;
+        }
+
+        return new ChannelPlacement(channelCount, retune, span - currentSpan, getUsableBandwidth());
+    }
+
     public int getChannelCount()
     {
         return mTunedChannels.size();
@@ -248,7 +309,23 @@ public abstract class TunerController implements Tunable, IFrequencyChangeProces
         if(tunerChannelSource != null)
         {
             mTunedChannels.remove(tunerChannelSource.getTunerChannel());
+            mChannelSources.remove(tunerChannelSource);
+        }
+    }
+
+    /**
+     * Cumulative DSP processing time in nanoseconds of the currently sourced tuner channels
+     */
+    public long getProcessingTime()
+    {
+        long processingTime = 0;
+
+        for(TunerChannelSource source : mChannelSources)
+        {
+            processingTime += source.getProcessingTime();
         }
+
+        return processingTime;
     }
 
     /**
@@ -270,20 +347,32 @@ public abstract class TunerController implements Tunable, IFrequencyChangeProces
      *                         within the current tuner bandwidth and any central DC spike unusable region.
      */
     private void updateLOFrequency() throws SourceException
+    {
+        mFrequencyController.setFrequency(calculateLOFrequency(mTunedChannels));
+    }
+
+    /**
+     * Calculates the Local Oscillator frequency that accommodates the set of tuned channels.  See updateLOFrequency().
+     *
+     * @param tunedChannels to accommodate
+     * @return LO frequency
+     * @throws SourceException if a viable LO frequency can't be calculated
+     */
+    private long calculateLOFrequency(SortedSet<TunerChannel> tunedChannels) throws SourceException
     {
         long candidateFrequency;
 
         boolean isValidCandidateFrequency = true;
 
         //If there is only 1 channel set the center frequency so that the channel is positioned to the right of center
-        if(mTunedChannels.size() == 1)
+        if(tunedChannels.size() == 1)
         {
-            candidateFrequency = mTunedChannels.first().getMinFrequency() - mMiddleUnusable + 1;
+            candidateFrequency = tunedChannels.first().getMinFrequency() - mMiddleUnusable + 1;
         }
         else
         {
-            long minLockedFrequency = mTunedChannels.first().getMinFrequency();
-            long maxLockedFrequency = mTunedChannels.last().getMaxFrequency();
+            long minLockedFrequency = tunedChannels.first().getMinFrequency();
+            long maxLockedFrequency = tunedChannels.last().getMaxFrequency();
 
             //Start by placing the highest frequency channel at the high end of the spectrum
             candidateFrequency = maxLockedFrequency - (getUsableBandwidth() / 2);
@@ -304,7 +393,7 @@ public abstract class TunerController implements Tunable, IFrequencyChangeProces
                     //increase the tuned frequency causing the set of channels to move left in the tuned bandwidth until
                     //we either find a good center tune frequency, or we walk the lowest frequency channel out of the
                     //minimum tuned range, in which case we'll throw an exception indicating we don't have a solution.
-                    for(TunerChannel channel : mTunedChannels)
+                    for(TunerChannel channel : tunedChannels)
                     {
                         if(channel.overlaps(minAvoid, maxAvoid))
                         {
@@ -334,7 +423,7 @@ public abstract class TunerController implements Tunable, IFrequencyChangeProces
 
         if(isValidCandidateFrequency)
         {
-            mFrequencyController.setFrequency(candidateFrequency);
+            return candidateFrequency;
         }
         else
         {
@@ -89,6 +89,9 @@ public class TunerManager
         {
             mLog.error("unable to initialize libusb [" +
                 LibUsb.errorName(result) + "]");
+
+            //Device list is not initialized - no USB tuners can be loaded
+            return;
         }
         else
         {
@@ -101,6 +104,8 @@ public class TunerManager
             {
                 mLog.error("unable to get device list from libusb [" + result + " / " +
                     LibUsb.errorName(result) + "]");
+
+                return;
             }
             else
             {
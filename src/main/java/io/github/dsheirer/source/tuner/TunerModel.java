@@ -13,9 +13,7 @@ import org.slf4j.LoggerFactory;
 import javax.swing.table.AbstractTableModel;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.RejectedExecutionException;
 
 public class TunerModel extends AbstractTableModel implements Listener<TunerEvent>
 {
@@ -41,6 +39,7 @@ public class TunerModel extends AbstractTableModel implements Listener<TunerEven
 	private DecimalFormat mSampleRateFormat = new DecimalFormat( "0.000" );
 	
 	private TunerConfigurationModel mTunerConfigurationModel;
+	private TunerPlacementPlanner mTunerPlacementPlanner = new TunerPlacementPlanner();
 
 	public TunerModel( TunerConfigurationModel tunerConfigurationModel )
 	{
@@ -254,43 +253,19 @@ public class TunerModel extends AbstractTableModel implements Listener<TunerEven
 	}
 	
     /**
-     * Iterates current tuners to get a tuner channel source for the frequency
-     * specified in the channel config's source config object.
+     * Gets a tuner channel source for the frequency specified in the channel
+     * config's source config object from the tuner chosen by the placement
+     * planner.
      * 
      * Returns null if no tuner can source the channel
      */
     public Source getSource(SourceConfigTuner config, int bandwidth )
     {
-    	TunerChannelSource retVal = null;
-    	
 		TunerChannel tunerChannel = config.getTunerChannel();
 		
 		tunerChannel.setBandwidth( bandwidth );
 		
-		Iterator<Tuner> it = mTuners.iterator();
-		
-		Tuner tuner;
-		
-		while( it.hasNext() && retVal == null )
-		{
-			tuner = it.next();
-			
-			try
-            {
-                retVal = tuner.getChannel( tunerChannel );
-            }
-			catch ( RejectedExecutionException ree )
-			{
-				mLog.error( "couldn't provide tuner channel source", ree );
-			}
-            catch ( SourceException e )
-            {
-            	mLog.error( "error obtaining channel from tuner [" +
-            			tuner.getName() + "]", e );
-            }
-		}
-    	
-    	return retVal;
+		return mTunerPlacementPlanner.getSource( mTuners, tunerChannel );
     }
 	
 }
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.source.tuner;
+
+import io.github.dsheirer.metrics.Counter;
+import io.github.dsheirer.metrics.MetricSet;
+import io.github.dsheirer.metrics.MetricsRegistry;
+import io.github.dsheirer.metrics.Timer;
+import io.github.dsheirer.source.SourceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Chooses which tuner sources a tuner channel when several tuners can provide the channel.
+ *
+ * Each tuner evaluates the channel against its tunable range, usable bandwidth, central DC spike unusable region and
+ * currently sourced channels, including whether a new LO frequency can be found that keeps all of its channels
+ * usable.  The planner then selects the feasible tuner with the lowest placement cost:
+ *
+ * - processing load: the tuner's measured DSP processing load (fraction of one DSP thread), or a per-channel
+ *   estimate while the tuner's load hasn't been measured yet
+ * - bandwidth: fraction of the tuner's usable bandwidth consumed by widening the span of its sourced channels.
+ *   Channels that fall within a tuner's current span are preferred, which keeps the remaining bandwidth of each
+ *   tuner available for channels (e.g. traffic channel grants) that no other tuner can reach.
+ * - LO change: changing the LO of a tuner that is already sourcing channels disturbs those channels
+ * - idle tuner: committing an idle tuner to a frequency range is avoided while busy tuners can source the channel,
+ *   so that idle tuners remain available for channels outside the ranges of the busy tuners
+ *
+ * Ties are resolved in tuner order.  When the selected tuner can't provide the channel (e.g. it was changed by a
+ * concurrent request), the next lowest cost tuner is attempted.
+ *
+ * Decision latency, placements, LO changes and rejected channel requests are recorded in the metrics registry.
+ */
+public class TunerPlacementPlanner
+{
+    private final static Logger mLog = LoggerFactory.getLogger(TunerPlacementPlanner.class);
+
+    private static final double RETUNE_COST = 0.25;
+    private static final double IDLE_TUNER_COST = 0.5;
+
+    //Estimated processing load per channel as a fraction of one DSP thread, used until a tuner's load is measured
+    private static final double ESTIMATED_CHANNEL_LOAD = 0.01;
+
+    //Minimum interval for measuring the tuner processing load
+    private static final long LOAD_MEASUREMENT_INTERVAL_NS = 1_000_000_000L;
+
+    private Map<Tuner,TunerLoad> mTunerLoads = new HashMap<>();
+
+    private MetricSet mMetrics;
+    private Timer mDecisionTimer;
+    private Counter mPlacementCounter;
+    private Counter mRetuneCounter;
+    private Counter mRejectionCounter;
+
+    public TunerPlacementPlanner()
+    {
+        mMetrics = new MetricSet(MetricsRegistry.getInstance());
+        mDecisionTimer = mMetrics.timer("sdrtrunk_tuner_placement_decision_seconds",
+            "Time to evaluate the tuners and choose a tuner for a channel request");
+        mPlacementCounter = mMetrics.counter("sdrtrunk_tuner_placements_total",
+            "Channel requests that were sourced from a tuner");
+        mRetuneCounter = mMetrics.counter("sdrtrunk_tuner_placement_retunes_total",
+            "Channel requests that required a tuner LO frequency change");
+        mRejectionCounter = mMetrics.counter("sdrtrunk_tuner_placement_rejections_total",
+            "Channel requests that could not be sourced from any tuner");
+    }
+
+    /**
+     * Sources the tuner channel from the tuner with the lowest placement cost.
+     *
+     * @param tuners available to source the channel
+     * @param tunerChannel with defined center frequency and bandwidth
+     * @return tuner channel source or null if none of the tuners can source the channel
+     */
+    public synchronized TunerChannelSource getSource(List<Tuner> tuners, TunerChannel tunerChannel)
+    {
+        long start = System.nanoTime();
+
+        mTunerLoads.keySet().retainAll(tuners);
+
+        List<Candidate> candidates = new ArrayList<>();
+
+        for(Tuner tuner : tuners)
+        {
+            ChannelPlacement placement = tuner.getTunerController().evaluate(tunerChannel);
+
+            if(placement != null)
+            {
+                candidates.add(new Candidate(tuner, placement, getCost(tuner, placement)));
+            }
+        }
+
+        //Stable sort retains tuner order for equal cost candidates
+        Collections.sort(candidates, Comparator.comparingDouble(Candidate::getCost));
+
+        mDecisionTimer.record(System.nanoTime() - start);
+
+        for(Candidate candidate : candidates)
+        {
+            Tuner tuner = candidate.getTuner();
+
+            try
+            {
+                TunerChannelSource source = tuner.getChannel(tunerChannel);
+
+                if(source != null)
+                {
+                    mPlacementCounter.increment();
+
+                    if(candidate.getPlacement().isRetune())
+                    {
+                        mRetuneCounter.increment();
+                    }
+
+                    mLog.debug("Channel [" + tunerChannel.getFrequency() + "] sourced from tuner [" +
+                        tuner.getName() + "] placement cost [" + candidate.getCost() + "] of [" +
+                        candidates.size() + "] candidate tuners");
+
+                    return source;
+                }
+            }
+            catch(RejectedExecutionException ree)
+            {
+                mLog.error("couldn't provide tuner channel source", ree);
+            }
+            catch(SourceException e)
+            {
+                mLog.error("error obtaining channel from tuner [" + tuner.getName() + "]", e);
+            }
+        }
+
+        mRejectionCounter.increment();
+
+        mLog.debug("Channel [" + tunerChannel.getFrequency() + "] rejected - no tuner available");
+
+        return null;
+    }
+
+    /**
+     * Placement cost of sourcing the channel from the tuner
+     */
+    private double getCost(Tuner tuner, ChannelPlacement placement)
+    {
+        double cost = getLoad(tuner, placement.getChannelCount()) + placement.getSpanIncreaseFraction();
+
+        if(placement.getChannelCount() == 0)
+        {
+            cost += IDLE_TUNER_COST;
+        }
+        else if(placement.isRetune())
+        {
+            cost += RETUNE_COST;
+        }
+
+        return cost;
+    }
+
+    /**
+     * Current processing load of the tuner as a fraction of one DSP thread
+     */
+    private double getLoad(Tuner tuner, int channelCount)
+    {
+        TunerLoad load = mTunerLoads.get(tuner);
+
+        if(load == null)
+        {
+            load = new TunerLoad();
+            mTunerLoads.put(tuner, load);
+        }
+
+        load.update(tuner.getProcessingTime(), System.nanoTime());
+
+        return Math.max(load.getLoad(), channelCount * ESTIMATED_CHANNEL_LOAD);
+    }
+
+    /**
+     * Tuner processing load measured as the processing time used per unit of elapsed time between measurements
+     */
+    private class TunerLoad
+    {
+        private long mProcessingTime = -1;
+        private long mTimestamp;
+        private double mLoad;
+
+        void update(long processingTime, long timestamp)
+        {
+            //Processing time decreases when channels or the channelizer are stopped - restart the measurement
+            if(mProcessingTime < 0 || processingTime < mProcessingTime)
+            {
+                mProcessingTime = processingTime;
+                mTimestamp = timestamp;
+                return;
+            }
+
+            long elapsed = timestamp - mTimestamp;
+
+            if(elapsed >= LOAD_MEASUREMENT_INTERVAL_NS)
+            {
+                mLoad = (double)(processingTime - mProcessingTime) / (double)elapsed;
+                mProcessingTime = processingTime;
+                mTimestamp = timestamp;
+            }
+        }
+
+        double getLoad()
+        {
+            return mLoad;
+        }
+    }
+
+    /**
+     * Tuner that can source the channel along with the placement evaluation and cost
+     */
+    private class Candidate
+    {
+        private Tuner mTuner;
+        private ChannelPlacement mPlacement;
+        private double mCost;
+
+        Candidate(Tuner tuner, ChannelPlacement placement, double cost)
+        {
+            mTuner = tuner;
+            mPlacement = placement;
+            mCost = cost;
+        }
+
+        Tuner getTuner()
+        {
+            return mTuner;
+        }
+
+        ChannelPlacement getPlacement()
+        {
+            return mPlacement;
+        }
+
+        double getCost()
+        {
+            return mCost;
+        }
+    }
+}
@@ -22,6 +22,9 @@ import io.github.dsheirer.dsp.filter.dc.DCRemovalFilter_RB;
 import io.github.dsheirer.dsp.filter.hilbert.HilbertTransform;
 import io.github.dsheirer.sample.adapter.ISampleAdapter;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 public class AirspySampleAdapter implements ISampleAdapter
 {
     private static final float SCALE_SIGNED_12_BIT_TO_FLOAT = 1.0f / 2048.0f;
@@ -53,95 +56,163 @@ public class AirspySampleAdapter implements ISampleAdapter
     @Override
     public float[] convert(byte[] samples)
     {
-        float[] realSamples;
+        float[] realSamples = new float[getSampleCount(samples.length)];
+
+        convert(samples, realSamples);
+
+        return realSamples;
+    }
+
+    @Override
+    public int getSampleCount(int byteCount)
+    {
+        if(mSamplePacking)
+        {
+            int count = (int) ((float) byteCount / 1.5f);
+
+            /* Ensure we have an even number of samples */
+            if(count % 2 == 1)
+            {
+                count--;
+            }
+
+            return count;
+        }
+
+        return byteCount / 2;
+    }
+
+    @Override
+    public void convert(byte[] samples, float[] realSamples)
+    {
+        convert(ByteBuffer.wrap(samples), samples.length, realSamples);
+    }
 
+    @Override
+    public void convert(ByteBuffer samples, int length, float[] realSamples)
+    {
         if(mSamplePacking)
         {
-            realSamples = convertPacked(samples);
+            convertPacked(samples, realSamples);
         }
         else
         {
-            realSamples = convertUnpacked(samples);
+            convertUnpacked(samples, length, realSamples);
         }
 
         mDCFilter.filter(realSamples);
 
-        return mHilbertTransform.filter(realSamples);
+        mHilbertTransform.filter(realSamples);
     }
 
     /**
-     * Converts the byte array containing unsigned 12-bit short values into
-     * signed float values in the range -1 to 1;
+     * Converts the byte buffer containing little-endian unsigned 12-bit short values into signed float values in the
+     * range -1 to 1.  Four samples are read at a time as a single long value.
      *
-     * @param data - byte array of unsigned 16-bit values
-     * @return converted float values
+     * @param data - byte buffer of unsigned 16-bit values
+     * @param length - number of bytes to convert
+     * @param samples - array to receive the converted float values
      */
-    private float[] convertUnpacked(byte[] data)
+    private void convertUnpacked(ByteBuffer data, int length, float[] samples)
     {
-        float[] samples = new float[data.length / 2];
+        boolean bigEndian = data.order() == ByteOrder.BIG_ENDIAN;
+
+        int blockLength = length & ~7;
 
         int pointer = 0;
+        int x = 0;
 
-        for(int x = 0; x < data.length; x += 2)
+        while(x < blockLength)
         {
-            samples[pointer++] = scale((data[x] & 0xFF) |
-                (data[x + 1] << 8));
+            long value = data.getLong(x);
+
+            if(bigEndian)
+            {
+                value = Long.reverseBytes(value);
+            }
+
+            samples[pointer++] = scale((int)value);
+            samples[pointer++] = scale((int)(value >>> 16));
+            samples[pointer++] = scale((int)(value >>> 32));
+            samples[pointer++] = scale((int)(value >>> 48));
+
+            x += 8;
         }
 
-        return samples;
+        while(x + 1 < length)
+        {
+            samples[pointer++] = scale((data.get(x) & 0xFF) | (data.get(x + 1) << 8));
+            x += 2;
+        }
     }
 
     /**
-     * Converts every 3 bytes containing a pair of 12-bit unsigned values into
-     * a pair of float values in the range -1 to 1;
+     * Converts packed 12-bit unsigned values into float values in the range -1 to 1.
+     *
+     * The airspy packs eight 12-bit samples into three little-endian 32-bit words where the samples are ordered from
+     * the most significant bits of the first word to the least significant bits of the last word.  Each set of three
+     * words is unpacked with shift and mask operations.
      *
-     * @param data1 - byte array of unsigned 12-bit values
-     * @return converted float values
+     * @param data - byte buffer of packed unsigned 12-bit values
+     * @param samples - array to receive the converted float values.  The array length determines the number of
+     * samples that are converted.
      */
-    private float[] convertPacked(byte[] data1)
+    private void convertPacked(ByteBuffer data, float[] samples)
     {
-        byte[] data = new byte[data1.length];
+        boolean bigEndian = data.order() == ByteOrder.BIG_ENDIAN;
 
-        //Convert big-endian to little-endian
-        for(int x = 0; x < data1.length; x += 4)
-        {
-            data[x] = data1[x + 3];
-            data[x + 1] = data1[x + 2];
-            data[x + 2] = data1[x + 1];
-            data[x + 3] = data1[x];
-        }
+        int count = samples.length;
+        int blockCount = count & ~7;
 
-        int count = (int) ((float) data.length / 1.5f);
+        int pointer = 0;
+        int x = 0;
 
-		/* Ensure we have an even number of samples */
-        if(count % 2 == 1)
+        while(pointer < blockCount)
         {
-            count--;
+            int word1 = data.getInt(x);
+            int word2 = data.getInt(x + 4);
+            int word3 = data.getInt(x + 8);
+
+            if(bigEndian)
+            {
+                word1 = Integer.reverseBytes(word1);
+                word2 = Integer.reverseBytes(word2);
+                word3 = Integer.reverseBytes(word3);
+            }
+
+            samples[pointer++] = scale(word1 >>> 20);
+            samples[pointer++] = scale(word1 >>> 8);
+            samples[pointer++] = scale((word1 << 4) | (word2 >>> 28));
+            samples[pointer++] = scale(word2 >>> 16);
+            samples[pointer++] = scale(word2 >>> 4);
+            samples[pointer++] = scale((word2 << 8) | (word3 >>> 24));
+            samples[pointer++] = scale(word3 >>> 12);
+            samples[pointer++] = scale(word3);
+
+            x += 12;
         }
 
-        int bytes = (int) ((float) count * 1.5f);
-
-        float[] samples = new float[count];
-
-        int pointer = 0;
-
-        int first;
-        int second;
-
-        for(int x = 0; x < bytes; x += 3)
+        //Convert any remaining samples (less than a full set of 8) one pair at a time from 3 bytes
+        while(pointer + 1 < count)
         {
-            first = ((data[x] << 4) & 0xFF0) |
-                ((data[x + 1] >> 4) & 0xF);
+            int byte1 = getPackedByte(data, x);
+            int byte2 = getPackedByte(data, x + 1);
+            int byte3 = getPackedByte(data, x + 2);
 
-            samples[pointer++] = scale(first);
+            samples[pointer++] = scale((byte1 << 4) | (byte2 >> 4));
+            samples[pointer++] = scale((byte2 << 8) | byte3);
 
-            second = ((data[x + 1] << 8) & 0xF00) |
-                (data[x + 2] & 0xFF);
-
-            samples[pointer++] = scale(second);
+            x += 3;
         }
+    }
 
-        return samples;
+    /**
+     * Returns the unsigned byte value at the index of the packed sample stream, where each 32-bit word of the stream
+     * is little-endian ordered.
+     */
+    private static int getPackedByte(ByteBuffer data, int index)
+    {
+        return data.get((index & ~3) + 3 - (index & 3)) & 0xFF;
     }
 
     /**
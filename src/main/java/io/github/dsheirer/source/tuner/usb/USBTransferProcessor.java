@@ -18,13 +18,20 @@
  ******************************************************************************/
 package io.github.dsheirer.source.tuner.usb;
 
-import io.github.dsheirer.sample.Broadcaster;
+import io.github.dsheirer.metrics.Counter;
+import io.github.dsheirer.metrics.MetricSet;
+import io.github.dsheirer.metrics.MetricsRegistry;
+import io.github.dsheirer.metrics.Timer;
 import io.github.dsheirer.sample.Listener;
-import io.github.dsheirer.sample.OverflowableTransferQueue;
+import io.github.dsheirer.sample.OverflowableRingBuffer;
+import io.github.dsheirer.sample.ReusableBufferBroadcaster;
 import io.github.dsheirer.sample.adapter.ISampleAdapter;
 import io.github.dsheirer.sample.complex.ComplexBuffer;
+import io.github.dsheirer.sample.complex.ReusableComplexBuffer;
+import io.github.dsheirer.sample.complex.ReusableComplexBufferQueue;
 import io.github.dsheirer.sample.real.IOverflowListener;
 import io.github.dsheirer.source.tuner.TunerManager;
+import io.github.dsheirer.util.DSPTask;
 import io.github.dsheirer.util.ThreadPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,8 +45,6 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.LinkedTransferQueue;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class USBTransferProcessor implements TransferCallback
@@ -69,8 +74,9 @@ public class USBTransferProcessor implements TransferCallback
     //Byte array transfer buffers size in bytes
     private int mBufferSize;
 
-    private Broadcaster<ComplexBuffer> mComplexBufferBroadcaster = new Broadcaster<>();
-    private OverflowableTransferQueue<byte[]> mFilledBuffers;
+    private ReusableBufferBroadcaster<ComplexBuffer> mComplexBufferBroadcaster = new ReusableBufferBroadcaster<>();
+    private ReusableComplexBufferQueue mReusableComplexBufferQueue;
+    private OverflowableRingBuffer<ReusableComplexBuffer> mFilledBuffers;
     private LinkedTransferQueue<Transfer> mAvailableTransfers = new LinkedTransferQueue<>();
     private LinkedTransferQueue<Transfer> mTransfersInProgress = new LinkedTransferQueue<>();
 
@@ -79,7 +85,15 @@ public class USBTransferProcessor implements TransferCallback
     private ByteBuffer mLibUsbHandlerStatus = ByteBuffer.allocateDirect(4);
 
     private BufferDispatcher mBufferDispatcher = new BufferDispatcher();
-    private ScheduledFuture mBufferDispatcherFuture;
+    private volatile DSPTask mBufferDispatcherTask;
+
+    private MetricSet mMetrics;
+    private Counter mSampleCounter;
+    private Counter mDroppedBufferCounter;
+    private Counter mOverflowCounter;
+    private Counter mSubmitFailureCounter;
+    private Counter mDroppedTransferCounter;
+    private Timer mTransferLatencyTimer;
 
     /**
      * Manages stream of USB transfer buffers and converts buffers to complex buffer samples for distribution to
@@ -99,8 +113,25 @@ public class USBTransferProcessor implements TransferCallback
         mDeviceHandle = deviceHandle;
         mSampleAdapter = sampleAdapter;
         mBufferSize = bufferSize;
-
-        mFilledBuffers = new OverflowableTransferQueue<>(FILLED_BUFFER_MAX_CAPACITY, FILLED_BUFFER_OVERFLOW_RESET_THRESHOLD);
+        mReusableComplexBufferQueue = new ReusableComplexBufferQueue(deviceName);
+
+        mMetrics = new MetricSet(MetricsRegistry.getInstance(), "tuner", deviceName);
+        mSampleCounter = mMetrics.counter("sdrtrunk_tuner_samples_total",
+            "Complex samples converted from tuner transfer buffers");
+        mDroppedBufferCounter = mMetrics.counter("sdrtrunk_tuner_dropped_buffers_total",
+            "Tuner sample buffers dropped while the filled buffer queue is in overflow");
+        mOverflowCounter = mMetrics.counter("sdrtrunk_tuner_overflows_total",
+            "Number of times the tuner filled buffer queue has entered overflow");
+        mSubmitFailureCounter = mMetrics.counter("sdrtrunk_tuner_transfer_submit_failures_total",
+            "Transfer buffer submissions or resubmissions rejected by LibUsb");
+        mDroppedTransferCounter = mMetrics.counter("sdrtrunk_tuner_dropped_transfers_total",
+            "Transfer buffers returned by the device with an error status");
+        mTransferLatencyTimer = mMetrics.timer("sdrtrunk_tuner_transfer_latency_seconds",
+            "Time from transfer buffer submission until the filled transfer buffer is returned by the device");
+        mMetrics.gauge("sdrtrunk_tuner_transfers_in_progress", "Transfer buffers submitted to the device",
+            mTransfersInProgress::size);
+
+        mFilledBuffers = new OverflowableRingBuffer<>(FILLED_BUFFER_MAX_CAPACITY, FILLED_BUFFER_OVERFLOW_RESET_THRESHOLD);
         mFilledBuffers.setOverflowListener(new IOverflowListener()
         {
             @Override
@@ -108,6 +139,7 @@ public class USBTransferProcessor implements TransferCallback
             {
                 if(overflow)
                 {
+                    mOverflowCounter.increment();
                     mLog.debug(mDeviceName + " - buffer overflow - temporary pause until processing catches up");
                 }
                 else
@@ -116,6 +148,15 @@ public class USBTransferProcessor implements TransferCallback
                 }
             }
         });
+
+        mMetrics.gauge("sdrtrunk_tuner_queue_depth", "Converted tuner sample buffers waiting for dispatch",
+            mFilledBuffers::size);
+        mMetrics.functionCounter("sdrtrunk_tuner_buffer_pool_hits_total",
+            "Tuner sample buffer requests satisfied from the reusable buffer pool",
+            mReusableComplexBufferQueue::getHitCount);
+        mMetrics.functionCounter("sdrtrunk_tuner_buffer_pool_misses_total",
+            "Tuner sample buffer requests that required a new buffer allocation",
+            mReusableComplexBufferQueue::getMissCount);
     }
 
     /**
@@ -129,51 +170,22 @@ public class USBTransferProcessor implements TransferCallback
 
             prepareTransfers();
 
-            while(!mAvailableTransfers.isEmpty())
+            int transferCount = mAvailableTransfers.size();
+
+            for(int x = 0; x < transferCount; x++)
             {
                 Transfer transfer = mAvailableTransfers.poll();
 
-                if(transfer != null)
+                //TODO: broadcast to each listener that this source has an error and is shutting down
+                if(transfer != null && !submit(transfer))
                 {
-                    int result = LibUsb.submitTransfer(transfer);
-
-                    if(result == LibUsb.SUCCESS)
-                    {
-                        mTransfersInProgress.add(transfer);
-                    }
-                    else if(result == LibUsb.ERROR_PIPE)
-                    {
-                        int resetResult = LibUsb.clearHalt(mDeviceHandle, USB_BULK_TRANSFER_ENDPOINT);
-
-                        if(resetResult == LibUsb.SUCCESS)
-                        {
-                            int resubmitResult = LibUsb.submitTransfer(transfer);
-
-                            if(resubmitResult == LibUsb.SUCCESS)
-                            {
-                                mTransfersInProgress.add(transfer);
-                            }
-                            else
-                            {
-                                mLog.error(mDeviceName + " - error resubmitting transfer after endpoint clear halt");
-                            }
-                        }
-                        else
-                        {
-                            mLog.error(mDeviceName + " - unable to clear device endpoint halt");
-                        }
-                    }
-                    else
-                    {
-                        //TODO: broadcast to each listener that this source has an error and is shutting down
-                        mLog.error(mDeviceName + "- error submitting transfer [" + LibUsb.errorName(result) + "]");
-                    }
+                    mAvailableTransfers.add(transfer);
                 }
             }
 
             //Start transferred buffer dispatcher
-            mBufferDispatcherFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(mBufferDispatcher,
-                0, 11, TimeUnit.MILLISECONDS);
+            mBufferDispatcherTask = ThreadPool.DSP.register(mDeviceName + " buffer dispatcher", mBufferDispatcher,
+                mFilledBuffers::size, 0);
 
             //Register with LibUSB processor so that it auto-starts LibUSB processing
             TunerManager.LIBUSB_TRANSFER_PROCESSOR.registerTransferProcessor(this);
@@ -187,9 +199,9 @@ public class USBTransferProcessor implements TransferCallback
     {
         if(mRunning.compareAndSet(true, false))
         {
-            mBufferDispatcherFuture.cancel(true);
+            mBufferDispatcherTask.cancel();
 
-            mFilledBuffers.clear();
+            mFilledBuffers.clear(ReusableComplexBuffer::decrementUserCount);
 
             //Cancel the lib usb process timer
             for(Transfer transfer : mTransfersInProgress)
@@ -212,6 +224,8 @@ public class USBTransferProcessor implements TransferCallback
 
             mLibUsbHandlerStatus.rewind();
 
+            mLog.debug(mReusableComplexBufferQueue.getStatistics());
+
             executeDeviceStop();
         }
     }
@@ -282,14 +296,65 @@ public class USBTransferProcessor implements TransferCallback
             final ByteBuffer buffer = ByteBuffer.allocateDirect(mBufferSize);
 
             LibUsb.fillBulkTransfer(transfer, mDeviceHandle, USB_BULK_TRANSFER_ENDPOINT, buffer, this,
-                "Buffer", USB_TIMEOUT_MS);
+                new TransferTimestamp(), USB_TIMEOUT_MS);
 
             mAvailableTransfers.add(transfer);
         }
     }
 
     /**
-     * Process a filled transfer buffer received back from the USB device
+     * Submits the transfer buffer to the device.  When the device endpoint is halted, clears the halt and submits the
+     * transfer again.
+     *
+     * @param transfer to submit
+     * @return true if the transfer was submitted
+     */
+    private boolean submit(Transfer transfer)
+    {
+        ((TransferTimestamp)transfer.userData()).mSubmitted = System.nanoTime();
+
+        int result = LibUsb.submitTransfer(transfer);
+
+        if(result == LibUsb.SUCCESS)
+        {
+            mTransfersInProgress.add(transfer);
+            return true;
+        }
+        else if(result == LibUsb.ERROR_PIPE)
+        {
+            int resetResult = LibUsb.clearHalt(mDeviceHandle, USB_BULK_TRANSFER_ENDPOINT);
+
+            if(resetResult == LibUsb.SUCCESS)
+            {
+                int resubmitResult = LibUsb.submitTransfer(transfer);
+
+                if(resubmitResult == LibUsb.SUCCESS)
+                {
+                    mTransfersInProgress.add(transfer);
+                    return true;
+                }
+                else
+                {
+                    mLog.error(mDeviceName + " - error resubmitting transfer after endpoint clear halt");
+                }
+            }
+            else
+            {
+                mLog.error(mDeviceName + " - unable to clear device endpoint halt");
+            }
+        }
+        else
+        {
+            mLog.error(mDeviceName + " - error submitting transfer [" + LibUsb.errorName(result) + "]");
+        }
+
+        mSubmitFailureCounter.increment();
+
+        return false;
+    }
+
+    /**
+     * Process a filled transfer buffer received back from the USB device.  Invoked on the LibUSB event thread.
      */
     @Override
     public void processTransfer(Transfer transfer)
@@ -301,24 +366,19 @@ public class USBTransferProcessor implements TransferCallback
             case LibUsb.TRANSFER_COMPLETED:
             case LibUsb.TRANSFER_STALL:
             case LibUsb.TRANSFER_TIMED_OUT:
-                if(transfer.actualLength() > 0)
+                if(transfer.actualLength() > 0 && mRunning.get())
                 {
-                    ByteBuffer buffer = transfer.buffer();
-
-                    byte[] data = new byte[transfer.actualLength()];
-                    buffer.get(data);
-                    buffer.rewind();
+                    mTransferLatencyTimer.record(System.nanoTime() -
+                        ((TransferTimestamp)transfer.userData()).mSubmitted);
 
-                    if(mRunning.get())
-                    {
-                        mFilledBuffers.offer(data);
-                    }
+                    convert(transfer.buffer(), transfer.actualLength());
                 }
                 break;
             case LibUsb.TRANSFER_CANCELLED:
                 break;
             default:
                 //Unexpected transfer error
+                mDroppedTransferCounter.increment();
                 mLog.error(mDeviceName + " - transfer error [" + getTransferStatus(transfer.status()) +
                     "] transferred actual: " + transfer.actualLength());
         }
@@ -326,38 +386,9 @@ public class USBTransferProcessor implements TransferCallback
 
         if(mRunning.get())
         {
-            int result = LibUsb.submitTransfer(transfer);
-
-            if(result == LibUsb.SUCCESS)
-            {
-                mTransfersInProgress.add(transfer);
-            }
-            else if(result == LibUsb.ERROR_PIPE)
-            {
-                int resetResult = LibUsb.clearHalt(mDeviceHandle, USB_BULK_TRANSFER_ENDPOINT);
-
-                if(resetResult == LibUsb.SUCCESS)
-                {
-                    int resubmitResult = LibUsb.submitTransfer(transfer);
-
-                    if(resubmitResult == LibUsb.SUCCESS)
-                    {
-                        mTransfersInProgress.add(transfer);
-                    }
-                    else
-                    {
-                        mLog.error(mDeviceName + " - error resubmitting transfer after endpoint clear halt");
-                    }
-                }
-                else
-                {
-                    mLog.error(mDeviceName + " - unable to clear device endpoint halt");
-                }
-            }
-            else
+            if(!submit(transfer))
             {
                 mAvailableTransfers.add(transfer);
-                mLog.error(mDeviceName + " - error submitting transfer [" + LibUsb.errorName(result) + "]");
 
                 if(mTransfersInProgress.isEmpty())
                 {
@@ -377,6 +408,47 @@ public class USBTransferProcessor implements TransferCallback
         }
     }
 
+    /**
+     * Converts the native transfer buffer samples directly into a reusable complex buffer and queues the complex
+     * buffer for dispatch.  Conversion occurs before the transfer buffer is resubmitted so that the raw samples don't
+     * have to be copied out of the transfer buffer.
+     *
+     * @param buffer of the completed transfer
+     * @param length of the transferred bytes
+     */
+    private void convert(ByteBuffer buffer, int length)
+    {
+        try
+        {
+            int sampleCount = mSampleAdapter.getSampleCount(length);
+
+            ReusableComplexBuffer complexBuffer = mReusableComplexBufferQueue.getBuffer(sampleCount);
+
+            mSampleAdapter.convert(buffer, length, complexBuffer.getSamples());
+
+            mSampleCounter.add(sampleCount / 2);
+
+            if(mFilledBuffers.offer(complexBuffer))
+            {
+                DSPTask dispatcherTask = mBufferDispatcherTask;
+
+                if(dispatcherTask != null)
+                {
+                    dispatcherTask.signal();
+                }
+            }
+            else
+            {
+                mDroppedBufferCounter.increment();
+                complexBuffer.decrementUserCount();
+            }
+        }
+        catch(Exception e)
+        {
+            mLog.error(mDeviceName + " - error while converting transfer buffer samples", e);
+        }
+    }
+
     /**
      * Converts the USB transfer status number into a descriptive label
      */
@@ -404,12 +476,22 @@ public class USBTransferProcessor implements TransferCallback
     }
 
     /**
-     * Fetches byte[] chunks from the raw sample buffer.  Converts each byte
-     * array and broadcasts the array to all registered listeners
+     * Transfer buffer user data that records when the transfer was last submitted to the device
+     */
+    private static class TransferTimestamp
+    {
+        private volatile long mSubmitted;
+    }
+
+    /**
+     * Fetches converted complex buffers from the filled buffer queue and
+     * broadcasts each buffer to all registered listeners.  Each listener must
+     * release the complex buffer once finished with it so that the buffer can
+     * be recycled.
      */
     public class BufferDispatcher implements Runnable
     {
-        private List<byte[]> mBuffersToDispatch = new ArrayList<>();
+        private List<ReusableComplexBuffer> mBuffersToDispatch = new ArrayList<>();
 
         @Override
         public void run()
@@ -420,11 +502,12 @@ public class USBTransferProcessor implements TransferCallback
             {
                 try
                 {
-                    for(byte[] buffer : mBuffersToDispatch)
+                    for(ReusableComplexBuffer complexBuffer : mBuffersToDispatch)
                     {
-                        float[] complexSamples = mSampleAdapter.convert(buffer);
+                        mComplexBufferBroadcaster.broadcast(complexBuffer);
 
-                        mComplexBufferBroadcaster.broadcast(new ComplexBuffer(complexSamples));
+                        //Release our user count now that the buffer has been distributed to each listener
+                        complexBuffer.decrementUserCount();
                     }
                 }
                 catch(Exception e)
@@ -0,0 +1,403 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.source.wave;
+
+import io.github.dsheirer.channel.heartbeat.Heartbeat;
+import io.github.dsheirer.record.wave.WaveWriter;
+import io.github.dsheirer.sample.ConversionUtils;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.complex.ComplexBuffer;
+import io.github.dsheirer.source.ComplexSource;
+import io.github.dsheirer.source.tuner.frequency.FrequencyChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Complex (I/Q) sample source for 2-channel, 16-bit wave files, such as the baseband recordings produced by the
+ * ComplexBufferWaveRecorder, that is intended for offline (batch) processing as fast as the consumer can process the
+ * samples.
+ *
+ * The wave data chunk is memory-mapped in fixed size windows so that samples are converted directly from the
+ * operating system page cache without intermediate read buffers, and so that recordings larger than 2 GB (the maximum
+ * size of a single mapping) are supported.
+ *
+ * The source is driven by the consumer: each invocation of next() converts the next block of sample frames and sends
+ * the complex buffer to the registered listener on the calling thread.
+ */
+public class MappedComplexWaveSource extends ComplexSource
+{
+    private final static Logger mLog = LoggerFactory.getLogger(MappedComplexWaveSource.class);
+
+    private static final int BYTES_PER_FRAME = 4; //2 channels x 16-bit samples
+    private static final long MAPPING_WINDOW_SIZE = 64l * 1024l * 1024l;
+    private static final int RIFF_HEADER_LENGTH = 12;
+    private static final int CHUNK_HEADER_LENGTH = 8;
+
+    private Path mPath;
+    private FileChannel mFileChannel;
+    private MappedByteBuffer mWindow;
+    private long mWindowOffset;
+    private long mDataOffset;
+    private long mDataLength;
+    private long mDataPosition;
+    private int mSampleRate;
+    private long mFrequency;
+    private Listener<ComplexBuffer> mListener;
+
+    /**
+     * Constructs a memory-mapped wave source.  Use open() to open the file before processing.
+     *
+     * @param path to the wave file
+     */
+    public MappedComplexWaveSource(Path path)
+    {
+        mPath = path;
+    }
+
+    /**
+     * Path to the wave file
+     */
+    public Path getPath()
+    {
+        return mPath;
+    }
+
+    /**
+     * Opens the wave file and locates the sample data chunk.
+     *
+     * @throws IOException if the file can't be opened or is not a 2-channel, 16-bit PCM wave file
+     */
+    public void open() throws IOException
+    {
+        if(mFileChannel != null)
+        {
+            throw new IOException("Can't open wave source - is already opened");
+        }
+
+        mFileChannel = FileChannel.open(mPath, StandardOpenOption.READ);
+
+        try
+        {
+            parseHeader();
+        }
+        catch(IOException ioe)
+        {
+            close();
+            throw ioe;
+        }
+
+        mDataPosition = 0;
+        mWindow = null;
+    }
+
+    /**
+     * Closes the wave file and releases the current mapping window
+     */
+    public void close()
+    {
+        mWindow = null;
+
+        if(mFileChannel != null)
+        {
+            try
+            {
+                mFileChannel.close();
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error closing wave file [" + mPath.toString() + "]", ioe);
+            }
+
+            mFileChannel = null;
+        }
+    }
+
+    /**
+     * Parses the RIFF/WAVE header chunks to verify the audio format and to locate the data chunk.  Chunk sizes are
+     * treated as unsigned values since the wave writer produces files up to 4 GB.
+     */
+    private void parseHeader() throws IOException
+    {
+        ByteBuffer riff = read(0, RIFF_HEADER_LENGTH);
+
+        if(!getId(riff, 0).equals(WaveWriter.RIFF_ID) || !getId(riff, 8).equals(WaveWriter.WAVE_ID))
+        {
+            throw new IOException("Unsupported file format - not a RIFF/WAVE file");
+        }
+
+        boolean formatFound = false;
+        long position = RIFF_HEADER_LENGTH;
+        long fileSize = mFileChannel.size();
+
+        while(position + CHUNK_HEADER_LENGTH <= fileSize)
+        {
+            ByteBuffer chunkHeader = read(position, CHUNK_HEADER_LENGTH);
+            String chunkId = getId(chunkHeader, 0);
+            long chunkSize = chunkHeader.getInt(4) & 0xFFFFFFFFl;
+            long chunkStart = position + CHUNK_HEADER_LENGTH;
+
+            if(chunkId.equals(WaveWriter.FORMAT_CHUNK_ID))
+            {
+                ByteBuffer format = read(chunkStart, WaveWriter.FORMAT_CHUNK_LENGTH);
+
+                int channels = format.getShort(2);
+                int bitsPerSample = format.getShort(14);
+
+                if(channels != 2 || bitsPerSample != 16)
+                {
+                    throw new IOException("Unsupported Wave Format - EXPECTED: 2 channels 16-bit samples FOUND: " +
+                        channels + " channels " + bitsPerSample + "-bit samples");
+                }
+
+                mSampleRate = format.getInt(4);
+                formatFound = true;
+            }
+            else if(chunkId.equals(WaveWriter.DATA_CHUNK_ID))
+            {
+                if(!formatFound)
+                {
+                    throw new IOException("Unsupported file format - data chunk precedes the format chunk");
+                }
+
+                mDataOffset = chunkStart;
+
+                //Use the available file length when the data chunk size wasn't updated (e.g. recording interrupted)
+                mDataLength = Math.min(chunkSize, fileSize - chunkStart);
+                mDataLength -= mDataLength % BYTES_PER_FRAME;
+                return;
+            }
+
+            //Chunks are word aligned
+            position = chunkStart + chunkSize + (chunkSize & 1);
+        }
+
+        throw new IOException("Unsupported file format - data chunk not found");
+    }
+
+    /**
+     * Reads the number of bytes from the file position into a little-endian byte buffer
+     */
+    private ByteBuffer read(long position, int length) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+
+        while(buffer.hasRemaining())
+        {
+            if(mFileChannel.read(buffer, position + buffer.position()) < 0)
+            {
+                throw new IOException("Unexpected end of file while reading wave header");
+            }
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Four character chunk identifier at the offset
+     */
+    private static String getId(ByteBuffer buffer, int offset)
+    {
+        StringBuilder sb = new StringBuilder();
+
+        for(int x = offset; x < offset + 4; x++)
+        {
+            sb.append((char)buffer.get(x));
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Converts the next block of sample frames and sends the complex buffer to the listener.
+     *
+     * @param frames maximum number of sample frames to convert
+     * @return true if samples were converted or false if the end of the file has been reached
+     * @throws IOException if the file is not open or if there is an error mapping the file
+     */
+    public boolean next(int frames) throws IOException
+    {
+        if(mFileChannel == null)
+        {
+            throw new IOException("Can't read wave source - was not opened");
+        }
+
+        long remaining = mDataLength - mDataPosition;
+
+        if(remaining <= 0)
+        {
+            return false;
+        }
+
+        int length = (int)Math.min((long)frames * BYTES_PER_FRAME, remaining);
+
+        //Remap when the requested frames extend beyond the current window
+        if(mWindow == null || mDataPosition + length > mWindowOffset + mWindow.capacity())
+        {
+            mWindowOffset = mDataPosition;
+
+            long windowSize = Math.min(Math.max(MAPPING_WINDOW_SIZE, length), remaining);
+
+            mWindow = mFileChannel.map(FileChannel.MapMode.READ_ONLY, mDataOffset + mWindowOffset, windowSize);
+        }
+
+        ByteBuffer block = mWindow.duplicate();
+        block.position((int)(mDataPosition - mWindowOffset));
+        block.limit(block.position() + length);
+
+        float[] samples = ConversionUtils.convertFromSigned16BitSamples(block.slice());
+
+        mDataPosition += length;
+
+        if(mListener != null)
+        {
+            mListener.receive(new ComplexBuffer(samples));
+        }
+
+        return true;
+    }
+
+    /**
+     * Total number of sample frames in the file
+     */
+    public long getFrameCount()
+    {
+        return mDataLength / BYTES_PER_FRAME;
+    }
+
+    /**
+     * Number of sample frames that have been converted
+     */
+    public long getFramePosition()
+    {
+        return mDataPosition / BYTES_PER_FRAME;
+    }
+
+    /**
+     * Sample rate specified in the wave file format chunk
+     */
+    @Override
+    public int getSampleRate()
+    {
+        return mSampleRate;
+    }
+
+    /**
+     * Returns the frequency set for this file.  Normally returns zero, but the value can be set with setFrequency().
+     */
+    @Override
+    public long getFrequency()
+    {
+        return mFrequency;
+    }
+
+    /**
+     * Changes the value returned from getFrequency() for this source.
+     */
+    public void setFrequency(long frequency)
+    {
+        mFrequency = frequency;
+    }
+
+    @Override
+    public void setListener(Listener<ComplexBuffer> listener)
+    {
+        mListener = listener;
+    }
+
+    @Override
+    public void removeListener(Listener<ComplexBuffer> listener)
+    {
+        mListener = null;
+    }
+
+    @Override
+    public void setFrequencyChangeListener(Listener<FrequencyChangeEvent> listener)
+    {
+        //Not implemented
+    }
+
+    @Override
+    public void removeFrequencyChangeListener()
+    {
+        //Not implemented
+    }
+
+    @Override
+    public Listener<FrequencyChangeEvent> getFrequencyChangeListener()
+    {
+        //Not implemented
+        return null;
+    }
+
+    /**
+     * Not implemented
+     */
+    @Override
+    public void setHeartbeatListener(Listener<Heartbeat> listener)
+    {
+    }
+
+    /**
+     * Not implemented
+     */
+    @Override
+    public void removeHeartbeatListener()
+    {
+    }
+
+    /**
+     * Not implemented.  The consumer drives the source via the next() method.
+     */
+    @Override
+    public void reset()
+    {
+    }
+
+    /**
+     * Not implemented.  The consumer opens the source and drives the source via the next() method.
+     */
+    @Override
+    public void start(ScheduledExecutorService executor)
+    {
+    }
+
+    /**
+     * Not implemented.  The consumer closes the source once processing is complete.
+     */
+    @Override
+    public void stop()
+    {
+    }
+
+    @Override
+    public void dispose()
+    {
+        mListener = null;
+        close();
+    }
+}
@@ -184,7 +184,10 @@ public class DFTProcessor implements Listener<ComplexBuffer>, IFrequencyChangePr
     @Override
     public void receive(ComplexBuffer sampleBuffer)
     {
-        mOverflowableBufferStream.offer(sampleBuffer);
+        if(!mOverflowableBufferStream.offer(sampleBuffer))
+        {
+            sampleBuffer.decrementUserCount();
+        }
     }
 
     private void calculate()
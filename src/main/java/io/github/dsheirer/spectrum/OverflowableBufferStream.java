@@ -175,12 +175,18 @@ public class OverflowableBufferStream extends OverflowableTransferQueue<Buffer>
     }
 
     /**
-     * Fetches the next buffer from the queue.
+     * Releases the current buffer and fetches the next buffer from the queue.
      *
      * @throws IOException if the queue is currently empty
      */
     private void getNextBuffer() throws IOException
     {
+        //Release the current buffer so that it can be recycled
+        if(mCurrentBuffer != null)
+        {
+            mCurrentBuffer.decrementUserCount();
+        }
+
         mCurrentBuffer = null;
         mCurrentBufferPointer = 0;
 
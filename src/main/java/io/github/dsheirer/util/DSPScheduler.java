@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.util;
+
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Scheduler with dedicated DSP worker threads that run data driven tasks when data arrives, instead of polling for
+ * data with fixed rate timer tasks.
+ *
+ * Each registered task is assigned to the worker thread with the fewest tasks and always runs on that worker, which
+ * keeps each task's working set on a single thread and guarantees that a task never runs concurrently with itself.
+ *
+ * A watchdog on the housekeeping executor periodically runs any task that has been idle longer than its maximum idle
+ * interval, for tasks that must also run periodically (e.g. to send heartbeats) when no data is arriving.
+ */
+public class DSPScheduler
+{
+    private final static Logger mLog = LoggerFactory.getLogger(DSPScheduler.class);
+
+    private static final long WATCHDOG_INTERVAL_MS = 50;
+
+    private List<DSPWorker> mWorkers = new ArrayList<>();
+
+    /**
+     * Constructs a DSP scheduler and starts the worker threads.
+     *
+     * @param name prefix for the worker thread names
+     * @param threadCount number of dedicated worker threads
+     * @param priority of the worker threads
+     * @param housekeeping executor to run the idle task watchdog
+     */
+    public DSPScheduler(String name, int threadCount, int priority, ScheduledExecutorService housekeeping)
+    {
+        Validate.isTrue(threadCount > 0, "Thread count must be positive");
+
+        for(int x = 0; x < threadCount; x++)
+        {
+            DSPWorker worker = new DSPWorker(name + " dsp-thread-" + (x + 1));
+            worker.setPriority(priority);
+            worker.setDaemon(true);
+            worker.start();
+            mWorkers.add(worker);
+        }
+
+        housekeeping.scheduleAtFixedRate(new IdleWatchdog(), WATCHDOG_INTERVAL_MS, WATCHDOG_INTERVAL_MS,
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers a data driven task.
+     *
+     * @param name of the task for metrics reporting
+     * @param runnable to execute each time the task is signalled
+     * @param queueDepth supplier for the number of elements waiting in the task's input queue, or null
+     * @param maximumIdleInterval in milliseconds after which the task is run even though it has not been signalled,
+     * or 0 to only run the task when signalled
+     * @return registered task.  Producers invoke signal() on the task after adding data to the task's input queue and
+     * the task must be cancelled once it is no longer needed.
+     */
+    public DSPTask register(String name, Runnable runnable, IntSupplier queueDepth, long maximumIdleInterval)
+    {
+        DSPWorker worker = mWorkers.get(0);
+
+        for(DSPWorker candidate : mWorkers)
+        {
+            if(candidate.getTaskCount() < worker.getTaskCount())
+            {
+                worker = candidate;
+            }
+        }
+
+        DSPTask task = new DSPTask(name, runnable, queueDepth, maximumIdleInterval, worker);
+
+        worker.add(task);
+
+        //Run the task once to allow it to initialize on the worker thread
+        task.signal();
+
+        return task;
+    }
+
+    /**
+     * Currently registered tasks across all worker threads
+     */
+    public List<DSPTask> getTasks()
+    {
+        List<DSPTask> tasks = new ArrayList<>();
+
+        for(DSPWorker worker : mWorkers)
+        {
+            tasks.addAll(worker.mTasks);
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Number of dedicated worker threads
+     */
+    public int getThreadCount()
+    {
+        return mWorkers.size();
+    }
+
+    /**
+     * Logs the metrics for each registered task
+     */
+    public void logStatistics()
+    {
+        for(DSPTask task : getTasks())
+        {
+            mLog.info(task.getStatistics());
+        }
+    }
+
+    /**
+     * Dedicated worker thread that runs the tasks assigned to it as they are signalled
+     */
+    class DSPWorker extends Thread
+    {
+        private LinkedBlockingQueue<DSPTask> mScheduledTasks = new LinkedBlockingQueue<>();
+        private List<DSPTask> mTasks = new CopyOnWriteArrayList<>();
+
+        DSPWorker(String name)
+        {
+            super(name);
+        }
+
+        void add(DSPTask task)
+        {
+            mTasks.add(task);
+        }
+
+        void remove(DSPTask task)
+        {
+            mTasks.remove(task);
+        }
+
+        int getTaskCount()
+        {
+            return mTasks.size();
+        }
+
+        void schedule(DSPTask task)
+        {
+            mScheduledTasks.offer(task);
+        }
+
+        @Override
+        public void run()
+        {
+            while(true)
+            {
+                try
+                {
+                    mScheduledTasks.take().run();
+                }
+                catch(InterruptedException ie)
+                {
+                    mLog.debug("DSP worker thread [" + getName() + "] interrupted - ignoring");
+                }
+                catch(Throwable throwable)
+                {
+                    mLog.error("Error in DSP worker thread [" + getName() + "]", throwable);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs tasks that have exceeded their maximum idle interval
+     */
+    public class IdleWatchdog implements Runnable
+    {
+        @Override
+        public void run()
+        {
+            long now = System.currentTimeMillis();
+
+            for(DSPWorker worker : mWorkers)
+            {
+                for(DSPTask task : worker.mTasks)
+                {
+                    task.checkIdle(now);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.util;
+
+import io.github.dsheirer.metrics.MetricSet;
+import io.github.dsheirer.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+/**
+ * Data driven task registered with a DSP scheduler.  Producers invoke signal() after adding data to the task's
+ * input queue and the task is run once on its assigned DSP worker thread.  Signals that arrive while the task is
+ * already pending are coalesced into a single run.
+ *
+ * Each task is assigned to a single DSP worker thread so that a task never runs concurrently with itself.
+ *
+ * Tasks track queue depth, run count, run time and the wait time between signal and run so that a starving task
+ * can be identified.
+ */
+public class DSPTask
+{
+    private final static Logger mLog = LoggerFactory.getLogger(DSPTask.class);
+
+    private String mName;
+    private Runnable mRunnable;
+    private IntSupplier mQueueDepth;
+    private long mMaximumIdleInterval;
+    private DSPScheduler.DSPWorker mWorker;
+
+    private AtomicBoolean mPending = new AtomicBoolean();
+    private volatile boolean mCancelled;
+    private volatile long mSignalTimestamp;
+    private volatile long mLastRunTimestamp = System.currentTimeMillis();
+
+    //Metrics are updated by the worker thread only
+    private volatile long mRunCount;
+    private volatile long mTotalRunTime;
+    private volatile long mMaximumRunTime;
+    private volatile long mMaximumWaitTime;
+
+    private MetricSet mMetrics;
+
+    /**
+     * Constructs a task.  Use the DSPScheduler to register tasks.
+     *
+     * @param name of the task for metrics reporting
+     * @param runnable to execute each time the task is signalled
+     * @param queueDepth supplier for the number of elements waiting in the task's input queue.  When the queue
+     * depth is non-zero after the task runs, the task is automatically scheduled to run again.
+     * @param maximumIdleInterval in milliseconds after which the task is run even though it has not been signalled,
+     * or 0 to only run the task when signalled
+     * @param worker thread assigned to the task
+     */
+    DSPTask(String name, Runnable runnable, IntSupplier queueDepth, long maximumIdleInterval,
+            DSPScheduler.DSPWorker worker)
+    {
+        mName = name;
+        mRunnable = runnable;
+        mQueueDepth = queueDepth;
+        mMaximumIdleInterval = maximumIdleInterval;
+        mWorker = worker;
+
+        mMetrics = new MetricSet(MetricsRegistry.getInstance(), "task", name, "worker", worker.getName());
+        mMetrics.gauge("sdrtrunk_dsp_task_queue_depth", "Elements waiting in the DSP task input queue",
+            this::getQueueDepth);
+        mMetrics.functionCounter("sdrtrunk_dsp_task_runs_total", "Number of DSP task runs", this::getRunCount);
+        mMetrics.functionCounter("sdrtrunk_dsp_task_run_seconds_total", "Cumulative DSP task run time",
+            () -> getTotalRunTime() / 1E9);
+        mMetrics.gauge("sdrtrunk_dsp_task_run_seconds_max", "Longest DSP task run time",
+            () -> getMaximumRunTime() / 1E9);
+        mMetrics.gauge("sdrtrunk_dsp_task_wait_seconds_max", "Longest delay between a DSP task signal and run",
+            () -> getMaximumWaitTime() / 1E9);
+    }
+
+    /**
+     * Signals that data is available for the task and schedules the task to run on its worker thread
+     */
+    public void signal()
+    {
+        if(!mCancelled && mPending.compareAndSet(false, true))
+        {
+            mSignalTimestamp = System.nanoTime();
+            mWorker.schedule(this);
+        }
+    }
+
+    /**
+     * Cancels the task.  A task run that is in progress will be allowed to complete.
+     */
+    public void cancel()
+    {
+        mCancelled = true;
+        mWorker.remove(this);
+        mMetrics.unregister();
+    }
+
+    /**
+     * Indicates if this task has been cancelled
+     */
+    public boolean isCancelled()
+    {
+        return mCancelled;
+    }
+
+    /**
+     * Executes the task on the worker thread and updates the task metrics
+     */
+    void run()
+    {
+        if(mCancelled)
+        {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        long wait = start - mSignalTimestamp;
+
+        if(wait > mMaximumWaitTime)
+        {
+            mMaximumWaitTime = wait;
+        }
+
+        //Clear the pending flag before running so that signals that arrive while running schedule another run
+        mPending.set(false);
+
+        try
+        {
+            mRunnable.run();
+        }
+        catch(Throwable throwable)
+        {
+            mLog.error("Error while running DSP task [" + mName + "]", throwable);
+        }
+
+        long elapsed = System.nanoTime() - start;
+
+        mRunCount++;
+        mTotalRunTime += elapsed;
+
+        if(elapsed > mMaximumRunTime)
+        {
+            mMaximumRunTime = elapsed;
+        }
+
+        mLastRunTimestamp = System.currentTimeMillis();
+
+        //Reschedule if there is more data waiting than the runnable processed in this run
+        if(getQueueDepth() > 0)
+        {
+            signal();
+        }
+    }
+
+    /**
+     * Signals the task when it has been idle for longer than the maximum idle interval
+     *
+     * @param now current time in milliseconds
+     */
+    void checkIdle(long now)
+    {
+        if(mMaximumIdleInterval > 0 && (now - mLastRunTimestamp) >= mMaximumIdleInterval)
+        {
+            signal();
+        }
+    }
+
+    /**
+     * Name of the task
+     */
+    public String getName()
+    {
+        return mName;
+    }
+
+    /**
+     * Name of the worker thread that runs this task
+     */
+    public String getWorkerName()
+    {
+        return mWorker.getName();
+    }
+
+    /**
+     * Number of elements waiting in the task's input queue
+     */
+    public int getQueueDepth()
+    {
+        return mQueueDepth != null ? mQueueDepth.getAsInt() : 0;
+    }
+
+    /**
+     * Number of times the task has run
+     */
+    public long getRunCount()
+    {
+        return mRunCount;
+    }
+
+    /**
+     * Cumulative run time of the task in nanoseconds
+     */
+    public long getTotalRunTime()
+    {
+        return mTotalRunTime;
+    }
+
+    /**
+     * Average run time of the task in nanoseconds
+     */
+    public long getAverageRunTime()
+    {
+        long count = mRunCount;
+
+        return count > 0 ? mTotalRunTime / count : 0;
+    }
+
+    /**
+     * Longest run time of the task in nanoseconds
+     */
+    public long getMaximumRunTime()
+    {
+        return mMaximumRunTime;
+    }
+
+    /**
+     * Longest delay between a signal and the subsequent task run in nanoseconds
+     */
+    public long getMaximumWaitTime()
+    {
+        return mMaximumWaitTime;
+    }
+
+    /**
+     * Summary of the task metrics
+     */
+    public String getStatistics()
+    {
+        return "DSP task [" + mName + "] worker [" + getWorkerName() + "] queue depth [" + getQueueDepth() +
+            "] runs [" + getRunCount() + "] average run [" + (getAverageRunTime() / 1000) + " us] maximum run [" +
+            (getMaximumRunTime() / 1000) + " us] maximum wait [" + (getMaximumWaitTime() / 1000) + " us]";
+    }
+}
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.util;
+
+/**
+ * Fast four quadrant arc tangent (atan2) with selectable accuracy.
+ *
+ * The polynomial accuracy levels evaluate a minimax odd polynomial approximation of atan(z) over the range 0 <= z <= 1,
+ * where z is the ratio of the smaller to the larger of |x| and |y|, and map the result to the correct octant.  This
+ * replaces the division and double precision Math.atan() call per sample with a single float division and a short
+ * polynomial, and the block method is a simple counted loop over primitive arrays that the JIT compiler can unroll.
+ *
+ * Maximum absolute errors (radians) over the full circle:
+ *
+ * LOW     3rd order polynomial   0.0050  (0.28 degrees)
+ * MEDIUM  5th order polynomial   0.00061 (0.035 degrees)
+ * HIGH    9th order polynomial   0.000012 (0.0007 degrees)
+ * EXACT   Math.atan2()
+ *
+ * Polynomial coefficients are from Abramowitz and Stegun, Handbook of Mathematical Functions, 4.4.49 and from
+ * Rajan et al, Efficient Approximations for the Arctangent Function, IEEE Signal Processing Magazine, May 2006.
+ */
+public enum FastArcTangent
+{
+    LOW(0.0050, 0.97239411f, -0.19194795f, 0.0f, 0.0f, 0.0f),
+    MEDIUM(0.00061, 0.99535390f, -0.28867900f, 0.07933100f, 0.0f, 0.0f),
+    HIGH(0.000012, 0.99986600f, -0.33029950f, 0.18014100f, -0.08513300f, 0.02083510f),
+    EXACT(0.0, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f)
+    {
+        @Override
+        public float atan2(float y, float x)
+        {
+            return (float)Math.atan2(y, x);
+        }
+
+        @Override
+        public void atan2(float[] y, float[] x, float[] angles, int length)
+        {
+            for(int index = 0; index < length; index++)
+            {
+                angles[index] = (float)Math.atan2(y[index], x[index]);
+            }
+        }
+    };
+
+    private static final float PI = (float)Math.PI;
+    private static final float HALF_PI = (float)(Math.PI / 2.0);
+
+    private double mMaximumError;
+    private float mC1;
+    private float mC3;
+    private float mC5;
+    private float mC7;
+    private float mC9;
+
+    FastArcTangent(double maximumError, float c1, float c3, float c5, float c7, float c9)
+    {
+        mMaximumError = maximumError;
+        mC1 = c1;
+        mC3 = c3;
+        mC5 = c5;
+        mC7 = c7;
+        mC9 = c9;
+    }
+
+    /**
+     * Maximum absolute error of this approximation in radians
+     */
+    public double getMaximumError()
+    {
+        return mMaximumError;
+    }
+
+    /**
+     * Angle of the vector (x,y)
+     *
+     * @param y coordinate (quadrature)
+     * @param x coordinate (inphase)
+     * @return angle in radians in the range -PI to PI, or 0 when both x and y are 0
+     */
+    public float atan2(float y, float x)
+    {
+        float absX = Math.abs(x);
+        float absY = Math.abs(y);
+
+        if(absX == 0.0f && absY == 0.0f)
+        {
+            return 0.0f;
+        }
+
+        boolean steep = absY > absX;
+
+        float z = steep ? absX / absY : absY / absX;
+        float z2 = z * z;
+
+        float angle = z * (mC1 + z2 * (mC3 + z2 * (mC5 + z2 * (mC7 + z2 * mC9))));
+
+        if(steep)
+        {
+            angle = HALF_PI - angle;
+        }
+
+        if(x < 0.0f)
+        {
+            angle = PI - angle;
+        }
+
+        return y < 0.0f ? -angle : angle;
+    }
+
+    /**
+     * Calculates the angle of each of the (x,y) vectors
+     *
+     * @param y coordinates (quadrature)
+     * @param x coordinates (inphase)
+     * @param angles array to receive the angles in radians in the range -PI to PI
+     * @param length number of vectors to process
+     */
+    public void atan2(float[] y, float[] x, float[] angles, int length)
+    {
+        //Copy the coefficients to locals so that they're held in registers across the loop
+        float c1 = mC1;
+        float c3 = mC3;
+        float c5 = mC5;
+        float c7 = mC7;
+        float c9 = mC9;
+
+        for(int index = 0; index < length; index++)
+        {
+            float currentX = x[index];
+            float currentY = y[index];
+            float absX = Math.abs(currentX);
+            float absY = Math.abs(currentY);
+
+            boolean steep = absY > absX;
+
+            float numerator = steep ? absX : absY;
+            float denominator = steep ? absY : absX;
+
+            //A zero vector produces 0 / 0 which is mapped to an angle of 0
+            float z = denominator == 0.0f ? 0.0f : numerator / denominator;
+            float z2 = z * z;
+
+            float angle = z * (c1 + z2 * (c3 + z2 * (c5 + z2 * (c7 + z2 * c9))));
+
+            if(steep)
+            {
+                angle = HALF_PI - angle;
+            }
+
+            if(currentX < 0.0f)
+            {
+                angle = PI - angle;
+            }
+
+            angles[index] = currentY < 0.0f ? -angle : angle;
+        }
+    }
+}
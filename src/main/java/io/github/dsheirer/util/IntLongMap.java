@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map with primitive int keys and primitive long values, using linear probing and backward
+ * shift deletion like the IntObjectMap.  Neither lookups nor updates box the key or value.
+ *
+ * This class is not thread safe.
+ */
+public class IntLongMap
+{
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] mKeys;
+    private long[] mValues;
+    private boolean[] mUsed;
+    private int mMask;
+    private int mSize;
+    private int mResizeThreshold;
+    private long mMissingValue;
+
+    /**
+     * Constructs an empty map with the default capacity
+     *
+     * @param missingValue returned by get() for keys that are not mapped
+     */
+    public IntLongMap(long missingValue)
+    {
+        this(DEFAULT_CAPACITY, missingValue);
+    }
+
+    /**
+     * Constructs an empty map that can hold the expected number of entries without resizing
+     *
+     * @param expectedSize number of entries
+     * @param missingValue returned by get() for keys that are not mapped
+     */
+    public IntLongMap(int expectedSize, long missingValue)
+    {
+        mMissingValue = missingValue;
+        allocate(IntObjectMap.tableSize(expectedSize));
+    }
+
+    /**
+     * Value mapped to the key or the missing value if the key is not mapped
+     */
+    public long get(int key)
+    {
+        int index = indexOf(key);
+
+        return index >= 0 ? mValues[index] : mMissingValue;
+    }
+
+    /**
+     * Indicates if the key is mapped
+     */
+    public boolean containsKey(int key)
+    {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Maps the value to the key
+     */
+    public void put(int key, long value)
+    {
+        int index = IntObjectMap.mix(key) & mMask;
+
+        while(mUsed[index])
+        {
+            if(mKeys[index] == key)
+            {
+                mValues[index] = value;
+                return;
+            }
+
+            index = (index + 1) & mMask;
+        }
+
+        mKeys[index] = key;
+        mValues[index] = value;
+        mUsed[index] = true;
+
+        if(++mSize > mResizeThreshold)
+        {
+            resize(mKeys.length << 1);
+        }
+    }
+
+    /**
+     * Removes the key mapping
+     *
+     * @return true if the key was mapped
+     */
+    public boolean remove(int key)
+    {
+        int index = indexOf(key);
+
+        if(index < 0)
+        {
+            return false;
+        }
+
+        int gap = index;
+        int next = (gap + 1) & mMask;
+
+        while(mUsed[next])
+        {
+            int home = IntObjectMap.mix(mKeys[next]) & mMask;
+
+            //Move the entry into the gap when its home slot is not cyclically within (gap, next]
+            if(((next - home) & mMask) >= ((next - gap) & mMask))
+            {
+                mKeys[gap] = mKeys[next];
+                mValues[gap] = mValues[next];
+                gap = next;
+            }
+
+            next = (next + 1) & mMask;
+        }
+
+        mUsed[gap] = false;
+        mSize--;
+
+        return true;
+    }
+
+    /**
+     * Number of mapped keys
+     */
+    public int size()
+    {
+        return mSize;
+    }
+
+    public boolean isEmpty()
+    {
+        return mSize == 0;
+    }
+
+    /**
+     * Removes all entries
+     */
+    public void clear()
+    {
+        Arrays.fill(mUsed, false);
+        mSize = 0;
+    }
+
+    /**
+     * Table index of the key or -1 if the key is not mapped
+     */
+    private int indexOf(int key)
+    {
+        int index = IntObjectMap.mix(key) & mMask;
+
+        while(mUsed[index])
+        {
+            if(mKeys[index] == key)
+            {
+                return index;
+            }
+
+            index = (index + 1) & mMask;
+        }
+
+        return -1;
+    }
+
+    private void resize(int tableSize)
+    {
+        int[] keys = mKeys;
+        long[] values = mValues;
+        boolean[] used = mUsed;
+
+        allocate(tableSize);
+
+        for(int x = 0; x < keys.length; x++)
+        {
+            if(used[x])
+            {
+                int index = IntObjectMap.mix(keys[x]) & mMask;
+
+                while(mUsed[index])
+                {
+                    index = (index + 1) & mMask;
+                }
+
+                mKeys[index] = keys[x];
+                mValues[index] = values[x];
+                mUsed[index] = true;
+            }
+        }
+    }
+
+    private void allocate(int tableSize)
+    {
+        mKeys = new int[tableSize];
+        mValues = new long[tableSize];
+        mUsed = new boolean[tableSize];
+        mMask = tableSize - 1;
+        mResizeThreshold = (int)(tableSize * LOAD_FACTOR);
+    }
+}
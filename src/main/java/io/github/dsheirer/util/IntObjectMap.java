@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map with primitive int keys and object values.  Entries are stored in parallel key and value
+ * arrays with linear probing, so lookups don't box the key or allocate an entry object, and removals use backward
+ * shift deletion so that the table never accumulates deleted entry markers.
+ *
+ * Null values are not supported.  This class is not thread safe.
+ *
+ * @param <V> value type
+ */
+public class IntObjectMap<V>
+{
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] mKeys;
+    private Object[] mValues;
+    private int mMask;
+    private int mSize;
+    private int mResizeThreshold;
+
+    /**
+     * Constructs an empty map with the default capacity
+     */
+    public IntObjectMap()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map that can hold the expected number of entries without resizing
+     */
+    public IntObjectMap(int expectedSize)
+    {
+        allocate(tableSize(expectedSize));
+    }
+
+    /**
+     * Value mapped to the key or null if the key is not mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key)
+    {
+        int index = indexOf(key);
+
+        return index >= 0 ? (V)mValues[index] : null;
+    }
+
+    /**
+     * Indicates if the key is mapped
+     */
+    public boolean containsKey(int key)
+    {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Maps the value to the key
+     *
+     * @return previous value mapped to the key or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value)
+    {
+        if(value == null)
+        {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+
+        int index = mix(key) & mMask;
+
+        while(mValues[index] != null)
+        {
+            if(mKeys[index] == key)
+            {
+                V previous = (V)mValues[index];
+                mValues[index] = value;
+                return previous;
+            }
+
+            index = (index + 1) & mMask;
+        }
+
+        mKeys[index] = key;
+        mValues[index] = value;
+
+        if(++mSize > mResizeThreshold)
+        {
+            resize(mKeys.length << 1);
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the key mapping
+     *
+     * @return value that was mapped to the key or null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key)
+    {
+        int index = indexOf(key);
+
+        if(index < 0)
+        {
+            return null;
+        }
+
+        V value = (V)mValues[index];
+        delete(index);
+        return value;
+    }
+
+    /**
+     * Number of mapped keys
+     */
+    public int size()
+    {
+        return mSize;
+    }
+
+    public boolean isEmpty()
+    {
+        return mSize == 0;
+    }
+
+    /**
+     * Removes all entries
+     */
+    public void clear()
+    {
+        Arrays.fill(mValues, null);
+        mSize = 0;
+    }
+
+    /**
+     * Table index of the key or -1 if the key is not mapped
+     */
+    private int indexOf(int key)
+    {
+        int index = mix(key) & mMask;
+
+        while(mValues[index] != null)
+        {
+            if(mKeys[index] == key)
+            {
+                return index;
+            }
+
+            index = (index + 1) & mMask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Deletes the entry at the index and shifts any following entries in the same probe sequence back into the gap
+     */
+    private void delete(int index)
+    {
+        int gap = index;
+        int next = (gap + 1) & mMask;
+
+        while(mValues[next] != null)
+        {
+            int home = mix(mKeys[next]) & mMask;
+
+            //Move the entry into the gap when its home slot is not cyclically within (gap, next]
+            if(((next - home) & mMask) >= ((next - gap) & mMask))
+            {
+                mKeys[gap] = mKeys[next];
+                mValues[gap] = mValues[next];
+                gap = next;
+            }
+
+            next = (next + 1) & mMask;
+        }
+
+        mValues[gap] = null;
+        mSize--;
+    }
+
+    private void resize(int tableSize)
+    {
+        int[] keys = mKeys;
+        Object[] values = mValues;
+
+        allocate(tableSize);
+
+        for(int x = 0; x < keys.length; x++)
+        {
+            if(values[x] != null)
+            {
+                int index = mix(keys[x]) & mMask;
+
+                while(mValues[index] != null)
+                {
+                    index = (index + 1) & mMask;
+                }
+
+                mKeys[index] = keys[x];
+                mValues[index] = values[x];
+            }
+        }
+    }
+
+    private void allocate(int tableSize)
+    {
+        mKeys = new int[tableSize];
+        mValues = new Object[tableSize];
+        mMask = tableSize - 1;
+        mResizeThreshold = (int)(tableSize * LOAD_FACTOR);
+    }
+
+    /**
+     * Power of two table size that holds the expected number of entries below the load factor
+     */
+    static int tableSize(int expectedSize)
+    {
+        int size = Integer.highestOneBit(Math.max((int)(expectedSize / LOAD_FACTOR), 2) - 1) << 1;
+
+        return Math.max(size, 2);
+    }
+
+    /**
+     * Scrambles the key bits so that sequential keys (e.g. talkgroups and channel numbers) don't form long probe runs
+     */
+    static int mix(int key)
+    {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
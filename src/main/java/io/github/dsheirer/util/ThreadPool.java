@@ -29,15 +29,36 @@ public class ThreadPool
 {
     private final static Logger mLog = LoggerFactory.getLogger(ThreadPool.class);
 
+    //JVM system property (e.g. -Dsdrtrunk.dsp.threads=4) to override the number of DSP threads.  Thread pools are
+    //created before the application properties are loaded, so a JVM system property is used instead.
+    public static final String PROPERTY_DSP_THREAD_COUNT = "sdrtrunk.dsp.threads";
+
     private static int CORES = Runtime.getRuntime().availableProcessors();
+    private static int DSP_THREADS;
+
+    /**
+     * Housekeeping and general purpose scheduled executor
+     */
     public static ScheduledExecutorService SCHEDULED;
 
+    /**
+     * Dedicated, data driven scheduler for the sample stream processing (tuner buffer dispatch, channelizer and
+     * channel decimation).  DSP threads run at a higher priority than the housekeeping pool threads.
+     */
+    public static DSPScheduler DSP;
+
     static
     {
         //Create a scheduled thread pool sized according to the available processors/cores, minimum 2
         CORES = (CORES < 2 ? 2 : CORES);
 
         SCHEDULED = Executors.newScheduledThreadPool(CORES, new NamingThreadFactory("sdrtrunk"));
+
+        //Default to one DSP thread for each core except one, which is left for housekeeping and the user interface
+        DSP_THREADS = Integer.getInteger(PROPERTY_DSP_THREAD_COUNT, CORES - 1);
+        DSP_THREADS = (DSP_THREADS < 1 ? 1 : DSP_THREADS);
+
+        DSP = new DSPScheduler("sdrtrunk", DSP_THREADS, Thread.MAX_PRIORITY, SCHEDULED);
     }
 
     /**
@@ -50,5 +71,6 @@ public class ThreadPool
     public static void logSettings()
     {
         mLog.info("Application thread pool created with [" + CORES + "] threads");
+        mLog.info("DSP scheduler created with [" + DSP_THREADS + "] threads");
     }
 }
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.util;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Hashed timer wheel that expires primitive int keys once their deadline passes.  The wheel is advanced by the owner
+ * (e.g. with the timestamp of each received message) instead of by a timer thread, so expiry runs on the owner's
+ * thread and costs nothing while no keys are due.
+ *
+ * Each key is placed in the wheel slot for its deadline tick.  Advancing the wheel only visits the slots for the
+ * elapsed ticks, instead of checking every key.  Extending a key's deadline only updates the deadline map: the key
+ * stays in its original slot and is moved to the slot for its new deadline when the original slot is visited.  This
+ * makes refreshing an active key, the most frequent operation, a single primitive map update.
+ *
+ * This class is not thread safe.
+ */
+public class TimerWheel
+{
+    private long mTickDuration;
+    private int[][] mSlots;
+    private int[] mSlotCounts;
+    private int mMask;
+    private int[] mSpareSlot = new int[8];
+    private IntLongMap mDeadlines = new IntLongMap(Long.MAX_VALUE);
+    private long mNextTick = -1;
+
+    /**
+     * Constructs a timer wheel
+     *
+     * @param tickDuration resolution of the wheel in milliseconds.  Keys expire within one tick after their deadline.
+     * @param slotCount number of wheel slots, rounded up to a power of two.  Deadlines beyond one rotation of the
+     * wheel are supported, but are revisited once per rotation.
+     */
+    public TimerWheel(long tickDuration, int slotCount)
+    {
+        Validate.isTrue(tickDuration > 0, "Tick duration must be positive");
+        Validate.isTrue(slotCount > 0, "Slot count must be positive");
+
+        int size = Integer.highestOneBit(slotCount);
+
+        if(size < slotCount)
+        {
+            size <<= 1;
+        }
+
+        mTickDuration = tickDuration;
+        mSlots = new int[size][8];
+        mSlotCounts = new int[size];
+        mMask = size - 1;
+    }
+
+    /**
+     * Schedules the key to expire at the deadline, replacing any existing deadline for the key.
+     *
+     * @param key to schedule
+     * @param deadline in milliseconds
+     */
+    public void schedule(int key, long deadline)
+    {
+        long current = mDeadlines.get(key);
+
+        mDeadlines.put(key, deadline);
+
+        //A key that is already in the wheel with an earlier deadline is moved lazily when its slot is visited
+        if(current == Long.MAX_VALUE || deadline < current)
+        {
+            long tick = deadline / mTickDuration;
+
+            if(mNextTick >= 0 && tick < mNextTick)
+            {
+                tick = mNextTick;
+            }
+
+            add((int)tick & mMask, key);
+        }
+    }
+
+    /**
+     * Removes the key from the wheel without expiring it
+     */
+    public void cancel(int key)
+    {
+        //The slot entry is discarded when its slot is visited
+        mDeadlines.remove(key);
+    }
+
+    /**
+     * Indicates if the key is scheduled
+     */
+    public boolean contains(int key)
+    {
+        return mDeadlines.containsKey(key);
+    }
+
+    /**
+     * Deadline for the key or Long.MAX_VALUE if the key is not scheduled
+     */
+    public long getDeadline(int key)
+    {
+        return mDeadlines.get(key);
+    }
+
+    /**
+     * Number of scheduled keys
+     */
+    public int size()
+    {
+        return mDeadlines.size();
+    }
+
+    /**
+     * Removes all keys without expiring them
+     */
+    public void clear()
+    {
+        mDeadlines.clear();
+
+        for(int x = 0; x < mSlotCounts.length; x++)
+        {
+            mSlotCounts[x] = 0;
+        }
+    }
+
+    /**
+     * Advances the wheel to the current time and expires each key whose deadline is at or before the current time.
+     * Expired keys are removed before they are delivered to the listener, so the listener can reschedule them.
+     *
+     * @param now current time in milliseconds
+     * @param listener to receive each expired key
+     */
+    public void advance(long now, IntConsumer listener)
+    {
+        long tick = now / mTickDuration;
+
+        if(mNextTick < 0)
+        {
+            mNextTick = tick;
+        }
+
+        //Only completed ticks are visited, so every key in a visited slot for the current rotation is due.  After a gap
+        //of more than one rotation, each slot is visited once since slot visits check the actual deadline.
+        long first = Math.max(mNextTick, tick - mSlotCounts.length);
+
+        for(long x = first; x < tick; x++)
+        {
+            expire((int)x & mMask, now, listener);
+        }
+
+        if(tick > mNextTick)
+        {
+            mNextTick = tick;
+        }
+    }
+
+    /**
+     * Expires the due keys in the slot and moves keys with a later deadline to the slot for that deadline
+     */
+    private void expire(int slot, long now, IntConsumer listener)
+    {
+        int count = mSlotCounts[slot];
+
+        if(count == 0)
+        {
+            return;
+        }
+
+        //Swap in an empty slot array so that keys can be added to this slot while its keys are processed
+        int[] keys = mSlots[slot];
+        mSlots[slot] = mSpareSlot;
+        mSlotCounts[slot] = 0;
+
+        for(int x = 0; x < count; x++)
+        {
+            int key = keys[x];
+            long deadline = mDeadlines.get(key);
+
+            if(deadline == Long.MAX_VALUE)
+            {
+                //Cancelled or already expired from another slot
+                continue;
+            }
+
+            if(deadline <= now)
+            {
+                mDeadlines.remove(key);
+                listener.accept(key);
+            }
+            else
+            {
+                add((int)(deadline / mTickDuration) & mMask, key);
+            }
+        }
+
+        mSpareSlot = keys;
+    }
+
+    private void add(int slot, int key)
+    {
+        int count = mSlotCounts[slot];
+
+        if(count == mSlots[slot].length)
+        {
+            int[] expanded = new int[count << 1];
+            System.arraycopy(mSlots[slot], 0, expanded, 0, count);
+            mSlots[slot] = expanded;
+        }
+
+        mSlots[slot][count] = key;
+        mSlotCounts[slot] = count + 1;
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.bits;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BinaryMessageTest
+{
+    private static final int SIZE = 200;
+
+    private static BinaryMessage randomMessage(Random random)
+    {
+        BinaryMessage message = new BinaryMessage(SIZE);
+
+        for(int x = 0; x < SIZE; x++)
+        {
+            if(random.nextBoolean())
+            {
+                message.set(x);
+            }
+        }
+
+        return message;
+    }
+
+    /**
+     * Reference field value that tests each bit position
+     */
+    private static long getValue(BinaryMessage message, int[] bits)
+    {
+        long value = 0;
+
+        for(int bit : bits)
+        {
+            value = (value << 1) | (message.get(bit) ? 1 : 0);
+        }
+
+        return value;
+    }
+
+    private static int[] run(int start, int length)
+    {
+        int[] bits = new int[length];
+
+        for(int x = 0; x < length; x++)
+        {
+            bits[x] = start + x;
+        }
+
+        return bits;
+    }
+
+    @Test
+    public void contiguousFieldsMatchBitByBitValue()
+    {
+        Random random = new Random(2);
+
+        for(int trial = 0; trial < 20; trial++)
+        {
+            BinaryMessage message = randomMessage(random);
+
+            for(int start : new int[]{0, 1, 63, 64, 80, 130})
+            {
+                for(int length = 1; length <= 64; length++)
+                {
+                    int[] bits = run(start, length);
+                    long expected = getValue(message, bits);
+
+                    assertThat(message.getLong(bits)).isEqualTo(expected);
+                    assertThat(message.getLong(start, start + length - 1)).isEqualTo(expected);
+
+                    if(length <= 32)
+                    {
+                        assertThat(message.getInt(bits)).isEqualTo((int)expected);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void nonContiguousFieldsMatchBitByBitValue()
+    {
+        BinaryMessage message = randomMessage(new Random(3));
+
+        int[][] fields = {{0, 2, 1, 3}, {10, 11, 13, 12}, {5, 4, 3, 2, 1, 0}, {100, 40, 7}, {20, 21, 21, 22}};
+
+        for(int[] bits : fields)
+        {
+            assertThat(message.getInt(bits)).isEqualTo((int)getValue(message, bits));
+            assertThat(message.getLong(bits)).isEqualTo(getValue(message, bits));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.bits;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PackedBitBufferTest
+{
+    private static final int SIZE = 200;
+    private static final int[] OFFSETS = {0, 1, 37, 63, 64, 65, 127, 128, 135};
+    private static final int[] WIDTHS = {1, 2, 31, 32, 63, 64};
+
+    private Random mRandom = new Random(1);
+
+    private BinaryMessage randomMessage()
+    {
+        BinaryMessage message = new BinaryMessage(SIZE);
+
+        for(int x = 0; x < SIZE; x++)
+        {
+            if(mRandom.nextBoolean())
+            {
+                message.set(x);
+            }
+        }
+
+        return message;
+    }
+
+    @Test
+    public void getLongMatchesBinaryMessage()
+    {
+        for(int trial = 0; trial < 20; trial++)
+        {
+            BinaryMessage message = randomMessage();
+            PackedBitBuffer buffer = new PackedBitBuffer(message);
+
+            for(int offset : OFFSETS)
+            {
+                for(int width : WIDTHS)
+                {
+                    assertThat(buffer.getLong(offset, width))
+                        .as("offset %d width %d", offset, width)
+                        .isEqualTo(message.getLong(offset, offset + width - 1));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void getIntMatchesBinaryMessage()
+    {
+        BinaryMessage message = randomMessage();
+        PackedBitBuffer buffer = new PackedBitBuffer(message);
+
+        for(int offset : OFFSETS)
+        {
+            for(int width = 1; width <= 32; width++)
+            {
+                assertThat(buffer.getInt(offset, offset + width - 1))
+                    .isEqualTo(message.getInt(offset, offset + width - 1));
+            }
+        }
+    }
+
+    @Test
+    public void loadMatchesBinaryMessage()
+    {
+        for(int offset : OFFSETS)
+        {
+            for(int width : WIDTHS)
+            {
+                BinaryMessage message = randomMessage();
+                PackedBitBuffer buffer = new PackedBitBuffer(message);
+                long value = mRandom.nextLong();
+
+                message.load(offset, width, value);
+                buffer.load(offset, width, value);
+
+                //Bits on either side of the loaded field are unchanged
+                assertThat(buffer.toLongArray()).as("offset %d width %d", offset, width)
+                    .isEqualTo(message.toLongArray());
+                assertThat(buffer.getLong(offset, width)).isEqualTo(width == 64 ? value :
+                    value & ((1L << width) - 1));
+            }
+        }
+    }
+
+    @Test
+    public void appendedValuesMatchBinaryMessage()
+    {
+        PackedBitBuffer buffer = new PackedBitBuffer(SIZE);
+        BinaryMessage message = new BinaryMessage(SIZE);
+        int pointer = 0;
+
+        for(int width : new int[]{1, 63, 64, 5, 64, 3})
+        {
+            long value = mRandom.nextLong();
+
+            assertThat(buffer.add(value, width)).isTrue();
+            message.load(pointer, width, value);
+            pointer += width;
+        }
+
+        assertThat(buffer.pointer()).isEqualTo(pointer);
+        assertThat(buffer.add(0, SIZE - pointer + 1)).isFalse();
+
+        while(!buffer.isFull())
+        {
+            boolean bit = mRandom.nextBoolean();
+            buffer.add(bit);
+            message.set(pointer++, bit);
+        }
+
+        assertThat(buffer.add(true)).isFalse();
+        assertThat(buffer.toLongArray()).isEqualTo(message.toLongArray());
+
+        BinaryMessage converted = buffer.toBinaryMessage();
+
+        assertThat(converted.size()).isEqualTo(SIZE);
+        assertThat(converted.pointer()).isEqualTo(SIZE);
+        assertThat((BitSet)converted).isEqualTo(message);
+        assertThat(converted.toString()).isEqualTo(buffer.toString());
+    }
+
+    @Test
+    public void constructorMasksBitsBeyondSize()
+    {
+        BinaryMessage message = randomMessage();
+        message.set(SIZE + 3);
+
+        PackedBitBuffer buffer = new PackedBitBuffer(message);
+
+        assertThat(buffer.toLongArray()).isEqualTo(message.get(0, SIZE).toLongArray());
+    }
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.dsp.filter.cic;
+
+import io.github.dsheirer.dsp.filter.Window;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.ReusableBufferBroadcaster;
+import io.github.dsheirer.sample.complex.ComplexBuffer;
+import io.github.dsheirer.sample.complex.ReusableComplexBuffer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ComplexPrimeCICDecimateTest
+{
+    @Test
+    public void outputBuffersAreRecycledOnceReleased()
+    {
+        ComplexPrimeCICDecimate decimator = new ComplexPrimeCICDecimate(4, 1, 12500, 60, Window.WindowType.HAMMING);
+
+        Set<ComplexBuffer> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Integer> userCounts = new ArrayList<>();
+
+        ReusableBufferBroadcaster<ComplexBuffer> broadcaster = new ReusableBufferBroadcaster<>();
+        broadcaster.addListener(new Listener<ComplexBuffer>()
+        {
+            @Override
+            public void receive(ComplexBuffer buffer)
+            {
+                assertThat(buffer).isInstanceOf(ReusableComplexBuffer.class);
+                distinct.add(buffer);
+                userCounts.add(((ReusableComplexBuffer)buffer).getUserCount());
+                buffer.decrementUserCount();
+            }
+        });
+        decimator.setListener(broadcaster);
+
+        Random random = new Random(7);
+
+        for(int x = 0; x < 50; x++)
+        {
+            float[] samples = new float[8192];
+
+            for(int y = 0; y < samples.length; y++)
+            {
+                samples[y] = random.nextFloat() - 0.5f;
+            }
+
+            decimator.receive(new ComplexBuffer(samples));
+        }
+
+        //Each 8192 sample input buffer decimates to one full 2048 sample output buffer
+        assertThat(userCounts).hasSize(50);
+
+        //The producer and the listener each hold a user count while the listener processes the buffer
+        assertThat(userCounts).containsOnly(2);
+
+        //Released buffers are reused for subsequent output
+        assertThat(distinct).hasSize(1);
+    }
+
+    @Test
+    public void retainedOutputBuffersAreNotRecycled()
+    {
+        ComplexPrimeCICDecimate decimator = new ComplexPrimeCICDecimate(4, 1, 12500, 60, Window.WindowType.HAMMING);
+
+        ReusableBufferBroadcaster<ComplexBuffer> broadcaster = new ReusableBufferBroadcaster<>();
+        List<ComplexBuffer> held = new ArrayList<>();
+        broadcaster.addListener(held::add);
+        decimator.setListener(broadcaster);
+
+        for(int x = 0; x < 5; x++)
+        {
+            decimator.receive(new ComplexBuffer(new float[8192]));
+        }
+
+        //Buffers held by a broadcaster listener that never releases them are never handed out again
+        Set<ComplexBuffer> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(held);
+        assertThat(distinct).hasSize(5);
+    }
+}
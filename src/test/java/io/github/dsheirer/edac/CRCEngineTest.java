@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.util.IntLongMap;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CRCEngineTest
+{
+    private static final int[] WIDTHS = {1, 5, 7, 9, 15, 16, 24, 32, 33, 63, 64};
+
+    private Random mRandom = new Random(1);
+
+    @Test
+    public void checksumMatchesBitSerialReference()
+    {
+        for(int width : WIDTHS)
+        {
+            for(int bitsPerStep : new int[] {8, 16})
+            {
+                for(int trial = 0; trial < 50; trial++)
+                {
+                    long polynomial = mRandom.nextLong() | 1;
+                    long finalXor = mRandom.nextLong() & (width == 64 ? -1L : (1L << width) - 1);
+                    CRCEngine engine = new CRCEngine(width, polynomial, 0, finalXor, bitsPerStep);
+
+                    BinaryMessage message = CRCReference.randomMessage(mRandom, 300);
+                    int start = mRandom.nextInt(150);
+                    int end = start + mRandom.nextInt(150);
+
+                    long expected = CRCReference.checksum(message, start, end, width, polynomial) ^ finalXor;
+
+                    assertThat(engine.getChecksum(message, start, end))
+                        .as("width %d step %d start %d end %d", width, bitsPerStep, start, end)
+                        .isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void updateAcrossRangesMatchesContiguousMessage()
+    {
+        CRCEngine engine = new CRCEngine(9, 0x59, 0, 0);
+
+        for(int trial = 0; trial < 100; trial++)
+        {
+            BinaryMessage message = CRCReference.randomMessage(mRandom, 200);
+            int split = mRandom.nextInt(200);
+            long[] words = message.toLongArray();
+
+            long register = engine.update(engine.getInitialRegister(), words, 0, split);
+            register = engine.update(register, words, split, 200);
+
+            assertThat(engine.finish(register)).isEqualTo(engine.getChecksum(words, 0, 200));
+        }
+    }
+
+    @Test
+    public void syndromePositionsLocateSingleBitErrors()
+    {
+        int messageLength = 80;
+        CRCEngine engine = new CRCEngine(16, 0x1021, 0, 0);
+        IntLongMap positions = engine.getSyndromePositions(messageLength);
+
+        BinaryMessage message = CRCReference.randomMessage(mRandom, messageLength + 16);
+        CRCReference.setValue(message, messageLength, 16, engine.getChecksum(message, 0, messageLength));
+
+        for(int x = 0; x < messageLength + 16; x++)
+        {
+            BinaryMessage errored = message.copy();
+            errored.flip(x);
+
+            int syndrome = (int)(engine.getChecksum(errored, 0, messageLength) ^
+                errored.getLong(messageLength, messageLength + 15));
+
+            assertThat(positions.get(syndrome)).as("bit %d", x).isEqualTo(x);
+        }
+
+        assertThat(positions.get(0)).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CRCFleetsyncTest
+{
+    private Random mRandom = new Random(1);
+
+    /**
+     * Creates a 64-bit message with a valid CRC-15 checksum (fill value 1) and an even parity bit
+     */
+    private BinaryMessage createMessage()
+    {
+        BinaryMessage message = CRCReference.randomMessage(mRandom, 64);
+
+        CRCReference.setValue(message, 48, 15, CRCReference.checksum(message, 0, 48, 15, 0x6815) ^ 1);
+        message.set(63, message.get(0, 63).cardinality() % 2 == 1);
+
+        return message;
+    }
+
+    @Test
+    public void checkMatchesBitSerialReference()
+    {
+        for(int trial = 0; trial < 10000; trial++)
+        {
+            BinaryMessage message = CRCReference.randomMessage(mRandom, 64);
+
+            CRC expected;
+
+            if(message.cardinality() % 2 != 0)
+            {
+                expected = CRC.FAILED_PARITY;
+            }
+            else if((CRCReference.checksum(message, 0, 48, 15, 0x6815) ^ 1) == message.getInt(48, 62))
+            {
+                expected = CRC.PASSED;
+            }
+            else
+            {
+                expected = CRC.FAILED_CRC;
+            }
+
+            assertThat(CRCFleetsync.check(message)).isEqualTo(expected);
+        }
+
+        for(int trial = 0; trial < 100; trial++)
+        {
+            assertThat(CRCFleetsync.check(createMessage())).isEqualTo(CRC.PASSED);
+        }
+    }
+
+    @Test
+    public void findBitErrorsLocatesSingleBitErrors()
+    {
+        for(int trial = 0; trial < 20; trial++)
+        {
+            BinaryMessage message = createMessage();
+
+            for(int x = 0; x < 48; x++)
+            {
+                BinaryMessage errored = message.copy();
+                errored.flip(x);
+
+                assertThat(CRCFleetsync.check(errored)).isEqualTo(CRC.FAILED_PARITY);
+                assertThat(CRCFleetsync.findBitErrors(errored)).as("bit %d", x).containsExactly(x);
+            }
+
+            BinaryMessage errored = message.copy();
+            errored.flip(63);
+
+            assertThat(CRCFleetsync.findBitErrors(errored)).containsExactly(63);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CRCLJTest
+{
+    private static final int MESSAGE_START = 32;
+    private static final int CRC_START = 64;
+
+    private Random mRandom = new Random(1);
+
+    private BinaryMessage createMessage()
+    {
+        BinaryMessage message = CRCReference.randomMessage(mRandom, 80);
+
+        CRCReference.setValue(message, CRC_START, 16,
+            CRCReference.checksum(message, MESSAGE_START, CRC_START, 16, 0x6F63));
+
+        return message;
+    }
+
+    @Test
+    public void checkMatchesBitSerialReference()
+    {
+        for(int trial = 0; trial < 10000; trial++)
+        {
+            BinaryMessage message = CRCReference.randomMessage(mRandom, 80);
+
+            boolean valid = CRCReference.checksum(message, MESSAGE_START, CRC_START, 16, 0x6F63) ==
+                CRCLJ.getChecksum(message);
+
+            CRC crc = CRCLJ.checkAndCorrect(message);
+
+            if(valid)
+            {
+                assertThat(crc).isEqualTo(CRC.PASSED);
+            }
+            else
+            {
+                assertThat(crc).isIn(CRC.CORRECTED, CRC.FAILED_CRC);
+            }
+
+            if(crc == CRC.CORRECTED)
+            {
+                assertThat(CRCReference.checksum(message, MESSAGE_START, CRC_START, 16, 0x6F63))
+                    .isEqualTo(CRCLJ.getChecksum(message));
+            }
+        }
+    }
+
+    @Test
+    public void checkAndCorrectFixesSingleBitErrors()
+    {
+        for(int trial = 0; trial < 20; trial++)
+        {
+            BinaryMessage message = createMessage();
+
+            assertThat(CRCLJ.checkAndCorrect(message.copy())).isEqualTo(CRC.PASSED);
+
+            for(int x = MESSAGE_START; x < CRC_START; x++)
+            {
+                BinaryMessage errored = message.copy();
+                errored.flip(x);
+
+                assertThat(CRCLJ.checkAndCorrect(errored)).as("bit %d", x).isEqualTo(CRC.CORRECTED);
+                assertThat(errored).as("bit %d", x).isEqualTo(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.message.MessageDirection;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CRCLTRTest
+{
+    private Random mRandom = new Random(1);
+
+    private BinaryMessage createMessage(boolean inverted)
+    {
+        BinaryMessage message = CRCReference.randomMessage(mRandom, 42);
+
+        int checksum = CRCLTR.getCalculatedChecksum(message);
+        CRCReference.setValue(message, 33, 7, inverted ? checksum ^ 0x7F : checksum);
+
+        return message;
+    }
+
+    @Test
+    public void calculatedChecksumMatchesChecksumTable()
+    {
+        byte[] checks = CRCLTR.getChecks();
+
+        for(int trial = 0; trial < 10000; trial++)
+        {
+            BinaryMessage message = CRCReference.randomMessage(mRandom, 42);
+
+            int expected = 0;
+
+            for(int x = 9; x < 33; x++)
+            {
+                if(message.get(x))
+                {
+                    expected ^= checks[x - 9];
+                }
+            }
+
+            assertThat(CRCLTR.getCalculatedChecksum(message)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void checkAcceptsNormalAndInvertedChecksums()
+    {
+        for(int trial = 0; trial < 100; trial++)
+        {
+            BinaryMessage normal = createMessage(false);
+
+            assertThat(CRCLTR.check(normal, MessageDirection.OSW)).isEqualTo(CRC.PASSED);
+            assertThat(CRCLTR.check(normal, MessageDirection.ISW)).isEqualTo(CRC.PASSED);
+
+            BinaryMessage inverted = createMessage(true);
+
+            assertThat(CRCLTR.check(inverted, MessageDirection.OSW)).isEqualTo(CRC.FAILED_CRC);
+            assertThat(CRCLTR.check(inverted, MessageDirection.ISW)).isEqualTo(CRC.PASSED_INV);
+
+            for(int x = 9; x < 40; x++)
+            {
+                BinaryMessage errored = normal.copy();
+                errored.flip(x);
+
+                assertThat(CRCLTR.check(errored, MessageDirection.OSW)).as("bit %d", x).isEqualTo(CRC.FAILED_CRC);
+            }
+        }
+    }
+}
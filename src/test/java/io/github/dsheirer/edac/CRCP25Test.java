@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CRCP25Test
+{
+    private static final int CCITT_MESSAGE_START = 64;
+    private static final int CCITT_CRC_START = 144;
+    private static final int PDU_MESSAGE_START = 160;
+    private static final int CRC9_MESSAGE_START = 10;
+
+    private Random mRandom = new Random(1);
+
+    /**
+     * Reference CCITT-80 error detection and correction using the per-bit checksum table
+     */
+    private static CRC referenceCCITT80(BinaryMessage message)
+    {
+        long calculated = CRCReference.tableChecksum(message, CCITT_MESSAGE_START, CCITT_CRC_START,
+            CRCP25.CCITT_80_CHECKSUMS);
+
+        int residual = (int)calculated ^ message.getInt(CCITT_CRC_START, CCITT_CRC_START + 15);
+
+        if(residual == 0 || residual == 0xFFFF)
+        {
+            return CRC.PASSED;
+        }
+
+        for(int x = 0; x < CRCP25.CCITT_80_CHECKSUMS.length; x++)
+        {
+            if(CRCP25.CCITT_80_CHECKSUMS[x] == residual)
+            {
+                message.flip(x + CCITT_MESSAGE_START);
+                return CRC.CORRECTED;
+            }
+        }
+
+        return CRC.FAILED_CRC;
+    }
+
+    /**
+     * Reference CRC-9 check using the per-bit checksum table.  The 9 CRC bits follow the first 7 message bits.
+     */
+    private static CRC referenceCRC9(BinaryMessage message)
+    {
+        long calculated = CRCReference.tableChecksum(message, CRC9_MESSAGE_START, CRC9_MESSAGE_START + 7,
+            CRCP25.CRC9_CHECKSUMS);
+
+        for(int x = message.nextSetBit(CRC9_MESSAGE_START + 16); x >= 0 && x < CRC9_MESSAGE_START + 144;
+            x = message.nextSetBit(x + 1))
+        {
+            calculated ^= CRCP25.CRC9_CHECKSUMS[x - CRC9_MESSAGE_START - 9];
+        }
+
+        int residual = (int)calculated ^ message.getInt(CRC9_MESSAGE_START + 7, CRC9_MESSAGE_START + 15);
+
+        return residual == 0 || residual == 0x1FF ? CRC.PASSED : CRC.FAILED_CRC;
+    }
+
+    /**
+     * Reference PDU error detection and correction using the per-bit checksum table
+     */
+    private static CRC referencePDU(BinaryMessage message, long[] checksums, int crcStart)
+    {
+        long residual = CRCReference.tableChecksum(message, PDU_MESSAGE_START, crcStart, checksums) ^
+            message.getLong(crcStart, crcStart + 31);
+
+        if(residual == 0 || residual == 0xFFFFFFFFL)
+        {
+            return CRC.PASSED;
+        }
+
+        for(int x = 0; x < checksums.length; x++)
+        {
+            if(checksums[x] == residual)
+            {
+                message.flip(x + PDU_MESSAGE_START);
+                return CRC.CORRECTED;
+            }
+        }
+
+        return CRC.FAILED_CRC;
+    }
+
+    /**
+     * Creates a random message, with a valid checksum 3 out of 4 times, and flips up to 2 random bits
+     */
+    private BinaryMessage createCCITT80()
+    {
+        BinaryMessage message = CRCReference.randomMessage(mRandom, 196);
+
+        if(mRandom.nextInt(4) != 0)
+        {
+            long checksum = CRCReference.tableChecksum(message, CCITT_MESSAGE_START, CCITT_CRC_START,
+                CRCP25.CCITT_80_CHECKSUMS);
+            CRCReference.setValue(message, CCITT_CRC_START, 16, checksum ^ (mRandom.nextBoolean() ? 0xFFFF : 0));
+        }
+
+        flip(message, CCITT_MESSAGE_START, CCITT_CRC_START + 16);
+
+        return message;
+    }
+
+    private void flip(BinaryMessage message, int start, int end)
+    {
+        int count = mRandom.nextInt(3);
+
+        for(int x = 0; x < count; x++)
+        {
+            message.flip(start + mRandom.nextInt(end - start));
+        }
+    }
+
+    @Test
+    public void ccitt80MatchesChecksumTable()
+    {
+        for(int trial = 0; trial < 20000; trial++)
+        {
+            BinaryMessage message = createCCITT80();
+            BinaryMessage expected = message.copy();
+
+            CRC expectedCRC = referenceCCITT80(expected);
+            CRCP25.correctCCITT80(message, CCITT_MESSAGE_START, CCITT_CRC_START);
+
+            assertThat(message.getCRC()).isEqualTo(expectedCRC);
+            assertThat(message).isEqualTo(expected);
+        }
+    }
+
+    /**
+     * Checksum bit errors are indexed from the least significant checksum bit by the checksum tables, so only message
+     * bit errors are checked here.  Checksum bit errors are covered by the checksum table comparison.
+     */
+    @Test
+    public void ccitt80CorrectsEachSingleMessageBitError()
+    {
+        BinaryMessage message = CRCReference.randomMessage(mRandom, 196);
+        long checksum = CRCReference.tableChecksum(message, CCITT_MESSAGE_START, CCITT_CRC_START,
+            CRCP25.CCITT_80_CHECKSUMS);
+        CRCReference.setValue(message, CCITT_CRC_START, 16, checksum);
+
+        for(int x = CCITT_MESSAGE_START; x < CCITT_CRC_START; x++)
+        {
+            BinaryMessage errored = message.copy();
+            errored.flip(x);
+
+            CRCP25.correctCCITT80(errored, CCITT_MESSAGE_START, CCITT_CRC_START);
+
+            assertThat(errored.getCRC()).as("bit %d", x).isEqualTo(CRC.CORRECTED);
+            assertThat(errored).as("bit %d", x).isEqualTo(message);
+        }
+    }
+
+    @Test
+    public void pduMatchesChecksumTable()
+    {
+        long[][] tables = {CRCP25.PDU1_CHECKSUMS, CRCP25.PDU2_CHECKSUMS, CRCP25.PDU3_CHECKSUMS};
+        int[] crcStarts = {224, 320, 416};
+
+        for(int trial = 0; trial < 20000; trial++)
+        {
+            int pdu = mRandom.nextInt(3);
+            int crcStart = crcStarts[pdu];
+
+            BinaryMessage message = CRCReference.randomMessage(mRandom, 450);
+
+            if(mRandom.nextInt(4) != 0)
+            {
+                long checksum = CRCReference.tableChecksum(message, PDU_MESSAGE_START, crcStart, tables[pdu]);
+                CRCReference.setValue(message, crcStart, 32, checksum ^ (mRandom.nextBoolean() ? 0xFFFFFFFFL : 0));
+            }
+
+            flip(message, PDU_MESSAGE_START, crcStart + 32);
+
+            BinaryMessage expected = message.copy();
+            CRC expectedCRC = referencePDU(expected, tables[pdu], crcStart);
+
+            BinaryMessage actual = message.copy();
+
+            switch(pdu)
+            {
+                case 0:
+                    CRCP25.correctPDU1(actual);
+                    break;
+                case 1:
+                    CRCP25.correctPDU2(actual);
+                    break;
+                default:
+                    CRCP25.correctPDU3(actual);
+                    break;
+            }
+
+            assertThat(actual.getCRC()).as("pdu %d", pdu + 1).isEqualTo(expectedCRC);
+            assertThat(actual).as("pdu %d", pdu + 1).isEqualTo(expected);
+
+            //The checksum table overload selects the CRC engine by data block length, for any copy of the table
+            BinaryMessage overload = CRCP25.correctPDU(message.copy(), tables[pdu].clone(), crcStart);
+
+            assertThat(overload.getCRC()).isEqualTo(expectedCRC);
+            assertThat(overload).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void crc9MatchesChecksumTable()
+    {
+        CRCEngine crc9 = new CRCEngine(9, 0x59, 0, 0);
+
+        for(int trial = 0; trial < 20000; trial++)
+        {
+            BinaryMessage message = CRCReference.randomMessage(mRandom, 160);
+
+            if(mRandom.nextInt(4) != 0)
+            {
+                long[] words = message.toLongArray();
+                long register = crc9.update(crc9.getInitialRegister(), words, CRC9_MESSAGE_START,
+                    CRC9_MESSAGE_START + 7);
+                register = crc9.update(register, words, CRC9_MESSAGE_START + 16, CRC9_MESSAGE_START + 144);
+                CRCReference.setValue(message, CRC9_MESSAGE_START + 7, 9, crc9.finish(register));
+            }
+
+            flip(message, CRC9_MESSAGE_START, CRC9_MESSAGE_START + 144);
+
+            assertThat(CRCP25.checkCRC9(message, CRC9_MESSAGE_START)).isEqualTo(referenceCRC9(message));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CRCPassportTest
+{
+    private Random mRandom = new Random(1);
+
+    /**
+     * Reference residual calculated from the per-bit checksum table for message bits 9 - 59
+     */
+    private static byte referenceResidual(BinaryMessage message)
+    {
+        byte residual = CRCPassport.getChecksum(message);
+
+        for(int x = message.nextSetBit(9); x >= 0 && x < 60; x = message.nextSetBit(x + 1))
+        {
+            residual ^= CRCPassport.getChecks()[x - 9];
+        }
+
+        return residual;
+    }
+
+    @Test
+    public void residualMatchesChecksumTable()
+    {
+        for(int trial = 0; trial < 20000; trial++)
+        {
+            BinaryMessage message = CRCReference.randomMessage(mRandom, 68);
+
+            if(mRandom.nextInt(4) != 0)
+            {
+                CRCReference.setValue(message, 60, 8, referenceResidual(message) ^ CRCPassport.getChecksum(message));
+            }
+
+            byte expected = referenceResidual(message);
+
+            assertThat(CRCPassport.getResidual(message)).isEqualTo(expected);
+            assertThat(CRCPassport.check(message)).isEqualTo(expected == 0 ? CRC.PASSED : CRC.FAILED_CRC);
+        }
+    }
+
+    @Test
+    public void correctFixesFinalChecksumBits()
+    {
+        for(int trial = 0; trial < 100; trial++)
+        {
+            BinaryMessage message = CRCReference.randomMessage(mRandom, 68);
+            CRCReference.setValue(message, 60, 8, referenceResidual(message) ^ CRCPassport.getChecksum(message));
+
+            for(int[] errors : new int[][] {{67}, {66}, {66, 67}})
+            {
+                BinaryMessage errored = message.copy();
+
+                for(int error : errors)
+                {
+                    errored.flip(error);
+                }
+
+                CRCPassport.correct(errored);
+
+                assertThat(errored).isEqualTo(message);
+                assertThat(CRCPassport.check(errored)).isEqualTo(CRC.PASSED);
+            }
+        }
+    }
+}
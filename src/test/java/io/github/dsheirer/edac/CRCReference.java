@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Bit serial reference implementations and message helpers for the CRC tests
+ */
+class CRCReference
+{
+    /**
+     * Calculates a non-reflected CRC one message bit at a time, with an initial fill and final XOR of zero.
+     */
+    static long checksum(BitSet message, int start, int end, int width, long polynomial)
+    {
+        long top = 1L << (width - 1);
+        long mask = width == 64 ? -1L : (1L << width) - 1;
+        long register = 0;
+
+        for(int x = start; x < end; x++)
+        {
+            boolean feedback = message.get(x) ^ ((register & top) != 0);
+
+            register = (register << 1) & mask;
+
+            if(feedback)
+            {
+                register ^= polynomial & mask;
+            }
+        }
+
+        return register;
+    }
+
+    /**
+     * Calculates a checksum by XORing the checksum table entry for each set message bit
+     */
+    static long tableChecksum(BitSet message, int start, int end, long[] checksums)
+    {
+        long checksum = 0;
+
+        for(int x = message.nextSetBit(start); x >= 0 && x < end; x = message.nextSetBit(x + 1))
+        {
+            checksum ^= checksums[x - start];
+        }
+
+        return checksum;
+    }
+
+    static long tableChecksum(BitSet message, int start, int end, int[] checksums)
+    {
+        long[] values = new long[checksums.length];
+
+        for(int x = 0; x < checksums.length; x++)
+        {
+            values[x] = checksums[x];
+        }
+
+        return tableChecksum(message, start, end, values);
+    }
+
+    static BinaryMessage randomMessage(Random random, int size)
+    {
+        BinaryMessage message = new BinaryMessage(size);
+
+        for(int x = 0; x < size; x++)
+        {
+            if(random.nextBoolean())
+            {
+                message.set(x);
+            }
+        }
+
+        return message;
+    }
+
+    /**
+     * Writes the value, most significant bit first, to the message bits starting at the start index
+     */
+    static void setValue(BitSet message, int start, int width, long value)
+    {
+        for(int x = 0; x < width; x++)
+        {
+            message.set(start + x, ((value >>> (width - 1 - x)) & 1) == 1);
+        }
+    }
+}
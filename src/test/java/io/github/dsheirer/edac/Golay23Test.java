@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Golay23Test
+{
+    /**
+     * Encodes the 12-bit data word by XORing the checksum table entry of each set data bit
+     */
+    static int encode(int data)
+    {
+        int checksum = 0;
+
+        for(int x = 0; x < 12; x++)
+        {
+            if((data & (1 << (11 - x))) != 0)
+            {
+                checksum ^= Golay23.CHECKSUMS[x];
+            }
+        }
+
+        return (data << 11) | checksum;
+    }
+
+    /**
+     * All 23-bit error patterns with 3 or fewer bit errors, including the no error pattern
+     */
+    static List<Integer> getErrorPatterns(int length)
+    {
+        List<Integer> patterns = new ArrayList<>();
+        patterns.add(0);
+
+        for(int a = 0; a < length; a++)
+        {
+            patterns.add(1 << a);
+
+            for(int b = a + 1; b < length; b++)
+            {
+                patterns.add((1 << a) | (1 << b));
+
+                for(int c = b + 1; c < length; c++)
+                {
+                    patterns.add((1 << a) | (1 << b) | (1 << c));
+                }
+            }
+        }
+
+        return patterns;
+    }
+
+    @Test
+    public void correctsAllErrorPatternsOfThreeOrFewerBits()
+    {
+        List<Integer> patterns = getErrorPatterns(23);
+
+        //Golay(23,12,7) is a perfect code - the correctable error patterns cover every syndrome
+        assertThat(patterns).hasSize(2048);
+
+        for(int data = 0; data < 4096; data++)
+        {
+            int codeword = encode(data);
+
+            assertThat(Golay23.getSyndrome(codeword)).isEqualTo(0);
+
+            for(int pattern : patterns)
+            {
+                int errored = codeword ^ pattern;
+
+                assertThat(Golay23.getErrorPattern(errored)).isEqualTo(pattern);
+                assertThat(Golay23.correct(errored)).isEqualTo(codeword);
+            }
+        }
+    }
+
+    @Test
+    public void checkAndCorrectMatchesCodewordCorrection()
+    {
+        Random random = new Random(1);
+        List<Integer> patterns = getErrorPatterns(23);
+
+        for(int trial = 0; trial < 1000; trial++)
+        {
+            int start = random.nextInt(80);
+            int codeword = encode(random.nextInt(4096));
+            int pattern = patterns.get(random.nextInt(patterns.size()));
+
+            BinaryMessage message = CRCReference.randomMessage(random, 110);
+            CRCReference.setValue(message, start, 23, codeword ^ pattern);
+            BinaryMessage expected = message.copy();
+            CRCReference.setValue(expected, start, 23, codeword);
+
+            assertThat(Golay23.checkAndCorrect(message, start)).isEqualTo(Integer.bitCount(pattern));
+            assertThat(message).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void batchCorrectMatchesSingleCodewordCorrection()
+    {
+        Random random = new Random(2);
+        int[] codewords = new int[100];
+        int[] expected = new int[100];
+
+        for(int x = 0; x < codewords.length; x++)
+        {
+            codewords[x] = random.nextInt(1 << 23);
+            expected[x] = (x >= 10 && x < 90) ? Golay23.correct(codewords[x]) : codewords[x];
+        }
+
+        Golay23.correct(codewords, 10, 80);
+
+        assertThat(codewords).containsExactly(expected);
+    }
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Golay24Test
+{
+    /**
+     * Encodes the 12-bit data word as a Golay(23,12,7) codeword followed by an even parity bit
+     */
+    private static int encode(int data)
+    {
+        int codeword = Golay23Test.encode(data);
+
+        return (codeword << 1) | (Integer.bitCount(codeword) & 1);
+    }
+
+    @Test
+    public void correctsAllErrorPatternsOfThreeOrFewerBits()
+    {
+        List<Integer> patterns = Golay23Test.getErrorPatterns(24);
+
+        for(int data = 0; data < 4096; data++)
+        {
+            int codeword = encode(data);
+
+            for(int pattern : patterns)
+            {
+                int corrected = Golay24.correct(codeword ^ pattern);
+
+                //The golay bits are always corrected.  The parity bit is only corrected when it is the only error.
+                if((pattern & 1) == 0 || pattern == 1)
+                {
+                    assertThat(corrected).isEqualTo(codeword);
+                }
+                else
+                {
+                    assertThat(corrected).isEqualTo(codeword ^ 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void checkAndCorrectMatchesCodewordCorrection()
+    {
+        Random random = new Random(1);
+        List<Integer> patterns = Golay23Test.getErrorPatterns(24);
+
+        for(int trial = 0; trial < 1000; trial++)
+        {
+            int start = random.nextInt(40);
+            int count = 1 + random.nextInt(4);
+
+            BinaryMessage message = CRCReference.randomMessage(random, 150);
+            BinaryMessage single = message.copy();
+
+            for(int x = 0; x < count; x++)
+            {
+                int codeword = encode(random.nextInt(4096)) ^ patterns.get(random.nextInt(patterns.size()));
+                CRCReference.setValue(message, start + x * 24, 24, codeword);
+                CRCReference.setValue(single, start + x * 24, 24, codeword);
+            }
+
+            BinaryMessage expected = message.copy();
+
+            for(int x = 0; x < count; x++)
+            {
+                int index = start + x * 24;
+                CRCReference.setValue(expected, index, 24, Golay24.correct(message.getInt(index, index + 23)));
+                Golay24.checkAndCorrect(single, index);
+            }
+
+            assertThat(Golay24.checkAndCorrect(message, start, count)).isEqualTo(CRC.PASSED);
+            assertThat(message).isEqualTo(expected);
+            assertThat(single).isEqualTo(expected);
+        }
+    }
+}
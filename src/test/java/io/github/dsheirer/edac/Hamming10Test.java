@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Hamming10Test
+{
+    //Parity check values for each of the 6 data bits of the P25 Hamming(10,6,3) code
+    private static final int[] CHECKSUMS = {0xE, 0xD, 0xB, 0x7, 0x3, 0xC};
+
+    private static final int[] CODEWORDS = new int[64];
+
+    static
+    {
+        for(int data = 0; data < 64; data++)
+        {
+            int parity = 0;
+
+            for(int x = 0; x < 6; x++)
+            {
+                if((data & (1 << (5 - x))) != 0)
+                {
+                    parity ^= CHECKSUMS[x];
+                }
+            }
+
+            CODEWORDS[data] = (data << 4) | parity;
+        }
+    }
+
+    /**
+     * Brute force decoder: the codeword within a distance of 1 bit, or -1 when there isn't one
+     */
+    private static int getNearestCodeword(int value)
+    {
+        for(int codeword : CODEWORDS)
+        {
+            if(Integer.bitCount(codeword ^ value) <= 1)
+            {
+                return codeword;
+            }
+        }
+
+        return -1;
+    }
+
+    @Test
+    public void correctMatchesBruteForceDecoder()
+    {
+        for(int value = 0; value < 1024; value++)
+        {
+            int nearest = getNearestCodeword(value);
+
+            if(nearest < 0)
+            {
+                assertThat(Hamming10.getErrorCount(value)).as("value %d", value).isEqualTo(2);
+                assertThat(Hamming10.correct(value)).as("value %d", value).isEqualTo(value);
+            }
+            else
+            {
+                assertThat(Hamming10.getErrorCount(value)).as("value %d", value)
+                    .isEqualTo(Integer.bitCount(nearest ^ value));
+                assertThat(Hamming10.correct(value)).as("value %d", value).isEqualTo(nearest);
+            }
+        }
+    }
+
+    @Test
+    public void checkAndCorrectMatchesCodewordCorrection()
+    {
+        Random random = new Random(1);
+
+        for(int trial = 0; trial < 1000; trial++)
+        {
+            int[] startIndexes = {random.nextInt(20), 30 + random.nextInt(20), 60 + random.nextInt(20)};
+
+            BinaryMessage message = CRCReference.randomMessage(random, 100);
+            BinaryMessage expected = message.copy();
+
+            int errors = 0;
+
+            for(int start : startIndexes)
+            {
+                int value = message.getInt(start, start + 9);
+                CRCReference.setValue(expected, start, 10, Hamming10.correct(value));
+                errors = Math.max(errors, Hamming10.getErrorCount(value));
+            }
+
+            assertThat(Hamming10.checkAndCorrect(message, startIndexes)).isEqualTo(errors);
+            assertThat(message).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.sample;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OverflowableRingBufferTest
+{
+    @Test
+    public void drainPreservesOrderAcrossWraparound()
+    {
+        OverflowableRingBuffer<Integer> buffer = new OverflowableRingBuffer<>(6, 2);
+        List<Integer> drained = new ArrayList<>();
+
+        for(int x = 0; x < 100; x++)
+        {
+            assertThat(buffer.offer(x)).isTrue();
+            assertThat(buffer.offer(-x)).isTrue();
+
+            drained.clear();
+            assertThat(buffer.drainTo(drained, 10)).isEqualTo(2);
+            assertThat(drained).containsExactly(x, -x);
+        }
+
+        assertThat(buffer.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void overflowIgnoresElementsUntilResetThreshold()
+    {
+        OverflowableRingBuffer<Integer> buffer = new OverflowableRingBuffer<>(4, 2);
+        List<Integer> drained = new ArrayList<>();
+
+        for(int x = 0; x < 5; x++)
+        {
+            assertThat(buffer.offer(x)).isTrue();
+        }
+
+        assertThat(buffer.offer(5)).isFalse();
+
+        buffer.drainTo(drained, 2);
+        assertThat(buffer.offer(6)).isFalse();
+
+        buffer.drainTo(drained, 1);
+        assertThat(buffer.offer(7)).isTrue();
+
+        buffer.drainTo(drained, 10);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 7);
+    }
+
+    @Test
+    public void clearReleasesEachQueuedElement()
+    {
+        OverflowableRingBuffer<Integer> buffer = new OverflowableRingBuffer<>(8, 4);
+        List<Integer> released = new ArrayList<>();
+
+        for(int x = 0; x < 5; x++)
+        {
+            buffer.offer(x);
+        }
+
+        buffer.drainTo(new ArrayList<>(), 2);
+        buffer.clear(released::add);
+
+        assertThat(released).containsExactly(2, 3, 4);
+        assertThat(buffer.size()).isEqualTo(0);
+
+        buffer.offer(9);
+        buffer.clear(released::add);
+        assertThat(released).containsExactly(2, 3, 4, 9);
+    }
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.util;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntLongMapTest
+{
+    private static final long MISSING = -1;
+
+    @Test
+    public void backwardShiftDeletionKeepsProbeChainReachable()
+    {
+        int[] wrapped = IntObjectMapTest.getKeys(IntObjectMap.tableSize(16) - 1, 3);
+        int displaced = IntObjectMapTest.getKeys(0, 1)[0];
+
+        IntLongMap map = new IntLongMap(MISSING);
+
+        for(int key : wrapped)
+        {
+            map.put(key, key * 10L);
+        }
+
+        map.put(displaced, 7);
+
+        assertThat(map.remove(wrapped[0])).isTrue();
+        assertThat(map.get(wrapped[1])).isEqualTo(wrapped[1] * 10L);
+        assertThat(map.get(wrapped[2])).isEqualTo(wrapped[2] * 10L);
+        assertThat(map.get(displaced)).isEqualTo(7);
+
+        assertThat(map.remove(wrapped[2])).isTrue();
+        assertThat(map.remove(wrapped[2])).isFalse();
+        assertThat(map.get(wrapped[1])).isEqualTo(wrapped[1] * 10L);
+        assertThat(map.get(displaced)).isEqualTo(7);
+        assertThat(map.get(wrapped[0])).isEqualTo(MISSING);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void deleteAndReinsertWithinCollisionChain()
+    {
+        int[] keys = IntObjectMapTest.getKeys(9, 6);
+
+        IntLongMap map = new IntLongMap(MISSING);
+
+        for(int key : keys)
+        {
+            map.put(key, key);
+        }
+
+        for(int round = 0; round < 3; round++)
+        {
+            for(int removed : keys)
+            {
+                assertThat(map.remove(removed)).isTrue();
+                assertThat(map.containsKey(removed)).isFalse();
+
+                for(int key : keys)
+                {
+                    if(key != removed)
+                    {
+                        assertThat(map.get(key)).as("key %d after removing %d", key, removed).isEqualTo(key);
+                    }
+                }
+
+                map.put(removed, removed);
+                assertThat(map.size()).isEqualTo(keys.length);
+            }
+        }
+    }
+
+    @Test
+    public void storesZeroAndMissingValueAsValues()
+    {
+        IntLongMap map = new IntLongMap(MISSING);
+
+        map.put(0, 0);
+        map.put(1, MISSING);
+
+        assertThat(map.containsKey(0)).isTrue();
+        assertThat(map.get(0)).isEqualTo(0);
+        assertThat(map.containsKey(1)).isTrue();
+        assertThat(map.containsKey(2)).isFalse();
+    }
+
+    @Test
+    public void matchesHashMapForRandomOperations()
+    {
+        Random random = new Random(1);
+        IntLongMap map = new IntLongMap(MISSING);
+        Map<Integer,Long> expected = new HashMap<>();
+
+        for(int x = 0; x < 200000; x++)
+        {
+            int key = random.nextInt(300) - 150;
+
+            switch(random.nextInt(3))
+            {
+                case 0:
+                    long value = random.nextLong();
+                    map.put(key, value);
+                    expected.put(key, value);
+                    break;
+                case 1:
+                    assertThat(map.remove(key)).isEqualTo(expected.remove(key) != null);
+                    break;
+                default:
+                    assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, MISSING));
+                    break;
+            }
+
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+
+        for(int key = -150; key < 150; key++)
+        {
+            assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, MISSING));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.util;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntObjectMapTest
+{
+    //Table size of a map constructed with the default capacity
+    private static final int TABLE_SIZE = IntObjectMap.tableSize(16);
+
+    /**
+     * Finds keys whose home slot in a table of TABLE_SIZE entries is the requested slot
+     */
+    static int[] getKeys(int slot, int count)
+    {
+        int[] keys = new int[count];
+        int found = 0;
+
+        for(int key = 0; found < count; key++)
+        {
+            if((IntObjectMap.mix(key) & (TABLE_SIZE - 1)) == slot)
+            {
+                keys[found++] = key;
+            }
+        }
+
+        return keys;
+    }
+
+    @Test
+    public void backwardShiftDeletionKeepsProbeChainReachable()
+    {
+        //Three keys sharing the last slot wrap around to the start of the table, followed by a key whose home slot is
+        //the first slot and which is therefore displaced to the third slot
+        int[] wrapped = getKeys(TABLE_SIZE - 1, 3);
+        int displaced = getKeys(0, 1)[0];
+
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        for(int key : wrapped)
+        {
+            map.put(key, "W" + key);
+        }
+
+        map.put(displaced, "D");
+
+        assertThat(map.remove(wrapped[0])).isEqualTo("W" + wrapped[0]);
+        assertThat(map.get(wrapped[1])).isEqualTo("W" + wrapped[1]);
+        assertThat(map.get(wrapped[2])).isEqualTo("W" + wrapped[2]);
+        assertThat(map.get(displaced)).isEqualTo("D");
+
+        assertThat(map.remove(wrapped[2])).isEqualTo("W" + wrapped[2]);
+        assertThat(map.get(wrapped[1])).isEqualTo("W" + wrapped[1]);
+        assertThat(map.get(displaced)).isEqualTo("D");
+        assertThat(map.containsKey(wrapped[0])).isFalse();
+        assertThat(map.containsKey(wrapped[2])).isFalse();
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void deleteAndReinsertWithinCollisionChain()
+    {
+        int[] keys = getKeys(5, 6);
+
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+
+        for(int key : keys)
+        {
+            map.put(key, key);
+        }
+
+        //Repeatedly delete and reinsert each chain member and verify every other member remains reachable
+        for(int round = 0; round < 3; round++)
+        {
+            for(int removed : keys)
+            {
+                assertThat(map.remove(removed)).isEqualTo(removed);
+                assertThat(map.get(removed)).isNull();
+
+                for(int key : keys)
+                {
+                    if(key != removed)
+                    {
+                        assertThat(map.get(key)).as("key %d after removing %d", key, removed).isEqualTo(key);
+                    }
+                }
+
+                assertThat(map.put(removed, removed)).isNull();
+                assertThat(map.size()).isEqualTo(keys.length);
+            }
+        }
+    }
+
+    @Test
+    public void matchesHashMapForRandomOperations()
+    {
+        Random random = new Random(1);
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer,Integer> expected = new HashMap<>();
+
+        for(int x = 0; x < 200000; x++)
+        {
+            //A small key range produces long collision chains and frequent deletes of mapped keys
+            int key = random.nextInt(300) - 150;
+
+            switch(random.nextInt(3))
+            {
+                case 0:
+                    assertThat(map.put(key, x)).isEqualTo(expected.put(key, x));
+                    break;
+                case 1:
+                    assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+                    break;
+                default:
+                    assertThat(map.get(key)).isEqualTo(expected.get(key));
+                    break;
+            }
+
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+
+        for(int key = -150; key < 150; key++)
+        {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+
+        map.clear();
+
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(0)).isNull();
+    }
+}
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * sdrtrunk
+ * Copyright (C) 2014-2017 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ *
+ ******************************************************************************/
+package io.github.dsheirer.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimerWheelTest
+{
+    private static final long TICK = 100;
+
+    /**
+     * Advances the wheel and returns the expired keys
+     */
+    private static List<Integer> advance(TimerWheel wheel, long now)
+    {
+        List<Integer> expired = new ArrayList<>();
+        wheel.advance(now, expired::add);
+        return expired;
+    }
+
+    @Test
+    public void expiresKeyWithinOneTickAfterDeadline()
+    {
+        TimerWheel wheel = new TimerWheel(TICK, 8);
+        wheel.advance(0, key -> {});
+
+        wheel.schedule(1, 450);
+
+        assertThat(advance(wheel, 449)).isEmpty();
+        assertThat(advance(wheel, 499)).isEmpty();
+        assertThat(advance(wheel, 500)).containsExactly(1);
+        assertThat(wheel.contains(1)).isFalse();
+        assertThat(advance(wheel, 2000)).isEmpty();
+    }
+
+    @Test
+    public void rescheduleBeforeExpiryExtendsDeadline()
+    {
+        TimerWheel wheel = new TimerWheel(TICK, 8);
+        wheel.advance(0, key -> {});
+
+        wheel.schedule(1, 300);
+        assertThat(advance(wheel, 250)).isEmpty();
+
+        //Refresh before the original deadline, to a deadline beyond one rotation of the wheel
+        wheel.schedule(1, 2000);
+        assertThat(wheel.getDeadline(1)).isEqualTo(2000);
+
+        for(long now = 300; now < 2000; now += 50)
+        {
+            assertThat(advance(wheel, now)).as("time %d", now).isEmpty();
+        }
+
+        assertThat(advance(wheel, 2100)).containsExactly(1);
+        assertThat(wheel.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void rescheduleToEarlierDeadlineExpiresOnce()
+    {
+        TimerWheel wheel = new TimerWheel(TICK, 8);
+        wheel.advance(0, key -> {});
+
+        wheel.schedule(1, 600);
+        wheel.schedule(1, 200);
+
+        assertThat(advance(wheel, 300)).containsExactly(1);
+        assertThat(advance(wheel, 1000)).isEmpty();
+    }
+
+    @Test
+    public void cancelledKeyDoesNotExpire()
+    {
+        TimerWheel wheel = new TimerWheel(TICK, 8);
+        wheel.advance(0, key -> {});
+
+        wheel.schedule(1, 200);
+        wheel.schedule(2, 200);
+        wheel.cancel(1);
+
+        assertThat(advance(wheel, 300)).containsExactly(2);
+
+        //A cancelled key that is rescheduled expires at its new deadline only
+        wheel.cancel(2);
+        wheel.schedule(1, 500);
+
+        assertThat(advance(wheel, 400)).isEmpty();
+        assertThat(advance(wheel, 600)).containsExactly(1);
+    }
+
+    @Test
+    public void listenerCanRescheduleExpiredKey()
+    {
+        TimerWheel wheel = new TimerWheel(TICK, 8);
+        wheel.advance(0, key -> {});
+        wheel.schedule(1, 200);
+
+        List<Integer> expired = new ArrayList<>();
+
+        wheel.advance(300, key -> {
+            expired.add(key);
+            wheel.schedule(key, 1000);
+        });
+
+        assertThat(expired).containsExactly(1);
+        assertThat(wheel.getDeadline(1)).isEqualTo(1000);
+        assertThat(advance(wheel, 900)).isEmpty();
+        assertThat(advance(wheel, 1100)).containsExactly(1);
+    }
+
+    @Test
+    public void expiresKeysAfterGapLongerThanRotation()
+    {
+        TimerWheel wheel = new TimerWheel(TICK, 8);
+        wheel.advance(0, key -> {});
+
+        wheel.schedule(1, 300);
+        wheel.schedule(2, 700);
+        wheel.schedule(3, 5000);
+
+        assertThat(advance(wheel, 3000)).containsExactlyInAnyOrder(1, 2);
+        assertThat(advance(wheel, 4900)).isEmpty();
+        assertThat(advance(wheel, 5100)).containsExactly(3);
+    }
+
+    @Test
+    public void matchesDeadlineModelForRandomOperations()
+    {
+        Random random = new Random(1);
+        TimerWheel wheel = new TimerWheel(TICK, 16);
+        Map<Integer,Long> deadlines = new HashMap<>();
+        long now = 0;
+
+        for(int x = 0; x < 100000; x++)
+        {
+            int key = random.nextInt(200);
+
+            switch(random.nextInt(4))
+            {
+                case 0:
+                case 1:
+                    //Deadlines range from the current tick to several rotations of the wheel in the future
+                    long deadline = now + random.nextInt((int)(TICK * 40));
+                    wheel.schedule(key, deadline);
+                    deadlines.put(key, deadline);
+                    break;
+                case 2:
+                    wheel.cancel(key);
+                    deadlines.remove(key);
+                    break;
+                default:
+                    now += random.nextInt(random.nextInt(50) == 0 ? (int)(TICK * 40) : (int)(TICK * 2));
+
+                    final long time = now;
+
+                    wheel.advance(now, expired -> {
+                        assertThat(deadlines.get(expired)).as("key %d", expired).isNotNull().isLessThanOrEqualTo(time);
+                        deadlines.remove(expired);
+                    });
+
+                    //Every key with a deadline before the current tick has expired
+                    long tickStart = (now / TICK) * TICK;
+
+                    for(Map.Entry<Integer,Long> entry : deadlines.entrySet())
+                    {
+                        assertThat(entry.getValue()).as("key %d", entry.getKey()).isGreaterThanOrEqualTo(tickStart);
+                    }
+                    break;
+            }
+
+            assertThat(wheel.size()).isEqualTo(deadlines.size());
+        }
+    }
+}